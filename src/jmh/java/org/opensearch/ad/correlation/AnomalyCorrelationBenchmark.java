@@ -0,0 +1,181 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.correlation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.ad.model.AnomalyDetector;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.timeseries.model.Feature;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+
+/**
+ * Compares the primitive-array correlation engine with the TreeSet sweep and boxed
+ * adjacency lists it replaced, on the defaults the Insights job clusters with.
+ *
+ * Anomalies of a day are bunched into incidents, so the active window of the sweep holds
+ * tens to hundreds of anomalies; {@code incidents} controls how crowded it is. Run with
+ * -prof gc to compare gc.alloc.rate.norm as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnomalyCorrelationBenchmark {
+    private static final Instant BASE = Instant.parse("2025-03-01T00:00:00Z");
+    private static final long[] INTERVAL_MINUTES = { 1, 5, 10, 30, 60 };
+
+    @Param({ "1000", "10000" })
+    public int anomalies;
+
+    @Param({ "20" })
+    public int detectors;
+
+    @Param({ "50" })
+    public int incidents;
+
+    private List<Anomaly> input;
+    private List<AnomalyDetector> detectorConfigs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        detectorConfigs = new ArrayList<>(detectors);
+        long[] intervalMinutes = new long[detectors];
+        for (int d = 0; d < detectors; d++) {
+            intervalMinutes[d] = INTERVAL_MINUTES[random.nextInt(INTERVAL_MINUTES.length)];
+            AggregationBuilder aggregation = random.nextBoolean()
+                ? AggregationBuilders.avg("avg").field("value")
+                : AggregationBuilders.max("max").field("value");
+            detectorConfigs.add(detector("detector_" + d, intervalMinutes[d], aggregation));
+        }
+
+        long[] incidentStarts = new long[incidents];
+        for (int i = 0; i < incidents; i++) {
+            incidentStarts[i] = random.nextInt((int) Duration.ofDays(1).toMinutes());
+        }
+        input = new ArrayList<>(anomalies);
+        for (int i = 0; i < anomalies; i++) {
+            int d = random.nextInt(detectors);
+            long startMinute = incidentStarts[random.nextInt(incidents)] + random.nextInt(120) - 60;
+            startMinute -= Math.floorMod(startMinute, intervalMinutes[d]);
+            Instant start = BASE.plus(Duration.ofMinutes(startMinute));
+            Instant end = start.plus(Duration.ofMinutes(intervalMinutes[d] * (1 + random.nextInt(6))));
+            input.add(new Anomaly("detector_" + d + "_entity_" + i, "detector_" + d, start, end));
+        }
+    }
+
+    private static AnomalyDetector detector(String detectorId, long intervalMinutes, AggregationBuilder aggregation) {
+        Feature feature = new Feature(detectorId + "-feature", detectorId + "-feature", true, aggregation);
+        return new AnomalyDetector(
+            detectorId,
+            1L,
+            detectorId,
+            null,
+            "timestamp",
+            Collections.singletonList("index"),
+            Collections.singletonList(feature),
+            QueryBuilders.matchAllQuery(),
+            new IntervalTimeConfiguration(intervalMinutes, ChronoUnit.MINUTES),
+            new IntervalTimeConfiguration(0, ChronoUnit.MINUTES),
+            1,
+            null,
+            1,
+            Instant.EPOCH,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    @Benchmark
+    public List<List<Integer>> treeSetComponents() {
+        List<List<Integer>> graph = AnomalyCorrelation
+            .buildThresholdGraph(
+                input,
+                detectorConfigs,
+                AnomalyCorrelation.DELTA_TOL,
+                AnomalyCorrelation.KAPPA,
+                AnomalyCorrelation.ALPHA,
+                AnomalyCorrelation.MIN_OVERLAP,
+                AnomalyCorrelation.MODE,
+                AnomalyCorrelation.LAM,
+                AnomalyCorrelation.TAU_CONTAIN,
+                AnomalyCorrelation.RHO_MAX,
+                AnomalyCorrelation.CONTAINMENT_RELAX
+            );
+        return AnomalyCorrelation.connectedComponents(graph);
+    }
+
+    @Benchmark
+    public int[][] primitiveComponents() {
+        return PrimitiveAnomalyCorrelation
+            .create(
+                input,
+                AnomalyCorrelation.detectorIntervalsById(detectorConfigs),
+                AnomalyCorrelation.detectorUsesCommunityAggregationById(detectorConfigs),
+                AnomalyCorrelation.DELTA_TOL,
+                AnomalyCorrelation.KAPPA,
+                AnomalyCorrelation.ALPHA,
+                AnomalyCorrelation.MIN_OVERLAP,
+                AnomalyCorrelation.MODE,
+                AnomalyCorrelation.LAM,
+                AnomalyCorrelation.TAU_CONTAIN,
+                AnomalyCorrelation.RHO_MAX,
+                AnomalyCorrelation.CONTAINMENT_RELAX
+            )
+            .connectedComponents();
+    }
+
+    /**
+     * End to end clustering as the Insights job calls it, on the primitive engine.
+     */
+    @Benchmark
+    public List<AnomalyCorrelation.Cluster> clusterWithEventWindows() {
+        return AnomalyCorrelation.clusterWithEventWindows(input, detectorConfigs);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.ml;
+
+import java.io.IOException;
+import java.security.AccessController;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.ml.CheckpointCodec;
+import org.opensearch.timeseries.ml.CheckpointCompression;
+import org.opensearch.timeseries.ml.ModelState;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
+
+import com.amazon.randomcutforest.config.ForestMode;
+import com.amazon.randomcutforest.config.Precision;
+import com.amazon.randomcutforest.config.TransformMethod;
+import com.amazon.randomcutforest.parkservices.ThresholdedRandomCutForest;
+import com.amazon.randomcutforest.parkservices.state.ThresholdedRandomCutForestMapper;
+import com.amazon.randomcutforest.parkservices.state.ThresholdedRandomCutForestState;
+import com.amazon.randomcutforest.serialize.json.v1.V1JsonToV3StateConverter;
+import com.amazon.randomcutforest.state.RandomCutForestMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import io.protostuff.LinkedBuffer;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * Serialization and restore of an entity model checkpoint, the work behind every
+ * checkpoint write and every cache miss of a real time HC detector.
+ *
+ * The model is built like ADColdStart builds entity models and is trained on synthetic
+ * data. {@code toCheckpoint} follows the model part of toIndexSource: Base64 JSON when
+ * compression is NONE, otherwise encoded binary. {@code fromEntityModelCheckpoint} restores
+ * the matching checkpoint source.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckpointBenchmark {
+    private static final String MODEL_ID = "detector_entity_benchmark";
+    private static final String CONFIG_ID = "detector";
+
+    @Param({ "1", "5" })
+    public int features;
+
+    @Param({ "NONE", "LZ4", "DEFLATE" })
+    public CheckpointCompression compression;
+
+    private GenericObjectPool<LinkedBuffer> serializeRCFBufferPool;
+    private ADCheckpointDao checkpointDao;
+    private ThresholdedRandomCutForest model;
+    private Map<String, Object> checkpoint;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serializeRCFBufferPool = AccessController.doPrivileged(() -> {
+            return new GenericObjectPool<>(new BasePooledObjectFactory<LinkedBuffer>() {
+                @Override
+                public LinkedBuffer create() throws Exception {
+                    return LinkedBuffer.allocate(TimeSeriesSettings.SERIALIZATION_BUFFER_BYTES);
+                }
+
+                @Override
+                public PooledObject<LinkedBuffer> wrap(LinkedBuffer obj) {
+                    return new DefaultPooledObject<>(obj);
+                }
+            });
+        });
+        serializeRCFBufferPool.setMaxTotal(TimeSeriesSettings.MAX_TOTAL_RCF_SERIALIZATION_BUFFERS);
+        serializeRCFBufferPool.setMaxIdle(TimeSeriesSettings.MAX_TOTAL_RCF_SERIALIZATION_BUFFERS);
+        serializeRCFBufferPool.setMinIdle(0);
+
+        Gson gson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+        // no client or index management: the benchmarked methods do not touch the index
+        checkpointDao = new ADCheckpointDao(
+            null,
+            null,
+            gson,
+            new RandomCutForestMapper(),
+            new V1JsonToV3StateConverter(),
+            new ThresholdedRandomCutForestMapper(),
+            AccessController.doPrivileged(() -> RuntimeSchema.getSchema(ThresholdedRandomCutForestState.class)),
+            HybridThresholdingModel.class,
+            null,
+            TimeSeriesSettings.MAX_CHECKPOINT_BYTES,
+            serializeRCFBufferPool,
+            TimeSeriesSettings.SERIALIZATION_BUFFER_BYTES,
+            1 - TimeSeriesSettings.THRESHOLD_MIN_PVALUE,
+            Clock.systemUTC()
+        );
+        checkpointDao.setCompression(compression);
+
+        model = trainedModel(features, TimeSeriesSettings.DEFAULT_SHINGLE_SIZE);
+        checkpoint = toCheckpoint();
+        checkpoint.put(CommonName.TIMESTAMP, Clock.systemUTC().instant().toString());
+        if (fromEntityModelCheckpoint() == null) {
+            throw new IllegalStateException("Fail to restore the benchmark checkpoint");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializeRCFBufferPool.close();
+    }
+
+    /**
+     * A model as ADColdStart builds it, trained on a noisy sine wave per feature.
+     */
+    static ThresholdedRandomCutForest trainedModel(int features, int shingleSize) {
+        ThresholdedRandomCutForest forest = ThresholdedRandomCutForest
+            .builder()
+            .dimensions(features * shingleSize)
+            .sampleSize(TimeSeriesSettings.NUM_SAMPLES_PER_TREE)
+            .numberOfTrees(TimeSeriesSettings.NUM_TREES)
+            .outputAfter(TimeSeriesSettings.NUM_MIN_SAMPLES)
+            .parallelExecutionEnabled(false)
+            .compact(true)
+            .precision(Precision.FLOAT_32)
+            .boundingBoxCacheFraction(TimeSeriesSettings.REAL_TIME_BOUNDING_BOX_CACHE_RATIO)
+            .shingleSize(shingleSize)
+            .internalShinglingEnabled(true)
+            .anomalyRate(1 - TimeSeriesSettings.THRESHOLD_MIN_PVALUE)
+            .transformMethod(TransformMethod.NORMALIZE)
+            .alertOnce(true)
+            .autoAdjust(true)
+            .forestMode(ForestMode.STREAMING_IMPUTE)
+            .randomSeed(42)
+            .build();
+        Random random = new Random(42);
+        // enough points to fill every tree's sample
+        int points = 4 * TimeSeriesSettings.NUM_SAMPLES_PER_TREE;
+        for (int t = 0; t < points; t++) {
+            double[] point = new double[features];
+            for (int f = 0; f < features; f++) {
+                point[f] = 100 * Math.sin(2 * Math.PI * (t + 7 * f) / 60.0) + random.nextGaussian();
+            }
+            forest.process(point, t * 60L);
+        }
+        return forest;
+    }
+
+    @Benchmark
+    public Map<String, Object> toCheckpoint() throws IOException {
+        Map<String, Object> source = new HashMap<>();
+        if (compression == CheckpointCompression.NONE) {
+            source.put(ADCheckpointDao.FIELD_MODELV2, checkpointDao.toCheckpoint(model, MODEL_ID).get());
+        } else {
+            byte[] raw = checkpointDao.toCheckpointBytes(model);
+            source.put(CommonName.FIELD_MODEL_BINARY, CheckpointCodec.encode(raw, compression));
+            source.put(ADCheckpointDao.FIELD_MODELV2, null);
+        }
+        return source;
+    }
+
+    @Benchmark
+    public ModelState<ThresholdedRandomCutForest> fromEntityModelCheckpoint() {
+        return checkpointDao.fromEntityModelCheckpoint(checkpoint, MODEL_ID, CONFIG_ID);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.ml;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Grading and updating of the thresholding model that legacy checkpoints carry, with
+ * the recommended parameters and a model trained on log-normal anomaly scores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HybridThresholdingModelBenchmark {
+    private static final int SCORES = 4096;
+
+    @Param({ "5000", "100000" })
+    public int trainingScores;
+
+    private HybridThresholdingModel model;
+    private double[] scores;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[] training = new double[trainingScores];
+        for (int i = 0; i < trainingScores; i++) {
+            training[i] = logNormal(random);
+        }
+        model = new HybridThresholdingModel(0.995, 0.0001, 10, 1000, 10_000, 1_000_000L);
+        model.train(training);
+
+        scores = new double[SCORES];
+        for (int i = 0; i < SCORES; i++) {
+            scores[i] = logNormal(random);
+        }
+    }
+
+    private static double logNormal(Random random) {
+        return Math.exp(random.nextGaussian() * 0.5);
+    }
+
+    private double nextScore() {
+        next = (next + 1) & (SCORES - 1);
+        return scores[next];
+    }
+
+    @Benchmark
+    public double grade() {
+        return model.grade(nextScore());
+    }
+
+    /**
+     * Grade then learn from the score, as each real time result does.
+     */
+    @Benchmark
+    public double gradeAndUpdate() {
+        double score = nextScore();
+        double grade = model.grade(score);
+        model.update(score);
+        return grade;
+    }
+}
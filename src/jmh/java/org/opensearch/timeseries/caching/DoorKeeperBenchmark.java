@@ -0,0 +1,145 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
+
+/**
+ * Compares the count-min sketch DoorKeeper with the exact HashMap it replaced.
+ *
+ * Throughput: put followed by a threshold check on a stream of model Ids, the
+ * access pattern of PriorityCache.get and ModelColdStart.coldStart.
+ *
+ * Memory: fill* benchmarks record every distinct model Id once into a fresh
+ * door keeper. Run with -prof gc and compare gc.alloc.rate.norm; the HashMap
+ * also retains every model Id string, which the sketch does not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoorKeeperBenchmark {
+    @Param({ "10000", "100000" })
+    public int entities;
+
+    private String[] modelIds;
+    private DoorKeeper sketch;
+    private HashMapDoorKeeper hashMap;
+    private final AtomicInteger sharedCursor = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelIds = new String[entities];
+        for (int i = 0; i < entities; i++) {
+            modelIds[i] = Entity.createSingleAttributeEntity("host", "server_" + i).getModelId("detector").get();
+        }
+        sketch = newSketch();
+        hashMap = newHashMap();
+    }
+
+    private DoorKeeper newSketch() {
+        return new DoorKeeper(
+            TimeSeriesSettings.DOOR_KEEPER_FOR_COLD_STARTER_MAX_INSERTION,
+            Duration.ofHours(1),
+            Clock.systemUTC(),
+            TimeSeriesSettings.COLD_START_DOOR_KEEPER_COUNT_THRESHOLD
+        );
+    }
+
+    private HashMapDoorKeeper newHashMap() {
+        return new HashMapDoorKeeper(
+            TimeSeriesSettings.DOOR_KEEPER_FOR_COLD_STARTER_MAX_INSERTION,
+            TimeSeriesSettings.COLD_START_DOOR_KEEPER_COUNT_THRESHOLD
+        );
+    }
+
+    private String next(Cursor cursor) {
+        String modelId = modelIds[cursor.next];
+        cursor.next = cursor.next + 1 == modelIds.length ? 0 : cursor.next + 1;
+        return modelId;
+    }
+
+    @Benchmark
+    public boolean sketchPutAndCheck(Cursor cursor) {
+        String modelId = next(cursor);
+        sketch.put(modelId);
+        return sketch.appearsMoreThanOrEqualToThreshold(modelId);
+    }
+
+    @Benchmark
+    public boolean hashMapPutAndCheck(Cursor cursor) {
+        String modelId = next(cursor);
+        hashMap.put(modelId);
+        return hashMap.appearsMoreThanOrEqualToThreshold(modelId);
+    }
+
+    /**
+     * The HashMap version cannot be shared between threads, so only the sketch is measured here.
+     */
+    @Benchmark
+    @Threads(4)
+    public boolean sketchPutAndCheckConcurrent() {
+        String modelId = modelIds[Math.floorMod(sharedCursor.getAndIncrement(), modelIds.length)];
+        sketch.put(modelId);
+        return sketch.appearsMoreThanOrEqualToThreshold(modelId);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20)
+    public DoorKeeper fillSketch() {
+        DoorKeeper doorKeeper = newSketch();
+        for (String modelId : modelIds) {
+            doorKeeper.put(modelId);
+        }
+        return doorKeeper;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20)
+    public HashMapDoorKeeper fillHashMap() {
+        HashMapDoorKeeper doorKeeper = newHashMap();
+        for (String modelId : modelIds) {
+            doorKeeper.put(modelId);
+        }
+        return doorKeeper;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.caching;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The exact frequency map DoorKeeper used before it became a count-min sketch.
+ * Kept as the baseline of {@link DoorKeeperBenchmark}. Not thread-safe.
+ */
+public class HashMapDoorKeeper {
+    private final long expectedInsertions;
+    private final int countThreshold;
+    private Map<String, Integer> frequencyMap;
+
+    public HashMapDoorKeeper(long expectedInsertions, int countThreshold) {
+        this.expectedInsertions = expectedInsertions;
+        this.countThreshold = countThreshold;
+        this.frequencyMap = new HashMap<>();
+    }
+
+    public void put(String modelId) {
+        this.frequencyMap.put(modelId, this.frequencyMap.getOrDefault(modelId, 0) + 1);
+        if (frequencyMap.size() > expectedInsertions) {
+            frequencyMap = new HashMap<>();
+        }
+    }
+
+    public boolean appearsMoreThanOrEqualToThreshold(String item) {
+        return this.frequencyMap.getOrDefault(item, 0) >= countThreshold;
+    }
+}
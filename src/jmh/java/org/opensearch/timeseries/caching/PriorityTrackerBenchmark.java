@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.caching;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lock-free PriorityTracker with the skip-list version it replaced
+ * under the CacheBuffer access pattern: a hit updates the priority of a cached
+ * entity, and a small fraction of operations ask for the minimum, as
+ * canReplaceWithinConfig and PriorityCache.clearMemory do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriorityTrackerBenchmark {
+    @Param({ "1000", "100000" })
+    public int entities;
+
+    // one minimum query every this many updates
+    @Param({ "1000" })
+    public int updatesPerMinimumQuery;
+
+    private String[] entityIds;
+    private PriorityTracker tracker;
+    private SkipListPriorityTracker baseline;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        int sinceQuery;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entityIds = new String[entities];
+        // the wall clock moves the decayed increment as in production
+        Clock clock = Clock.systemUTC();
+        long landmark = clock.instant().getEpochSecond();
+        tracker = new PriorityTracker(clock, 1, landmark, entities);
+        baseline = new SkipListPriorityTracker(clock, 1, landmark, entities);
+        for (int i = 0; i < entities; i++) {
+            entityIds[i] = "detector_entity_" + i;
+            tracker.updatePriority(entityIds[i]);
+            baseline.updatePriority(entityIds[i]);
+        }
+    }
+
+    private String next(Cursor cursor) {
+        // stride through the ids so consecutive hits land on different entities
+        cursor.next = (cursor.next + 7919) % entityIds.length;
+        return entityIds[cursor.next];
+    }
+
+    private boolean queryDue(Cursor cursor) {
+        if (++cursor.sinceQuery == updatesPerMinimumQuery) {
+            cursor.sinceQuery = 0;
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public Object lockFreeUpdate(Cursor cursor) {
+        if (queryDue(cursor)) {
+            return tracker.getMinimumPriority();
+        }
+        return tracker.updatePriority(next(cursor));
+    }
+
+    @Benchmark
+    public Object skipListUpdate(Cursor cursor) {
+        if (queryDue(cursor)) {
+            return baseline.getMinimumPriority();
+        }
+        return baseline.updatePriority(next(cursor));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object lockFreeUpdateConcurrent(Cursor cursor) {
+        return lockFreeUpdate(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object skipListUpdateConcurrent(Cursor cursor) {
+        return skipListUpdate(cursor);
+    }
+}
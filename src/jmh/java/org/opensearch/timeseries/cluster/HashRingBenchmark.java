@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.cluster;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.Murmur3HashFunction;
+import org.opensearch.core.common.transport.TransportAddress;
+
+/**
+ * Owning node lookup of a model id: the array snapshot the realtime circles use
+ * against the TreeMap circle historical analysis still uses. Both are built the way
+ * HashRing builds a version circle, 100 virtual nodes per data node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashRingBenchmark {
+    private static final int VIRTUAL_NODE_COUNT = 100;
+    private static final int MODELS = 1024;
+
+    @Param({ "3", "50" })
+    public int nodes;
+
+    private String[] modelIds;
+    private TreeMap<Integer, DiscoveryNode> circle;
+    private HashRingSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        circle = new TreeMap<>();
+        for (int n = 0; n < nodes; n++) {
+            TransportAddress address = new TransportAddress(TransportAddress.META_ADDRESS, 9300 + n);
+            DiscoveryNode node = new DiscoveryNode("node" + n, address, Version.CURRENT);
+            for (int i = 0; i < VIRTUAL_NODE_COUNT; i++) {
+                circle.put(Murmur3HashFunction.hash(node.getId() + i), node);
+            }
+        }
+        snapshot = HashRingSnapshot.of(circle);
+
+        modelIds = new String[MODELS];
+        for (int i = 0; i < MODELS; i++) {
+            modelIds[i] = "detector_entity_" + i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MODELS)
+    public void snapshotLookup(Blackhole blackhole) {
+        for (String modelId : modelIds) {
+            blackhole.consume(snapshot.getOwningNode(Murmur3HashFunction.hash(modelId)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MODELS)
+    public void treeMapLookup(Blackhole blackhole) {
+        for (String modelId : modelIds) {
+            Map.Entry<Integer, DiscoveryNode> entry = circle.higherEntry(Murmur3HashFunction.hash(modelId));
+            blackhole.consume(entry == null ? circle.firstEntry().getValue() : entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.feature;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.ad.model.AnomalyDetector;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.ParseField;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.Aggregation;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.ParsedComposite;
+import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.ParsedMax;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.model.Feature;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+
+/**
+ * Turning a page of the composite aggregation into entity features, done on the
+ * coordinating node for every page of every interval of an HC detector.
+ *
+ * The response is parsed from a synthetic typed-keys body once, so its aggregations
+ * are the parsed rather than the internal implementations; both are read through the
+ * same CompositeAggregation and SingleValue interfaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompositeRetrieverBenchmark {
+    // the default page size of HC detectors
+    @Param({ "1000" })
+    public int buckets;
+
+    @Param({ "1", "5" })
+    public int features;
+
+    private CompositeRetriever.PageIterator pageIterator;
+    private SearchResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Feature> featureList = new ArrayList<>(features);
+        for (int f = 0; f < features; f++) {
+            String featureId = "feature_" + f;
+            featureList.add(new Feature(featureId, featureId, true, AggregationBuilders.max(featureId).field("value_" + f)));
+        }
+        AnomalyDetector detector = new AnomalyDetector(
+            "detector",
+            1L,
+            "detector",
+            null,
+            "timestamp",
+            Collections.singletonList("index"),
+            featureList,
+            QueryBuilders.matchAllQuery(),
+            new IntervalTimeConfiguration(1, ChronoUnit.MINUTES),
+            new IntervalTimeConfiguration(0, ChronoUnit.MINUTES),
+            8,
+            null,
+            1,
+            Instant.EPOCH,
+            Arrays.asList("service", "host"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+        long end = 1_700_000_000_000L;
+        // analyzePage needs neither the client nor the cluster state when the response has aggregations
+        CompositeRetriever retriever = new CompositeRetriever(
+            end - 60_000L,
+            end,
+            detector,
+            NamedXContentRegistry.EMPTY,
+            null,
+            null,
+            Long.MAX_VALUE,
+            Settings.EMPTY,
+            10_000,
+            buckets,
+            null,
+            null,
+            AnalysisType.AD
+        );
+        pageIterator = retriever.new PageIterator(new SearchSourceBuilder());
+        response = response(detector.getEnabledFeatureIds());
+    }
+
+    private SearchResponse response(List<String> featureIds) throws IOException {
+        Random random = new Random(42);
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.startObject(CompositeAggregationBuilder.NAME + Aggregation.TYPED_KEYS_DELIMITER + CompositeRetriever.AGG_NAME_COMP);
+        builder.startObject("after_key").field("service", "service_9").field("host", "host_" + (buckets - 1)).endObject();
+        builder.startArray("buckets");
+        for (int i = 0; i < buckets; i++) {
+            builder.startObject();
+            builder.startObject("key").field("service", "service_" + (i % 10)).field("host", "host_" + i).endObject();
+            builder.field("doc_count", 1 + random.nextInt(10));
+            for (String featureId : featureIds) {
+                builder
+                    .startObject(MaxAggregationBuilder.NAME + Aggregation.TYPED_KEYS_DELIMITER + featureId)
+                    .field("value", random.nextDouble() * 100)
+                    .endObject();
+            }
+            builder.endObject();
+        }
+        builder.endArray().endObject().endObject();
+
+        NamedXContentRegistry registry = new NamedXContentRegistry(
+            Arrays
+                .asList(
+                    new NamedXContentRegistry.Entry(
+                        Aggregation.class,
+                        new ParseField(CompositeAggregationBuilder.NAME),
+                        (p, c) -> ParsedComposite.fromXContent(p, (String) c)
+                    ),
+                    new NamedXContentRegistry.Entry(
+                        Aggregation.class,
+                        new ParseField(MaxAggregationBuilder.NAME),
+                        (p, c) -> ParsedMax.fromXContent(p, (String) c)
+                    )
+                )
+        );
+        Aggregations aggregations;
+        try (
+            XContentParser parser = XContentType.JSON
+                .xContent()
+                .createParser(registry, LoggingDeprecationHandler.INSTANCE, builder.toString())
+        ) {
+            parser.nextToken();
+            aggregations = Aggregations.fromXContent(parser);
+        }
+        SearchResponseSections sections = new SearchResponseSections(SearchHits.empty(), aggregations, null, false, null, null, 1);
+        return new SearchResponse(sections, null, 1, 1, 0, 0, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    @Benchmark
+    public CompositeRetriever.Page analyzePage() {
+        return pageIterator.analyzePage(response);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-entity costs paid for every entity of every page: building the entity from a
+ * composite bucket key, deriving its model id, and the normalized string the hash
+ * ring routes by.
+ *
+ * Entity caches its model id, so {@code createAndGetModelId} builds a new entity each
+ * time as the page parser does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityBenchmark {
+    private static final String CONFIG_ID = "Rs3sDZIBqPPkCqT5gmQ8";
+
+    @Param({ "1", "3" })
+    public int attributes;
+
+    @Param({ "16", "64" })
+    public int valueLength;
+
+    private Map<String, Object> bucketKey;
+    private Entity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bucketKey = new HashMap<>();
+        for (int i = 0; i < attributes; i++) {
+            StringBuilder value = new StringBuilder("value" + i + "-");
+            while (value.length() < valueLength) {
+                value.append((char) ('a' + value.length() % 26));
+            }
+            bucketKey.put("category_field_" + i, value.toString());
+        }
+        entity = Entity.createEntityByReordering(bucketKey);
+    }
+
+    @Benchmark
+    public Optional<String> createAndGetModelId() {
+        return Entity.createEntityByReordering(bucketKey).getModelId(CONFIG_ID);
+    }
+
+    @Benchmark
+    public String entityToString() {
+        return entity.toString();
+    }
+}
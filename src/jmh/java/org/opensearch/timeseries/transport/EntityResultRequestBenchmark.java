@@ -0,0 +1,88 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.timeseries.transport;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.model.Entity;
+
+/**
+ * Transport serialization of the entity features a coordinating node sends to each
+ * owning node per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityResultRequestBenchmark {
+    // a page holds up to 1000 entities split among the owning nodes
+    @Param({ "100", "1000" })
+    public int entities;
+
+    @Param({ "1", "5" })
+    public int features;
+
+    private EntityResultRequest request;
+    private BytesReference serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        Map<Entity, double[]> entityFeatures = new HashMap<>();
+        for (int i = 0; i < entities; i++) {
+            Map<String, Object> bucketKey = new HashMap<>();
+            bucketKey.put("service", "service-" + (i % 10));
+            bucketKey.put("host", "host-" + i);
+            double[] values = new double[features];
+            for (int f = 0; f < features; f++) {
+                values[f] = random.nextDouble() * 100;
+            }
+            entityFeatures.put(Entity.createEntityByReordering(bucketKey), values);
+        }
+        long end = 1_700_000_000_000L;
+        request = new EntityResultRequest("detector", entityFeatures, end - 60_000L, end, AnalysisType.AD, null);
+        serialized = serialize();
+    }
+
+    @Benchmark
+    public BytesReference serialize() throws IOException {
+        BytesStreamOutput output = new BytesStreamOutput();
+        request.writeTo(output);
+        return output.bytes();
+    }
+
+    @Benchmark
+    public EntityResultRequest deserialize() throws IOException {
+        return new EntityResultRequest(serialized.streamInput());
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad;
+
+import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.ad.correlation.Anomaly;
+import org.opensearch.ad.ml.InsightsGenerator;
+import org.opensearch.ad.model.AnomalyResult;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.util.ParseUtils;
+
+/**
+ * Compact projection of the anomaly results an Insights job run correlates.
+ *
+ * Only the fields correlation and insights generation read are kept, column by column: the
+ * config id, the model id, the entity key, and the data start/end time in epoch millis.
+ * Repeated strings (config ids, model ids, entity keys) share one instance. The number of
+ * anomalies kept is bounded by a capacity, so memory does not grow with the number of
+ * results in the analysis window.
+ */
+class InsightsAnomalies {
+    private static final int INITIAL_SIZE = 1024;
+
+    private final int capacity;
+    private final Map<String, String> strings;
+    private String[] configIds;
+    private String[] modelIds;
+    private String[] entityKeys;
+    private long[] startTimes;
+    private long[] endTimes;
+    private int size;
+    private boolean truncated;
+
+    /**
+     * @param capacity maximum number of anomalies to keep
+     */
+    InsightsAnomalies(int capacity) {
+        this.capacity = capacity;
+        this.strings = new HashMap<>();
+        int initialSize = Math.min(capacity, INITIAL_SIZE);
+        this.configIds = new String[initialSize];
+        this.modelIds = new String[initialSize];
+        this.entityKeys = new String[initialSize];
+        this.startTimes = new long[initialSize];
+        this.endTimes = new long[initialSize];
+        this.size = 0;
+        this.truncated = false;
+    }
+
+    /**
+     * Add an anomaly. Anomalies without a config id or with an empty data time range are skipped.
+     *
+     * @param configId config id
+     * @param modelId model id; the config id for single-stream detectors if null
+     * @param entityKey entity key as built by {@link InsightsGenerator#buildEntityKey(Map)}, or null
+     * @param startTime data start time in epoch millis
+     * @param endTime data end time in epoch millis
+     * @return whether the anomaly was added
+     */
+    boolean add(String configId, String modelId, String entityKey, long startTime, long endTime) {
+        if (configId == null || endTime <= startTime) {
+            return false;
+        }
+        if (isFull()) {
+            truncated = true;
+            return false;
+        }
+        if (size == configIds.length) {
+            int newLength = (int) Math.min(capacity, 2L * configIds.length);
+            configIds = Arrays.copyOf(configIds, newLength);
+            modelIds = Arrays.copyOf(modelIds, newLength);
+            entityKeys = Arrays.copyOf(entityKeys, newLength);
+            startTimes = Arrays.copyOf(startTimes, newLength);
+            endTimes = Arrays.copyOf(endTimes, newLength);
+        }
+        configIds[size] = intern(configId);
+        modelIds[size] = intern(modelId != null ? modelId : configId);
+        entityKeys[size] = intern(entityKey);
+        startTimes[size] = startTime;
+        endTimes[size] = endTime;
+        size++;
+        return true;
+    }
+
+    /**
+     * Add an anomaly from the source of an anomaly result positioned at its START_OBJECT.
+     * Only detector_id, model_id, entity, data_start_time, and data_end_time are read.
+     *
+     * @param parser parser of an anomaly result source
+     * @return whether the anomaly was added
+     * @throws IOException if the source cannot be parsed
+     */
+    boolean add(XContentParser parser) throws IOException {
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+        String configId = null;
+        String modelId = null;
+        Entity entity = null;
+        Instant startTime = null;
+        Instant endTime = null;
+
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if (parser.currentToken() == XContentParser.Token.VALUE_NULL) {
+                continue;
+            }
+            switch (fieldName) {
+                case AnomalyResult.DETECTOR_ID_FIELD:
+                    configId = parser.text();
+                    break;
+                case CommonName.MODEL_ID_FIELD:
+                    modelId = parser.text();
+                    break;
+                case CommonName.ENTITY_KEY:
+                    entity = Entity.parse(parser);
+                    break;
+                case CommonName.DATA_START_TIME_FIELD:
+                    startTime = ParseUtils.toInstant(parser);
+                    break;
+                case CommonName.DATA_END_TIME_FIELD:
+                    endTime = ParseUtils.toInstant(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if (startTime == null || endTime == null) {
+            return false;
+        }
+        String entityKey = null;
+        if (entity != null) {
+            entityKey = InsightsGenerator.buildEntityKey(entity.getAttributes());
+            if (modelId == null && configId != null) {
+                modelId = entity.getModelId(configId).orElse(null);
+            }
+        }
+        return add(configId, modelId, entityKey, startTime.toEpochMilli(), endTime.toEpochMilli());
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * @return whether anomalies were dropped because the capacity was reached
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    void setTruncated() {
+        truncated = true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int remaining() {
+        return capacity - size;
+    }
+
+    /**
+     * @return distinct config ids in insertion order
+     */
+    Set<String> getConfigIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            ids.add(configIds[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Materialize correlation inputs, grouped by config so anomalies of one detector are adjacent.
+     *
+     * @param entityKeyByAnomaly filled with the entity key of each returned anomaly that has one
+     * @return correlation anomalies
+     */
+    List<Anomaly> toCorrelationInput(IdentityHashMap<Anomaly, String> entityKeyByAnomaly) {
+        // counting sort of rows by config ordinal, stable within a config
+        Map<String, Integer> ordinals = new HashMap<>();
+        int[] rowOrdinals = new int[size];
+        for (int i = 0; i < size; i++) {
+            Integer ordinal = ordinals.get(configIds[i]);
+            if (ordinal == null) {
+                ordinal = ordinals.size();
+                ordinals.put(configIds[i], ordinal);
+            }
+            rowOrdinals[i] = ordinal;
+        }
+        int[] offsets = new int[ordinals.size() + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[rowOrdinals[i] + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[offsets[rowOrdinals[i]]++] = i;
+        }
+
+        List<Anomaly> anomalies = new ArrayList<>(size);
+        for (int row : rows) {
+            Anomaly anomaly = new Anomaly(
+                modelIds[row],
+                configIds[row],
+                Instant.ofEpochMilli(startTimes[row]),
+                Instant.ofEpochMilli(endTimes[row])
+            );
+            anomalies.add(anomaly);
+            if (entityKeys[row] != null) {
+                entityKeyByAnomaly.put(anomaly, entityKeys[row]);
+            }
+        }
+        return anomalies;
+    }
+}
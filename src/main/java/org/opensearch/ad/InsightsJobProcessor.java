@@ -11,7 +11,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,10 +21,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.opensearch.action.index.IndexRequest;
-import org.opensearch.action.search.ClearScrollRequest;
-import org.opensearch.action.search.ClearScrollResponse;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.correlation.Anomaly;
 import org.opensearch.ad.correlation.AnomalyCorrelation;
@@ -62,12 +61,15 @@ import org.opensearch.search.aggregations.Aggregation;
 import org.opensearch.search.aggregations.Aggregations;
 import org.opensearch.search.aggregations.bucket.terms.StringTerms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.FieldSortBuilder;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.JobProcessor;
 import org.opensearch.timeseries.TimeSeriesAnalyticsPlugin;
+import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.indices.IndexManagement;
 import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.Job;
@@ -92,10 +94,15 @@ public class InsightsJobProcessor extends
     private static final Logger log = LogManager.getLogger(InsightsJobProcessor.class);
     private static final int LOG_PREVIEW_LIMIT = 2000;
     private static final String RESULT_INDEX_AGG_NAME = "result_index";
+    private static final int PAGE_SIZE = 10000;
+    private static final TimeValue PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+    // point in time tiebreaker: unique per document within the point in time
+    private static final String SHARD_DOC_FIELD = "_shard_doc";
 
     private static volatile InsightsJobProcessor INSTANCE;
     private NamedXContentRegistry xContentRegistry;
     private Settings settings;
+    private int maxAnomalies;
 
     private Client localClient;
     private ThreadPool localThreadPool;
@@ -122,6 +129,7 @@ public class InsightsJobProcessor extends
     public void registerSettings(Settings settings) {
         super.registerSettings(settings, AnomalyDetectorSettings.AD_MAX_RETRY_FOR_END_RUN_EXCEPTION);
         this.settings = settings;
+        this.maxAnomalies = AnomalyDetectorSettings.INSIGHTS_MAX_ANOMALIES.get(settings);
     }
 
     public void setXContentRegistry(NamedXContentRegistry xContentRegistry) {
@@ -245,8 +253,8 @@ public class InsightsJobProcessor extends
             log.info("One-time Insights job analyzing data from {} to {} (default 24h window)", executionStartTime, executionEndTime);
         }
 
-        ActionListener<List<AnomalyResult>> anomaliesListener = ActionListener.wrap(anomalies -> {
-            if (anomalies == null || anomalies.isEmpty()) {
+        ActionListener<InsightsAnomalies> anomaliesListener = ActionListener.wrap(anomalies -> {
+            if (anomalies == null || anomalies.size() == 0) {
                 log.info("No anomalies found in one-time run, skipping correlation");
                 return;
             }
@@ -305,8 +313,8 @@ public class InsightsJobProcessor extends
         // Guarded listener that ensures the lock is released exactly once regardless of success/failure path
         ActionListener<Void> lockReleasing = guardedLockReleasingListener(jobParameter, lockService, lock);
 
-        ActionListener<List<AnomalyResult>> anomaliesListener = ActionListener.wrap(anomalies -> {
-            if (anomalies == null || anomalies.isEmpty()) {
+        ActionListener<InsightsAnomalies> anomaliesListener = ActionListener.wrap(anomalies -> {
+            if (anomalies == null || anomalies.size() == 0) {
                 log.info("No anomalies found in time window, skipping correlation");
                 lockReleasing.onResponse(null);
                 return;
@@ -340,7 +348,12 @@ public class InsightsJobProcessor extends
     }
 
     /**
-     * Query all anomalies from custom result indices for the given time window.
+     * Query anomalies from custom result indices for the given time window.
+     *
+     * Results are paged with search_after over a point in time so that pages are consistent
+     * while new results are written. Only the fields correlation needs are fetched and parsed
+     * into a compact projection. At most {@link AnomalyDetectorSettings#INSIGHTS_MAX_ANOMALIES}
+     * anomalies are loaded; results are sorted by grade so the most severe ones are kept.
      *
      * @param jobParameter The insights job
      * @param executionStartTime Start of analysis window
@@ -350,48 +363,18 @@ public class InsightsJobProcessor extends
         Job jobParameter,
         Instant executionStartTime,
         Instant executionEndTime,
-        ActionListener<List<AnomalyResult>> listener
+        ActionListener<InsightsAnomalies> listener
     ) {
         log.info("Querying anomaly results from {} to {}", executionStartTime, executionEndTime);
 
         resolveCustomResultIndexPatterns(jobParameter, ActionListener.wrap(indexPatterns -> {
             if (indexPatterns == null || indexPatterns.isEmpty()) {
                 log.info("No custom result indices found; skipping anomaly query");
-                listener.onResponse(new ArrayList<>());
+                listener.onResponse(new InsightsAnomalies(maxAnomalies));
                 return;
             }
 
-            List<AnomalyResult> allAnomalies = new ArrayList<>();
-
-            BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
-
-            boolQuery
-                .filter(
-                    QueryBuilders
-                        .rangeQuery("execution_start_time")
-                        .gte(executionStartTime.toEpochMilli())
-                        .lte(executionEndTime.toEpochMilli())
-                        .format("epoch_millis")
-                );
-
-            boolQuery.filter(QueryBuilders.rangeQuery("anomaly_grade").gt(0));
-
-            final int pageSize = 10000;
-            final TimeValue scrollKeepAlive = TimeValue.timeValueMinutes(5);
-
-            SearchSourceBuilder baseSource = new SearchSourceBuilder()
-                .query(boolQuery)
-                .size(pageSize)
-                .fetchSource(
-                    new String[] { "detector_id", "model_id", "entity", "data_start_time", "data_end_time", "anomaly_grade" },
-                    null
-                )
-                .sort("_doc", SortOrder.ASC);
-
-            SearchRequest searchRequest = new SearchRequest(indexPatterns.toArray(new String[0]))
-                .source(baseSource)
-                .scroll(scrollKeepAlive);
-            logAnomalyResultsQueryPreview(searchRequest, baseSource, pageSize, scrollKeepAlive, executionStartTime, executionEndTime);
+            CreatePitRequest pitRequest = new CreatePitRequest(PIT_KEEP_ALIVE, false, indexPatterns.toArray(new String[0]));
 
             User userInfo = SecurityUtil.getUserFromJob(jobParameter, settings);
             String user = userInfo.getName();
@@ -404,48 +387,11 @@ public class InsightsJobProcessor extends
             try {
                 // anomaly results are stored in custom result indices; use job user credentials to search
                 injectSecurity.inject(user, roles);
-                localClient.search(searchRequest, ActionListener.runBefore(ActionListener.wrap(searchResponse -> {
-                    String scrollId = searchResponse.getScrollId();
-                    SearchHit[] hits = searchResponse.getHits().getHits();
-                    try {
-                        parseAnomalyHits(hits, allAnomalies);
-                    } catch (Exception parseException) {
-                        // Best effort cleanup: if parsing unexpectedly fails, clear the scroll id we currently hold.
-                        clearScroll(jobParameter, scrollId);
-                        listener.onFailure(parseException);
-                        return;
-                    }
-
-                    if (hits.length == 0 || hits.length < pageSize) {
-                        log
-                            .info(
-                                "Successfully parsed {} anomalies in time window {} to {}",
-                                allAnomalies.size(),
-                                executionStartTime,
-                                executionEndTime
-                            );
-                        clearScroll(jobParameter, scrollId);
-                        listener.onResponse(allAnomalies);
-                        return;
-                    }
-
-                    fetchScrolledAnomalies(
-                        jobParameter,
-                        scrollId,
-                        scrollKeepAlive,
-                        pageSize,
-                        allAnomalies,
-                        executionStartTime,
-                        executionEndTime,
-                        listener
-                    );
+                localClient.createPit(pitRequest, ActionListener.runBefore(ActionListener.wrap(pitResponse -> {
+                    InsightsAnomalies anomalies = new InsightsAnomalies(maxAnomalies);
+                    searchAnomalies(jobParameter, pitResponse.getId(), null, anomalies, executionStartTime, executionEndTime, listener);
                 }, e -> {
-                    if (e.getMessage() != null
-                        && (e.getMessage().contains("no such index") || e.getMessage().contains("index_not_found"))) {
-                        log.info("Anomaly results index does not exist yet (no anomalies recorded)");
-                    } else {
-                        log.error("Failed to query anomaly results", e);
-                    }
+                    logAnomalyQueryFailure(e);
                     listener.onFailure(e);
                 }), injectSecurity::close));
             } catch (Exception e) {
@@ -506,95 +452,155 @@ public class InsightsJobProcessor extends
     }
 
     /**
-     * Fetch anomalies with pagination
+     * Fetch a page of anomalies after the given sort values and continue until all anomalies
+     * in the window are loaded or the projection is full.
      */
-    private void fetchScrolledAnomalies(
+    private void searchAnomalies(
         Job jobParameter,
-        String scrollId,
-        TimeValue scrollKeepAlive,
-        int pageSize,
-        List<AnomalyResult> allAnomalies,
+        String pitId,
+        Object[] searchAfter,
+        InsightsAnomalies anomalies,
         Instant executionStartTime,
         Instant executionEndTime,
-        ActionListener<List<AnomalyResult>> listener
+        ActionListener<InsightsAnomalies> listener
     ) {
-        SearchScrollRequest scrollRequest = new SearchScrollRequest(scrollId).scroll(scrollKeepAlive);
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+        boolQuery
+            .filter(
+                QueryBuilders
+                    .rangeQuery(CommonName.EXECUTION_START_TIME_FIELD)
+                    .gte(executionStartTime.toEpochMilli())
+                    .lte(executionEndTime.toEpochMilli())
+                    .format("epoch_millis")
+            );
+        boolQuery.filter(QueryBuilders.rangeQuery(AnomalyResult.ANOMALY_GRADE_FIELD).gt(0));
+
+        // one hit past the capacity tells whether the window has more anomalies than kept
+        int pageSize = Math.min(PAGE_SIZE, anomalies.remaining() + 1);
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(boolQuery)
+            .size(pageSize)
+            .fetchSource(
+                new String[] {
+                    AnomalyResult.DETECTOR_ID_FIELD,
+                    CommonName.MODEL_ID_FIELD,
+                    CommonName.ENTITY_KEY,
+                    CommonName.DATA_START_TIME_FIELD,
+                    CommonName.DATA_END_TIME_FIELD },
+                null
+            )
+            // most severe first so that a truncated run keeps them
+            .sort(AnomalyResult.ANOMALY_GRADE_FIELD, SortOrder.DESC)
+            .sort(AnomalyResult.DETECTOR_ID_FIELD, SortOrder.ASC)
+            .sort(CommonName.DATA_START_TIME_FIELD, SortOrder.ASC)
+            .sort(new FieldSortBuilder(CommonName.MODEL_ID_FIELD).order(SortOrder.ASC).missing("_first"))
+            // results can share all keys above; the point in time tiebreaker keeps search_after from skipping them
+            .sort(new FieldSortBuilder(SHARD_DOC_FIELD).order(SortOrder.ASC))
+            .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(PIT_KEEP_ALIVE));
+        if (searchAfter != null) {
+            source.searchAfter(searchAfter);
+        }
+
+        // indices are defined by the point in time
+        SearchRequest searchRequest = new SearchRequest().source(source);
+        if (searchAfter == null) {
+            logAnomalyResultsQueryPreview(source, pageSize, executionStartTime, executionEndTime);
+        }
+
         User userInfo = SecurityUtil.getUserFromJob(jobParameter, settings);
         String user = userInfo.getName();
         List<String> roles = userInfo.getRoles();
         InjectSecurity injectSecurity = new InjectSecurity(jobParameter.getName(), settings, localClient.threadPool().getThreadContext());
         try {
             injectSecurity.inject(user, roles);
-            localClient.searchScroll(scrollRequest, ActionListener.runBefore(ActionListener.wrap(searchResponse -> {
-                String nextScrollId = searchResponse.getScrollId();
+            localClient.search(searchRequest, ActionListener.runBefore(ActionListener.wrap(searchResponse -> {
+                // the point in time id may change between requests
+                String nextPitId = searchResponse.pointInTimeId() != null ? searchResponse.pointInTimeId() : pitId;
                 SearchHit[] hits = searchResponse.getHits().getHits();
                 try {
-                    parseAnomalyHits(hits, allAnomalies);
+                    parseAnomalyHits(hits, anomalies);
                 } catch (Exception parseException) {
-                    // If parsing fails after we have a newer scroll id, clear that (not the previous one).
-                    clearScroll(jobParameter, nextScrollId != null ? nextScrollId : scrollId);
+                    deletePit(jobParameter, nextPitId);
                     listener.onFailure(parseException);
                     return;
                 }
 
-                if (hits.length == 0 || hits.length < pageSize) {
+                // a full projection without a hit past it asks for one more
+                if (hits.length < pageSize || anomalies.isTruncated()) {
+                    if (anomalies.isTruncated()) {
+                        log
+                            .warn(
+                                "Loaded the maximum of {} anomalies in time window {} to {}; anomalies with lower grades are skipped",
+                                anomalies.size(),
+                                executionStartTime,
+                                executionEndTime
+                            );
+                    }
                     log
                         .info(
                             "Successfully parsed {} anomalies in time window {} to {}",
-                            allAnomalies.size(),
+                            anomalies.size(),
                             executionStartTime,
                             executionEndTime
                         );
-                    clearScroll(jobParameter, nextScrollId);
-                    listener.onResponse(allAnomalies);
+                    deletePit(jobParameter, nextPitId);
+                    listener.onResponse(anomalies);
                     return;
                 }
 
-                fetchScrolledAnomalies(
+                searchAnomalies(
                     jobParameter,
-                    nextScrollId,
-                    scrollKeepAlive,
-                    pageSize,
-                    allAnomalies,
+                    nextPitId,
+                    hits[hits.length - 1].getSortValues(),
+                    anomalies,
                     executionStartTime,
                     executionEndTime,
                     listener
                 );
             }, e -> {
-                clearScroll(jobParameter, scrollId);
-                if (e.getMessage() != null && (e.getMessage().contains("no such index") || e.getMessage().contains("index_not_found"))) {
-                    log.info("Anomaly results index does not exist yet (no anomalies recorded)");
-                } else {
-                    log.error("Failed to query anomaly results", e);
-                }
+                deletePit(jobParameter, pitId);
+                logAnomalyQueryFailure(e);
                 listener.onFailure(e);
             }), injectSecurity::close));
         } catch (Exception e) {
             injectSecurity.close();
+            deletePit(jobParameter, pitId);
             listener.onFailure(e);
         }
     }
 
-    private void parseAnomalyHits(SearchHit[] hits, List<AnomalyResult> allAnomalies) {
+    private void logAnomalyQueryFailure(Exception e) {
+        if (e.getMessage() != null && (e.getMessage().contains("no such index") || e.getMessage().contains("index_not_found"))) {
+            log.info("Anomaly results index does not exist yet (no anomalies recorded)");
+        } else {
+            log.error("Failed to query anomaly results", e);
+        }
+    }
+
+    private void parseAnomalyHits(SearchHit[] hits, InsightsAnomalies anomalies) {
         for (SearchHit hit : hits) {
-            try {
+            if (anomalies.isFull()) {
+                // a hit past the capacity
+                anomalies.setTruncated();
+                return;
+            }
+            try (
                 XContentParser parser = org.opensearch.timeseries.util.RestHandlerUtils
-                    .createXContentParserFromRegistry(xContentRegistry, hit.getSourceRef());
-                ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
-                AnomalyResult anomaly = AnomalyResult.parse(parser);
-                allAnomalies.add(anomaly);
+                    .createXContentParserFromRegistry(xContentRegistry, hit.getSourceRef())
+            ) {
+                parser.nextToken();
+                anomalies.add(parser);
             } catch (Exception e) {
                 log.warn("Failed to parse anomaly from {} (document may be incomplete)", hit.getId(), e);
             }
         }
     }
 
-    private void clearScroll(Job jobParameter, String scrollId) {
-        if (scrollId == null || scrollId.isEmpty()) {
+    private void deletePit(Job jobParameter, String pitId) {
+        if (pitId == null || pitId.isEmpty()) {
             return;
         }
-        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
-        clearScrollRequest.addScrollId(scrollId);
+        DeletePitRequest deletePitRequest = new DeletePitRequest(pitId);
         User userInfo = SecurityUtil.getUserFromJob(jobParameter, settings);
         String user = userInfo.getName();
         List<String> roles = userInfo.getRoles();
@@ -602,12 +608,17 @@ public class InsightsJobProcessor extends
         try {
             injectSecurity.inject(user, roles);
             localClient
-                .clearScroll(clearScrollRequest, ActionListener.runBefore(ActionListener.wrap(ClearScrollResponse::isSucceeded, e -> {
-                    log.warn("Failed to clear scroll {}", scrollId, e);
-                }), injectSecurity::close));
+                .deletePits(
+                    deletePitRequest,
+                    ActionListener
+                        .runBefore(
+                            ActionListener.wrap(r -> {}, e -> { log.warn("Failed to delete point in time {}", pitId, e); }),
+                            injectSecurity::close
+                        )
+                );
         } catch (Exception e) {
             injectSecurity.close();
-            log.warn("Failed to clear scroll {}", scrollId, e);
+            log.warn("Failed to delete point in time {}", pitId, e);
         }
     }
 
@@ -615,14 +626,14 @@ public class InsightsJobProcessor extends
      * Process anomalies with anomaly correlation.
      *
      * @param jobParameter The insights job
-     * @param anomalies All collected anomalies
+     * @param anomalies All loaded anomalies
      * @param detectorMetadataMap Detector metadata for insights generation
      * @param executionStartTime Start of analysis window
      * @param executionEndTime End of analysis window
      */
     private void processAnomaliesWithCorrelation(
         Job jobParameter,
-        List<AnomalyResult> anomalies,
+        InsightsAnomalies anomalies,
         Map<String, DetectorMetadata> detectorMetadataMap,
         List<AnomalyDetector> detectors,
         Instant executionStartTime,
@@ -642,7 +653,13 @@ public class InsightsJobProcessor extends
                 return;
             }
 
-            log.info("AnomalyCorrelation input: {} anomalies, {} detectors", payload.anomalies.size(), detectors.size());
+            log
+                .info(
+                    "AnomalyCorrelation input: {} anomalies (truncated: {}), {} detectors",
+                    payload.anomalies.size(),
+                    anomalies.isTruncated(),
+                    detectors.size()
+                );
             logCorrelationInputPreview(payload.anomalies);
             logCorrelationDetectorsPreview(detectors);
             List<AnomalyCorrelation.Cluster> clusters = AnomalyCorrelation.clusterWithEventWindows(payload.anomalies, detectors, false);
@@ -650,9 +667,9 @@ public class InsightsJobProcessor extends
             log.info("Anomaly correlation completed, found {} event clusters", clusters.size());
 
             java.util.Optional<XContentBuilder> insightsDoc = InsightsGenerator
-                .generateInsightsFromClusters(
+                .generateInsightsFromEntityKeys(
                     clusters,
-                    payload.anomalyResultByAnomaly,
+                    payload.entityKeyByAnomaly,
                     detectorMetadataMap,
                     executionStartTime,
                     executionEndTime
@@ -671,44 +688,18 @@ public class InsightsJobProcessor extends
 
     private static final class CorrelationPayload {
         private final List<Anomaly> anomalies;
-        private final java.util.IdentityHashMap<Anomaly, AnomalyResult> anomalyResultByAnomaly;
+        private final IdentityHashMap<Anomaly, String> entityKeyByAnomaly;
 
-        private CorrelationPayload(List<Anomaly> anomalies, java.util.IdentityHashMap<Anomaly, AnomalyResult> anomalyResultByAnomaly) {
+        private CorrelationPayload(List<Anomaly> anomalies, IdentityHashMap<Anomaly, String> entityKeyByAnomaly) {
             this.anomalies = anomalies;
-            this.anomalyResultByAnomaly = anomalyResultByAnomaly;
+            this.entityKeyByAnomaly = entityKeyByAnomaly;
         }
     }
 
-    private CorrelationPayload buildCorrelationPayload(List<AnomalyResult> anomalies) {
-        List<Anomaly> correlationAnomalies = new ArrayList<>();
-        java.util.IdentityHashMap<Anomaly, AnomalyResult> anomalyResultByAnomaly = new java.util.IdentityHashMap<>();
-
-        for (AnomalyResult anomaly : anomalies) {
-            Instant start = anomaly.getDataStartTime();
-            Instant end = anomaly.getDataEndTime();
-            if (start == null || end == null || !end.isAfter(start)) {
-                continue;
-            }
-
-            String modelId = anomaly.getModelId();
-            if (modelId == null) {
-                modelId = org.opensearch.timeseries.model.IndexableResult.getEntityId(anomaly.getEntity(), anomaly.getConfigId());
-            }
-            if (modelId == null) {
-                modelId = anomaly.getConfigId();
-            }
-
-            String configId = anomaly.getConfigId();
-            if (configId == null) {
-                continue;
-            }
-
-            Anomaly correlationAnomaly = new Anomaly(modelId, configId, start, end);
-            correlationAnomalies.add(correlationAnomaly);
-            anomalyResultByAnomaly.put(correlationAnomaly, anomaly);
-        }
-
-        return new CorrelationPayload(correlationAnomalies, anomalyResultByAnomaly);
+    private CorrelationPayload buildCorrelationPayload(InsightsAnomalies anomalies) {
+        IdentityHashMap<Anomaly, String> entityKeyByAnomaly = new IdentityHashMap<>();
+        List<Anomaly> correlationAnomalies = anomalies.toCorrelationInput(entityKeyByAnomaly);
+        return new CorrelationPayload(correlationAnomalies, entityKeyByAnomaly);
     }
 
     /**
@@ -792,18 +783,13 @@ public class InsightsJobProcessor extends
      * Fetch detector configs for the detectors present in anomalies and proceed to correlation.
      */
     private void fetchDetectorMetadataAndProceed(
-        List<AnomalyResult> anomalies,
+        InsightsAnomalies anomalies,
         Job jobParameter,
         Instant executionStartTime,
         Instant executionEndTime,
         ActionListener<Void> completionListener
     ) {
-        Set<String> detectorIds = new HashSet<>();
-        for (AnomalyResult anomaly : anomalies) {
-            if (anomaly.getDetectorId() != null) {
-                detectorIds.add(anomaly.getDetectorId());
-            }
-        }
+        Set<String> detectorIds = anomalies.getConfigIds();
 
         if (detectorIds.isEmpty()) {
             log.warn("No detector IDs present in anomalies, skipping correlation");
@@ -869,15 +855,11 @@ public class InsightsJobProcessor extends
         }
     }
 
-    private Map<String, DetectorMetadata> buildDetectorMetadataFromAnomalies(List<AnomalyResult> anomalies) {
+    private Map<String, DetectorMetadata> buildDetectorMetadataFromAnomalies(InsightsAnomalies anomalies) {
         Map<String, DetectorMetadata> metadataMap = new HashMap<>();
 
-        for (AnomalyResult anomaly : anomalies) {
-            String detectorId = anomaly.getDetectorId();
-
-            if (!metadataMap.containsKey(detectorId)) {
-                metadataMap.put(detectorId, new DetectorMetadata(detectorId, null, new ArrayList<>()));
-            }
+        for (String detectorId : anomalies.getConfigIds()) {
+            metadataMap.put(detectorId, new DetectorMetadata(detectorId, null, new ArrayList<>()));
         }
 
         log.info("Built detector metadata from {} anomalies, found {} unique detectors", anomalies.size(), metadataMap.size());
@@ -929,25 +911,22 @@ public class InsightsJobProcessor extends
     }
 
     private void logAnomalyResultsQueryPreview(
-        SearchRequest request,
         SearchSourceBuilder source,
         int pageSize,
-        TimeValue scrollKeepAlive,
         Instant executionStartTime,
         Instant executionEndTime
     ) {
         if (!log.isInfoEnabled()) {
             return;
         }
-        String index = request != null && request.indices() != null ? String.join(",", request.indices()) : "(none)";
         log
             .info(
-                "Anomaly results query: index={}, window=[{}, {}], pageSize={}, scrollKeepAlive={}",
-                index,
+                "Anomaly results query: window=[{}, {}], pageSize={}, pitKeepAlive={}, maxAnomalies={}",
                 executionStartTime,
                 executionEndTime,
                 pageSize,
-                scrollKeepAlive
+                PIT_KEEP_ALIVE,
+                maxAnomalies
             );
         if (source != null) {
             log.info("Anomaly results SearchSource: {}", truncate(source.toString()));
@@ -181,7 +181,7 @@ public final class AnomalyCorrelation {
 
     private static final Duration COARSE_INTERVAL_THRESHOLD = Duration.ofMinutes(30);
 
-    private static Map<String, Duration> detectorIntervalsById(List<AnomalyDetector> detectors) {
+    static Map<String, Duration> detectorIntervalsById(List<AnomalyDetector> detectors) {
         Objects.requireNonNull(detectors, "detectors");
         if (detectors.isEmpty()) {
             throw new IllegalArgumentException("detectors must not be empty");
@@ -206,14 +206,14 @@ public final class AnomalyCorrelation {
         return intervals;
     }
 
-    private static Duration detectorIntervalForAnomaly(Anomaly anomaly, Map<String, Duration> detectorIntervals) {
+    static Duration detectorIntervalForAnomaly(Anomaly anomaly, Map<String, Duration> detectorIntervals) {
         if (detectorIntervals == null || detectorIntervals.isEmpty()) {
             return null;
         }
         return detectorIntervals.get(anomaly.getConfigId());
     }
 
-    private static Map<String, Boolean> detectorUsesCommunityAggregationById(List<AnomalyDetector> detectors) {
+    static Map<String, Boolean> detectorUsesCommunityAggregationById(List<AnomalyDetector> detectors) {
         Objects.requireNonNull(detectors, "detectors");
         if (detectors.isEmpty()) {
             throw new IllegalArgumentException("detectors must not be empty");
@@ -321,7 +321,7 @@ public final class AnomalyCorrelation {
      * @param deltaTol the dilation to apply to the end of an anomaly
      * @return the dilation to apply to the start of an anomaly
      */
-    private static Duration backwardDilation(
+    static Duration backwardDilation(
         Anomaly a,
         Duration deltaTol,
         Map<String, Duration> detectorIntervals,
@@ -339,15 +339,15 @@ public final class AnomalyCorrelation {
         return interval.compareTo(COARSE_INTERVAL_THRESHOLD) >= 0 ? interval : deltaTol;
     }
 
-    private static final Duration DELTA_TOL = Duration.ofMinutes(5);
-    private static final double ALPHA = 0.30;
-    private static final Duration KAPPA = Duration.ofMinutes(30);
-    private static final Duration MIN_OVERLAP = Duration.ofMinutes(3);
+    static final Duration DELTA_TOL = Duration.ofMinutes(5);
+    static final double ALPHA = 0.30;
+    static final Duration KAPPA = Duration.ofMinutes(30);
+    static final Duration MIN_OVERLAP = Duration.ofMinutes(3);
 
-    private static final AnomalyCorrelation.TemporalMode MODE = AnomalyCorrelation.TemporalMode.HYBRID;
-    private static final double LAM = 0.6;
-    private static final double TAU_CONTAIN = 0.8;
-    private static final double RHO_MAX = 0.25;
+    static final AnomalyCorrelation.TemporalMode MODE = AnomalyCorrelation.TemporalMode.HYBRID;
+    static final double LAM = 0.6;
+    static final double TAU_CONTAIN = 0.8;
+    static final double RHO_MAX = 0.25;
 
     /**
      * CONTAINMENT_RELAX controls how much we "relax" the duration-penalty when two
@@ -386,7 +386,7 @@ public final class AnomalyCorrelation {
      * - 1.0 : no special treatment; containment still affects temporal mode but
      * penalty is unchanged
      */
-    private static final double CONTAINMENT_RELAX = 0.45;
+    static final double CONTAINMENT_RELAX = 0.45;
 
     private static final Comparator<Anomaly> CLUSTER_MEMBER_ORDER = Comparator.comparing(Anomaly::getModelId);
 
@@ -891,6 +891,40 @@ public final class AnomalyCorrelation {
         List<Anomaly> dedupedAnomalies = dedupe(anomalies);
         Map<String, Duration> detectorIntervals = detectorIntervalsById(detectors);
         Map<String, Boolean> detectorUsesCommunityAggregation = detectorUsesCommunityAggregationById(detectors);
+
+        // same edges and components without per-pair objects; null for sub-millisecond inputs
+        PrimitiveAnomalyCorrelation engine = PrimitiveAnomalyCorrelation
+            .create(
+                dedupedAnomalies,
+                detectorIntervals,
+                detectorUsesCommunityAggregation,
+                delta,
+                kappa,
+                minSimilarity,
+                minOverlap,
+                temporalMode,
+                lam,
+                tauContain,
+                rhoMax,
+                containmentRelax
+            );
+        if (engine != null) {
+            int[][] comps = engine.connectedComponents();
+            List<List<Anomaly>> out = new ArrayList<>(comps.length);
+            for (int[] comp : comps) {
+                if (!includeSingletons && comp.length == 1) {
+                    continue;
+                }
+                List<Anomaly> members = new ArrayList<>(comp.length);
+                for (int idx : comp) {
+                    members.add(dedupedAnomalies.get(idx));
+                }
+                members.sort(CLUSTER_MEMBER_ORDER);
+                out.add(members);
+            }
+            return out;
+        }
+
         List<List<Integer>> adj = buildThresholdGraph(
             dedupedAnomalies,
             delta,
@@ -0,0 +1,408 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.correlation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.util.IntroSorter;
+
+/**
+ * Primitive-array version of the threshold-graph clustering in {@link AnomalyCorrelation}.
+ *
+ * Dilated intervals are kept as epoch-millisecond {@code long[]} columns and swept in start
+ * order with an index-based active window. Similarity is computed from the columns without
+ * allocating, and connected components come from union-find instead of adjacency lists.
+ *
+ * Lengths are converted to nanoseconds before any floating-point arithmetic, in the same order
+ * of operations as {@link AnomalyCorrelation}, so scores, edges, and components are identical
+ * to {@link AnomalyCorrelation#buildThresholdGraph} and {@link AnomalyCorrelation#connectedComponents}.
+ * Inputs with sub-millisecond precision cannot be represented; {@link #create} returns null for them.
+ */
+final class PrimitiveAnomalyCorrelation {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final int size;
+    // dilated interval of each anomaly in epoch millis, by input index
+    private final long[] starts;
+    private final long[] ends;
+    // undilated duration of each anomaly in nanos
+    private final long[] durations;
+    // detector interval of each anomaly in nanos, 0 if unknown or not positive
+    private final long[] intervals;
+    // input indices sorted by (dilated start, dilated end, index)
+    private final int[] order;
+
+    private final long minOverlapMillis;
+    private final long kappaNanos;
+    private final double minSimilarity;
+    private final AnomalyCorrelation.TemporalMode temporalMode;
+    private final double lam;
+    private final double tauContain;
+    private final double rhoMax;
+    private final double containmentRelax;
+
+    private PrimitiveAnomalyCorrelation(
+        int size,
+        long[] starts,
+        long[] ends,
+        long[] durations,
+        long[] intervals,
+        long minOverlapMillis,
+        long kappaNanos,
+        double minSimilarity,
+        AnomalyCorrelation.TemporalMode temporalMode,
+        double lam,
+        double tauContain,
+        double rhoMax,
+        double containmentRelax
+    ) {
+        this.size = size;
+        this.starts = starts;
+        this.ends = ends;
+        this.durations = durations;
+        this.intervals = intervals;
+        this.minOverlapMillis = minOverlapMillis;
+        this.kappaNanos = kappaNanos;
+        this.minSimilarity = minSimilarity;
+        this.temporalMode = temporalMode;
+        this.lam = lam;
+        this.tauContain = tauContain;
+        this.rhoMax = rhoMax;
+        this.containmentRelax = containmentRelax;
+        this.order = sortedOrder();
+    }
+
+    /**
+     * Precompute the interval columns of anomalies. Parameters have the meaning of
+     * {@link AnomalyCorrelation#buildThresholdGraph}.
+     *
+     * @return the engine, or null if an input cannot be represented in epoch millis
+     *         (sub-millisecond times or dilations, or a missing parameter)
+     */
+    static PrimitiveAnomalyCorrelation create(
+        List<Anomaly> anomalies,
+        Map<String, Duration> detectorIntervals,
+        Map<String, Boolean> detectorUsesCommunityAggregation,
+        Duration delta,
+        Duration kappa,
+        double minSimilarity,
+        Duration minOverlap,
+        AnomalyCorrelation.TemporalMode temporalMode,
+        double lam,
+        double tauContain,
+        double rhoMax,
+        double containmentRelax
+    ) {
+        if (anomalies == null
+            || delta == null
+            || kappa == null
+            || minOverlap == null
+            || temporalMode == null
+            || !isMillis(delta)
+            || !isMillis(minOverlap)) {
+            return null;
+        }
+
+        int size = anomalies.size();
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        long[] durations = new long[size];
+        long[] intervals = new long[size];
+        long deltaMillis = delta.toMillis();
+        for (int i = 0; i < size; i++) {
+            Anomaly anomaly = anomalies.get(i);
+            Duration deltaStart = AnomalyCorrelation
+                .backwardDilation(anomaly, delta, detectorIntervals, detectorUsesCommunityAggregation);
+            if (!isMillis(anomaly.getDataStartTime()) || !isMillis(anomaly.getDataEndTime()) || !isMillis(deltaStart)) {
+                return null;
+            }
+            long start = anomaly.getDataStartTime().toEpochMilli();
+            long end = anomaly.getDataEndTime().toEpochMilli();
+            starts[i] = start - deltaStart.toMillis();
+            ends[i] = end + deltaMillis;
+            durations[i] = (end - start) * NANOS_PER_MILLI;
+            Duration interval = AnomalyCorrelation.detectorIntervalForAnomaly(anomaly, detectorIntervals);
+            intervals[i] = interval == null || interval.isZero() || interval.isNegative() ? 0L : interval.toNanos();
+        }
+
+        return new PrimitiveAnomalyCorrelation(
+            size,
+            starts,
+            ends,
+            durations,
+            intervals,
+            minOverlap.toMillis(),
+            kappa.toNanos(),
+            minSimilarity,
+            temporalMode,
+            lam,
+            tauContain,
+            rhoMax,
+            containmentRelax
+        );
+    }
+
+    private static boolean isMillis(Instant instant) {
+        return instant.getNano() % NANOS_PER_MILLI == 0;
+    }
+
+    private static boolean isMillis(Duration duration) {
+        return duration.getNano() % NANOS_PER_MILLI == 0;
+    }
+
+    private int[] sortedOrder() {
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        new IntroSorter() {
+            private int pivot;
+
+            @Override
+            protected void swap(int i, int j) {
+                int tmp = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = tmp;
+            }
+
+            @Override
+            protected int compare(int i, int j) {
+                return compareByStartThenEndThenIdx(sorted[i], sorted[j]);
+            }
+
+            @Override
+            protected void setPivot(int i) {
+                pivot = sorted[i];
+            }
+
+            @Override
+            protected int comparePivot(int j) {
+                return compareByStartThenEndThenIdx(pivot, sorted[j]);
+            }
+        }.sort(0, size);
+        return sorted;
+    }
+
+    private int compareByStartThenEndThenIdx(int a, int b) {
+        int cmp = Long.compare(starts[a], starts[b]);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Long.compare(ends[a], ends[b]);
+        return cmp != 0 ? cmp : Integer.compare(a, b);
+    }
+
+    @FunctionalInterface
+    private interface EdgeVisitor {
+        void edge(int i, int j);
+    }
+
+    /**
+     * Visit every pair whose dilated overlap is at least minOverlap and whose similarity
+     * is at least minSimilarity.
+     */
+    private void sweep(EdgeVisitor visitor) {
+        int[] active = new int[size];
+        int activeSize = 0;
+        for (int cur : order) {
+            long requiredEnd = starts[cur] + minOverlapMillis;
+            // cur cannot overlap anything by minOverlap, nor can it help later anomalies
+            if (ends[cur] < requiredEnd) {
+                continue;
+            }
+            // requiredEnd never decreases during the sweep, so expired entries are dropped
+            // lazily while comparing instead of being kept ordered by end
+            int kept = 0;
+            for (int k = 0; k < activeSize; k++) {
+                int prev = active[k];
+                if (ends[prev] < requiredEnd) {
+                    continue;
+                }
+                active[kept++] = prev;
+                if (similarity(prev, cur) >= minSimilarity) {
+                    visitor.edge(prev, cur);
+                }
+            }
+            active[kept++] = cur;
+            activeSize = kept;
+        }
+    }
+
+    /**
+     * Same computation as the similarity of {@link AnomalyCorrelation}, on the interval columns.
+     */
+    private double similarity(int a, int b) {
+        long overlapStart = Math.max(starts[a], starts[b]);
+        long overlapEnd = Math.min(ends[a], ends[b]);
+        long overlapNanos = overlapEnd > overlapStart ? (overlapEnd - overlapStart) * NANOS_PER_MILLI : 0L;
+        long lenANanos = (ends[a] - starts[a]) * NANOS_PER_MILLI;
+        long lenBNanos = (ends[b] - starts[b]) * NANOS_PER_MILLI;
+
+        double iou = 0.0;
+        double ovl = 0.0;
+        if (overlapNanos > 0L) {
+            long unionNanos = lenANanos + lenBNanos - overlapNanos;
+            iou = unionNanos <= 0L ? 0.0 : (double) overlapNanos / (double) unionNanos;
+            long denom = Math.min(lenANanos, lenBNanos);
+            ovl = denom <= 0L ? 0.0 : (double) overlapNanos / (double) denom;
+        }
+
+        double lenA = (double) lenANanos;
+        double lenB = (double) lenBNanos;
+        boolean durationVeryDifferent = (lenA > 0.0 && lenB > 0.0) && (Math.min(lenA, lenB) / Math.max(lenA, lenB) <= rhoMax);
+        boolean strongContainment = ovl >= tauContain && durationVeryDifferent;
+
+        double t;
+        switch (temporalMode) {
+            case IOU:
+                t = iou;
+                break;
+            case OVL:
+                t = ovl;
+                break;
+            case HYBRID:
+                t = strongContainment ? ((1.0 - lam) * iou + lam * ovl) : iou;
+                break;
+            default:
+                throw new IllegalArgumentException("temporalMode must be IOU|OVL|HYBRID");
+        }
+
+        if (t <= 0.0) {
+            return 0.0;
+        }
+
+        long kappaEff = kappaNanos;
+        if (strongContainment && intervals[a] > 0L && intervals[b] > 0L) {
+            long maxInterval = Math.max(intervals[a], intervals[b]);
+            if (maxInterval > kappaEff) {
+                kappaEff = maxInterval;
+            }
+        }
+
+        double basePen = 1.0;
+        if (kappaEff > 0L) {
+            long diffNanos = Math.abs(durations[a] - durations[b]);
+            basePen = Math.exp(-((double) diffNanos / (double) kappaEff));
+        }
+
+        double pen;
+        if (strongContainment) {
+            pen = (containmentRelax == 0.0) ? 1.0 : Math.pow(basePen, containmentRelax);
+        } else {
+            pen = basePen;
+        }
+        return t * pen;
+    }
+
+    /**
+     * @return sorted neighbor indices of each anomaly, as {@link AnomalyCorrelation#buildThresholdGraph} builds them
+     */
+    int[][] thresholdGraph() {
+        EdgeList edges = new EdgeList();
+        sweep(edges);
+
+        int[] degrees = new int[size];
+        for (int k = 0; k < edges.size; k += 2) {
+            degrees[edges.pairs[k]]++;
+            degrees[edges.pairs[k + 1]]++;
+        }
+        int[][] adj = new int[size][];
+        for (int i = 0; i < size; i++) {
+            adj[i] = new int[degrees[i]];
+        }
+        int[] filled = new int[size];
+        for (int k = 0; k < edges.size; k += 2) {
+            int i = edges.pairs[k];
+            int j = edges.pairs[k + 1];
+            adj[i][filled[i]++] = j;
+            adj[j][filled[j]++] = i;
+        }
+        for (int[] neighbors : adj) {
+            Arrays.sort(neighbors);
+        }
+        return adj;
+    }
+
+    /**
+     * @return connected components in the order of {@link AnomalyCorrelation#connectedComponents}: ordered by
+     *         smallest index, each sorted ascending, singletons included
+     */
+    int[][] connectedComponents() {
+        int[] parent = new int[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        sweep((i, j) -> union(parent, i, j));
+
+        // number components by their smallest index
+        int[] componentOfRoot = new int[size];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOf = new int[size];
+        int[] componentSizes = new int[size];
+        int count = 0;
+        for (int v = 0; v < size; v++) {
+            int root = find(parent, v);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = count++;
+            }
+            componentOf[v] = componentOfRoot[root];
+            componentSizes[componentOf[v]]++;
+        }
+
+        int[][] comps = new int[count][];
+        for (int c = 0; c < count; c++) {
+            comps[c] = new int[componentSizes[c]];
+        }
+        int[] filled = new int[count];
+        for (int v = 0; v < size; v++) {
+            int c = componentOf[v];
+            comps[c][filled[c]++] = v;
+        }
+        return comps;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            // path halving
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static void union(int[] parent, int i, int j) {
+        int rootI = find(parent, i);
+        int rootJ = find(parent, j);
+        if (rootI != rootJ) {
+            parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+        }
+    }
+
+    private static final class EdgeList implements EdgeVisitor {
+        // i0, j0, i1, j1, ...
+        private int[] pairs = new int[16];
+        private int size;
+
+        @Override
+        public void edge(int i, int j) {
+            if (size + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            pairs[size++] = i;
+            pairs[size++] = j;
+        }
+    }
+}
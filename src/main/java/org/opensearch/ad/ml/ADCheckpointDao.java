@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.logging.log4j.LogManager;
@@ -41,10 +42,13 @@ import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.query.MatchQueryBuilder;
 import org.opensearch.index.reindex.DeleteByQueryRequest;
 import org.opensearch.secure_sm.AccessController;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.common.exception.ResourceNotFoundException;
 import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.ml.CheckpointCompression;
 import org.opensearch.timeseries.ml.CheckpointDao;
 import org.opensearch.timeseries.ml.ModelManager;
+import org.opensearch.timeseries.ml.ModelSnapshot;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.ml.Sample;
 import org.opensearch.timeseries.ml.SingleStreamModelIdMapper;
@@ -209,21 +213,26 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
 
         Optional<ThresholdedRandomCutForest> model = modelState.getModel();
         if (model.isPresent()) {
-            ThresholdedRandomCutForest entityModel = model.get();
-
-            Optional<String> serializedModel = toCheckpoint(entityModel, modelId);
-            if (!serializedModel.isPresent() || serializedModel.get().length() > maxCheckpointBytes) {
-                logger
-                    .warn(
-                        new ParameterizedMessage(
-                            "[{}]'s model is empty or too large: [{}] bytes",
-                            modelState.getModelId(),
-                            serializedModel.isPresent() ? serializedModel.get().length() : 0
-                        )
-                    );
+            Supplier<ThresholdedRandomCutForestState> entityModel = toStateSupplier(modelState, model.get());
+
+            if (compression == CheckpointCompression.NONE) {
+                Optional<String> serializedModel = toCheckpoint(entityModel, modelId);
+                if (!serializedModel.isPresent() || serializedModel.get().length() > maxCheckpointBytes) {
+                    logger
+                        .warn(
+                            new ParameterizedMessage(
+                                "[{}]'s model is empty or too large: [{}] bytes",
+                                modelState.getModelId(),
+                                serializedModel.isPresent() ? serializedModel.get().length() : 0
+                            )
+                        );
+                    return source;
+                }
+                source.put(FIELD_MODELV2, serializedModel.get());
+                putModelVersion(source);
+            } else if (!putModelBinary(source, toCheckpointBytes(entityModel), modelId, FIELD_MODELV2, CommonName.FIELD_MODEL)) {
                 return source;
             }
-            source.put(FIELD_MODELV2, serializedModel.get());
         }
 
         Optional<Sample[]> samples = toCheckpoint(modelState.getSamples());
@@ -232,7 +241,9 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
         }
 
         // if there are no samples and no model, no need to index as other information are meta data
-        if (!source.containsKey(CommonName.SAMPLE_QUEUE) && !source.containsKey(FIELD_MODELV2)) {
+        if (!source.containsKey(CommonName.SAMPLE_QUEUE)
+            && !source.containsKey(FIELD_MODELV2)
+            && !source.containsKey(CommonName.FIELD_MODEL_BINARY)) {
             return source;
         }
 
@@ -258,16 +269,19 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
      * @return serialized string
      */
     public Optional<String> toCheckpoint(ThresholdedRandomCutForest model, String modelId) {
+        if (model == null) {
+            logger.warn("Empty model");
+            return Optional.empty();
+        }
+        return toCheckpoint(() -> trcfMapper.toState(model), modelId);
+    }
+
+    private Optional<String> toCheckpoint(Supplier<ThresholdedRandomCutForestState> model, String modelId) {
         return AccessController.doPrivileged(() -> {
-            if (model == null) {
-                logger.warn("Empty model");
-                return Optional.empty();
-            }
             try {
                 JsonObject json = new JsonObject();
-                if (model != null) {
-                    json.addProperty(ENTITY_TRCF, toCheckpoint(model));
-                }
+                byte[] bytes = toCheckpointBytes(model);
+                json.addProperty(ENTITY_TRCF, bytes == null ? null : Base64.getEncoder().encodeToString(bytes));
                 // if json is empty, it will be an empty Json string {}. No need to save it on disk.
                 return json.entrySet().isEmpty() ? Optional.empty() : Optional.ofNullable(gson.toJson(json));
             } catch (Exception ex) {
@@ -278,7 +292,52 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
     }
 
     String toCheckpoint(ThresholdedRandomCutForest trcf) {
-        String checkpoint = null;
+        byte[] bytes = toCheckpointBytes(trcf);
+        return bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Serialize a TRCF model using protostuff
+     * @param trcf input model
+     * @return serialized bytes or null if serialization fails
+     */
+    byte[] toCheckpointBytes(ThresholdedRandomCutForest trcf) {
+        return toCheckpointBytes(() -> trcfMapper.toState(trcf));
+    }
+
+    /**
+     * Use the snapshot captured between model updates if there is a fresh one, so that
+     * serialization does not race with scoring. Otherwise, map the live model.
+     */
+    private Supplier<ThresholdedRandomCutForestState> toStateSupplier(
+        ModelState<ThresholdedRandomCutForest> modelState,
+        ThresholdedRandomCutForest trcf
+    ) {
+        Optional<ModelSnapshot> snapshot = modelState.getSnapshot();
+        if (snapshot.isPresent() && snapshot.get().getState() instanceof ThresholdedRandomCutForestState) {
+            ThresholdedRandomCutForestState state = (ThresholdedRandomCutForestState) snapshot.get().getState();
+            return () -> state;
+        }
+        return () -> trcfMapper.toState(trcf);
+    }
+
+    @Override
+    protected Object toSnapshotState(ThresholdedRandomCutForest trcf) {
+        return AccessController.doPrivileged(() -> trcfMapper.toState(trcf));
+    }
+
+    @Override
+    protected long estimateSnapshotBytes(MemoryTracker tracker, ThresholdedRandomCutForest trcf) {
+        return tracker.estimateTRCFModelSize(trcf);
+    }
+
+    @Override
+    protected void replay(ThresholdedRandomCutForest trcf, double[][] points, long[] timestamps) {
+        trcf.processSequentially(points, timestamps, x -> true);
+    }
+
+    private byte[] toCheckpointBytes(Supplier<ThresholdedRandomCutForestState> trcf) {
+        byte[] checkpoint = null;
         Map.Entry<LinkedBuffer, Boolean> result = checkoutOrNewBuffer();
         LinkedBuffer buffer = result.getKey();
         boolean needCheckin = result.getValue();
@@ -311,13 +370,12 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
         return checkpoint;
     }
 
-    private String toCheckpoint(ThresholdedRandomCutForest trcf, LinkedBuffer buffer) {
+    private byte[] toCheckpoint(Supplier<ThresholdedRandomCutForestState> trcf, LinkedBuffer buffer) {
         try {
-            byte[] bytes = AccessController.doPrivileged(() -> {
-                ThresholdedRandomCutForestState trcfState = trcfMapper.toState(trcf);
+            return AccessController.doPrivileged(() -> {
+                ThresholdedRandomCutForestState trcfState = trcf.get();
                 return ProtostuffIOUtil.toByteArray(trcfState, trcfSchema, buffer);
             });
-            return Base64.getEncoder().encodeToString(bytes);
         } finally {
             buffer.clear();
         }
@@ -339,47 +397,59 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
     ) {
         try {
             return AccessController.doPrivileged(() -> {
+                // binary writers null out every legacy field, so a non-null legacy field is newer than the binary model
                 Object modelObj = checkpoint.get(FIELD_MODELV2);
                 if (modelObj == null) {
                     // in case there is old -format checkpoint
                     modelObj = checkpoint.get(CommonName.FIELD_MODEL);
                 }
-                if (modelObj == null) {
-                    logger.warn(new ParameterizedMessage("Empty model for [{}]", modelId));
-                    return null;
-                }
-                String model = (String) modelObj;
-                if (model.length() > maxCheckpointBytes) {
-                    logger.warn(new ParameterizedMessage("[{}]'s model too large: [{}] bytes", modelId, model.length()));
-                    return null;
-                }
-                JsonObject json = parser.parse(model).getAsJsonObject();
                 ThresholdedRandomCutForest trcf = null;
-
-                if (json.has(ENTITY_TRCF)) {
-                    trcf = toTrcf(json.getAsJsonPrimitive(ENTITY_TRCF).getAsString());
-                } else {
-                    Optional<RandomCutForest> rcf = Optional.empty();
-                    Optional<ThresholdingModel> threshold = Optional.empty();
-                    if (json.has(ENTITY_RCF)) {
-                        String serializedRCF = json.getAsJsonPrimitive(ENTITY_RCF).getAsString();
-                        rcf = deserializeRCFModel(serializedRCF, modelId);
+                JsonObject json = null;
+                if (modelObj == null) {
+                    if (checkpoint.get(CommonName.FIELD_MODEL_BINARY) == null) {
+                        logger.warn(new ParameterizedMessage("Empty model for [{}]", modelId));
+                        return null;
+                    }
+                    byte[] bytes = loadModelBinary(checkpoint, modelId);
+                    if (bytes == null) {
+                        return null;
                     }
-                    if (json.has(ENTITY_THRESHOLD)) {
-                        // verified, don't need privileged call to get permission
-                        threshold = Optional
-                            .ofNullable(
-                                this.gson.fromJson(json.getAsJsonPrimitive(ENTITY_THRESHOLD).getAsString(), thresholdingModelClass)
-                            );
+                    trcf = toTrcf(bytes);
+                } else {
+                    String model = (String) modelObj;
+                    if (model.length() > maxCheckpointBytes) {
+                        logger.warn(new ParameterizedMessage("[{}]'s model too large: [{}] bytes", modelId, model.length()));
+                        return null;
                     }
+                    json = parser.parse(model).getAsJsonObject();
+                }
 
-                    if (rcf.isPresent()) {
-                        Optional<ThresholdedRandomCutForest> convertedTRCF = convertToTRCF(rcf.get(), threshold);
-                        // if checkpoint is corrupted (e.g., some unexpected checkpoint when we missed
-                        // the mark in backward compatibility), we are not gonna load the model part
-                        // the model will have to use live data to initialize
-                        if (convertedTRCF.isPresent()) {
-                            trcf = convertedTRCF.get();
+                if (json != null) {
+                    if (json.has(ENTITY_TRCF)) {
+                        trcf = toTrcf(json.getAsJsonPrimitive(ENTITY_TRCF).getAsString());
+                    } else {
+                        Optional<RandomCutForest> rcf = Optional.empty();
+                        Optional<ThresholdingModel> threshold = Optional.empty();
+                        if (json.has(ENTITY_RCF)) {
+                            String serializedRCF = json.getAsJsonPrimitive(ENTITY_RCF).getAsString();
+                            rcf = deserializeRCFModel(serializedRCF, modelId);
+                        }
+                        if (json.has(ENTITY_THRESHOLD)) {
+                            // verified, don't need privileged call to get permission
+                            threshold = Optional
+                                .ofNullable(
+                                    this.gson.fromJson(json.getAsJsonPrimitive(ENTITY_THRESHOLD).getAsString(), thresholdingModelClass)
+                                );
+                        }
+
+                        if (rcf.isPresent()) {
+                            Optional<ThresholdedRandomCutForest> convertedTRCF = convertToTRCF(rcf.get(), threshold);
+                            // if checkpoint is corrupted (e.g., some unexpected checkpoint when we missed
+                            // the mark in backward compatibility), we are not gonna load the model part
+                            // the model will have to use live data to initialize
+                            if (convertedTRCF.isPresent()) {
+                                trcf = convertedTRCF.get();
+                            }
                         }
                     }
                 }
@@ -421,7 +491,7 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
 
     private Deque<Sample> processSampleQueue(JsonObject json, Map<String, Object> checkpoint, String modelId) {
         Deque<Sample> sampleQueue = new ArrayDeque<>();
-        if (json.has(CommonName.ENTITY_SAMPLE)) {
+        if (json != null && json.has(CommonName.ENTITY_SAMPLE)) {
             double[][] samplesArray = this.gson.fromJson(json.getAsJsonArray(CommonName.ENTITY_SAMPLE), doubleArrayType);
             // this branch exists for bwc. Since we didn't record start and end time, we have to give a default 0.
             Arrays
@@ -438,10 +508,7 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
         ThresholdedRandomCutForest trcf = null;
         if (checkpoint != null && !checkpoint.isEmpty()) {
             try {
-                byte[] bytes = Base64.getDecoder().decode(checkpoint);
-                ThresholdedRandomCutForestState state = trcfSchema.newMessage();
-                AccessController.doPrivileged(() -> ProtostuffIOUtil.mergeFrom(bytes, state, trcfSchema));
-                trcf = trcfMapper.toModel(state);
+                trcf = toTrcf(Base64.getDecoder().decode(checkpoint));
             } catch (RuntimeException e) {
                 logger.info("checkpoint to restore: " + checkpoint);
                 logger.error("Failed to deserialize TRCF model", e);
@@ -450,6 +517,12 @@ public class ADCheckpointDao extends CheckpointDao<ThresholdedRandomCutForest, A
         return trcf;
     }
 
+    ThresholdedRandomCutForest toTrcf(byte[] bytes) {
+        ThresholdedRandomCutForestState state = trcfSchema.newMessage();
+        AccessController.doPrivileged(() -> ProtostuffIOUtil.mergeFrom(bytes, state, trcfSchema));
+        return trcfMapper.toModel(state);
+    }
+
     private Optional<RandomCutForest> deserializeRCFModel(String checkpoint, String modelId) {
         if (checkpoint == null || checkpoint.isEmpty()) {
             return Optional.empty();
@@ -46,12 +46,42 @@ public class InsightsGenerator {
         Map<String, DetectorMetadata> detectorMetadataMap,
         Instant executionStartTime,
         Instant executionEndTime
+    ) throws IOException {
+        Map<Anomaly, String> entityKeyByAnomaly = new HashMap<>();
+        if (anomalyResultByAnomaly != null) {
+            for (Map.Entry<Anomaly, AnomalyResult> entry : anomalyResultByAnomaly.entrySet()) {
+                String entityKey = buildEntityKey(entry.getValue());
+                if (entityKey != null) {
+                    entityKeyByAnomaly.put(entry.getKey(), entityKey);
+                }
+            }
+        }
+        return generateInsightsFromEntityKeys(clusters, entityKeyByAnomaly, detectorMetadataMap, executionStartTime, executionEndTime);
+    }
+
+    /**
+     * Generate insights document from AnomalyCorrelation clusters whose anomalies carry their entity keys
+     * instead of raw anomaly results.
+     *
+     * @param clusters Correlation clusters
+     * @param entityKeyByAnomaly Map of correlation anomaly to its entity key built by {@link #buildEntityKey(Map)}
+     * @param detectorMetadataMap Detector metadata for name/index enrichment
+     * @param executionStartTime Start of analysis window
+     * @param executionEndTime End of analysis window
+     * @return Optional empty if clusters is null/empty (or produces no valid cluster docs); otherwise a builder ready to index
+     */
+    public static Optional<XContentBuilder> generateInsightsFromEntityKeys(
+        List<AnomalyCorrelation.Cluster> clusters,
+        Map<Anomaly, String> entityKeyByAnomaly,
+        Map<String, DetectorMetadata> detectorMetadataMap,
+        Instant executionStartTime,
+        Instant executionEndTime
     ) throws IOException {
         if (clusters == null || clusters.isEmpty()) {
             return Optional.empty();
         }
         List<AnomalyCorrelation.Cluster> safeClusters = clusters;
-        Map<Anomaly, AnomalyResult> safeAnomalyMap = anomalyResultByAnomaly == null ? new HashMap<>() : anomalyResultByAnomaly;
+        Map<Anomaly, String> safeEntityKeys = entityKeyByAnomaly == null ? new HashMap<>() : entityKeyByAnomaly;
         Map<String, DetectorMetadata> safeDetectorMetadata = detectorMetadataMap == null ? new HashMap<>() : detectorMetadataMap;
 
         Set<String> docDetectorIds = new HashSet<>();
@@ -107,8 +137,7 @@ public class InsightsGenerator {
                     }
                 }
 
-                AnomalyResult rawAnomaly = safeAnomalyMap.get(anomaly);
-                String entityKey = buildEntityKey(rawAnomaly);
+                String entityKey = safeEntityKeys.get(anomaly);
                 if (entityKey != null) {
                     clusterEntities.add(entityKey);
                 }
@@ -193,12 +222,21 @@ public class InsightsGenerator {
         if (anomaly == null || anomaly.getEntity() == null || !anomaly.getEntity().isPresent()) {
             return null;
         }
-        org.opensearch.timeseries.model.Entity entity = anomaly.getEntity().get();
-        if (entity.getAttributes() == null || entity.getAttributes().isEmpty()) {
+        return buildEntityKey(anomaly.getEntity().get().getAttributes());
+    }
+
+    /**
+     * Build the entity key of an anomaly: sorted "name=value" pairs joined by commas.
+     *
+     * @param attributes entity attributes
+     * @return entity key, or null if there are no attributes
+     */
+    public static String buildEntityKey(Map<String, String> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
             return null;
         }
         List<String> parts = new ArrayList<>();
-        for (Map.Entry<String, String> entry : entity.getAttributes().entrySet()) {
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
             parts.add(entry.getKey() + "=" + entry.getValue());
         }
         parts.sort(String::compareTo);
@@ -69,6 +69,7 @@ public class AnomalyResult extends IndexableResult {
     // unused currently. added since odfe 1.4
     public static final String IS_ANOMALY_FIELD = "is_anomaly";
     public static final String FEATURE_IMPUTED = "feature_imputed";
+    public static final String RESULT_SUMMARY_FIELD = "result_summary";
 
     private final Double anomalyScore;
     private final Double anomalyGrade;
@@ -199,6 +200,9 @@ public class AnomalyResult extends IndexableResult {
     // whether a feature value is imputed or not
     private List<FeatureImputed> featureImputed;
 
+    // zero-grade results folded into this one. null for a result of a single interval.
+    private final ResultSummary summary;
+
     // used when indexing exception or error or an empty result
     public AnomalyResult(
         String detectorId,
@@ -261,6 +265,56 @@ public class AnomalyResult extends IndexableResult {
         List<ExpectedValueList> expectedValuesList,
         Double threshold,
         List<FeatureImputed> featureImputed
+    ) {
+        this(
+            configId,
+            taskId,
+            anomalyScore,
+            anomalyGrade,
+            confidence,
+            featureData,
+            dataStartTime,
+            dataEndTime,
+            executionStartTime,
+            executionEndTime,
+            error,
+            entity,
+            user,
+            schemaVersion,
+            modelId,
+            approxAnomalyStartTime,
+            relevantAttribution,
+            pastValues,
+            expectedValuesList,
+            threshold,
+            featureImputed,
+            null
+        );
+    }
+
+    public AnomalyResult(
+        String configId,
+        String taskId,
+        Double anomalyScore,
+        Double anomalyGrade,
+        Double confidence,
+        List<FeatureData> featureData,
+        Instant dataStartTime,
+        Instant dataEndTime,
+        Instant executionStartTime,
+        Instant executionEndTime,
+        String error,
+        Optional<Entity> entity,
+        User user,
+        Integer schemaVersion,
+        String modelId,
+        Instant approxAnomalyStartTime,
+        List<DataByFeatureId> relevantAttribution,
+        List<DataByFeatureId> pastValues,
+        List<ExpectedValueList> expectedValuesList,
+        Double threshold,
+        List<FeatureImputed> featureImputed,
+        ResultSummary summary
     ) {
         super(
             configId,
@@ -285,6 +339,7 @@ public class AnomalyResult extends IndexableResult {
         this.expectedValuesList = expectedValuesList;
         this.threshold = threshold;
         this.featureImputed = featureImputed;
+        this.summary = summary;
     }
 
     /**
@@ -610,6 +665,12 @@ public class AnomalyResult extends IndexableResult {
         } else {
             this.featureImputed = null;
         }
+
+        if (input.readBoolean()) {
+            this.summary = new ResultSummary(input);
+        } else {
+            this.summary = null;
+        }
     }
 
     @Override
@@ -688,6 +749,9 @@ public class AnomalyResult extends IndexableResult {
         if (featureImputed != null && featureImputed.size() > 0) {
             xContentBuilder.array(FEATURE_IMPUTED, featureImputed.toArray());
         }
+        if (summary != null) {
+            xContentBuilder.field(RESULT_SUMMARY_FIELD, summary);
+        }
         return xContentBuilder.endObject();
     }
 
@@ -713,6 +777,7 @@ public class AnomalyResult extends IndexableResult {
         List<ExpectedValueList> expectedValues = new ArrayList<>();
         Double threshold = null;
         List<FeatureImputed> featureImputed = null;
+        ResultSummary summary = null;
 
         ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
         while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -799,6 +864,9 @@ public class AnomalyResult extends IndexableResult {
                         featureImputed.add(FeatureImputed.parse(parser));
                     }
                     break;
+                case RESULT_SUMMARY_FIELD:
+                    summary = ResultSummary.parse(parser);
+                    break;
                 default:
                     parser.skipChildren();
                     break;
@@ -826,7 +894,8 @@ public class AnomalyResult extends IndexableResult {
             pastValues,
             expectedValues,
             threshold,
-            featureImputed
+            featureImputed,
+            summary
         );
     }
 
@@ -849,7 +918,8 @@ public class AnomalyResult extends IndexableResult {
             && Objects.equal(pastValues, that.pastValues)
             && Objects.equal(expectedValuesList, that.expectedValuesList)
             && Objects.equal(threshold, that.threshold)
-            && Objects.equal(featureImputed, that.featureImputed);
+            && Objects.equal(featureImputed, that.featureImputed)
+            && Objects.equal(summary, that.summary);
     }
 
     @Generated
@@ -868,7 +938,8 @@ public class AnomalyResult extends IndexableResult {
                 pastValues,
                 expectedValuesList,
                 threshold,
-                featureImputed
+                featureImputed,
+                summary
             );
         return result;
     }
@@ -889,6 +960,7 @@ public class AnomalyResult extends IndexableResult {
                 .append("expectedValuesList", StringUtils.join(expectedValuesList, "|"))
                 .append("threshold", threshold)
                 .append("featureImputed", featureImputed)
+                .append("summary", summary)
                 .toString();
     }
 
@@ -936,6 +1008,41 @@ public class AnomalyResult extends IndexableResult {
         return featureImputed;
     }
 
+    public ResultSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * @param summary summary of the zero-grade results of a rollup window
+     * @return a copy of this result that stands for the whole window
+     */
+    public AnomalyResult withSummary(ResultSummary summary) {
+        return new AnomalyResult(
+            configId,
+            taskId,
+            anomalyScore,
+            anomalyGrade,
+            confidence,
+            featureData,
+            dataStartTime,
+            dataEndTime,
+            executionStartTime,
+            executionEndTime,
+            error,
+            optionalEntity,
+            user,
+            schemaVersion,
+            modelId,
+            approxAnomalyStartTime,
+            relevantAttribution,
+            pastValues,
+            expectedValuesList,
+            threshold,
+            featureImputed,
+            summary
+        );
+    }
+
     /**
      * Anomaly result index consists of overwhelmingly (99.5%) zero-grade non-error documents.
      * This function exclude the majority case.
@@ -995,6 +1102,13 @@ public class AnomalyResult extends IndexableResult {
         } else {
             out.writeVInt(0);
         }
+
+        if (summary != null) {
+            out.writeBoolean(true);
+            summary.writeTo(out);
+        } else {
+            out.writeBoolean(false);
+        }
     }
 
     public static AnomalyResult getDummyResult() {
@@ -0,0 +1,185 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.model;
+
+import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.timeseries.util.ParseUtils;
+
+import com.google.common.base.Objects;
+
+/**
+ * Zero-grade results of an entity folded over a rollup window. A summarized
+ * result document carries the latest result of the window plus this summary
+ * instead of one document per interval.
+ */
+public class ResultSummary implements ToXContentObject, Writeable {
+
+    public static final String COUNT_FIELD = "count";
+    public static final String MIN_SCORE_FIELD = "min_anomaly_score";
+    public static final String MAX_SCORE_FIELD = "max_anomaly_score";
+    public static final String MEAN_SCORE_FIELD = "mean_anomaly_score";
+    public static final String WINDOW_START_FIELD = "window_start_time";
+    public static final String WINDOW_END_FIELD = "window_end_time";
+
+    // number of results folded into the summary
+    private final long count;
+    private final double minScore;
+    private final double maxScore;
+    private final double meanScore;
+    private final Instant windowStart;
+    private final Instant windowEnd;
+
+    public ResultSummary(long count, double minScore, double maxScore, double meanScore, Instant windowStart, Instant windowEnd) {
+        this.count = count;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.meanScore = meanScore;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public ResultSummary(StreamInput input) throws IOException {
+        this.count = input.readVLong();
+        this.minScore = input.readDouble();
+        this.maxScore = input.readDouble();
+        this.meanScore = input.readDouble();
+        this.windowStart = input.readInstant();
+        this.windowEnd = input.readInstant();
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject().field(COUNT_FIELD, count);
+        // scores are NaN when no folded result has a score
+        if (!Double.isNaN(meanScore)) {
+            xContentBuilder.field(MIN_SCORE_FIELD, minScore).field(MAX_SCORE_FIELD, maxScore).field(MEAN_SCORE_FIELD, meanScore);
+        }
+        return xContentBuilder
+            .field(WINDOW_START_FIELD, windowStart.toEpochMilli())
+            .field(WINDOW_END_FIELD, windowEnd.toEpochMilli())
+            .endObject();
+    }
+
+    public static ResultSummary parse(XContentParser parser) throws IOException {
+        long count = 0;
+        double minScore = Double.NaN;
+        double maxScore = Double.NaN;
+        double meanScore = Double.NaN;
+        Instant windowStart = null;
+        Instant windowEnd = null;
+
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+
+            switch (fieldName) {
+                case COUNT_FIELD:
+                    count = parser.longValue();
+                    break;
+                case MIN_SCORE_FIELD:
+                    minScore = parser.doubleValue();
+                    break;
+                case MAX_SCORE_FIELD:
+                    maxScore = parser.doubleValue();
+                    break;
+                case MEAN_SCORE_FIELD:
+                    meanScore = parser.doubleValue();
+                    break;
+                case WINDOW_START_FIELD:
+                    windowStart = ParseUtils.toInstant(parser);
+                    break;
+                case WINDOW_END_FIELD:
+                    windowEnd = ParseUtils.toInstant(parser);
+                    break;
+                default:
+                    // the unknown field and it's children should be ignored
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return new ResultSummary(count, minScore, maxScore, meanScore, windowStart, windowEnd);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(count);
+        out.writeDouble(minScore);
+        out.writeDouble(maxScore);
+        out.writeDouble(meanScore);
+        out.writeInstant(windowStart);
+        out.writeInstant(windowEnd);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ResultSummary that = (ResultSummary) o;
+        return count == that.count
+            && Double.compare(minScore, that.minScore) == 0
+            && Double.compare(maxScore, that.maxScore) == 0
+            && Double.compare(meanScore, that.meanScore) == 0
+            && Objects.equal(windowStart, that.windowStart)
+            && Objects.equal(windowEnd, that.windowEnd);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(count, minScore, maxScore, meanScore, windowStart, windowEnd);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+            .append("count", count)
+            .append("minScore", minScore)
+            .append("maxScore", maxScore)
+            .append("meanScore", meanScore)
+            .append("windowStart", windowStart)
+            .append("windowEnd", windowEnd)
+            .toString();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    public double getMeanScore() {
+        return meanScore;
+    }
+
+    public Instant getWindowStart() {
+        return windowStart;
+    }
+
+    public Instant getWindowEnd() {
+        return windowEnd;
+    }
+}
@@ -13,6 +13,7 @@ package org.opensearch.ad.ratelimit;
 
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_BATCH_SIZE;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_CONCURRENCY;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM;
 
 import java.time.Clock;
 import java.time.Duration;
@@ -111,6 +112,7 @@ public class ADCheckpointReadWorker extends
             checkpointWriteQueue,
             AD_CHECKPOINT_READ_QUEUE_CONCURRENCY,
             AD_CHECKPOINT_READ_QUEUE_BATCH_SIZE,
+            AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM,
             ADCommonName.CHECKPOINT_INDEX_NAME,
             AnalysisType.AD,
             inferencer
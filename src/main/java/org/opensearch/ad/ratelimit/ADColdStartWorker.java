@@ -11,6 +11,7 @@
 
 package org.opensearch.ad.ratelimit;
 
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_CONCURRENCY;
 
 import java.time.Clock;
@@ -101,6 +102,7 @@ public class ADColdStartWorker extends
             lowSegmentPruneRatio,
             maintenanceFreqConstant,
             AD_ENTITY_COLD_START_QUEUE_CONCURRENCY,
+            AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE,
             executionTtl,
             entityColdStarter,
             stateTtl,
@@ -0,0 +1,341 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.ratelimit;
+
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.RESULT_SUMMARY_WINDOW;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ad.model.AnomalyResult;
+import org.opensearch.ad.model.ResultSummary;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.model.Config;
+
+/**
+ * More than 99% of the results of a large HC detector are zero-grade and nobody
+ * reads them one by one. For detectors listed in
+ * {@link org.opensearch.ad.settings.AnomalyDetectorSettings#SUMMARIZED_RESULT_DETECTORS},
+ * the summarizer folds zero-grade real-time HC results of an entity into an epoch-aligned
+ * rollup window and writes one document per window: the latest result of the window
+ * (latest feature values, scores, and times) plus a {@link ResultSummary}.
+ * Anomalies and errors are written as they come.
+ *
+ * A window is written when the entity's first result of a later window arrives, or by
+ * {@link #flushExpired(BiConsumer)} once the entity has been idle for two intervals.
+ * At most {@link org.opensearch.ad.settings.AnomalyDetectorSettings#MAX_RESULT_SUMMARY_WINDOWS}
+ * windows stay open; opening one more writes the least recently updated window early.
+ * {@link #flushAll(BiConsumer)} hands every open window to the writer when the node stops.
+ * Windows are striped by model id so that results of different entities rarely share a lock.
+ * Bytes of open windows are charged to the memory tracker.
+ */
+public class ADResultSummarizer {
+    private static final Logger LOG = LogManager.getLogger(ADResultSummarizer.class);
+    // window fields, map entry, and the fixed part of the latest result
+    private static final long WINDOW_BASE_BYTES = 640;
+    private static final long FEATURE_BYTES = 160;
+    private static final long ENTITY_ATTRIBUTE_BYTES = 128;
+    // power of two
+    private static final int STRIPES = 16;
+
+    private final Clock clock;
+    private final MemoryTracker memoryTracker;
+    private final Stripe[] stripes;
+    private final AtomicInteger openWindows;
+    // orders folds across stripes so eviction can find the least recently updated window
+    private final AtomicLong foldSequence;
+    private volatile Set<String> summarizedDetectors;
+    private volatile long windowMs;
+    private volatile int maxWindows;
+
+    public ADResultSummarizer(Settings settings, ClusterService clusterService, Clock clock, MemoryTracker memoryTracker) {
+        this.clock = clock;
+        this.memoryTracker = memoryTracker;
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.openWindows = new AtomicInteger();
+        this.foldSequence = new AtomicLong();
+        this.summarizedDetectors = new HashSet<>(SUMMARIZED_RESULT_DETECTORS.get(settings));
+        this.windowMs = RESULT_SUMMARY_WINDOW.get(settings).getMillis();
+        this.maxWindows = MAX_RESULT_SUMMARY_WINDOWS.get(settings);
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(SUMMARIZED_RESULT_DETECTORS, it -> summarizedDetectors = new HashSet<>(it));
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(RESULT_SUMMARY_WINDOW, it -> windowMs = it.getMillis());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_RESULT_SUMMARY_WINDOWS, it -> maxWindows = it);
+    }
+
+    /**
+     * Hand a result to the writer or fold it into its window.
+     *
+     * @param result result of one interval
+     * @param config the result's detector
+     * @param writer writes a result document
+     */
+    public void add(AnomalyResult result, Config config, BiConsumer<AnomalyResult, Config> writer) {
+        if (!shouldSummarize(result)) {
+            writer.accept(result, config);
+            return;
+        }
+
+        long currentWindowMs = windowMs;
+        long windowStartMs = result.getDataStartTime().toEpochMilli() / currentWindowMs * currentWindowMs;
+        long nowMs = clock.millis();
+        int currentMaxWindows = maxWindows;
+        String modelId = result.getModelId();
+        List<Window> closed = new ArrayList<>();
+        boolean folded = false;
+        Stripe stripe = stripeOf(modelId);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(modelId);
+            if (window != null && window.windowStartMs != windowStartMs) {
+                closed.add(removeWindow(stripe, modelId));
+                window = null;
+            }
+            if (window == null && currentMaxWindows > 0) {
+                window = new Window(windowStartMs, windowStartMs + currentWindowMs, estimateBytes(result));
+                stripe.windows.put(modelId, window);
+                openWindows.incrementAndGet();
+                consumeMemory(window.bytes);
+            }
+            if (window != null) {
+                window.fold(result, config, nowMs, foldSequence.incrementAndGet());
+                folded = true;
+            }
+        }
+        // the window just folded is the most recently updated one and stays open
+        evict(currentMaxWindows, closed);
+        write(closed, writer);
+        if (!folded) {
+            // no room for windows
+            writer.accept(result, config);
+        }
+    }
+
+    /**
+     * Write windows whose entity has been idle for two intervals or whose detector is no longer summarized.
+     *
+     * @param writer writes a result document
+     */
+    public void flushExpired(BiConsumer<AnomalyResult, Config> writer) {
+        long nowMs = clock.millis();
+        List<Window> flushed = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Window> iterator = stripe.windows.values().iterator();
+                while (iterator.hasNext()) {
+                    Window window = iterator.next();
+                    if (window.isIdle(nowMs) || !summarizedDetectors.contains(window.config.getId())) {
+                        iterator.remove();
+                        openWindows.decrementAndGet();
+                        releaseMemory(window.bytes);
+                        flushed.add(window);
+                    }
+                }
+            }
+        }
+        // apply a lowered bound
+        evict(maxWindows, flushed);
+        write(flushed, writer);
+        if (!flushed.isEmpty()) {
+            LOG.debug("Flushed {} result summaries", flushed.size());
+        }
+    }
+
+    /**
+     * Write all open windows.
+     *
+     * @param writer writes a result document
+     */
+    public void flushAll(BiConsumer<AnomalyResult, Config> writer) {
+        List<Window> flushed = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Window> iterator = stripe.windows.values().iterator();
+                while (iterator.hasNext()) {
+                    Window window = iterator.next();
+                    iterator.remove();
+                    openWindows.decrementAndGet();
+                    releaseMemory(window.bytes);
+                    flushed.add(window);
+                }
+            }
+        }
+        write(flushed, writer);
+        LOG.info("Flushed {} result summaries", flushed.size());
+    }
+
+    // Remove the least recently updated windows until at most limit windows stay open. The head of each
+    // stripe is its least recently updated window; the oldest head is picked without holding all locks,
+    // so a concurrent fold can make the choice slightly stale, which only costs an early write.
+    private void evict(int limit, List<Window> evicted) {
+        while (openWindows.get() > limit) {
+            Stripe oldest = null;
+            long oldestSequence = Long.MAX_VALUE;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    Iterator<Window> iterator = stripe.windows.values().iterator();
+                    if (iterator.hasNext()) {
+                        long sequence = iterator.next().lastFoldSequence;
+                        if (sequence < oldestSequence) {
+                            oldestSequence = sequence;
+                            oldest = stripe;
+                        }
+                    }
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            synchronized (oldest) {
+                Iterator<Window> iterator = oldest.windows.values().iterator();
+                if (iterator.hasNext()) {
+                    Window window = iterator.next();
+                    iterator.remove();
+                    openWindows.decrementAndGet();
+                    releaseMemory(window.bytes);
+                    evicted.add(window);
+                }
+            }
+        }
+    }
+
+    private Window removeWindow(Stripe stripe, String modelId) {
+        Window window = stripe.windows.remove(modelId);
+        openWindows.decrementAndGet();
+        releaseMemory(window.bytes);
+        return window;
+    }
+
+    private Stripe stripeOf(String modelId) {
+        int hash = modelId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void write(List<Window> toWrite, BiConsumer<AnomalyResult, Config> writer) {
+        for (Window window : toWrite) {
+            writer.accept(window.toResult(), window.config);
+        }
+    }
+
+    private void consumeMemory(long bytes) {
+        if (memoryTracker != null) {
+            memoryTracker.consumeMemory(bytes, false, MemoryTracker.Origin.RESULT_SUMMARY);
+        }
+    }
+
+    private void releaseMemory(long bytes) {
+        if (memoryTracker != null) {
+            memoryTracker.releaseMemory(bytes, false, MemoryTracker.Origin.RESULT_SUMMARY);
+        }
+    }
+
+    // the latest result of a window has the same shape as the first one
+    static long estimateBytes(AnomalyResult result) {
+        long bytes = WINDOW_BASE_BYTES + 2L * result.getModelId().length();
+        if (result.getFeatureData() != null) {
+            bytes += FEATURE_BYTES * result.getFeatureData().size();
+        }
+        return bytes + ENTITY_ATTRIBUTE_BYTES * result.getEntity().get().getAttributes().size();
+    }
+
+    private boolean shouldSummarize(AnomalyResult result) {
+        return summarizedDetectors.contains(result.getConfigId())
+            // only real-time HC results
+            && result.getEntity().isPresent()
+            && result.getModelId() != null
+            && result.getTaskId() == null
+            && result.getDataStartTime() != null
+            && !result.isHighPriority();
+    }
+
+    int getOpenWindows() {
+        return openWindows.get();
+    }
+
+    private static class Stripe {
+        // model id -> open window, in access order so the least recently updated window comes first.
+        // Guarded by the stripe.
+        private final LinkedHashMap<String, Window> windows = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static class Window {
+        private final long windowStartMs;
+        private final long windowEndMs;
+        private final long bytes;
+        private long count;
+        private long scoredCount;
+        private double minScore;
+        private double maxScore;
+        private double scoreSum;
+        private AnomalyResult latest;
+        private Config config;
+        private long lastFoldMs;
+        private long lastFoldSequence;
+
+        Window(long windowStartMs, long windowEndMs, long bytes) {
+            this.windowStartMs = windowStartMs;
+            this.windowEndMs = windowEndMs;
+            this.bytes = bytes;
+            this.minScore = Double.MAX_VALUE;
+            this.maxScore = -Double.MAX_VALUE;
+        }
+
+        // called while holding the stripe lock, which serializes updates of a window
+        void fold(AnomalyResult result, Config config, long nowMs, long sequence) {
+            count++;
+            Double score = result.getAnomalyScore();
+            if (score != null && !score.isNaN()) {
+                scoredCount++;
+                minScore = Math.min(minScore, score);
+                maxScore = Math.max(maxScore, score);
+                scoreSum += score;
+            }
+            if (latest == null || !result.getDataStartTime().isBefore(latest.getDataStartTime())) {
+                latest = result;
+            }
+            this.config = config;
+            this.lastFoldMs = nowMs;
+            this.lastFoldSequence = sequence;
+        }
+
+        boolean isIdle(long nowMs) {
+            return nowMs - lastFoldMs > 2 * config.getIntervalInMilliseconds();
+        }
+
+        AnomalyResult toResult() {
+            ResultSummary summary = scoredCount == 0
+                ? new ResultSummary(count, Double.NaN, Double.NaN, Double.NaN, windowStart(), windowEnd())
+                : new ResultSummary(count, minScore, maxScore, scoreSum / scoredCount, windowStart(), windowEnd());
+            return latest.withSummary(summary);
+        }
+
+        private Instant windowStart() {
+            return Instant.ofEpochMilli(windowStartMs);
+        }
+
+        private Instant windowEnd() {
+            return Instant.ofEpochMilli(windowEndMs);
+        }
+    }
+}
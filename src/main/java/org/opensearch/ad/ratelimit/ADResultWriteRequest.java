@@ -15,6 +15,7 @@ import java.io.IOException;
 
 import org.opensearch.ad.model.AnomalyResult;
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.ratelimit.ResultWriteRequest;
 
@@ -34,4 +35,9 @@ public class ADResultWriteRequest extends ResultWriteRequest<AnomalyResult> {
     public ADResultWriteRequest(StreamInput in) throws IOException {
         super(in, AnomalyResult::new);
     }
+
+    @Override
+    protected AnomalyResult parseResult(XContentParser parser) throws IOException {
+        return AnomalyResult.parse(parser);
+    }
 }
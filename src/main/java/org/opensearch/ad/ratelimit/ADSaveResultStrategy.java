@@ -14,6 +14,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.ad.ml.ThresholdingResult;
 import org.opensearch.ad.model.AnomalyResult;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.ratelimit.FeatureRequest;
@@ -23,12 +24,21 @@ import org.opensearch.timeseries.util.ParseUtils;
 
 public class ADSaveResultStrategy implements SaveResultStrategy<AnomalyResult, ThresholdingResult> {
     private static final Logger LOG = LogManager.getLogger(ADSaveResultStrategy.class);
+    // bounds how long stopping a node waits for the open rollup windows to be written
+    private static final TimeValue SUMMARY_FLUSH_TIMEOUT = TimeValue.timeValueSeconds(10);
     private int resultMappingVersion;
     private ADResultWriteWorker resultWriteWorker;
+    // null when results are always written one by one
+    private ADResultSummarizer resultSummarizer;
 
     public ADSaveResultStrategy(int resultMappingVersion, ADResultWriteWorker resultWriteWorker) {
+        this(resultMappingVersion, resultWriteWorker, null);
+    }
+
+    public ADSaveResultStrategy(int resultMappingVersion, ADResultWriteWorker resultWriteWorker, ADResultSummarizer resultSummarizer) {
         this.resultMappingVersion = resultMappingVersion;
         this.resultWriteWorker = resultWriteWorker;
+        this.resultSummarizer = resultSummarizer;
     }
 
     @Override
@@ -83,17 +93,47 @@ public class ADSaveResultStrategy implements SaveResultStrategy<AnomalyResult, T
 
     @Override
     public void saveResult(AnomalyResult result, Config config) {
-        resultWriteWorker
-            .put(
-                new ADResultWriteRequest(
-                    System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
-                    config.getId(),
-                    result.getAnomalyGrade() > 0 ? RequestPriority.HIGH : RequestPriority.MEDIUM,
-                    result,
-                    config.getCustomResultIndexOrAlias(),
-                    config.getFlattenResultIndexAlias()
-                )
-            );
+        if (resultSummarizer != null) {
+            resultSummarizer.add(result, config, (r, c) -> resultWriteWorker.put(createWriteRequest(r, c)));
+        } else {
+            resultWriteWorker.put(createWriteRequest(result, config));
+        }
+    }
+
+    /**
+     * Write summaries of rollup windows whose entities went idle. Called periodically.
+     */
+    public void flushSummaries() {
+        if (resultSummarizer != null) {
+            resultSummarizer.flushExpired((r, c) -> resultWriteWorker.put(createWriteRequest(r, c)));
+        }
+    }
+
+    /**
+     * Write summaries of all open rollup windows and wait for them. Called when the node stops,
+     * as nothing drains the write queue afterwards.
+     */
+    public void flushAllSummaries() {
+        if (resultSummarizer == null) {
+            return;
+        }
+        List<ADResultWriteRequest> writeRequests = new ArrayList<>();
+        resultSummarizer.flushAll((r, c) -> writeRequests.add(createWriteRequest(r, c)));
+        int written = resultWriteWorker.writeAndWait(writeRequests, SUMMARY_FLUSH_TIMEOUT);
+        if (written < writeRequests.size()) {
+            LOG.warn("Wrote {} of {} result summaries before stopping", written, writeRequests.size());
+        }
+    }
+
+    private ADResultWriteRequest createWriteRequest(AnomalyResult result, Config config) {
+        return new ADResultWriteRequest(
+            System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
+            config.getId(),
+            result.getAnomalyGrade() > 0 ? RequestPriority.HIGH : RequestPriority.MEDIUM,
+            result,
+            config.getCustomResultIndexOrAlias(),
+            config.getFlattenResultIndexAlias()
+        );
     }
 
     @Override
@@ -126,17 +166,11 @@ public class ADSaveResultStrategy implements SaveResultStrategy<AnomalyResult, T
                         null
                     );
                 for (AnomalyResult r : indexableResults) {
-                    writeRequests
-                        .add(
-                            new ADResultWriteRequest(
-                                System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
-                                config.getId(),
-                                r.getAnomalyGrade() > 0 ? RequestPriority.HIGH : RequestPriority.MEDIUM,
-                                r,
-                                config.getCustomResultIndexOrAlias(),
-                                config.getFlattenResultIndexAlias()
-                            )
-                        );
+                    if (resultSummarizer != null) {
+                        resultSummarizer.add(r, config, (toWrite, c) -> writeRequests.add(createWriteRequest(toWrite, c)));
+                    } else {
+                        writeRequests.add(createWriteRequest(r, config));
+                    }
                 }
             }
         }
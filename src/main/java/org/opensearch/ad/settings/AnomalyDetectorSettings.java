@@ -11,6 +11,10 @@
 
 package org.opensearch.ad.settings;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
@@ -192,6 +196,21 @@ public final class AnomalyDetectorSettings {
     public static final Setting<Boolean> INSIGHTS_ENABLED = Setting
         .boolSetting("plugins.anomaly_detection.insights_enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
 
+    // Maximum number of anomalies an Insights job run loads for correlation. Anomalies with
+    // the highest grades are kept when a run's window has more.
+    public static final Setting<Integer> INSIGHTS_MAX_ANOMALIES = Setting
+        .intSetting("plugins.anomaly_detection.insights_max_anomalies", 100_000, 1, 1_000_000, Setting.Property.NodeScope);
+
+    // Whether the search anomaly result API caches the result indices used by detectors and
+    // the custom result indices readable by a user.
+    public static final Setting<Boolean> SEARCH_RESULT_INDEX_CACHE_ENABLED = Setting
+        .boolSetting(
+            "plugins.anomaly_detection.search_result_index_cache_enabled",
+            true,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     public static final String ANOMALY_RESULTS_INDEX_MAPPING_FILE = "mappings/anomaly-results.json";
     public static final String ANOMALY_DETECTION_STATE_INDEX_MAPPING_FILE = "mappings/anomaly-detection-state.json";
     public static final String CHECKPOINT_INDEX_MAPPING_FILE = "mappings/anomaly-checkpoint.json";
@@ -387,6 +406,41 @@ public final class AnomalyDetectorSettings {
             Setting.Property.Dynamic
         );
 
+    // Number of pieces a historical analysis task fetches ahead of the piece being scored.
+    // It also bounds the result bulks indexed in the background. 0 runs pieces one by one.
+    public static final Setting<Integer> BATCH_TASK_PIPELINE_DEPTH = Setting
+        .intSetting(
+            "plugins.anomaly_detection.batch_task_pipeline_depth",
+            0,
+            0,
+            4,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Max number of entities of a historical HC detector whose feature data a worker node queries
+    // together per piece. 1 queries every entity on its own.
+    public static final Setting<Integer> BATCH_TASK_ENTITY_GROUP_SIZE = Setting
+        .intSetting(
+            "plugins.anomaly_detection.batch_task_entity_group_size",
+            1,
+            1,
+            100,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Max number of time slice searches in flight when a historical HC task searches top entities.
+    public static final Setting<Integer> TOP_ENTITY_SEARCH_CONCURRENCY_FOR_HISTORICAL_ANALYSIS = Setting
+        .intSetting(
+            "plugins.anomaly_detection.top_entity_search_concurrency_for_historical_analysis",
+            4,
+            1,
+            32,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     // Maximum number of entities we support for historical analysis.
     public static final int MAX_TOP_ENTITIES_LIMIT_FOR_HISTORICAL_ANALYSIS = 10_000;
     public static final Setting<Integer> MAX_TOP_ENTITIES_FOR_HISTORICAL_ANALYSIS = Setting
@@ -509,6 +563,20 @@ public final class AnomalyDetectorSettings {
             Setting.Property.Dynamic
         );
 
+    /**
+     * Max real-time cold start requests of the same detector whose training data is
+     * fetched with one search. 1 fetches training data entity by entity.
+     */
+    public static final Setting<Integer> AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE = Setting
+        .intSetting(
+            "plugins.anomaly_detection.entity_cold_start_queue_batch_size",
+            1,
+            1,
+            100,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     /**
      * Max concurrent checkpoint reads per node
      */
@@ -562,6 +630,20 @@ public final class AnomalyDetectorSettings {
             Setting.Property.Dynamic
         );
 
+    /**
+     * Max checkpoints of one multi-get batch deserialized and scored in parallel.
+     * 1 restores them one after another.
+     */
+    public static final Setting<Integer> AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM = Setting
+        .intSetting(
+            "plugins.anomaly_detection.checkpoint_read_queue_restore_parallelism",
+            1,
+            1,
+            16,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     /**
      * ES recommends bulk size to be 5~15 MB.
      * ref: https://tinyurl.com/3zdbmbwy
@@ -655,6 +737,38 @@ public final class AnomalyDetectorSettings {
             Setting.Property.Dynamic
         );
 
+    // ======================================
+    // result summary setting
+    // ======================================
+    // Detectors whose zero-grade HC results are folded into one summary document
+    // per entity and rollup window. Anomalies and errors are still written as they come.
+    public static final Setting<List<String>> SUMMARIZED_RESULT_DETECTORS = Setting
+        .listSetting(
+            "plugins.anomaly_detection.summarized_result_detectors",
+            Collections.emptyList(),
+            Function.identity(),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    public static final Setting<TimeValue> RESULT_SUMMARY_WINDOW = Setting
+        .positiveTimeSetting(
+            "plugins.anomaly_detection.result_summary_window",
+            TimeValue.timeValueHours(1),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Max open rollup windows per node. Beyond it, the least recently updated window is written early.
+    public static final Setting<Integer> MAX_RESULT_SUMMARY_WINDOWS = Setting
+        .intSetting(
+            "plugins.anomaly_detection.max_result_summary_windows",
+            100_000,
+            0,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     // ======================================
     // stats/profile API setting
     // ======================================
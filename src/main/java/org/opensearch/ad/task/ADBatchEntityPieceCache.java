@@ -0,0 +1,326 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.model.Entity;
+
+/**
+ * Shares feature queries among the entity tasks of a historical HC detector running on
+ * the same worker node.
+ *
+ * Entity tasks of a detector usually walk the same piece boundaries. When an entity task
+ * asks for a piece that no other task has asked for, it issues one query for its own
+ * entity plus the entities of other tasks still behind it on the same piece boundaries.
+ * Data points of those entities wait here until their tasks reach the piece. Each task
+ * still scores its own model, indexes its own results, and reports its own progress.
+ *
+ * Unconsumed pieces are dropped after {@link #EXPIRATION} or when the task of the entity
+ * ends, so a task that fails or is cancelled does not pin memory. Data points of a piece
+ * are charged to the memory tracker while they wait here.
+ */
+class ADBatchEntityPieceCache {
+    private static final Logger logger = LogManager.getLogger(ADBatchEntityPieceCache.class);
+
+    static final Duration EXPIRATION = Duration.ofMinutes(10);
+    // upper bound of cached pieces over all detectors on the node
+    static final int MAX_PIECES = 100;
+    // map entry, timestamp, and Optional of a data point
+    private static final long DATA_POINT_BASE_BYTES = 96;
+    // map entry and map of an entity
+    private static final long ENTITY_BASE_BYTES = 128;
+
+    /**
+     * Fetch data points of one entity for [startTime, endTime).
+     */
+    @FunctionalInterface
+    interface EntityFetcher {
+        void fetch(long startTime, long endTime, ActionListener<Map<Long, Optional<double[]>>> listener);
+    }
+
+    /**
+     * Fetch data points of a group of entities for [startTime, endTime).
+     */
+    @FunctionalInterface
+    interface GroupFetcher {
+        void fetch(
+            Collection<Entity> entities,
+            long startTime,
+            long endTime,
+            ActionListener<Map<Entity, Map<Long, Optional<double[]>>>> listener
+        );
+    }
+
+    private final Clock clock;
+    private final MemoryTracker memoryTracker;
+    // "detector task id, piece start time, piece end time" -> piece. Guarded by this.
+    private final Map<String, Piece> pieces;
+    // detector task id -> entity -> last requested piece [start, end). Guarded by this.
+    private final Map<String, Map<Entity, long[]>> positions;
+
+    ADBatchEntityPieceCache(Clock clock, MemoryTracker memoryTracker) {
+        this.clock = clock;
+        this.memoryTracker = memoryTracker;
+        this.pieces = new HashMap<>();
+        this.positions = new HashMap<>();
+    }
+
+    /**
+     * Get data points of an entity's piece.
+     *
+     * @param detectorTaskId detector level task id
+     * @param entity entity of the task
+     * @param startTime piece start time
+     * @param endTime piece end time
+     * @param pieceLength length of a full piece in milliseconds
+     * @param maxGroupSize max number of entities in one query
+     * @param entityFetcher fetches the entity alone
+     * @param groupFetcher fetches a group of entities
+     * @param listener listener of the entity's data points
+     */
+    void getPiece(
+        String detectorTaskId,
+        Entity entity,
+        long startTime,
+        long endTime,
+        long pieceLength,
+        int maxGroupSize,
+        EntityFetcher entityFetcher,
+        GroupFetcher groupFetcher,
+        ActionListener<Map<Long, Optional<double[]>>> listener
+    ) {
+        String key = detectorTaskId + "_" + startTime + "_" + endTime;
+        Piece piece;
+        Set<Entity> group;
+        Piece groupPiece = null;
+        synchronized (this) {
+            expire();
+            Map<Entity, long[]> detectorPositions = positions.computeIfAbsent(detectorTaskId, k -> new HashMap<>());
+            long[] position = detectorPositions.computeIfAbsent(entity, k -> new long[2]);
+            position[0] = startTime;
+            position[1] = Math.max(position[1], endTime);
+
+            piece = pieces.get(key);
+            if (piece != null && !piece.pending.remove(entity)) {
+                // The entity is not in the group, e.g., its task started after the query went out.
+                // Fetch it alone: the piece stays in place for the tasks of its group.
+                piece = null;
+                group = Collections.singleton(entity);
+            } else if (piece != null) {
+                if (!piece.done) {
+                    piece.waiting.put(entity, listener);
+                    return;
+                }
+                if (piece.pending.isEmpty()) {
+                    remove(key, piece);
+                }
+                group = null;
+            } else {
+                group = maxGroupSize > 1 && pieces.size() < MAX_PIECES
+                    ? groupOf(detectorPositions, entity, startTime, pieceLength, maxGroupSize)
+                    : Collections.singleton(entity);
+                if (group.size() > 1) {
+                    Set<Entity> pending = new HashSet<>(group);
+                    pending.remove(entity);
+                    groupPiece = new Piece(detectorTaskId, pending, clock.millis());
+                    pieces.put(key, groupPiece);
+                }
+            }
+        }
+
+        if (piece != null) {
+            // served from a query issued by another entity task
+            listener.onResponse(piece.dataPoints.getOrDefault(entity, new HashMap<>()));
+        } else if (group.size() <= 1) {
+            entityFetcher.fetch(startTime, endTime, listener);
+        } else {
+            fetchGroup(key, groupPiece, entity, group, startTime, endTime, groupFetcher, listener);
+        }
+    }
+
+    /**
+     * Entities of other tasks that will reach the piece later: they are on the same piece
+     * boundaries and have not asked for the piece yet.
+     */
+    private Set<Entity> groupOf(Map<Entity, long[]> detectorPositions, Entity entity, long startTime, long pieceLength, int maxGroupSize) {
+        Set<Entity> group = new LinkedHashSet<>();
+        group.add(entity);
+        for (Map.Entry<Entity, long[]> entry : detectorPositions.entrySet()) {
+            if (group.size() >= maxGroupSize) {
+                break;
+            }
+            long[] position = entry.getValue();
+            if (position[1] <= startTime && pieceLength > 0 && (startTime - position[0]) % pieceLength == 0) {
+                group.add(entry.getKey());
+            }
+        }
+        return group;
+    }
+
+    /**
+     * The query completes its own piece, even if the piece expired or was released
+     * while the query was running.
+     */
+    private void fetchGroup(
+        String key,
+        Piece piece,
+        Entity entity,
+        Set<Entity> group,
+        long startTime,
+        long endTime,
+        GroupFetcher groupFetcher,
+        ActionListener<Map<Long, Optional<double[]>>> listener
+    ) {
+        ActionListener<Map<Entity, Map<Long, Optional<double[]>>>> groupListener = ActionListener.wrap(dataPoints -> {
+            Map<Entity, ActionListener<Map<Long, Optional<double[]>>>> waiting;
+            synchronized (this) {
+                piece.done = true;
+                piece.dataPoints = dataPoints;
+                waiting = piece.waiting;
+                piece.waiting = new HashMap<>();
+                if (piece.pending.isEmpty()) {
+                    remove(key, piece);
+                } else if (pieces.get(key) == piece) {
+                    // kept for the entities that have not asked yet
+                    piece.bytes = estimateBytes(dataPoints);
+                    if (memoryTracker != null) {
+                        memoryTracker.consumeMemory(piece.bytes, false, MemoryTracker.Origin.HISTORICAL_ENTITY_PIECE);
+                    }
+                }
+            }
+            logger.debug("Fetched piece {} of {} entities", key, group.size());
+            listener.onResponse(dataPoints.getOrDefault(entity, new HashMap<>()));
+            for (Map.Entry<Entity, ActionListener<Map<Long, Optional<double[]>>>> entry : waiting.entrySet()) {
+                entry.getValue().onResponse(dataPoints.getOrDefault(entry.getKey(), new HashMap<>()));
+            }
+        }, e -> {
+            Map<Entity, ActionListener<Map<Long, Optional<double[]>>>> waiting;
+            synchronized (this) {
+                // let tasks that have not asked yet fetch the piece themselves
+                remove(key, piece);
+                waiting = piece.waiting;
+                piece.waiting = new HashMap<>();
+            }
+            listener.onFailure(e);
+            for (ActionListener<Map<Long, Optional<double[]>>> waitingListener : waiting.values()) {
+                waitingListener.onFailure(e);
+            }
+        });
+
+        try {
+            groupFetcher.fetch(group, startTime, endTime, groupListener);
+        } catch (Exception e) {
+            groupListener.onFailure(e);
+        }
+    }
+
+    /**
+     * Drop what is cached for an entity whose task ended.
+     *
+     * @param detectorTaskId detector level task id
+     * @param entity entity of the task
+     */
+    synchronized void release(String detectorTaskId, Entity entity) {
+        Map<Entity, long[]> detectorPositions = positions.get(detectorTaskId);
+        if (detectorPositions != null) {
+            detectorPositions.remove(entity);
+            if (detectorPositions.isEmpty()) {
+                positions.remove(detectorTaskId);
+            }
+        }
+        Iterator<Piece> iterator = pieces.values().iterator();
+        while (iterator.hasNext()) {
+            Piece piece = iterator.next();
+            if (piece.detectorTaskId.equals(detectorTaskId)) {
+                piece.pending.remove(entity);
+                if (piece.done && piece.pending.isEmpty()) {
+                    iterator.remove();
+                    releaseMemory(piece);
+                }
+            }
+        }
+    }
+
+    private void expire() {
+        long expirationTime = clock.millis() - EXPIRATION.toMillis();
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
+            // pieces with waiting tasks go away once the query returns
+            if (entry.getValue().createdTime < expirationTime && entry.getValue().waiting.isEmpty()) {
+                expired.add(entry.getKey());
+            }
+        }
+        for (String key : expired) {
+            releaseMemory(pieces.remove(key));
+        }
+    }
+
+    private void remove(String key, Piece piece) {
+        if (pieces.remove(key, piece)) {
+            releaseMemory(piece);
+        }
+    }
+
+    private void releaseMemory(Piece piece) {
+        if (piece.bytes > 0 && memoryTracker != null) {
+            memoryTracker.releaseMemory(piece.bytes, false, MemoryTracker.Origin.HISTORICAL_ENTITY_PIECE);
+        }
+        piece.bytes = 0;
+    }
+
+    static long estimateBytes(Map<Entity, Map<Long, Optional<double[]>>> dataPoints) {
+        long bytes = 0;
+        for (Map<Long, Optional<double[]>> points : dataPoints.values()) {
+            bytes += ENTITY_BASE_BYTES;
+            for (Optional<double[]> point : points.values()) {
+                // double array header and values
+                bytes += DATA_POINT_BASE_BYTES + (point.isPresent() ? 16 + 8L * point.get().length : 0);
+            }
+        }
+        return bytes;
+    }
+
+    synchronized int getCachedPieces() {
+        return pieces.size();
+    }
+
+    private static class Piece {
+        private final String detectorTaskId;
+        // entities of the group that have not taken their data points
+        private final Set<Entity> pending;
+        private final long createdTime;
+        private boolean done;
+        private Map<Entity, Map<Long, Optional<double[]>>> dataPoints;
+        private Map<Entity, ActionListener<Map<Long, Optional<double[]>>>> waiting;
+        // bytes charged to the memory tracker
+        private long bytes;
+
+        Piece(String detectorTaskId, Set<Entity> pending, long createdTime) {
+            this.detectorTaskId = detectorTaskId;
+            this.pending = pending;
+            this.createdTime = createdTime;
+            this.done = false;
+            this.waiting = new HashMap<>();
+        }
+    }
+}
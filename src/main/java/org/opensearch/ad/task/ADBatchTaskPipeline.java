@@ -0,0 +1,235 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.core.action.ActionListener;
+
+/**
+ * Per-task state of pipelined historical analysis. With depth N, the feature
+ * queries of the next N pieces are in flight while the current piece is scored,
+ * and up to N result bulks of earlier pieces are indexed in the background.
+ *
+ * A piece is identified by its start time. The runner asks for pieces in order, so
+ * prefetched pieces before a requested one are stale (e.g., after the piece size
+ * changed) and dropped.
+ */
+class ADBatchTaskPipeline {
+
+    /**
+     * Fetch feature data of [startTime, endTime).
+     */
+    @FunctionalInterface
+    interface PieceFetcher {
+        void fetch(long startTime, long endTime, ActionListener<Map<Long, Optional<double[]>>> listener);
+    }
+
+    private final int depth;
+    // piece start time -> prefetched piece. Guarded by this.
+    private final TreeMap<Long, Piece> pieces;
+    private int outstandingBulks;
+    private Exception bulkFailure;
+    // continuation waiting for a free bulk slot, or for all bulks to finish
+    private Runnable waiting;
+    private boolean waitingForAllBulks;
+
+    ADBatchTaskPipeline(int depth) {
+        this.depth = depth;
+        this.pieces = new TreeMap<>();
+        this.outstandingBulks = 0;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Start fetching a piece unless it is already in flight.
+     *
+     * @param startTime piece start time
+     * @param endTime piece end time
+     * @param fetcher fetches feature data
+     */
+    void prefetch(long startTime, long endTime, PieceFetcher fetcher) {
+        Piece piece;
+        synchronized (this) {
+            Piece existing = pieces.get(startTime);
+            if (existing != null && existing.endTime == endTime) {
+                return;
+            }
+            piece = new Piece(endTime);
+            pieces.put(startTime, piece);
+        }
+        fetch(piece, startTime, fetcher);
+    }
+
+    /**
+     * Hand the data of a piece to the listener, from the prefetched piece if there is one.
+     *
+     * @param startTime piece start time
+     * @param endTime piece end time
+     * @param fetcher fetches feature data if the piece is not prefetched
+     * @param listener listener of the piece's feature data
+     */
+    void take(long startTime, long endTime, PieceFetcher fetcher, ActionListener<Map<Long, Optional<double[]>>> listener) {
+        Piece piece;
+        synchronized (this) {
+            // drop stale pieces
+            Iterator<Long> iterator = pieces.headMap(startTime).keySet().iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            piece = pieces.remove(startTime);
+            if (piece == null || piece.endTime != endTime) {
+                piece = null;
+            } else if (!piece.isDone()) {
+                piece.listener = listener;
+                return;
+            }
+        }
+        if (piece == null) {
+            fetcher.fetch(startTime, endTime, listener);
+        } else if (piece.failure != null) {
+            listener.onFailure(piece.failure);
+        } else {
+            listener.onResponse(piece.dataPoints);
+        }
+    }
+
+    private void fetch(Piece piece, long startTime, PieceFetcher fetcher) {
+        try {
+            fetcher.fetch(startTime, piece.endTime, ActionListener.wrap(dataPoints -> {
+                ActionListener<Map<Long, Optional<double[]>>> listener = complete(piece, dataPoints, null);
+                if (listener != null) {
+                    listener.onResponse(dataPoints);
+                }
+            }, e -> {
+                ActionListener<Map<Long, Optional<double[]>>> listener = complete(piece, null, e);
+                if (listener != null) {
+                    listener.onFailure(e);
+                }
+            }));
+        } catch (Exception e) {
+            ActionListener<Map<Long, Optional<double[]>>> listener = complete(piece, null, e);
+            if (listener != null) {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    private synchronized ActionListener<Map<Long, Optional<double[]>>> complete(
+        Piece piece,
+        Map<Long, Optional<double[]>> dataPoints,
+        Exception failure
+    ) {
+        piece.dataPoints = dataPoints;
+        piece.failure = failure;
+        piece.done = true;
+        return piece.listener;
+    }
+
+    /**
+     * Register a result bulk. The returned listener must be notified when the bulk finishes.
+     *
+     * @return listener of the bulk
+     */
+    ActionListener<BulkResponse> startBulk() {
+        synchronized (this) {
+            outstandingBulks++;
+        }
+        return ActionListener.wrap(r -> bulkDone(null), this::bulkDone);
+    }
+
+    private void bulkDone(Exception e) {
+        Runnable toRun = null;
+        synchronized (this) {
+            outstandingBulks--;
+            if (e != null && bulkFailure == null) {
+                bulkFailure = e;
+            }
+            if (waiting != null && (waitingForAllBulks ? outstandingBulks == 0 : outstandingBulks < depth)) {
+                toRun = waiting;
+                waiting = null;
+            }
+        }
+        if (toRun != null) {
+            toRun.run();
+        }
+    }
+
+    /**
+     * Run the next step once fewer than depth bulks are outstanding.
+     *
+     * @param next next step
+     * @param onFailure called instead if a bulk failed
+     */
+    void whenBulkSlotAvailable(Runnable next, Consumer<Exception> onFailure) {
+        whenBulks(false, next, onFailure);
+    }
+
+    /**
+     * Run the last step once all bulks finished.
+     *
+     * @param done last step
+     * @param onFailure called instead if a bulk failed
+     */
+    void whenAllBulksDone(Runnable done, Consumer<Exception> onFailure) {
+        whenBulks(true, done, onFailure);
+    }
+
+    private void whenBulks(boolean all, Runnable next, Consumer<Exception> onFailure) {
+        Runnable guarded = () -> {
+            Exception failure;
+            synchronized (this) {
+                failure = bulkFailure;
+            }
+            if (failure != null) {
+                onFailure.accept(failure);
+            } else {
+                next.run();
+            }
+        };
+        synchronized (this) {
+            if (all ? outstandingBulks > 0 : outstandingBulks >= depth) {
+                waiting = guarded;
+                waitingForAllBulks = all;
+                return;
+            }
+        }
+        guarded.run();
+    }
+
+    synchronized int getOutstandingBulks() {
+        return outstandingBulks;
+    }
+
+    synchronized int getPrefetchedPieces() {
+        return pieces.size();
+    }
+
+    private static class Piece {
+        private final long endTime;
+        private Map<Long, Optional<double[]>> dataPoints;
+        private Exception failure;
+        private boolean done;
+        private ActionListener<Map<Long, Optional<double[]>>> listener;
+
+        Piece(long endTime) {
+            this.endTime = endTime;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+    }
+}
@@ -12,12 +12,15 @@
 package org.opensearch.ad.task;
 
 import static org.opensearch.ad.constant.ADCommonMessages.NO_ELIGIBLE_NODE_TO_RUN_DETECTOR;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.BATCH_TASK_ENTITY_GROUP_SIZE;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.BATCH_TASK_PIECE_INTERVAL_SECONDS;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.BATCH_TASK_PIECE_SIZE;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.BATCH_TASK_PIPELINE_DEPTH;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_BATCH_TASK_PER_NODE;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_RUNNING_ENTITIES_PER_DETECTOR_FOR_HISTORICAL_ANALYSIS;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_TOP_ENTITIES_FOR_HISTORICAL_ANALYSIS;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_TOP_ENTITIES_LIMIT_FOR_HISTORICAL_ANALYSIS;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.TOP_ENTITY_SEARCH_CONCURRENCY_FOR_HISTORICAL_ANALYSIS;
 import static org.opensearch.timeseries.TimeSeriesAnalyticsPlugin.AD_BATCH_TASK_THREAD_POOL_NAME;
 import static org.opensearch.timeseries.stats.InternalStatNames.JVM_HEAP_USAGE;
 import static org.opensearch.timeseries.stats.StatNames.AD_EXECUTING_BATCH_TASK_COUNT;
@@ -31,12 +34,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.ActionListenerResponseHandler;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ThreadedActionListener;
@@ -76,6 +81,7 @@ import org.opensearch.search.aggregations.metrics.InternalMin;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.breaker.CircuitBreakerService;
 import org.opensearch.timeseries.caching.PriorityTracker;
 import org.opensearch.timeseries.cluster.HashRing;
@@ -133,12 +139,18 @@ public class ADBatchTaskRunner {
     private final TransportRequestOptions option;
     private final HashRing hashRing;
     private final ADModelManager modelManager;
+    // task id -> pipeline state of tasks running in pipelined mode
+    private final Map<String, ADBatchTaskPipeline> pipelines;
+    private final ADBatchEntityPieceCache entityPieceCache;
 
     private volatile Integer maxAdBatchTaskPerNode;
     private volatile Integer pieceSize;
     private volatile Integer pieceIntervalSeconds;
+    private volatile Integer pipelineDepth;
+    private volatile Integer entityGroupSize;
     private volatile Integer maxTopEntitiesPerHcDetector;
     private volatile Integer maxRunningEntitiesPerDetector;
+    private volatile Integer topEntitySearchConcurrency;
 
     private static final int MAX_TOP_ENTITY_SEARCH_BUCKETS = 1000;
     private static final int SLEEP_TIME_FOR_NEXT_ENTITY_TASK_IN_MILLIS = 2000;
@@ -158,7 +170,8 @@ public class ADBatchTaskRunner {
         ADTaskCacheManager adTaskCacheManager,
         SearchFeatureDao searchFeatureDao,
         HashRing hashRing,
-        ADModelManager modelManager
+        ADModelManager modelManager,
+        MemoryTracker memoryTracker
     ) {
         this.settings = settings;
         this.threadPool = threadPool;
@@ -182,6 +195,8 @@ public class ADBatchTaskRunner {
         this.searchFeatureDao = searchFeatureDao;
         this.hashRing = hashRing;
         this.modelManager = modelManager;
+        this.pipelines = new ConcurrentHashMap<>();
+        this.entityPieceCache = new ADBatchEntityPieceCache(Clock.systemUTC(), memoryTracker);
 
         this.maxAdBatchTaskPerNode = MAX_BATCH_TASK_PER_NODE.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_BATCH_TASK_PER_NODE, it -> maxAdBatchTaskPerNode = it);
@@ -192,6 +207,12 @@ public class ADBatchTaskRunner {
         this.pieceIntervalSeconds = BATCH_TASK_PIECE_INTERVAL_SECONDS.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_TASK_PIECE_INTERVAL_SECONDS, it -> pieceIntervalSeconds = it);
 
+        this.pipelineDepth = BATCH_TASK_PIPELINE_DEPTH.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_TASK_PIPELINE_DEPTH, it -> pipelineDepth = it);
+
+        this.entityGroupSize = BATCH_TASK_ENTITY_GROUP_SIZE.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_TASK_ENTITY_GROUP_SIZE, it -> entityGroupSize = it);
+
         this.maxTopEntitiesPerHcDetector = MAX_TOP_ENTITIES_FOR_HISTORICAL_ANALYSIS.get(settings);
         clusterService
             .getClusterSettings()
@@ -201,6 +222,11 @@ public class ADBatchTaskRunner {
         clusterService
             .getClusterSettings()
             .addSettingsUpdateConsumer(MAX_RUNNING_ENTITIES_PER_DETECTOR_FOR_HISTORICAL_ANALYSIS, it -> maxRunningEntitiesPerDetector = it);
+
+        this.topEntitySearchConcurrency = TOP_ENTITY_SEARCH_CONCURRENCY_FOR_HISTORICAL_ANALYSIS.get(settings);
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TOP_ENTITY_SEARCH_CONCURRENCY_FOR_HISTORICAL_ANALYSIS, it -> topEntitySearchConcurrency = it);
     }
 
     /**
@@ -332,70 +358,63 @@ public class ADBatchTaskRunner {
                     dataEndTime,
                     detectorInterval
                 );
-            if (adTask.getDetector().hasMultipleCategories()) {
-                searchTopEntitiesForMultiCategoryHC(
-                    adTask,
-                    priorityTracker,
-                    dataEndTime,
-                    Math.max((dataEndTime - dataStartTime) / MAX_TOP_ENTITY_SEARCH_BUCKETS, detectorInterval),
-                    dataStartTime,
-                    dataStartTime + detectorInterval,
-                    internalHCListener
-                );
-            } else {
-                searchTopEntitiesForSingleCategoryHC(
-                    adTask,
-                    priorityTracker,
-                    dataEndTime,
-                    Math.max((dataEndTime - dataStartTime) / MAX_TOP_ENTITY_SEARCH_BUCKETS, detectorInterval),
-                    dataStartTime,
-                    dataStartTime + detectorInterval,
-                    internalHCListener
-                );
+            long bucketInterval = Math.max((dataEndTime - dataStartTime) / MAX_TOP_ENTITY_SEARCH_BUCKETS, detectorInterval);
+            // first slice is one detector interval, the following slices are one bucket interval
+            List<long[]> slices = new ArrayList<>();
+            long sliceStartTime = dataStartTime;
+            long sliceEndTime = dataStartTime + detectorInterval;
+            slices.add(new long[] { sliceStartTime, sliceEndTime });
+            while (sliceEndTime < dataEndTime) {
+                sliceStartTime = sliceEndTime;
+                sliceEndTime = sliceStartTime + bucketInterval;
+                slices.add(new long[] { sliceStartTime, sliceEndTime });
             }
+            ADTopEntitySliceSearch.SliceSearcher searcher = adTask.getDetector().hasMultipleCategories()
+                ? (start, end, listener) -> searchTopEntitiesForMultiCategoryHC(adTask, bucketInterval, start, end, listener)
+                : (start, end, listener) -> searchTopEntitiesForSingleCategoryHC(adTask, start, end, listener);
+            new ADTopEntitySliceSearch(
+                slices,
+                topEntitySearchConcurrency,
+                searcher,
+                () -> checkIfADTaskCancelledAndCleanupCache(adTask),
+                topEntities -> topEntities.forEach(priorityTracker::updatePriority),
+                ActionListener.wrap(r -> {
+                    logger.debug("finish searching top entities at " + System.currentTimeMillis());
+                    List<String> topNEntities = priorityTracker.getTopNEntities(maxTopEntitiesPerHcDetector);
+                    if (topNEntities.size() == 0) {
+                        logger.error("There is no entity found for detector " + adTask.getConfigId());
+                        internalHCListener.onFailure(new ResourceNotFoundException(adTask.getConfigId(), "No entity found"));
+                        return;
+                    }
+                    adTaskCacheManager.addPendingEntities(adTask.getConfigId(), topNEntities);
+                    adTaskCacheManager.setTopEntityCount(adTask.getConfigId(), topNEntities.size());
+                    internalHCListener.onResponse("Get top entities done");
+                }, e -> {
+                    logger.error("Failed to get top entities for detector " + adTask.getConfigId(), e);
+                    internalHCListener.onFailure(e);
+                })
+            ).start();
         }, internalHCListener);
     }
 
     private void searchTopEntitiesForMultiCategoryHC(
         ADTask adTask,
-        PriorityTracker priorityTracker,
-        long detectionEndTime,
         long bucketInterval,
         long dataStartTime,
         long dataEndTime,
-        ActionListener<String> internalHCListener
+        ActionListener<List<String>> listener
     ) {
-        checkIfADTaskCancelledAndCleanupCache(adTask);
-        ActionListener<List<Entity>> topEntitiesListener = ActionListener.wrap(topEntities -> {
-            topEntities
-                .forEach(entity -> priorityTracker.updatePriority(adTaskManager.convertEntityToString(entity, adTask.getDetector())));
-
-            if (dataEndTime < detectionEndTime) {
-                searchTopEntitiesForMultiCategoryHC(
-                    adTask,
-                    priorityTracker,
-                    detectionEndTime,
-                    bucketInterval,
-                    dataEndTime,
-                    dataEndTime + bucketInterval,
-                    internalHCListener
-                );
-            } else {
-                logger.debug("finish searching top entities at " + System.currentTimeMillis());
-                List<String> topNEntities = priorityTracker.getTopNEntities(maxTopEntitiesPerHcDetector);
-                if (topNEntities.size() == 0) {
-                    logger.error("There is no entity found for detector " + adTask.getConfigId());
-                    internalHCListener.onFailure(new ResourceNotFoundException(adTask.getConfigId(), "No entity found"));
-                    return;
-                }
-                adTaskCacheManager.addPendingEntities(adTask.getConfigId(), topNEntities);
-                adTaskCacheManager.setTopEntityCount(adTask.getConfigId(), topNEntities.size());
-                internalHCListener.onResponse("Get top entities done");
-            }
-        }, e -> {
-            logger.error("Failed to get top entities for detector " + adTask.getConfigId(), e);
-            internalHCListener.onFailure(e);
-        });
+        ActionListener<List<Entity>> topEntitiesListener = ActionListener
+            .wrap(
+                topEntities -> listener
+                    .onResponse(
+                        topEntities
+                            .stream()
+                            .map(entity -> adTaskManager.convertEntityToString(entity, adTask.getDetector()))
+                            .collect(Collectors.toList())
+                    ),
+                listener::onFailure
+            );
         int minimumDocCount = Math.max((int) (bucketInterval / adTask.getDetector().getIntervalInMilliseconds()) / 2, 1);
         searchFeatureDao
             .getHighestCountEntities(
@@ -411,14 +430,10 @@ public class ADBatchTaskRunner {
 
     private void searchTopEntitiesForSingleCategoryHC(
         ADTask adTask,
-        PriorityTracker priorityTracker,
-        long detectionEndTime,
-        long interval,
         long dataStartTime,
         long dataEndTime,
-        ActionListener<String> internalHCListener
+        ActionListener<List<String>> listener
     ) {
-        checkIfADTaskCancelledAndCleanupCache(adTask);
         SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
         BoolQueryBuilder boolQueryBuilder = new BoolQueryBuilder();
         RangeQueryBuilder rangeQueryBuilder = new RangeQueryBuilder(adTask.getDetector().getTimeField())
@@ -446,33 +461,8 @@ public class ADBatchTaskRunner {
                 topEntities.add(key);
             }
 
-            topEntities.forEach(e -> priorityTracker.updatePriority(e));
-            if (dataEndTime < detectionEndTime) {
-                searchTopEntitiesForSingleCategoryHC(
-                    adTask,
-                    priorityTracker,
-                    detectionEndTime,
-                    interval,
-                    dataEndTime,
-                    dataEndTime + interval,
-                    internalHCListener
-                );
-            } else {
-                logger.debug("finish searching top entities at " + System.currentTimeMillis());
-                List<String> topNEntities = priorityTracker.getTopNEntities(maxTopEntitiesPerHcDetector);
-                if (topNEntities.size() == 0) {
-                    logger.error("There is no entity found for detector " + adTask.getConfigId());
-                    internalHCListener.onFailure(new ResourceNotFoundException(adTask.getConfigId(), "No entity found"));
-                    return;
-                }
-                adTaskCacheManager.addPendingEntities(adTask.getConfigId(), topNEntities);
-                adTaskCacheManager.setTopEntityCount(adTask.getConfigId(), topNEntities.size());
-                internalHCListener.onResponse("Get top entities done");
-            }
-        }, e -> {
-            logger.error("Failed to get top entities for detector " + adTask.getConfigId(), e);
-            internalHCListener.onFailure(e);
-        });
+            listener.onResponse(topEntities);
+        }, listener::onFailure);
         // using the original context in listener as user roles have no permissions for internal operations like fetching a
         // checkpoint
         clientUtil
@@ -795,6 +785,8 @@ public class ADBatchTaskRunner {
         ActionListener<String> listener = ActionListener.wrap(response -> {
             // If batch task finished normally, remove task from cache and decrease executing task count by 1.
             adTaskCacheManager.remove(taskId, detectorId, detectorTaskId);
+            pipelines.remove(taskId);
+            releaseEntityPieces(adTask);
             adStats.getStat(AD_EXECUTING_BATCH_TASK_COUNT.getName()).decrement();
             if (!adTask.getDetector().isHighCardinality()) {
                 // Set single-entity detector task as FINISHED here
@@ -812,6 +804,8 @@ public class ADBatchTaskRunner {
         }, e -> {
             // If batch task failed, remove task from cache and decrease executing task count by 1.
             adTaskCacheManager.remove(taskId, detectorId, detectorTaskId);
+            pipelines.remove(taskId);
+            releaseEntityPieces(adTask);
             adStats.getStat(AD_EXECUTING_BATCH_TASK_COUNT.getName()).decrement();
             if (!adTask.getDetector().isHighCardinality()) {
                 adTaskManager.cleanDetectorCache(adTask, transportService, () -> handleException(adTask, e));
@@ -850,6 +844,12 @@ public class ADBatchTaskRunner {
         // put AD task into cache
         adTaskCacheManager.add(adTask);
 
+        // depth is fixed for the lifetime of a task
+        int depth = pipelineDepth;
+        if (depth > 0) {
+            pipelines.put(adTask.getTaskId(), new ADBatchTaskPipeline(depth));
+        }
+
         // start to run first piece
         Instant executeStartTime = Instant.now();
         // TODO: refactor to make the workflow more clear
@@ -1068,8 +1068,60 @@ public class ADBatchTaskRunner {
             false
         );
 
-        featureManager
-            .getFeatureDataPointsByBatch(adTask.getDetector(), adTask.getEntity(), pieceStartTime, pieceEndTime, threadedActionListener);
+        ADBatchTaskPipeline.PieceFetcher fetcher = pieceFetcher(adTask, interval);
+        ADBatchTaskPipeline pipeline = pipelines.get(adTask.getTaskId());
+        if (pipeline == null) {
+            fetcher.fetch(pieceStartTime, pieceEndTime, threadedActionListener);
+            return;
+        }
+
+        pipeline.take(pieceStartTime, pieceEndTime, fetcher, threadedActionListener);
+        // don't add search load while the circuit breaker is open. runNextPiece fails the task then.
+        if (adCircuitBreakerService.isOpen()) {
+            return;
+        }
+        // query the next pieces while the current one is scored
+        long nextPieceStartTime = pieceEndTime;
+        for (int i = 0; i < pipeline.getDepth() && nextPieceStartTime < dataEndTime; i++) {
+            long nextPieceEndTime = Math.min(nextPieceStartTime + pieceSize * interval, dataEndTime);
+            pipeline.prefetch(nextPieceStartTime, nextPieceEndTime, fetcher);
+            nextPieceStartTime = nextPieceEndTime;
+        }
+    }
+
+    private ADBatchTaskPipeline.PieceFetcher pieceFetcher(ADTask adTask, long interval) {
+        AnomalyDetector detector = adTask.getDetector();
+        ADBatchTaskPipeline.PieceFetcher entityFetcher = (start, end, listener) -> featureManager
+            .getFeatureDataPointsByBatch(detector, adTask.getEntity(), start, end, listener);
+        int groupSize = entityGroupSize;
+        if (!adTask.isHistoricalEntityTask() || adTask.getEntity() == null || groupSize <= 1) {
+            return entityFetcher;
+        }
+        // query the entities of other tasks of the detector on this node together
+        return (start, end, listener) -> entityPieceCache
+            .getPiece(
+                adTask.getConfigLevelTaskId(),
+                adTask.getEntity(),
+                start,
+                end,
+                pieceSize * interval,
+                groupSize,
+                entityFetcher::fetch,
+                (entities, groupStart, groupEnd, groupListener) -> {
+                    try {
+                        searchFeatureDao.getFeaturesForPeriodByEntities(detector, entities, groupStart, groupEnd, groupListener);
+                    } catch (Exception e) {
+                        groupListener.onFailure(e);
+                    }
+                },
+                listener
+            );
+    }
+
+    private void releaseEntityPieces(ADTask adTask) {
+        if (adTask.isHistoricalEntityTask() && adTask.getEntity() != null) {
+            entityPieceCache.release(adTask.getConfigLevelTaskId(), adTask.getEntity());
+        }
     }
 
     private void detectAnomaly(
@@ -1160,6 +1212,7 @@ public class ADBatchTaskRunner {
             roles = adTask.getUser().getRoles();
         }
         String resultIndex = adTask.getDetector().getCustomResultIndexOrAlias();
+        ADBatchTaskPipeline pipeline = pipelines.get(taskId);
 
         if (resultIndex == null) {
             // if result index is null, store anomaly result directly
@@ -1172,28 +1225,44 @@ public class ADBatchTaskRunner {
                 internalListener,
                 anomalyResults,
                 resultIndex,
-                null
+                null,
+                pipeline
             );
-            return;
+        } else {
+            try (
+                InjectSecurity injectSecurity = new InjectSecurity(adTask.getTaskId(), settings, client.threadPool().getThreadContext())
+            ) {
+                // Injecting user role to verify if the user has permissions to write result to result index.
+                injectSecurity.inject(user, roles);
+                storeAnomalyResultAndRunNextPiece(
+                    adTask,
+                    pieceEndTime,
+                    dataStartTime,
+                    dataEndTime,
+                    interval,
+                    internalListener,
+                    anomalyResults,
+                    resultIndex,
+                    () -> injectSecurity.close(),
+                    pipeline
+                );
+            } catch (Exception exception) {
+                logger.error("Failed to inject user roles", exception);
+                internalListener.onFailure(exception);
+                return;
+            }
         }
 
-        try (InjectSecurity injectSecurity = new InjectSecurity(adTask.getTaskId(), settings, client.threadPool().getThreadContext())) {
-            // Injecting user role to verify if the user has permissions to write result to result index.
-            injectSecurity.inject(user, roles);
-            storeAnomalyResultAndRunNextPiece(
-                adTask,
-                pieceEndTime,
-                dataStartTime,
-                dataEndTime,
-                interval,
-                internalListener,
-                anomalyResults,
-                resultIndex,
-                () -> injectSecurity.close()
-            );
-        } catch (Exception exception) {
-            logger.error("Failed to inject user roles", exception);
-            internalListener.onFailure(exception);
+        if (pipeline != null) {
+            // The bulk is indexing in the background. Move on to the next piece outside the injected
+            // security context unless too many bulks are outstanding.
+            pipeline.whenBulkSlotAvailable(() -> {
+                try {
+                    runNextPiece(adTask, pieceEndTime, dataStartTime, dataEndTime, interval, internalListener);
+                } catch (Exception e) {
+                    internalListener.onFailure(e);
+                }
+            }, internalListener::onFailure);
         }
     }
 
@@ -1206,13 +1275,12 @@ public class ADBatchTaskRunner {
         ActionListener<String> internalListener,
         List<AnomalyResult> anomalyResults,
         String resultIndex,
-        CheckedRunnable<?> runBefore
+        CheckedRunnable<?> runBefore,
+        ADBatchTaskPipeline pipeline
     ) {
-        ActionListener actionListener = new ThreadedActionListener<>(
-            logger,
-            threadPool,
-            AD_BATCH_TASK_THREAD_POOL_NAME,
-            ActionListener.wrap(r -> {
+        ActionListener<BulkResponse> resultListener;
+        if (pipeline == null) {
+            resultListener = ActionListener.wrap(r -> {
                 try {
                     runNextPiece(adTask, pieceEndTime, dataStartTime, dataEndTime, interval, internalListener);
                 } catch (Exception e) {
@@ -1221,7 +1289,20 @@ public class ADBatchTaskRunner {
             }, e -> {
                 logger.error("Fail to bulk index anomaly result", e);
                 internalListener.onFailure(e);
-            }),
+            });
+        } else {
+            // the caller runs the next piece; a failed bulk fails the task at the next piece
+            ActionListener<BulkResponse> bulkListener = pipeline.startBulk();
+            resultListener = ActionListener.wrap(bulkListener::onResponse, e -> {
+                logger.error("Fail to bulk index anomaly result", e);
+                bulkListener.onFailure(e);
+            });
+        }
+        ActionListener<BulkResponse> actionListener = new ThreadedActionListener<>(
+            logger,
+            threadPool,
+            AD_BATCH_TASK_THREAD_POOL_NAME,
+            resultListener,
             false
         );
 
@@ -1245,7 +1326,6 @@ public class ADBatchTaskRunner {
     ) {
         String taskId = adTask.getTaskId();
         String detectorId = adTask.getConfigId();
-        String detectorTaskId = adTask.getConfigLevelTaskId();
         float initProgress = calculateInitProgress(taskId);
         String taskState = initProgress >= 1.0f ? TaskState.RUNNING.name() : TaskState.INIT.name();
         logger.debug("Init progress: {}, taskState:{}, task id: {}", initProgress, taskState, taskId);
@@ -1301,36 +1381,59 @@ public class ADBatchTaskRunner {
                     );
             }, TimeValue.timeValueSeconds(pieceIntervalSeconds), AD_BATCH_TASK_THREAD_POOL_NAME);
         } else {
-            logger
-                .info(
-                    "AD task finished for detector {}, task id: {}, pieceStartTime: {}, dataEndTime: {}",
-                    detectorId,
-                    taskId,
-                    pieceStartTime,
-                    dataEndTime
-                );
-            adTaskCacheManager.remove(taskId, detectorId, detectorTaskId);
-            adTaskManager
-                .updateTask(
-                    taskId,
-                    ImmutableMap
-                        .of(
-                            TimeSeriesTask.CURRENT_PIECE_FIELD,
-                            dataEndTime,
-                            TimeSeriesTask.TASK_PROGRESS_FIELD,
-                            1.0f,
-                            TimeSeriesTask.EXECUTION_END_TIME_FIELD,
-                            Instant.now().toEpochMilli(),
-                            TimeSeriesTask.INIT_PROGRESS_FIELD,
-                            initProgress,
-                            TimeSeriesTask.STATE_FIELD,
-                            TaskState.FINISHED
-                        ),
-                    ActionListener.wrap(r -> internalListener.onResponse("task execution done"), e -> internalListener.onFailure(e))
-                );
+            ADBatchTaskPipeline pipeline = pipelines.get(taskId);
+            if (pipeline == null) {
+                finishTask(adTask, pieceStartTime, dataEndTime, initProgress, internalListener);
+            } else {
+                // results of the last pieces may still be indexing
+                pipeline
+                    .whenAllBulksDone(
+                        () -> finishTask(adTask, pieceStartTime, dataEndTime, initProgress, internalListener),
+                        internalListener::onFailure
+                    );
+            }
         }
     }
 
+    private void finishTask(
+        ADTask adTask,
+        long pieceStartTime,
+        long dataEndTime,
+        float initProgress,
+        ActionListener<String> internalListener
+    ) {
+        String taskId = adTask.getTaskId();
+        String detectorId = adTask.getConfigId();
+        String detectorTaskId = adTask.getConfigLevelTaskId();
+        logger
+            .info(
+                "AD task finished for detector {}, task id: {}, pieceStartTime: {}, dataEndTime: {}",
+                detectorId,
+                taskId,
+                pieceStartTime,
+                dataEndTime
+            );
+        adTaskCacheManager.remove(taskId, detectorId, detectorTaskId);
+        adTaskManager
+            .updateTask(
+                taskId,
+                ImmutableMap
+                    .of(
+                        TimeSeriesTask.CURRENT_PIECE_FIELD,
+                        dataEndTime,
+                        TimeSeriesTask.TASK_PROGRESS_FIELD,
+                        1.0f,
+                        TimeSeriesTask.EXECUTION_END_TIME_FIELD,
+                        Instant.now().toEpochMilli(),
+                        TimeSeriesTask.INIT_PROGRESS_FIELD,
+                        initProgress,
+                        TimeSeriesTask.STATE_FIELD,
+                        TaskState.FINISHED
+                    ),
+                ActionListener.wrap(r -> internalListener.onResponse("task execution done"), e -> internalListener.onFailure(e))
+            );
+    }
+
     private void updateDetectorLevelTaskState(String detectorId, String detectorTaskId, String newState) {
         ExecutorFunction function = () -> adTaskManager
             .updateTask(detectorTaskId, ImmutableMap.of(TimeSeriesTask.STATE_FIELD, newState), ActionListener.wrap(r -> {
@@ -0,0 +1,135 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.opensearch.core.action.ActionListener;
+
+/**
+ * Searches top entities of the time slices of a historical detection range with
+ * bounded concurrency.
+ *
+ * Slice results are merged in slice order no matter in which order the searches
+ * return, so the merged top entities are the same as searching slice by slice.
+ */
+class ADTopEntitySliceSearch {
+
+    /**
+     * Search top entities of [startTime, endTime].
+     */
+    @FunctionalInterface
+    interface SliceSearcher {
+        void search(long startTime, long endTime, ActionListener<List<String>> listener);
+    }
+
+    private final List<long[]> slices;
+    private final int concurrency;
+    private final SliceSearcher searcher;
+    private final Runnable beforeSearch;
+    private final Consumer<List<String>> merger;
+    private final ActionListener<Void> listener;
+
+    // Guarded by this.
+    private final List<String>[] results;
+    private int nextSlice;
+    private int nextMerge;
+    private int running;
+    private boolean failed;
+
+    /**
+     * @param slices [start, end] of the slices in time order
+     * @param concurrency max number of searches in flight
+     * @param searcher searches one slice
+     * @param beforeSearch runs before each search, e.g., to check cancellation. An exception stops the search.
+     * @param merger merges results of a slice. Called in slice order.
+     * @param listener notified once all slices are merged or a search failed
+     */
+    @SuppressWarnings("unchecked")
+    ADTopEntitySliceSearch(
+        List<long[]> slices,
+        int concurrency,
+        SliceSearcher searcher,
+        Runnable beforeSearch,
+        Consumer<List<String>> merger,
+        ActionListener<Void> listener
+    ) {
+        this.slices = slices;
+        this.concurrency = Math.max(concurrency, 1);
+        this.searcher = searcher;
+        this.beforeSearch = beforeSearch;
+        this.merger = merger;
+        this.listener = listener;
+        this.results = new List[slices.size()];
+    }
+
+    void start() {
+        if (slices.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        searchMore();
+    }
+
+    private void searchMore() {
+        while (true) {
+            int slice;
+            synchronized (this) {
+                if (failed || nextSlice >= slices.size() || running >= concurrency) {
+                    return;
+                }
+                slice = nextSlice++;
+                running++;
+            }
+            search(slice);
+        }
+    }
+
+    private void search(int slice) {
+        try {
+            beforeSearch.run();
+            long[] range = slices.get(slice);
+            searcher.search(range[0], range[1], ActionListener.wrap(entities -> onSliceDone(slice, entities), this::onFailure));
+        } catch (Exception e) {
+            onFailure(e);
+        }
+    }
+
+    private void onSliceDone(int slice, List<String> entities) {
+        boolean done;
+        synchronized (this) {
+            if (failed) {
+                return;
+            }
+            running--;
+            results[slice] = entities == null ? Collections.emptyList() : entities;
+            while (nextMerge < results.length && results[nextMerge] != null) {
+                merger.accept(results[nextMerge]);
+                // release merged results
+                results[nextMerge] = null;
+                nextMerge++;
+            }
+            done = nextMerge == results.length;
+        }
+        if (done) {
+            listener.onResponse(null);
+        } else {
+            searchMore();
+        }
+    }
+
+    private void onFailure(Exception e) {
+        synchronized (this) {
+            if (failed) {
+                return;
+            }
+            failed = true;
+        }
+        listener.onFailure(e);
+    }
+}
@@ -13,15 +13,10 @@ package org.opensearch.ad.transport;
 
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_INDEX_PRESSURE_HARD_LIMIT;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_INDEX_PRESSURE_SOFT_LIMIT;
-import static org.opensearch.common.xcontent.XContentFactory.jsonBuilder;
 
-import java.io.IOException;
 import java.util.List;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.opensearch.action.bulk.BulkRequest;
-import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.model.AnomalyResult;
@@ -29,16 +24,13 @@ import org.opensearch.ad.ratelimit.ADResultWriteRequest;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
-import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.IndexingPressure;
 import org.opensearch.timeseries.transport.ResultBulkTransportAction;
-import org.opensearch.timeseries.util.RestHandlerUtils;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 public class ADResultBulkTransportAction extends ResultBulkTransportAction<AnomalyResult, ADResultWriteRequest, ADResultBulkRequest> {
 
-    private static final Logger LOG = LogManager.getLogger(ADResultBulkTransportAction.class);
     private final ClusterService clusterService;
     private final Client client;
 
@@ -108,13 +100,12 @@ public class ADResultBulkTransportAction extends ResultBulkTransportAction<Anoma
         List<ADResultWriteRequest> results = request.getResults();
 
         for (ADResultWriteRequest resultWriteRequest : results) {
-            AnomalyResult result = resultWriteRequest.getResult();
             String resultIndex = resultWriteRequest.getResultIndex();
 
-            if (shouldAddResult(indexingPressurePercent, result)) {
-                addResult(bulkRequest, result, resultIndex);
+            if (shouldAddResult(indexingPressurePercent, resultWriteRequest)) {
+                addResult(bulkRequest, resultWriteRequest, resultIndex);
                 if (resultWriteRequest.getFlattenResultIndex() != null) {
-                    addResult(bulkRequest, result, resultWriteRequest.getFlattenResultIndex());
+                    addResult(bulkRequest, resultWriteRequest, resultWriteRequest.getFlattenResultIndex());
                 }
             }
         }
@@ -122,27 +113,17 @@ public class ADResultBulkTransportAction extends ResultBulkTransportAction<Anoma
         return bulkRequest;
     }
 
-    private boolean shouldAddResult(float indexingPressurePercent, AnomalyResult result) {
+    private boolean shouldAddResult(float indexingPressurePercent, ADResultWriteRequest resultWriteRequest) {
         if (indexingPressurePercent <= softLimit) {
             // Always add when below soft limit
             return true;
         } else if (indexingPressurePercent <= hardLimit) {
             // exceed soft limit (60%) but smaller than hard limit (90%)
             float acceptProbability = 1 - indexingPressurePercent;
-            return result.isHighPriority() || random.nextFloat() < acceptProbability;
+            return resultWriteRequest.isHighPriority() || random.nextFloat() < acceptProbability;
         } else {
             // if exceeding hard limit, only index non-zero grade or error result
-            return result.isHighPriority();
-        }
-    }
-
-    private void addResult(BulkRequest bulkRequest, AnomalyResult result, String resultIndex) {
-        String index = resultIndex == null ? indexName : resultIndex;
-        try (XContentBuilder builder = jsonBuilder()) {
-            IndexRequest indexRequest = new IndexRequest(index).source(result.toXContent(builder, RestHandlerUtils.XCONTENT_WITH_TYPE));
-            bulkRequest.add(indexRequest);
-        } catch (IOException e) {
-            LOG.error("Failed to prepare bulk index request for index " + index, e);
+            return resultWriteRequest.isHighPriority();
         }
     }
 }
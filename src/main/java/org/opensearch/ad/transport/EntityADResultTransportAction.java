@@ -29,6 +29,7 @@ import org.opensearch.ad.ratelimit.ADCheckpointWriteWorker;
 import org.opensearch.ad.ratelimit.ADColdEntityWorker;
 import org.opensearch.ad.ratelimit.ADColdStartWorker;
 import org.opensearch.ad.ratelimit.ADSaveResultStrategy;
+import org.opensearch.ad.stats.ADStats;
 import org.opensearch.ad.task.ADTaskCacheManager;
 import org.opensearch.ad.task.ADTaskManager;
 import org.opensearch.common.inject.Inject;
@@ -74,7 +75,8 @@ public class EntityADResultTransportAction extends
         ADCheckpointReadWorker checkpointReadQueue,
         ADColdEntityWorker coldEntityQueue,
         ThreadPool threadPool,
-        ADRealTimeInferencer inferencer
+        ADRealTimeInferencer inferencer,
+        ADStats adStats
     ) {
         super(
             EntityADResultAction.NAME,
@@ -87,7 +89,8 @@ public class EntityADResultTransportAction extends
             TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME,
             checkpointReadQueue,
             coldEntityQueue,
-            inferencer
+            inferencer,
+            adStats
         );
     }
 
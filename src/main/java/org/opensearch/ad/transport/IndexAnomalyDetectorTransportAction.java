@@ -46,6 +46,7 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.tasks.Task;
+import org.opensearch.timeseries.NodeStateManager;
 import org.opensearch.timeseries.common.exception.TimeSeriesException;
 import org.opensearch.timeseries.feature.SearchFeatureDao;
 import org.opensearch.timeseries.function.ExecutorFunction;
@@ -66,6 +67,7 @@ public class IndexAnomalyDetectorTransportAction extends HandledTransportAction<
     private volatile Boolean filterByEnabled;
     private final SearchFeatureDao searchFeatureDao;
     private final Settings settings;
+    private final NodeStateManager nodeStateManager;
 
     @Inject
     public IndexAnomalyDetectorTransportAction(
@@ -78,7 +80,8 @@ public class IndexAnomalyDetectorTransportAction extends HandledTransportAction<
         ADIndexManagement anomalyDetectionIndices,
         NamedXContentRegistry xContentRegistry,
         ADTaskManager adTaskManager,
-        SearchFeatureDao searchFeatureDao
+        SearchFeatureDao searchFeatureDao,
+        NodeStateManager nodeStateManager
     ) {
         super(IndexAnomalyDetectorAction.NAME, transportService, actionFilters, IndexAnomalyDetectorRequest::new);
         this.client = client;
@@ -92,6 +95,7 @@ public class IndexAnomalyDetectorTransportAction extends HandledTransportAction<
         filterByEnabled = AnomalyDetectorSettings.AD_FILTER_BY_BACKEND_ROLES.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(AD_FILTER_BY_BACKEND_ROLES, it -> filterByEnabled = it);
         this.settings = settings;
+        this.nodeStateManager = nodeStateManager;
     }
 
     @Override
@@ -226,10 +230,24 @@ public class IndexAnomalyDetectorTransportAction extends HandledTransportAction<
                 searchFeatureDao,
                 settings
             );
-            indexAnomalyDetectorActionHandler.start(listener);
+            indexAnomalyDetectorActionHandler.start(invalidateOnUpdate(method, listener));
         }, listener);
     }
 
+    private ActionListener<IndexAnomalyDetectorResponse> invalidateOnUpdate(
+        RestRequest.Method method,
+        ActionListener<IndexAnomalyDetectorResponse> listener
+    ) {
+        if (method != RestRequest.Method.PUT) {
+            return listener;
+        }
+        return ActionListener.wrap(response -> {
+            // other nodes may have cached the old detector
+            nodeStateManager.invalidateConfigOnAllNodes(response.getId(), response.getVersion());
+            listener.onResponse(response);
+        }, listener::onFailure);
+    }
+
     private void checkIndicesAndExecute(
         List<String> indices,
         ExecutorFunction function,
@@ -0,0 +1,119 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.transport;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.ad.constant.ADCommonName;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+
+/**
+ * Caches how {@link SearchAnomalyResultTransportAction} resolves the result indices to search:
+ * the result indices used by detectors and, per user, which of them the user can read.
+ *
+ * Both are keyed by a generation bumped whenever an index is created or deleted or the config
+ * index metadata changes. Detector documents and user permissions can change without a cluster
+ * state change, so entries also expire after {@link #TTL}.
+ */
+class ResultIndexResolutionCache implements ClusterStateListener {
+    static final Duration TTL = Duration.ofSeconds(30);
+    // upper bound of cached users
+    static final int MAX_USERS = 1000;
+
+    private final Clock clock;
+    private final AtomicLong generation;
+    private volatile Entry<Set<String>> resultIndicesInUse;
+    // user -> readable custom result indices
+    private final Map<String, Entry<List<String>>> readableIndices;
+
+    ResultIndexResolutionCache(Clock clock) {
+        this.clock = clock;
+        this.generation = new AtomicLong();
+        this.readableIndices = new ConcurrentHashMap<>();
+    }
+
+    long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @return result indices used by detectors, or null if not cached
+     */
+    Set<String> getResultIndicesInUse() {
+        Entry<Set<String>> entry = resultIndicesInUse;
+        return isValid(entry) ? entry.value : null;
+    }
+
+    /**
+     * @param generation generation read before searching the config index
+     * @param indices result indices used by detectors
+     */
+    void putResultIndicesInUse(long generation, Set<String> indices) {
+        resultIndicesInUse = new Entry<>(generation, clock.millis(), null, indices);
+    }
+
+    /**
+     * @param user user name and roles
+     * @param targetIndices custom result indices to search
+     * @return target indices the user can read, or null if not cached
+     */
+    List<String> getReadableIndices(String user, List<String> targetIndices) {
+        Entry<List<String>> entry = readableIndices.get(user);
+        return isValid(entry) && entry.targetIndices.equals(targetIndices) ? entry.value : null;
+    }
+
+    /**
+     * @param generation generation read before probing the target indices
+     * @param user user name and roles
+     * @param targetIndices custom result indices probed
+     * @param readable target indices the user can read
+     */
+    void putReadableIndices(long generation, String user, List<String> targetIndices, List<String> readable) {
+        if (readableIndices.size() >= MAX_USERS && !readableIndices.containsKey(user)) {
+            readableIndices.clear();
+        }
+        readableIndices.put(user, new Entry<>(generation, clock.millis(), targetIndices, readable));
+    }
+
+    private boolean isValid(Entry<?> entry) {
+        return entry != null && entry.generation == generation.get() && clock.millis() - entry.createdTime < TTL.toMillis();
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        // index metadata is the same instance while unchanged
+        IndexMetadata previousConfigIndex = event.previousState().metadata().index(ADCommonName.CONFIG_INDEX);
+        IndexMetadata configIndex = event.state().metadata().index(ADCommonName.CONFIG_INDEX);
+        boolean configIndexChanged = event.metadataChanged() && previousConfigIndex != configIndex;
+        if (configIndexChanged || !event.indicesCreated().isEmpty() || !event.indicesDeleted().isEmpty()) {
+            generation.incrementAndGet();
+            resultIndicesInUse = null;
+            readableIndices.clear();
+        }
+    }
+
+    private static class Entry<T> {
+        private final long generation;
+        private final long createdTime;
+        private final List<String> targetIndices;
+        private final T value;
+
+        Entry(long generation, long createdTime, List<String> targetIndices, T value) {
+            this.generation = generation;
+            this.createdTime = createdTime;
+            this.targetIndices = targetIndices;
+            this.value = value;
+        }
+    }
+}
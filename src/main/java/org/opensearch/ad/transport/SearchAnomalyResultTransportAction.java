@@ -14,7 +14,9 @@ package org.opensearch.ad.transport;
 import static org.opensearch.ad.constant.ADCommonName.CUSTOM_RESULT_INDEX_PREFIX;
 import static org.opensearch.ad.indices.ADIndexManagement.ALL_AD_RESULTS_INDEX_PATTERN;
 import static org.opensearch.ad.settings.AnomalyDetectorSettings.MAX_DETECTOR_UPPER_LIMIT;
+import static org.opensearch.ad.settings.AnomalyDetectorSettings.SEARCH_RESULT_INDEX_CACHE_ENABLED;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -35,7 +37,9 @@ import org.opensearch.ad.transport.handler.ADSearchHandler;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.query.MatchAllQueryBuilder;
 import org.opensearch.search.aggregations.AggregationBuilder;
@@ -44,6 +48,7 @@ import org.opensearch.search.aggregations.bucket.terms.StringTerms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.tasks.Task;
+import org.opensearch.timeseries.util.ParseUtils;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
@@ -57,6 +62,8 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
     private final ClusterService clusterService;
     private final IndexNameExpressionResolver indexNameExpressionResolver;
     private final Client client;
+    private final ResultIndexResolutionCache resolutionCache;
+    private volatile boolean cacheEnabled;
 
     @Inject
     public SearchAnomalyResultTransportAction(
@@ -65,13 +72,18 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
         ADSearchHandler searchHandler,
         ClusterService clusterService,
         IndexNameExpressionResolver indexNameExpressionResolver,
-        Client client
+        Client client,
+        Settings settings
     ) {
         super(SearchAnomalyResultAction.NAME, transportService, actionFilters, SearchRequest::new);
         this.searchHandler = searchHandler;
         this.clusterService = clusterService;
         this.indexNameExpressionResolver = indexNameExpressionResolver;
         this.client = client;
+        this.resolutionCache = new ResultIndexResolutionCache(Clock.systemUTC());
+        this.clusterService.addListener(resolutionCache);
+        this.cacheEnabled = SEARCH_RESULT_INDEX_CACHE_ENABLED.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SEARCH_RESULT_INDEX_CACHE_ENABLED, it -> cacheEnabled = it);
     }
 
     @VisibleForTesting
@@ -134,15 +146,38 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
         Set<String> customResultIndices,
         List<String> targetIndices
     ) {
+        Set<String> resultIndicesOfDetector = getResultIndicesOfDetectors(allResultIndicesResponse);
+        if (resultIndicesOfDetector == null) {
+            searchHandler.search(request, ADCommonName.AD_RESOURCE_TYPE, listener);
+            return;
+        }
+        processResultIndicesOfDetectors(resultIndicesOfDetector, request, listener, customResultIndices, targetIndices);
+    }
+
+    /**
+     * @param allResultIndicesResponse response of the result index aggregation on the config index
+     * @return result indices used by detectors, or null if there is no bucket
+     */
+    @VisibleForTesting
+    Set<String> getResultIndicesOfDetectors(SearchResponse allResultIndicesResponse) {
         Aggregations aggregations = allResultIndicesResponse.getAggregations();
         StringTerms resultIndicesAgg = aggregations.get(RESULT_INDEX_AGG_NAME);
         List<StringTerms.Bucket> buckets = resultIndicesAgg.getBuckets();
-        Set<String> resultIndicesOfDetector = new HashSet<>();
         if (buckets == null) {
-            searchHandler.search(request, ADCommonName.AD_RESOURCE_TYPE, listener);
-            return;
+            return null;
         }
+        Set<String> resultIndicesOfDetector = new HashSet<>();
         buckets.stream().forEach(b -> resultIndicesOfDetector.add(b.getKeyAsString()));
+        return resultIndicesOfDetector;
+    }
+
+    private void processResultIndicesOfDetectors(
+        Set<String> resultIndicesOfDetector,
+        SearchRequest request,
+        ActionListener<SearchResponse> listener,
+        Set<String> customResultIndices,
+        List<String> targetIndices
+    ) {
         for (String index : customResultIndices) {
             if (resultIndicesOfDetector.contains(index)) {
                 targetIndices.add(index);
@@ -183,9 +218,23 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
         }
 
         context.restore();
+        String user = cacheEnabled ? userKey(ParseUtils.getUserContext(client)) : null;
+        long generation = resolutionCache.getGeneration();
+        if (user != null) {
+            List<String> cachedReadableIndices = resolutionCache.getReadableIndices(user, targetIndices);
+            if (cachedReadableIndices != null) {
+                readableIndices.addAll(cachedReadableIndices);
+                searchReadableIndices(readableIndices, request, listener);
+                return;
+            }
+        }
         // Send multiple search to check which index a user has permission to read. If search all indices directly,
         // search request will throw exception if user has no permission to search any index.
         client.multiSearch(multiSearchRequest, ActionListener.wrap(multiSearchResponse -> {
+            if (user != null) {
+                resolutionCache
+                    .putReadableIndices(generation, user, targetIndices, getReadableIndices(multiSearchResponse, targetIndices));
+            }
             processMultiSearchResponse(multiSearchResponse, targetIndices, readableIndices, request, listener);
         }, multiSearchException -> {
             logger.error("Failed to search custom AD result indices", multiSearchException);
@@ -201,6 +250,12 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
         SearchRequest request,
         ActionListener<SearchResponse> listener
     ) {
+        readableIndices.addAll(getReadableIndices(multiSearchResponse, targetIndices));
+        searchReadableIndices(readableIndices, request, listener);
+    }
+
+    private List<String> getReadableIndices(MultiSearchResponse multiSearchResponse, List<String> targetIndices) {
+        List<String> readableIndices = new ArrayList<>();
         MultiSearchResponse.Item[] responses = multiSearchResponse.getResponses();
         for (int i = 0; i < responses.length; i++) {
             MultiSearchResponse.Item item = responses[i];
@@ -209,6 +264,10 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
                 readableIndices.add(indexName);
             }
         }
+        return readableIndices;
+    }
+
+    private void searchReadableIndices(List<String> readableIndices, SearchRequest request, ActionListener<SearchResponse> listener) {
         if (readableIndices.size() == 0) {
             listener.onFailure(new IllegalArgumentException("No readable custom result indices found"));
             return;
@@ -231,8 +290,24 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
             // Variable used in lambda expression should be final or effectively final, so copy to a final boolean and
             // use the final boolean in lambda below.
             boolean finalOnlyQueryCustomResultIndex = onlyQueryCustomResultIndex;
+            Set<String> cachedResultIndicesOfDetector = cacheEnabled ? resolutionCache.getResultIndicesInUse() : null;
+            if (cachedResultIndicesOfDetector != null) {
+                // no config index search to run in the stashed context
+                context.restore();
+                List<String> targetIndices = new ArrayList<>();
+                processResultIndicesOfDetectors(cachedResultIndicesOfDetector, request, listener, customResultIndices, targetIndices);
+                multiSearch(targetIndices, request, listener, finalOnlyQueryCustomResultIndex, context);
+                return;
+            }
+            long generation = resolutionCache.getGeneration();
             client.search(searchResultIndex, ActionListener.wrap(allResultIndicesResponse -> {
                 List<String> targetIndices = new ArrayList<>();
+                if (cacheEnabled) {
+                    Set<String> resultIndicesOfDetector = getResultIndicesOfDetectors(allResultIndicesResponse);
+                    if (resultIndicesOfDetector != null) {
+                        resolutionCache.putResultIndicesInUse(generation, resultIndicesOfDetector);
+                    }
+                }
                 processSingleSearchResponse(allResultIndicesResponse, request, listener, customResultIndices, targetIndices);
                 multiSearch(targetIndices, request, listener, finalOnlyQueryCustomResultIndex, context);
             }, e -> {
@@ -245,6 +320,17 @@ public class SearchAnomalyResultTransportAction extends HandledTransportAction<S
         }
     }
 
+    /**
+     * @param user user of the request, null if security is disabled
+     * @return key of the user's permissions
+     */
+    private static String userKey(User user) {
+        if (user == null) {
+            return "";
+        }
+        return user.getName() + "|" + user.getBackendRoles() + "|" + user.getRoles();
+    }
+
     @Override
     protected void doExecute(Task task, SearchRequest request, ActionListener<SearchResponse> listener) {
         boolean onlyQueryCustomResultIndex;
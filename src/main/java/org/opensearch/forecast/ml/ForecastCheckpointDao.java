@@ -19,6 +19,7 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.logging.log4j.LogManager;
@@ -36,9 +37,12 @@ import org.opensearch.index.query.MatchQueryBuilder;
 import org.opensearch.index.reindex.DeleteByQueryAction;
 import org.opensearch.index.reindex.DeleteByQueryRequest;
 import org.opensearch.secure_sm.AccessController;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.ml.CheckpointCompression;
 import org.opensearch.timeseries.ml.CheckpointDao;
 import org.opensearch.timeseries.ml.ModelManager;
+import org.opensearch.timeseries.ml.ModelSnapshot;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.ml.Sample;
 import org.opensearch.timeseries.model.Entity;
@@ -116,10 +120,51 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
     }
 
     private Optional<String> toCheckpoint(Optional<RCFCaster> caster) {
+        return toCheckpointBytes(caster).map(bytes -> Base64.getEncoder().encodeToString(bytes));
+    }
+
+    private Optional<byte[]> toCheckpointBytes(Optional<RCFCaster> caster) {
+        return toStateBytes(caster.<Supplier<RCFCasterState>>map(model -> () -> mapper.toState(model)));
+    }
+
+    /**
+     * Use the snapshot captured between model updates if there is a fresh one, so that
+     * serialization does not race with forecasting. Otherwise, map the live model.
+     */
+    private Optional<Supplier<RCFCasterState>> toStateSupplier(ModelState<RCFCaster> modelState) {
+        Optional<RCFCaster> model = modelState.getModel();
+        if (model.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<ModelSnapshot> snapshot = modelState.getSnapshot();
+        if (snapshot.isPresent() && snapshot.get().getState() instanceof RCFCasterState) {
+            RCFCasterState state = (RCFCasterState) snapshot.get().getState();
+            return Optional.of(() -> state);
+        }
+        RCFCaster caster = model.get();
+        return Optional.of(() -> mapper.toState(caster));
+    }
+
+    @Override
+    protected Object toSnapshotState(RCFCaster caster) {
+        return AccessController.doPrivileged(() -> mapper.toState(caster));
+    }
+
+    @Override
+    protected long estimateSnapshotBytes(MemoryTracker tracker, RCFCaster caster) {
+        return tracker.estimateCasterModelSize(caster);
+    }
+
+    @Override
+    protected void replay(RCFCaster caster, double[][] points, long[] timestamps) {
+        caster.processSequentially(points, timestamps, x -> true);
+    }
+
+    private Optional<byte[]> toStateBytes(Optional<Supplier<RCFCasterState>> caster) {
         if (caster.isEmpty()) {
             return Optional.empty();
         }
-        Optional<String> checkpoint = Optional.empty();
+        Optional<byte[]> checkpoint = Optional.empty();
         Map.Entry<LinkedBuffer, Boolean> result = checkoutOrNewBuffer();
         LinkedBuffer buffer = result.getKey();
         boolean needCheckin = result.getValue();
@@ -152,16 +197,15 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
         return checkpoint;
     }
 
-    private Optional<String> toCheckpoint(Optional<RCFCaster> caster, LinkedBuffer buffer) {
+    private Optional<byte[]> toCheckpoint(Optional<Supplier<RCFCasterState>> caster, LinkedBuffer buffer) {
         if (caster.isEmpty()) {
             return Optional.empty();
         }
         try {
-            byte[] bytes = AccessController.doPrivileged(() -> {
-                RCFCasterState casterState = mapper.toState(caster.get());
+            return Optional.ofNullable(AccessController.doPrivileged(() -> {
+                RCFCasterState casterState = caster.get().get();
                 return ProtostuffIOUtil.toByteArray(casterState, rcfCasterSchema, buffer);
-            });
-            return Optional.ofNullable(Base64.getEncoder().encodeToString(bytes));
+            }));
         } finally {
             buffer.clear();
         }
@@ -176,28 +220,35 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
     @Override
     public Map<String, Object> toIndexSource(ModelState<RCFCaster> modelState) throws IOException {
         Map<String, Object> source = new HashMap<>();
-        Optional<RCFCaster> model = modelState.getModel();
-
-        Optional<String> serializedModel = toCheckpoint(model);
-        if (serializedModel.isPresent() && serializedModel.get().length() <= maxCheckpointBytes) {
-            // we cannot pass Optional as OpenSearch does not know how to serialize an Optional value
-            source.put(CommonName.FIELD_MODEL, serializedModel.get());
+        Optional<Supplier<RCFCasterState>> model = toStateSupplier(modelState);
+
+        if (compression == CheckpointCompression.NONE) {
+            Optional<String> serializedModel = toStateBytes(model).map(bytes -> Base64.getEncoder().encodeToString(bytes));
+            if (serializedModel.isPresent() && serializedModel.get().length() <= maxCheckpointBytes) {
+                // we cannot pass Optional as OpenSearch does not know how to serialize an Optional value
+                source.put(CommonName.FIELD_MODEL, serializedModel.get());
+                putModelVersion(source);
+            } else {
+                logger
+                    .warn(
+                        new ParameterizedMessage(
+                            "[{}]'s model is empty or too large: [{}] bytes",
+                            modelState.getModelId(),
+                            serializedModel.isPresent() ? serializedModel.get().length() : 0
+                        )
+                    );
+            }
         } else {
-            logger
-                .warn(
-                    new ParameterizedMessage(
-                        "[{}]'s model is empty or too large: [{}] bytes",
-                        modelState.getModelId(),
-                        serializedModel.isPresent() ? serializedModel.get().length() : 0
-                    )
-                );
+            putModelBinary(source, toStateBytes(model).orElse(null), modelState.getModelId(), CommonName.FIELD_MODEL);
         }
         Optional<Sample[]> samples = toCheckpoint(modelState.getSamples());
         if (samples.isPresent()) {
             source.put(CommonName.SAMPLE_QUEUE, samples.get());
         }
         // if there are no samples and no model, no need to index as other information are meta data
-        if (!source.containsKey(CommonName.SAMPLE_QUEUE) && !source.containsKey(CommonName.FIELD_MODEL)) {
+        if (!source.containsKey(CommonName.SAMPLE_QUEUE)
+            && !source.containsKey(CommonName.FIELD_MODEL)
+            && !source.containsKey(CommonName.FIELD_MODEL_BINARY)) {
             logger.info("nothing to save for [{}]", modelState.getModelId());
             return source;
         }
@@ -214,11 +265,9 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
     }
 
     private void deserializeRCFCasterModel(GetResponse response, String rcfModelId, ActionListener<Optional<RCFCaster>> listener) {
-        Object model = null;
         if (response.isExists()) {
             try {
-                model = response.getSource().get(CommonName.FIELD_MODEL);
-                listener.onResponse(Optional.ofNullable(toRCFCaster((String) model)));
+                listener.onResponse(Optional.ofNullable(loadRCFCaster(response.getSource(), rcfModelId)));
 
             } catch (Exception e) {
                 logger.error(new ParameterizedMessage("Unexpected error when deserializing [{}]", rcfModelId), e);
@@ -230,16 +279,20 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
     }
 
     RCFCaster toRCFCaster(String checkpoint) {
-        RCFCaster rcfCaster = null;
         if (checkpoint != null && checkpoint.length() > 0) {
-            try {
-                byte[] bytes = Base64.getDecoder().decode(checkpoint);
-                RCFCasterState state = rcfCasterSchema.newMessage();
-                AccessController.doPrivileged(() -> ProtostuffIOUtil.mergeFrom(bytes, state, rcfCasterSchema));
-                rcfCaster = mapper.toModel(state);
-            } catch (RuntimeException e) {
-                logger.error("Failed to deserialize RCFCaster model", e);
-            }
+            return toRCFCaster(Base64.getDecoder().decode(checkpoint));
+        }
+        return null;
+    }
+
+    RCFCaster toRCFCaster(byte[] bytes) {
+        RCFCaster rcfCaster = null;
+        try {
+            RCFCasterState state = rcfCasterSchema.newMessage();
+            AccessController.doPrivileged(() -> ProtostuffIOUtil.mergeFrom(bytes, state, rcfCasterSchema));
+            rcfCaster = mapper.toModel(state);
+        } catch (RuntimeException e) {
+            logger.error("Failed to deserialize RCFCaster model", e);
         }
         return rcfCaster;
     }
@@ -386,6 +439,11 @@ public class ForecastCheckpointDao extends CheckpointDao<RCFCaster, ForecastInde
 
     private RCFCaster loadRCFCaster(Map<String, Object> checkpoint, String modelId) {
         String model = (String) checkpoint.get(CommonName.FIELD_MODEL);
+        // binary writers null out every legacy field, so a non-null legacy field is newer
+        if (model == null && checkpoint.get(CommonName.FIELD_MODEL_BINARY) != null) {
+            byte[] bytes = loadModelBinary(checkpoint, modelId);
+            return bytes == null ? null : toRCFCaster(bytes);
+        }
         if (model == null || model.length() > maxCheckpointBytes) {
             logger
                 .warn(new ParameterizedMessage("[{}]'s model empty or too large: [{}] bytes", modelId, model == null ? 0 : model.length()));
@@ -55,6 +55,40 @@ public class RCFCasterResult extends IntermediateResult<ForecastResult> {
         String modelId,
         String taskId,
         String error
+    ) {
+        return toIndexableResults(
+            forecaster,
+            dataStartInstant,
+            dataEndInstant,
+            executionStartInstant,
+            executionEndInstant,
+            featureData,
+            entity,
+            schemaVersion,
+            modelId,
+            taskId,
+            error,
+            false
+        );
+    }
+
+    /**
+     * @param compact whether to put all forecasts into one compact result
+     * @return results to index
+     */
+    public List<ForecastResult> toIndexableResults(
+        Config forecaster,
+        Instant dataStartInstant,
+        Instant dataEndInstant,
+        Instant executionStartInstant,
+        Instant executionEndInstant,
+        List<FeatureData> featureData,
+        Optional<Entity> entity,
+        Integer schemaVersion,
+        String modelId,
+        String taskId,
+        String error,
+        boolean compact
     ) {
         if (forecast.values == null || forecast.values.length == 0) {
             return Collections.emptyList();
@@ -77,7 +111,8 @@ public class RCFCasterResult extends IntermediateResult<ForecastResult> {
                 forecast.values,
                 forecast.upper,
                 forecast.lower,
-                taskId
+                taskId,
+                compact
             );
     }
 }
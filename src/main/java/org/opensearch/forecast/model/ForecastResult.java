@@ -17,6 +17,7 @@ import static org.opensearch.forecast.constant.ForecastCommonName.DUMMY_FORECAST
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,12 @@ import com.google.common.base.Objects;
 
 /**
  * Include result returned from RCF model and feature data.
+ *
+ * A result is either in the per-horizon shape, where the actual values and each
+ * forecast of each horizon step and feature are separate documents, or in the
+ * compact shape, where one document holds the actual values and all forecasts of
+ * an entity and interval as packed arrays in horizon-major, feature-minor order.
+ * {@link #expand()} converts a compact result to the per-horizon shape.
  */
 public class ForecastResult extends IndexableResult {
     public static final String PARSE_FIELD_NAME = "ForecastResult";
@@ -58,6 +65,15 @@ public class ForecastResult extends IndexableResult {
     public static final String FORECAST_DATA_START_TIME_FIELD = "forecast_data_start_time";
     public static final String FORECAST_DATA_END_TIME_FIELD = "forecast_data_end_time";
     public static final String HORIZON_INDEX_FIELD = "horizon_index";
+    // fields of the compact shape
+    public static final String VALUES_FIELD = "forecast_values";
+    public static final String LOWER_BOUNDS_FIELD = "forecast_lower_bounds";
+    public static final String UPPER_BOUNDS_FIELD = "forecast_upper_bounds";
+    public static final String FORECAST_DATA_START_TIMES_FIELD = "forecast_data_start_times";
+    public static final String FORECAST_DATA_END_TIMES_FIELD = "forecast_data_end_times";
+    // confidence interval widths of the last horizon step. Derived on write and copied
+    // to confidence_interval_width by the mapping so that top forecast queries work on both shapes.
+    public static final String FINAL_INTERVAL_WIDTHS_FIELD = "forecast_final_interval_widths";
 
     private final String featureId;
     private final Float forecastValue;
@@ -69,6 +85,11 @@ public class ForecastResult extends IndexableResult {
     private final Integer horizonIndex;
     protected final Double dataQuality;
     private final String entityId;
+    private final float[] forecastValues;
+    private final float[] lowerBounds;
+    private final float[] upperBounds;
+    private final long[] forecastDataStartTimes;
+    private final long[] forecastDataEndTimes;
 
     // used when indexing exception or error or a feature only result
     public ForecastResult(
@@ -127,6 +148,60 @@ public class ForecastResult extends IndexableResult {
         Instant forecastDataStartTime,
         Instant forecastDataEndTime,
         Integer horizonIndex
+    ) {
+        this(
+            forecasterId,
+            taskId,
+            dataQuality,
+            featureData,
+            dataStartTime,
+            dataEndTime,
+            executionStartTime,
+            executionEndTime,
+            error,
+            entity,
+            user,
+            schemaVersion,
+            featureId,
+            forecastValue,
+            lowerBound,
+            upperBound,
+            forecastDataStartTime,
+            forecastDataEndTime,
+            horizonIndex,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    public ForecastResult(
+        String forecasterId,
+        String taskId,
+        Double dataQuality,
+        List<FeatureData> featureData,
+        Instant dataStartTime,
+        Instant dataEndTime,
+        Instant executionStartTime,
+        Instant executionEndTime,
+        String error,
+        Optional<Entity> entity,
+        User user,
+        Integer schemaVersion,
+        String featureId,
+        Float forecastValue,
+        Float lowerBound,
+        Float upperBound,
+        Instant forecastDataStartTime,
+        Instant forecastDataEndTime,
+        Integer horizonIndex,
+        float[] forecastValues,
+        float[] lowerBounds,
+        float[] upperBounds,
+        long[] forecastDataStartTimes,
+        long[] forecastDataEndTimes
     ) {
         super(
             forecasterId,
@@ -151,6 +226,11 @@ public class ForecastResult extends IndexableResult {
         this.forecastDataEndTime = forecastDataEndTime;
         this.horizonIndex = horizonIndex;
         this.entityId = getEntityId(entity, configId);
+        this.forecastValues = forecastValues;
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.forecastDataStartTimes = forecastDataStartTimes;
+        this.forecastDataEndTimes = forecastDataEndTimes;
     }
 
     public static List<ForecastResult> fromRawRCFCasterResult(
@@ -171,6 +251,55 @@ public class ForecastResult extends IndexableResult {
         float[] forecastsUppers,
         float[] forecastsLowers,
         String taskId
+    ) {
+        return fromRawRCFCasterResult(
+            forecasterId,
+            intervalMillis,
+            dataQuality,
+            featureData,
+            dataStartTime,
+            dataEndTime,
+            executionStartTime,
+            executionEndTime,
+            error,
+            entity,
+            user,
+            schemaVersion,
+            modelId,
+            forecastsValues,
+            forecastsUppers,
+            forecastsLowers,
+            taskId,
+            false
+        );
+    }
+
+    /**
+     * Convert raw RCFCaster output to results.
+     *
+     * @param compact whether to return one compact result holding all forecasts instead of
+     *   one result for the actual values plus one result per horizon step and feature
+     * @return results to index
+     */
+    public static List<ForecastResult> fromRawRCFCasterResult(
+        String forecasterId,
+        long intervalMillis,
+        Double dataQuality,
+        List<FeatureData> featureData,
+        Instant dataStartTime,
+        Instant dataEndTime,
+        Instant executionStartTime,
+        Instant executionEndTime,
+        String error,
+        Optional<Entity> entity,
+        User user,
+        Integer schemaVersion,
+        String modelId,
+        float[] forecastsValues,
+        float[] forecastsUppers,
+        float[] forecastsLowers,
+        String taskId,
+        boolean compact
     ) {
         int inputLength = featureData.size();
         int numberOfForecasts = 0;
@@ -182,6 +311,49 @@ public class ForecastResult extends IndexableResult {
             numberOfForecasts = forecastsValues.length / inputLength;
         }
 
+        if (compact && numberOfForecasts > 0) {
+            int length = numberOfForecasts * inputLength;
+            long[] forecastDataStartTimes = new long[numberOfForecasts];
+            long[] forecastDataEndTimes = new long[numberOfForecasts];
+            long forecastDataStartMillis = dataEndTime.toEpochMilli();
+            for (int i = 0; i < numberOfForecasts; i++) {
+                forecastDataStartTimes[i] = forecastDataStartMillis;
+                forecastDataEndTimes[i] = forecastDataStartMillis + intervalMillis;
+                forecastDataStartMillis = forecastDataEndTimes[i];
+            }
+            List<ForecastResult> compactResult = new ArrayList<>(1);
+            compactResult
+                .add(
+                    new ForecastResult(
+                        forecasterId,
+                        taskId,
+                        Math.min(1, dataQuality),
+                        featureData,
+                        dataStartTime,
+                        dataEndTime,
+                        executionStartTime,
+                        executionEndTime,
+                        error,
+                        entity,
+                        user,
+                        schemaVersion,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        Arrays.copyOf(forecastsValues, length),
+                        Arrays.copyOf(forecastsLowers, length),
+                        Arrays.copyOf(forecastsUppers, length),
+                        forecastDataStartTimes,
+                        forecastDataEndTimes
+                    )
+                );
+            return compactResult;
+        }
+
         // +1 for actual value
         List<ForecastResult> convertedForecastValues = new ArrayList<>(numberOfForecasts + 1);
 
@@ -249,6 +421,84 @@ public class ForecastResult extends IndexableResult {
         return convertedForecastValues;
     }
 
+    /**
+     * Expand a compact result to the per-horizon shape: one result for the actual values
+     * plus one result per horizon step and feature.
+     *
+     * @return results in the per-horizon shape. A result that is not compact is returned as is.
+     */
+    public List<ForecastResult> expand() {
+        List<ForecastResult> expanded = new ArrayList<>();
+        if (!isCompact()) {
+            expanded.add(this);
+            return expanded;
+        }
+        expanded
+            .add(
+                new ForecastResult(
+                    configId,
+                    taskId,
+                    dataQuality,
+                    featureData,
+                    dataStartTime,
+                    dataEndTime,
+                    executionStartTime,
+                    executionEndTime,
+                    error,
+                    optionalEntity,
+                    user,
+                    schemaVersion,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null
+                )
+            );
+        int inputLength = getNumberOfFeatures();
+        for (int i = 0; i < forecastDataStartTimes.length; i++) {
+            for (int j = 0; j < inputLength; j++) {
+                int k = i * inputLength + j;
+                expanded
+                    .add(
+                        new ForecastResult(
+                            configId,
+                            taskId,
+                            dataQuality,
+                            null,
+                            dataStartTime,
+                            dataEndTime,
+                            executionStartTime,
+                            executionEndTime,
+                            error,
+                            optionalEntity,
+                            user,
+                            schemaVersion,
+                            featureData.get(j).getFeatureId(),
+                            forecastValues[k],
+                            lowerBounds[k],
+                            upperBounds[k],
+                            Instant.ofEpochMilli(forecastDataStartTimes[i]),
+                            Instant.ofEpochMilli(forecastDataEndTimes[i]),
+                            // horizon starts from 1
+                            i + 1
+                        )
+                    );
+            }
+        }
+        return expanded;
+    }
+
+    public boolean isCompact() {
+        return forecastValues != null;
+    }
+
+    private int getNumberOfFeatures() {
+        return forecastValues.length / forecastDataStartTimes.length;
+    }
+
     public ForecastResult(StreamInput input) throws IOException {
         super(input);
         this.featureId = input.readOptionalString();
@@ -261,6 +511,19 @@ public class ForecastResult extends IndexableResult {
         this.forecastDataEndTime = input.readOptionalInstant();
         this.horizonIndex = input.readOptionalInt();
         this.entityId = input.readOptionalString();
+        if (input.readBoolean()) {
+            this.forecastValues = input.readFloatArray();
+            this.lowerBounds = input.readFloatArray();
+            this.upperBounds = input.readFloatArray();
+            this.forecastDataStartTimes = input.readLongArray();
+            this.forecastDataEndTimes = input.readLongArray();
+        } else {
+            this.forecastValues = null;
+            this.lowerBounds = null;
+            this.upperBounds = null;
+            this.forecastDataStartTimes = null;
+            this.forecastDataEndTimes = null;
+        }
     }
 
     @Override
@@ -332,6 +595,15 @@ public class ForecastResult extends IndexableResult {
         if (featureId != null) {
             xContentBuilder.field(FEATURE_ID_FIELD, featureId);
         }
+        if (isCompact()) {
+            xContentBuilder
+                .field(VALUES_FIELD, forecastValues)
+                .field(LOWER_BOUNDS_FIELD, lowerBounds)
+                .field(UPPER_BOUNDS_FIELD, upperBounds)
+                .field(FORECAST_DATA_START_TIMES_FIELD, forecastDataStartTimes)
+                .field(FORECAST_DATA_END_TIMES_FIELD, forecastDataEndTimes)
+                .field(FINAL_INTERVAL_WIDTHS_FIELD, getFinalIntervalWidths());
+        }
 
         return xContentBuilder.endObject();
     }
@@ -357,6 +629,11 @@ public class ForecastResult extends IndexableResult {
         Instant forecastDataStartTime = null;
         Instant forecastDataEndTime = null;
         Integer horizonIndex = null;
+        float[] forecastValues = null;
+        float[] lowerBounds = null;
+        float[] upperBounds = null;
+        long[] forecastDataStartTimes = null;
+        long[] forecastDataEndTimes = null;
 
         ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
         while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -425,6 +702,21 @@ public class ForecastResult extends IndexableResult {
                 case HORIZON_INDEX_FIELD:
                     horizonIndex = parser.intValue();
                     break;
+                case VALUES_FIELD:
+                    forecastValues = ParseUtils.parseFloatArray(parser);
+                    break;
+                case LOWER_BOUNDS_FIELD:
+                    lowerBounds = ParseUtils.parseFloatArray(parser);
+                    break;
+                case UPPER_BOUNDS_FIELD:
+                    upperBounds = ParseUtils.parseFloatArray(parser);
+                    break;
+                case FORECAST_DATA_START_TIMES_FIELD:
+                    forecastDataStartTimes = ParseUtils.parseLongArray(parser);
+                    break;
+                case FORECAST_DATA_END_TIMES_FIELD:
+                    forecastDataEndTimes = ParseUtils.parseLongArray(parser);
+                    break;
                 default:
                     parser.skipChildren();
                     break;
@@ -450,7 +742,12 @@ public class ForecastResult extends IndexableResult {
             upperBound,
             forecastDataStartTime,
             forecastDataEndTime,
-            horizonIndex
+            horizonIndex,
+            forecastValues,
+            lowerBounds,
+            upperBounds,
+            forecastDataStartTimes,
+            forecastDataEndTimes
         );
     }
 
@@ -476,7 +773,12 @@ public class ForecastResult extends IndexableResult {
             && Objects.equal(forecastDataStartTime, that.forecastDataStartTime)
             && Objects.equal(forecastDataEndTime, that.forecastDataEndTime)
             && Objects.equal(horizonIndex, that.horizonIndex)
-            && Objects.equal(entityId, that.entityId);
+            && Objects.equal(entityId, that.entityId)
+            && Arrays.equals(forecastValues, that.forecastValues)
+            && Arrays.equals(lowerBounds, that.lowerBounds)
+            && Arrays.equals(upperBounds, that.upperBounds)
+            && Arrays.equals(forecastDataStartTimes, that.forecastDataStartTimes)
+            && Arrays.equals(forecastDataEndTimes, that.forecastDataEndTimes);
     }
 
     @Generated
@@ -497,6 +799,11 @@ public class ForecastResult extends IndexableResult {
                 horizonIndex,
                 entityId
             );
+        result = prime * result + Arrays.hashCode(forecastValues);
+        result = prime * result + Arrays.hashCode(lowerBounds);
+        result = prime * result + Arrays.hashCode(upperBounds);
+        result = prime * result + Arrays.hashCode(forecastDataStartTimes);
+        result = prime * result + Arrays.hashCode(forecastDataEndTimes);
         return result;
     }
 
@@ -516,6 +823,11 @@ public class ForecastResult extends IndexableResult {
                 .append("forecastDataEndTime", forecastDataEndTime)
                 .append("horizonIndex", horizonIndex)
                 .append("entityId", entityId)
+                .append("forecastValues", Arrays.toString(forecastValues))
+                .append("lowerBounds", Arrays.toString(lowerBounds))
+                .append("upperBounds", Arrays.toString(upperBounds))
+                .append("forecastDataStartTimes", Arrays.toString(forecastDataStartTimes))
+                .append("forecastDataEndTimes", Arrays.toString(forecastDataEndTimes))
                 .toString();
     }
 
@@ -533,6 +845,16 @@ public class ForecastResult extends IndexableResult {
         out.writeOptionalInstant(forecastDataEndTime);
         out.writeOptionalInt(horizonIndex);
         out.writeOptionalString(entityId);
+        if (isCompact()) {
+            out.writeBoolean(true);
+            out.writeFloatArray(forecastValues);
+            out.writeFloatArray(lowerBounds);
+            out.writeFloatArray(upperBounds);
+            out.writeLongArray(forecastDataStartTimes);
+            out.writeLongArray(forecastDataEndTimes);
+        } else {
+            out.writeBoolean(false);
+        }
     }
 
     public static ForecastResult getDummyResult() {
@@ -601,6 +923,36 @@ public class ForecastResult extends IndexableResult {
         return entityId;
     }
 
+    public float[] getForecastValues() {
+        return forecastValues;
+    }
+
+    public float[] getLowerBounds() {
+        return lowerBounds;
+    }
+
+    public float[] getUpperBounds() {
+        return upperBounds;
+    }
+
+    public long[] getForecastDataStartTimes() {
+        return forecastDataStartTimes;
+    }
+
+    public long[] getForecastDataEndTimes() {
+        return forecastDataEndTimes;
+    }
+
+    private float[] getFinalIntervalWidths() {
+        int inputLength = getNumberOfFeatures();
+        int offset = forecastValues.length - inputLength;
+        float[] widths = new float[inputLength];
+        for (int j = 0; j < inputLength; j++) {
+            widths[j] = safeAbsoluteDifference(lowerBounds[offset + j], upperBounds[offset + j]);
+        }
+        return widths;
+    }
+
     /**
      * Safely calculates the absolute difference between two Float values.
      *
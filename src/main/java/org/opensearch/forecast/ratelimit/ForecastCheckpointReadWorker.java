@@ -7,6 +7,7 @@ package org.opensearch.forecast.ratelimit;
 
 import static org.opensearch.forecast.settings.ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_BATCH_SIZE;
 import static org.opensearch.forecast.settings.ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_CONCURRENCY;
+import static org.opensearch.forecast.settings.ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM;
 
 import java.time.Clock;
 import java.time.Duration;
@@ -93,6 +94,7 @@ public class ForecastCheckpointReadWorker extends
             checkpointWriteQueue,
             FORECAST_CHECKPOINT_READ_QUEUE_CONCURRENCY,
             FORECAST_CHECKPOINT_READ_QUEUE_BATCH_SIZE,
+            FORECAST_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM,
             ForecastCommonName.FORECAST_CHECKPOINT_INDEX_NAME,
             AnalysisType.FORECAST,
             inferencer
@@ -5,6 +5,7 @@
 
 package org.opensearch.forecast.ratelimit;
 
+import static org.opensearch.forecast.settings.ForecastSettings.FORECAST_COLD_START_QUEUE_BATCH_SIZE;
 import static org.opensearch.forecast.settings.ForecastSettings.FORECAST_COLD_START_QUEUE_CONCURRENCY;
 
 import java.time.Clock;
@@ -84,6 +85,7 @@ public class ForecastColdStartWorker extends
             lowSegmentPruneRatio,
             maintenanceFreqConstant,
             FORECAST_COLD_START_QUEUE_CONCURRENCY,
+            FORECAST_COLD_START_QUEUE_BATCH_SIZE,
             executionTtl,
             coldStarter,
             stateTtl,
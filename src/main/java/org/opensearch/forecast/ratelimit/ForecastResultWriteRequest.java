@@ -14,6 +14,7 @@ package org.opensearch.forecast.ratelimit;
 import java.io.IOException;
 
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.forecast.model.ForecastResult;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.ratelimit.ResultWriteRequest;
@@ -34,4 +35,9 @@ public class ForecastResultWriteRequest extends ResultWriteRequest<ForecastResul
     public ForecastResultWriteRequest(StreamInput in) throws IOException {
         super(in, ForecastResult::new);
     }
+
+    @Override
+    protected ForecastResult parseResult(XContentParser parser) throws IOException {
+        return ForecastResult.parse(parser);
+    }
 }
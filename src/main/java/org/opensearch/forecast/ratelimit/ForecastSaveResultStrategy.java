@@ -22,10 +22,19 @@ import org.opensearch.timeseries.util.ParseUtils;
 public class ForecastSaveResultStrategy implements SaveResultStrategy<ForecastResult, RCFCasterResult> {
     private int resultMappingVersion;
     private ForecastResultWriteWorker resultWriteWorker;
+    private volatile boolean compactResult;
 
     public ForecastSaveResultStrategy(int resultMappingVersion, ForecastResultWriteWorker resultWriteWorker) {
         this.resultMappingVersion = resultMappingVersion;
         this.resultWriteWorker = resultWriteWorker;
+        this.compactResult = false;
+    }
+
+    /**
+     * @param compactResult whether to write the forecasts of an entity and interval as one document
+     */
+    public void setCompactResult(boolean compactResult) {
+        this.compactResult = compactResult;
     }
 
     @Override
@@ -66,7 +75,8 @@ public class ForecastSaveResultStrategy implements SaveResultStrategy<ForecastRe
                     resultMappingVersion,
                     modelId,
                     taskId,
-                    null
+                    null,
+                    compactResult
                 );
 
             for (ForecastResult r : indexableResults) {
@@ -117,7 +127,8 @@ public class ForecastSaveResultStrategy implements SaveResultStrategy<ForecastRe
                         resultMappingVersion,
                         modelId,
                         taskId,
-                        null
+                        null,
+                        compactResult
                     );
                 for (ForecastResult r : indexableResults) {
                     writeRequests
@@ -116,6 +116,11 @@ public final class ForecastSettings {
             Setting.Property.Dynamic
         );
 
+    // write one document per entity and interval holding all horizon steps as packed arrays
+    // instead of one document per horizon step and feature
+    public static final Setting<Boolean> FORECAST_COMPACT_RESULT = Setting
+        .boolSetting("plugins.forecast.compact_result", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
     public static final String FORECAST_RESULTS_INDEX_MAPPING_FILE = "mappings/forecast-results.json";
     public static final String FORECAST_STATE_INDEX_MAPPING_FILE = "mappings/forecast-state.json";
     public static final String FORECAST_CHECKPOINT_INDEX_MAPPING_FILE = "mappings/forecast-checkpoint.json";
@@ -209,6 +214,13 @@ public final class ForecastSettings {
     public static final Setting<Integer> FORECAST_COLD_START_QUEUE_CONCURRENCY = Setting
         .intSetting("plugins.forecast.cold_start_queue_concurrency", 1, 1, 10, Setting.Property.NodeScope, Setting.Property.Dynamic);
 
+    /**
+     * Max real-time cold start requests of the same forecaster whose training data is
+     * fetched with one search. 1 fetches training data entity by entity.
+     */
+    public static final Setting<Integer> FORECAST_COLD_START_QUEUE_BATCH_SIZE = Setting
+        .intSetting("plugins.forecast.cold_start_queue_batch_size", 1, 1, 100, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
     /**
      * Max concurrent result writes per node.  Since checkpoint is relatively large
      * (250KB), we have 2 concurrent threads processing the queue.
@@ -236,6 +248,20 @@ public final class ForecastSettings {
     public static final Setting<Integer> FORECAST_CHECKPOINT_READ_QUEUE_BATCH_SIZE = Setting
         .intSetting("plugins.forecast.checkpoint_read_queue_batch_size", 25, 1, 60, Setting.Property.NodeScope, Setting.Property.Dynamic);
 
+    /**
+     * Max checkpoints of one multi-get batch deserialized and scored in parallel.
+     * 1 restores them one after another.
+     */
+    public static final Setting<Integer> FORECAST_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM = Setting
+        .intSetting(
+            "plugins.forecast.checkpoint_read_queue_restore_parallelism",
+            1,
+            1,
+            16,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     // expected execution time per cold entity request. This setting controls
     // the speed of cold entity requests execution. The larger, the faster, and
     // the more performance impact to customers' workload.
@@ -30,6 +30,7 @@ import org.opensearch.forecast.ratelimit.ForecastColdEntityWorker;
 import org.opensearch.forecast.ratelimit.ForecastColdStartWorker;
 import org.opensearch.forecast.ratelimit.ForecastResultWriteWorker;
 import org.opensearch.forecast.ratelimit.ForecastSaveResultStrategy;
+import org.opensearch.forecast.stats.ForecastStats;
 import org.opensearch.forecast.task.ForecastTaskManager;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.NodeStateManager;
@@ -75,7 +76,8 @@ public class EntityForecastResultTransportAction extends
         ForecastCheckpointReadWorker checkpointReadQueue,
         ForecastColdEntityWorker coldEntityQueue,
         ThreadPool threadPool,
-        ForecastRealTimeInferencer inferencer
+        ForecastRealTimeInferencer inferencer,
+        ForecastStats forecastStats
     ) {
         super(
             EntityForecastResultAction.NAME,
@@ -88,7 +90,8 @@ public class EntityForecastResultTransportAction extends
             TimeSeriesAnalyticsPlugin.FORECAST_THREAD_POOL_NAME,
             checkpointReadQueue,
             coldEntityQueue,
-            inferencer
+            inferencer,
+            forecastStats
         );
     }
 }
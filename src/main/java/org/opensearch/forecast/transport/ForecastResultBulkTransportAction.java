@@ -64,32 +64,21 @@ public class ForecastResultBulkTransportAction extends
 
         if (indexingPressurePercent <= softLimit) {
             for (ForecastResultWriteRequest resultWriteRequest : results) {
-                addResult(bulkRequest, resultWriteRequest.getResult(), resultWriteRequest.getResultIndex());
-                if (resultWriteRequest.getFlattenResultIndex() != null) {
-                    addResult(bulkRequest, resultWriteRequest.getResult(), resultWriteRequest.getFlattenResultIndex());
-                }
+                addResult(bulkRequest, resultWriteRequest);
             }
         } else if (indexingPressurePercent <= hardLimit) {
             // exceed soft limit (60%) but smaller than hard limit (90%)
             float acceptProbability = 1 - indexingPressurePercent;
             for (ForecastResultWriteRequest resultWriteRequest : results) {
-                ForecastResult result = resultWriteRequest.getResult();
                 if (random.nextFloat() < acceptProbability) {
-                    addResult(bulkRequest, result, resultWriteRequest.getResultIndex());
-                    if (resultWriteRequest.getFlattenResultIndex() != null) {
-                        addResult(bulkRequest, result, resultWriteRequest.getFlattenResultIndex());
-                    }
+                    addResult(bulkRequest, resultWriteRequest);
                 }
             }
         } else {
             // if exceeding hard limit, only index error result
             for (ForecastResultWriteRequest resultWriteRequest : results) {
-                ForecastResult result = resultWriteRequest.getResult();
-                if (result.isHighPriority()) {
-                    addResult(bulkRequest, result, resultWriteRequest.getResultIndex());
-                    if (resultWriteRequest.getFlattenResultIndex() != null) {
-                        addResult(bulkRequest, result, resultWriteRequest.getFlattenResultIndex());
-                    }
+                if (resultWriteRequest.isHighPriority()) {
+                    addResult(bulkRequest, resultWriteRequest);
                 }
             }
         }
@@ -97,4 +86,11 @@ public class ForecastResultBulkTransportAction extends
         return bulkRequest;
     }
 
+    private void addResult(BulkRequest bulkRequest, ForecastResultWriteRequest resultWriteRequest) {
+        addResult(bulkRequest, resultWriteRequest, resultWriteRequest.getResultIndex());
+        if (resultWriteRequest.getFlattenResultIndex() != null) {
+            addResult(bulkRequest, resultWriteRequest, resultWriteRequest.getFlattenResultIndex());
+        }
+    }
+
 }
@@ -53,6 +53,10 @@ public class IndexForecasterResponse extends ActionResponse implements ToXConten
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeString(id);
@@ -47,6 +47,7 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.tasks.Task;
+import org.opensearch.timeseries.NodeStateManager;
 import org.opensearch.timeseries.feature.SearchFeatureDao;
 import org.opensearch.timeseries.function.ExecutorFunction;
 import org.opensearch.timeseries.util.SecurityClientUtil;
@@ -65,6 +66,7 @@ public class IndexForecasterTransportAction extends HandledTransportAction<Index
     private final SearchFeatureDao searchFeatureDao;
     private final ForecastTaskManager taskManager;
     private final Settings settings;
+    private final NodeStateManager nodeStateManager;
 
     @Inject
     public IndexForecasterTransportAction(
@@ -77,7 +79,8 @@ public class IndexForecasterTransportAction extends HandledTransportAction<Index
         ForecastIndexManagement forecastIndices,
         NamedXContentRegistry xContentRegistry,
         SearchFeatureDao searchFeatureDao,
-        ForecastTaskManager taskManager
+        ForecastTaskManager taskManager,
+        NodeStateManager nodeStateManager
     ) {
         super(IndexForecasterAction.NAME, transportService, actionFilters, IndexForecasterRequest::new);
         this.client = client;
@@ -91,6 +94,7 @@ public class IndexForecasterTransportAction extends HandledTransportAction<Index
         this.searchFeatureDao = searchFeatureDao;
         this.taskManager = taskManager;
         this.settings = settings;
+        this.nodeStateManager = nodeStateManager;
     }
 
     @Override
@@ -229,10 +233,24 @@ public class IndexForecasterTransportAction extends HandledTransportAction<Index
                 searchFeatureDao,
                 settings
             );
-            indexForecasterActionHandler.start(listener);
+            indexForecasterActionHandler.start(invalidateOnUpdate(method, listener));
         }, listener);
     }
 
+    private ActionListener<IndexForecasterResponse> invalidateOnUpdate(
+        RestRequest.Method method,
+        ActionListener<IndexForecasterResponse> listener
+    ) {
+        if (method != RestRequest.Method.PUT) {
+            return listener;
+        }
+        return ActionListener.wrap(response -> {
+            // other nodes may have cached the old forecaster
+            nodeStateManager.invalidateConfigOnAllNodes(response.getId(), response.getVersion());
+            listener.onResponse(response);
+        }, listener::onFailure);
+    }
+
     private void checkIndicesAndExecute(List<String> indices, ExecutorFunction function, ActionListener<IndexForecasterResponse> listener) {
         SearchRequest searchRequest = new SearchRequest()
             .indices(indices.toArray(new String[0]))
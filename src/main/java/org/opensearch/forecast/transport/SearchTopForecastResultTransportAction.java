@@ -603,7 +603,9 @@ public class SearchTopForecastResultTransportAction extends
         QueryBuilder rangeQuery = generateDateFilter(request, forecaster);
         boolQueryBuilder = boolQueryBuilder.filter(rangeQuery);
 
-        // we only look for documents containing forecasts
+        // we only look for documents containing forecasts. The mapping copies the packed values
+        // of compact documents to forecast_value, so min/max aggregations and range filters
+        // over a compact document see all of its horizon steps, like over per-horizon documents.
         boolQueryBuilder.filter(new ExistsQueryBuilder(ForecastResult.VALUE_FIELD));
 
         FilterBy filterBy = request.getFilterBy();
@@ -640,7 +642,13 @@ public class SearchTopForecastResultTransportAction extends
             case MIN_CONFIDENCE_INTERVAL_WIDTH:
             case MAX_CONFIDENCE_INTERVAL_WIDTH:
                 // Include only documents where horizon_index is configured horizon (indicating the "latest" forecast).
-                return QueryBuilders.termQuery(ForecastResult.HORIZON_INDEX_FIELD, forecaster.getHorizon());
+                // Compact documents have no horizon_index. Their confidence_interval_width only holds
+                // the widths of the last horizon step (see ForecastResult.FINAL_INTERVAL_WIDTHS_FIELD).
+                return QueryBuilders
+                    .boolQuery()
+                    .should(QueryBuilders.termQuery(ForecastResult.HORIZON_INDEX_FIELD, forecaster.getHorizon()))
+                    .should(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(ForecastResult.HORIZON_INDEX_FIELD)))
+                    .minimumShouldMatch(1);
             case DISTANCE_TO_THRESHOLD_VALUE:
                 RangeQueryBuilder res = QueryBuilders.rangeQuery(ForecastResult.VALUE_FIELD);
                 Float threshold = request.getThreshold();
@@ -43,7 +43,17 @@ public class MemoryTracker {
     public enum Origin {
         REAL_TIME_DETECTOR,
         HISTORICAL_SINGLE_ENTITY_DETECTOR,
-        REAL_TIME_FORECASTER
+        REAL_TIME_FORECASTER,
+        // count-min sketches of the cache and cold start door keepers
+        DOOR_KEEPER,
+        // model copies waiting to be checkpointed
+        CHECKPOINT_SNAPSHOT,
+        // samples buffered for incremental checkpoints
+        CHECKPOINT_DELTA,
+        // open rollup windows of summarized results
+        RESULT_SUMMARY,
+        // feature pieces shared among historical entity tasks
+        HISTORICAL_ENTITY_PIECE
     }
 
     // memory tracker for total consumption of bytes
@@ -24,9 +24,15 @@ import org.opensearch.timeseries.model.Job;
  *
  */
 public class NodeState implements ExpiringState {
+    public static final long UNKNOWN_VERSION = -1L;
+
     private String configId;
     // config definition
-    private Config configDef;
+    private volatile Config configDef;
+    // document version of configDef in the config index, UNKNOWN_VERSION if unknown
+    private long configVersion;
+    // newest document version of the config seen so far, cached or not
+    private long latestConfigVersion;
     // last access time
     private Instant lastAccessTime;
     // last error.
@@ -49,6 +55,8 @@ public class NodeState implements ExpiringState {
     public NodeState(String configId, Clock clock) {
         this.configId = configId;
         this.configDef = null;
+        this.configVersion = UNKNOWN_VERSION;
+        this.latestConfigVersion = UNKNOWN_VERSION;
         this.lastAccessTime = clock.instant();
         this.exception = Optional.empty();
         this.clock = clock;
@@ -76,8 +84,57 @@ public class NodeState implements ExpiringState {
      * @param configDef Analysis configuration object
      */
     public void setConfigDef(Config configDef) {
-        this.configDef = configDef;
+        setConfigDef(configDef, UNKNOWN_VERSION);
+    }
+
+    /**
+     * Cache a config unless a newer version has been seen already, e.g., when a
+     * slow fetch completes after a faster one or an invalidation saw an update.
+     *
+     * @param configDef Analysis configuration object
+     * @param version document version of the config
+     * @return whether the config is cached
+     */
+    public synchronized boolean setConfigDef(Config configDef, long version) {
         refreshLastUpdateTime();
+        if (version != UNKNOWN_VERSION && version < latestConfigVersion) {
+            return false;
+        }
+        this.configDef = configDef;
+        this.configVersion = version;
+        this.latestConfigVersion = Math.max(latestConfigVersion, version);
+        return true;
+    }
+
+    /**
+     * Drop the cached config if it is older than the given version. The version is
+     * remembered so that a fetch started before the update cannot cache the old config.
+     *
+     * @param version the latest known document version of the config
+     * @return whether the cached config has been dropped
+     */
+    public synchronized boolean invalidateConfigDef(long version) {
+        latestConfigVersion = Math.max(latestConfigVersion, version);
+        if (configDef == null || (configVersion != UNKNOWN_VERSION && configVersion >= version)) {
+            return false;
+        }
+        configDef = null;
+        configVersion = UNKNOWN_VERSION;
+        return true;
+    }
+
+    /**
+     * Forget the cached config and its versions, e.g., when the config index is
+     * recreated and document versions start over, or when invalidations may have been missed.
+     */
+    public synchronized void resetConfigDef() {
+        configDef = null;
+        configVersion = UNKNOWN_VERSION;
+        latestConfigVersion = UNKNOWN_VERSION;
+    }
+
+    public synchronized long getConfigVersion() {
+        return configVersion;
     }
 
     /**
@@ -10,11 +10,14 @@ import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedTok
 import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
@@ -26,14 +29,18 @@ import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.model.AnomalyDetector;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.lease.Releasable;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.Index;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
@@ -48,12 +55,14 @@ import org.opensearch.timeseries.ml.SingleStreamModelIdMapper;
 import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.Job;
 import org.opensearch.timeseries.transport.BackPressureRouting;
+import org.opensearch.timeseries.transport.InvalidateConfigAction;
+import org.opensearch.timeseries.transport.InvalidateConfigRequest;
 import org.opensearch.timeseries.util.ClientUtil;
 import org.opensearch.timeseries.util.ExceptionUtil;
 import org.opensearch.timeseries.util.RestHandlerUtils;
 import org.opensearch.transport.client.Client;
 
-public class NodeStateManager implements MaintenanceState, CleanState, ExceptionRecorder {
+public class NodeStateManager implements MaintenanceState, CleanState, ExceptionRecorder, ClusterStateListener {
     private static final Logger LOG = LogManager.getLogger(NodeStateManager.class);
 
     public static final String NO_ERROR = "no_error";
@@ -68,6 +77,10 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
     private Map<String, Map<String, BackPressureRouting>> backpressureMuter;
     private int maxRetryForUnresponsiveNode;
     private TimeValue mutePeriod;
+    // config loads in flight, keyed by config index and config id. Concurrent callers wait for the same get.
+    private final ConcurrentHashMap<String, ConfigLoad> configLoads;
+    // incremented when a config index is deleted. Loads from an older generation are not cached.
+    private final AtomicLong configIndexGeneration;
 
     /**
      * Constructor
@@ -100,6 +113,8 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
         this.clock = clock;
         this.stateTtl = stateTtl;
         this.backpressureMuter = new ConcurrentHashMap<>();
+        this.configLoads = new ConcurrentHashMap<>();
+        this.configIndexGeneration = new AtomicLong();
 
         this.maxRetryForUnresponsiveNode = maxRetryForUnresponsiveNodeSetting.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(maxRetryForUnresponsiveNodeSetting, it -> {
@@ -119,7 +134,72 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
                 entry.values().forEach(v -> v.setMutePeriod(it));
             }
         });
+        clusterService.addListener(this);
+    }
+
+    /**
+     * Cached configs are gone with their index. A recreated index starts document
+     * versions over, so version checks cannot tell the old configs apart.
+     *
+     * Cached configs are also dropped when the cluster manager changes, e.g., when this
+     * node rejoins the cluster, as broadcasts of config updates may have been missed meanwhile.
+     *
+     * @param event cluster changed event
+     */
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        for (Index index : event.indicesDeleted()) {
+            if (ADCommonName.CONFIG_INDEX.equals(index.getName()) || ForecastCommonName.CONFIG_INDEX.equals(index.getName())) {
+                LOG.info("Config index {} deleted, dropping cached configs", index.getName());
+                resetCachedConfigs();
+                return;
+            }
+        }
+        if (event.nodesDelta().clusterManagerNodeChanged()) {
+            LOG.info("Cluster manager changed, dropping cached configs");
+            resetCachedConfigs();
+        }
+    }
+
+    private void resetCachedConfigs() {
+        // loads sent before the reset are not cached
+        configIndexGeneration.incrementAndGet();
+        states.values().forEach(NodeState::resetConfigDef);
+    }
 
+    /**
+     * Drop the cached config if it is older than a version seen elsewhere, e.g., by
+     * a get that bypasses the cache. The version is remembered even if nothing is
+     * cached, so that a get in flight does not cache an older config.
+     *
+     * @param configId config id
+     * @param version document version of the config
+     */
+    public void onConfigVersion(String configId, long version) {
+        NodeState state = states.computeIfAbsent(configId, id -> new NodeState(id, clock));
+        if (state.invalidateConfigDef(version)) {
+            LOG.info("Dropped cached config {} older than version {}", configId, version);
+        }
+    }
+
+    /**
+     * Drop cached copies of an updated or deleted config on all nodes. Without it, a node
+     * keeps the cached config until its state expires.
+     *
+     * @param configId config id
+     * @param version document version of the config after the update or delete
+     */
+    public void invalidateConfigOnAllNodes(String configId, long version) {
+        onConfigVersion(configId, version);
+        // internal action, sent as the plugin rather than the user
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            InvalidateConfigRequest request = new InvalidateConfigRequest(configId, version);
+            client.execute(InvalidateConfigAction.INSTANCE, request, ActionListener.wrap(response -> {
+                if (response.hasFailures()) {
+                    LOG.warn("Fail to drop cached config {} on some nodes: {}", configId, response.failures());
+                }
+            }, exception -> LOG.warn("Fail to drop cached config " + configId, exception)));
+        }
     }
 
     /**
@@ -219,6 +299,7 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
                 } else {
                     throw new UnsupportedOperationException("This method is not supported");
                 }
+                onConfigVersion(configId, response.getVersion());
 
                 function.accept(Optional.of(config));
             } catch (Exception e) {
@@ -234,38 +315,65 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
 
     public void getConfig(String configID, AnalysisType context, boolean cache, ActionListener<Optional<? extends Config>> listener) {
         NodeState state = states.get(configID);
-        if (state != null && state.getConfigDef() != null) {
-            listener.onResponse(Optional.of(state.getConfigDef()));
-        } else {
-            GetRequest request = new GetRequest(
-                context == AnalysisType.AD ? ADCommonName.CONFIG_INDEX : ForecastCommonName.CONFIG_INDEX,
-                configID
-            );
-            BiCheckedFunction<XContentParser, String, ? extends Config, IOException> configParser = context.isAD()
-                ? AnomalyDetector::parse
-                : Forecaster::parse;
-            clientUtil
-                .<GetRequest, GetResponse>asyncRequest(request, client::get, onGetConfigResponse(configID, configParser, cache, listener));
+        // updates and deletes drop the cached config on all nodes, see invalidateConfigOnAllNodes
+        Config cached = state == null ? null : state.getConfigDef();
+        if (cached != null) {
+            listener.onResponse(Optional.of(cached));
+            return;
+        }
+
+        String configIndex = context == AnalysisType.AD ? ADCommonName.CONFIG_INDEX : ForecastCommonName.CONFIG_INDEX;
+        String loadKey = configIndex + "#" + configID;
+        // single flight: only the first caller sends a get. Later callers wait for its response.
+        ConfigLoad newLoad = new ConfigLoad(listener, cache, configIndexGeneration.get());
+        ConfigLoad load = configLoads.compute(loadKey, (k, inFlight) -> {
+            if (inFlight == null) {
+                return newLoad;
+            }
+            inFlight.add(listener, cache);
+            return inFlight;
+        });
+        if (load != newLoad) {
+            return;
+        }
+
+        BiCheckedFunction<XContentParser, String, ? extends Config, IOException> configParser = context.isAD()
+            ? AnomalyDetector::parse
+            : Forecaster::parse;
+        ActionListener<Optional<? extends Config>> completeAll = ActionListener.wrap(load::onResponse, exception -> {
+            configLoads.remove(loadKey, load);
+            load.onFailure(exception);
+        });
+        try {
+            GetRequest request = new GetRequest(configIndex, configID);
+            ActionListener<GetResponse> onResponse = onGetConfigResponse(configID, configParser, loadKey, load, completeAll);
+            clientUtil.<GetRequest, GetResponse>asyncRequest(request, client::get, onResponse);
+        } catch (Exception e) {
+            completeAll.onFailure(e);
         }
     }
 
     private ActionListener<GetResponse> onGetConfigResponse(
         String configID,
         BiCheckedFunction<XContentParser, String, ? extends Config, IOException> configParser,
-        boolean cache,
+        String loadKey,
+        ConfigLoad load,
         ActionListener<Optional<? extends Config>> listener
     ) {
         return ActionListener.wrap(response -> {
+            // Callers arriving from now on send a new get. Removing the load first makes its cache
+            // flag final before it is read below, so a late waiter asking for caching is not ignored.
+            configLoads.remove(loadKey, load);
             if (response == null || !response.isExists()) {
                 listener.onResponse(Optional.empty());
                 return;
             }
 
-            String xc = response.getSourceAsString();
-            LOG.debug("Fetched config: {}", xc);
+            LOG.debug("Fetched config {} version {}", configID, response.getVersion());
 
+            // parse the source bytes directly instead of a String copy of them
             try (
-                XContentParser parser = XContentType.JSON.xContent().createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, xc)
+                XContentParser parser = RestHandlerUtils.createXContentParserFromRegistry(xContentRegistry, response.getSourceAsBytesRef())
             ) {
                 ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
                 Config config = configParser.apply(parser, response.getId());
@@ -277,9 +385,19 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
                     return;
                 }
 
-                if (cache) {
-                    NodeState state = states.computeIfAbsent(configID, configId -> new NodeState(configId, clock));
-                    state.setConfigDef(config);
+                // versions of a deleted config index say nothing about the current one
+                if (load.generation == configIndexGeneration.get()) {
+                    if (load.shouldCache()) {
+                        NodeState state = states.computeIfAbsent(configID, configId -> new NodeState(configId, clock));
+                        // refused if an invalidation saw a newer version while the get was in flight
+                        state.setConfigDef(config, response.getVersion());
+                        if (load.generation != configIndexGeneration.get()) {
+                            // the config index was deleted while we were caching
+                            state.resetConfigDef();
+                        }
+                    } else {
+                        onConfigVersion(configID, response.getVersion());
+                    }
                 }
 
                 listener.onResponse(Optional.of(config));
@@ -291,6 +409,43 @@ public class NodeStateManager implements MaintenanceState, CleanState, Exception
         }, listener::onFailure);
     }
 
+    /**
+     * Callers waiting for the same config get.
+     */
+    private static class ConfigLoad implements ActionListener<Optional<? extends Config>> {
+        // guarded by configLoads.compute until the load is removed from configLoads
+        private final List<ActionListener<Optional<? extends Config>>> listeners;
+        private volatile boolean cache;
+        // config index generation when the get was sent
+        private final long generation;
+
+        ConfigLoad(ActionListener<Optional<? extends Config>> listener, boolean cache, long generation) {
+            this.listeners = new ArrayList<>();
+            this.listeners.add(listener);
+            this.cache = cache;
+            this.generation = generation;
+        }
+
+        void add(ActionListener<Optional<? extends Config>> listener, boolean cache) {
+            listeners.add(listener);
+            this.cache |= cache;
+        }
+
+        boolean shouldCache() {
+            return cache;
+        }
+
+        @Override
+        public void onResponse(Optional<? extends Config> config) {
+            ActionListener.onResponse(listeners, config);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            ActionListener.onFailure(listeners, e);
+        }
+    }
+
     /**
      * Get the exception of an analysis.  The method has side effect.
      * We reset error after calling the method because
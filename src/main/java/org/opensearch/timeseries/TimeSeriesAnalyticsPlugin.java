@@ -63,6 +63,7 @@ import org.opensearch.ad.ratelimit.ADCheckpointReadWorker;
 import org.opensearch.ad.ratelimit.ADCheckpointWriteWorker;
 import org.opensearch.ad.ratelimit.ADColdEntityWorker;
 import org.opensearch.ad.ratelimit.ADColdStartWorker;
+import org.opensearch.ad.ratelimit.ADResultSummarizer;
 import org.opensearch.ad.ratelimit.ADResultWriteWorker;
 import org.opensearch.ad.ratelimit.ADSaveResultStrategy;
 import org.opensearch.ad.rest.RestAnomalyDetectorJobAction;
@@ -163,6 +164,7 @@ import org.opensearch.ad.transport.handler.ADSearchHandler;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.lifecycle.LifecycleListener;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.IndexScopedSettings;
 import org.opensearch.common.settings.Setting;
@@ -303,10 +305,13 @@ import org.opensearch.timeseries.stats.StatNames;
 import org.opensearch.timeseries.stats.TimeSeriesStat;
 import org.opensearch.timeseries.stats.suppliers.CounterSupplier;
 import org.opensearch.timeseries.stats.suppliers.IndexStatusSupplier;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 import org.opensearch.timeseries.stats.suppliers.SettableSupplier;
 import org.opensearch.timeseries.task.TaskCacheManager;
 import org.opensearch.timeseries.transport.CronAction;
 import org.opensearch.timeseries.transport.CronTransportAction;
+import org.opensearch.timeseries.transport.InvalidateConfigAction;
+import org.opensearch.timeseries.transport.InvalidateConfigTransportAction;
 import org.opensearch.timeseries.transport.handler.ResultBulkIndexingHandler;
 import org.opensearch.timeseries.util.ClientUtil;
 import org.opensearch.timeseries.util.DiscoveryNodeFilterer;
@@ -359,6 +364,9 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
     public static final String FORECAST_FORECASTERS_URI = FORECAST_BASE_URI + "/forecasters";
     public static final String FORECAST_THREAD_POOL_PREFIX = "opensearch.forecast.";
     public static final String FORECAST_THREAD_POOL_NAME = "forecast-threadpool";
+    // serializes model checkpoints of both analyses off the threads that score data
+    public static final String CHECKPOINT_THREAD_POOL_NAME = "timeseries-checkpoint-threadpool";
+    public static final String TIME_SERIES_THREAD_POOL_PREFIX = "opensearch.timeseries.";
 
     public static final String TIME_SERIES_JOB_TYPE = "opensearch_time_series_analytics";
 
@@ -379,6 +387,7 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
     private ADTaskManager adTaskManager;
     private ForecastTaskManager forecastTaskManager;
     private ADBatchTaskRunner adBatchTaskRunner;
+    private ADSaveResultStrategy adSaveResultStrategy;
     // package private for testing
     GenericObjectPool<LinkedBuffer> serializeRCFBufferPool;
     private NodeStateManager stateManager;
@@ -649,6 +658,19 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             1 - TimeSeriesSettings.THRESHOLD_MIN_PVALUE,
             getClock()
         );
+        adCheckpoint.setCompression(TimeSeriesSettings.CHECKPOINT_COMPRESSION.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.CHECKPOINT_COMPRESSION, adCheckpoint::setCompression);
+        adCheckpoint.setMaxDeltaSamples(TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES, adCheckpoint::setMaxDeltaSamples);
+        adCheckpoint.setMemoryTracker(adMemoryTracker);
+        adCheckpoint.setCheckpointInterval(AnomalyDetectorSettings.AD_CHECKPOINT_SAVING_FREQ.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(AnomalyDetectorSettings.AD_CHECKPOINT_SAVING_FREQ, adCheckpoint::setCheckpointInterval);
 
         ADCacheProvider adCacheProvider = new ADCacheProvider();
 
@@ -726,6 +748,9 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
         // cache provider allows us to break circular dependency among PriorityCache, CacheBuffer,
         // CheckPointMaintainRequestAdapter, and CheckpointMaintainWorker
         adCacheProvider.set(adPriorityCache);
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE, adPriorityCache::setDoorKeeperMaxSize);
 
         ADColdStart adEntityColdStarter = new ADColdStart(
             getClock(),
@@ -744,6 +769,11 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             (int) (AD_COOLDOWN_MINUTES.get(settings).getMinutes()),
             anomalyDetectionIndices.getSchemaVersion(ADIndex.RESULT)
         );
+        adEntityColdStarter.setMemoryTracker(adMemoryTracker);
+        adEntityColdStarter.setDoorKeeperMaxSize(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE, adEntityColdStarter::setDoorKeeperMaxSize);
 
         ADModelManager adModelManager = new ADModelManager(
             adCheckpoint,
@@ -789,10 +819,22 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             TimeSeriesSettings.HOURLY_MAINTENANCE
         );
 
-        ADSaveResultStrategy adSaveResultStrategy = new ADSaveResultStrategy(
+        ADResultSummarizer adResultSummarizer = new ADResultSummarizer(settings, clusterService, getClock(), adMemoryTracker);
+        adSaveResultStrategy = new ADSaveResultStrategy(
             anomalyDetectionIndices.getSchemaVersion(ADIndex.RESULT),
-            adResultWriteQueue
+            adResultWriteQueue,
+            adResultSummarizer
         );
+        // write summaries of entities that went idle in the middle of a rollup window
+        threadPool.scheduleWithFixedDelay(adSaveResultStrategy::flushSummaries, TimeValue.timeValueMinutes(1), AD_THREAD_POOL_NAME);
+        // Write open rollup windows while the node can still send bulks. The cluster service stops before
+        // the transport service, and close() runs after both.
+        clusterService.addLifecycleListener(new LifecycleListener() {
+            @Override
+            public void beforeStop() {
+                adSaveResultStrategy.flushAllSummaries();
+            }
+        });
 
         ADDataMigrator adDataMigrator = new ADDataMigrator(client, clusterService, xContentRegistry, anomalyDetectionIndices);
         HashRing hashRing = new HashRing(nodeFilter, getClock(), settings, client, clusterService, adDataMigrator, adModelManager);
@@ -885,9 +927,20 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 StatNames.MODEL_COUNT.getName(),
                 new TimeSeriesStat<>(false, new ADModelsOnNodeCountSupplier(adModelManager, adCacheProvider))
             )
+            .put(StatNames.AD_RESULT_PAGE_FETCH_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_ENTITY_RESULT_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_INFERENCE_LOCK_WAIT_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_INFERENCE_SCORE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_CHECKPOINT_READ_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_CHECKPOINT_WRITE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_COLD_START_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.AD_RESULT_WRITE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
             .build();
 
         adStats = new ADStats(adStatsMap);
+        adEntityColdStarter.setStats(adStats);
+        adCheckpointWriteQueue.setStats(adStats);
+        adResultWriteQueue.setStats(adStats);
 
         ADRealTimeInferencer adInferencer = new ADRealTimeInferencer(
             adModelManager,
@@ -925,6 +978,7 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             adCheckpointWriteQueue,
             adInferencer
         );
+        adCheckpointReadQueue.setStats(adStats);
 
         ADColdEntityWorker adColdEntityQueue = new ADColdEntityWorker(
             heapSizeBytes,
@@ -995,7 +1049,8 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             adTaskCacheManager,
             searchFeatureDao,
             hashRing,
-            adModelManager
+            adModelManager,
+            adMemoryTracker
         );
 
         adResultResponseRecorder = new ExecuteADResultResponseRecorder(
@@ -1061,6 +1116,19 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             AccessController.doPrivileged(() -> RuntimeSchema.getSchema(RCFCasterState.class)),
             getClock()
         );
+        forecastCheckpoint.setCompression(TimeSeriesSettings.CHECKPOINT_COMPRESSION.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.CHECKPOINT_COMPRESSION, forecastCheckpoint::setCompression);
+        forecastCheckpoint.setMaxDeltaSamples(TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES, forecastCheckpoint::setMaxDeltaSamples);
+        forecastCheckpoint.setMemoryTracker(forecastMemoryTracker);
+        forecastCheckpoint.setCheckpointInterval(ForecastSettings.FORECAST_CHECKPOINT_SAVING_FREQ.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(ForecastSettings.FORECAST_CHECKPOINT_SAVING_FREQ, forecastCheckpoint::setCheckpointInterval);
 
         ForecastCacheProvider forecastCacheProvider = new ForecastCacheProvider();
 
@@ -1139,6 +1207,9 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
         // cache provider allows us to break circular dependency among PriorityCache, CacheBuffer,
         // CheckPointMaintainRequestAdapter, and CheckpointMaintainWorker
         forecastCacheProvider.set(forecastPriorityCache);
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE, forecastPriorityCache::setDoorKeeperMaxSize);
 
         ForecastColdStart forecastColdStarter = new ForecastColdStart(
             getClock(),
@@ -1157,6 +1228,11 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             TimeSeriesSettings.MAX_COLD_START_ROUNDS,
             forecastIndices.getSchemaVersion(ForecastIndex.RESULT)
         );
+        forecastColdStarter.setMemoryTracker(forecastMemoryTracker);
+        forecastColdStarter.setDoorKeeperMaxSize(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE, forecastColdStarter::setDoorKeeperMaxSize);
 
         ForecastModelManager forecastModelManager = new ForecastModelManager(
             forecastCheckpoint,
@@ -1197,6 +1273,10 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             forecastIndices.getSchemaVersion(ForecastIndex.RESULT),
             forecastResultWriteQueue
         );
+        forecastSaveResultStrategy.setCompactResult(ForecastSettings.FORECAST_COMPACT_RESULT.get(settings));
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(ForecastSettings.FORECAST_COMPACT_RESULT, forecastSaveResultStrategy::setCompactResult);
 
         TaskCacheManager forecastTaskCacheManager = new TaskCacheManager(settings, clusterService);
 
@@ -1272,9 +1352,20 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 new TimeSeriesStat<>(true, new IndexStatusSupplier(indexUtils, CommonName.JOB_INDEX))
             )
             .put(StatNames.MODEL_COUNT.getName(), new TimeSeriesStat<>(false, new ForecastModelsOnNodeCountSupplier(forecastCacheProvider)))
+            .put(StatNames.FORECAST_RESULT_PAGE_FETCH_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_ENTITY_RESULT_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_INFERENCE_LOCK_WAIT_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_INFERENCE_SCORE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_CHECKPOINT_READ_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_CHECKPOINT_WRITE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_COLD_START_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
+            .put(StatNames.FORECAST_RESULT_WRITE_LATENCY.getName(), new TimeSeriesStat<>(false, new LatencySupplier()))
             .build();
 
         forecastStats = new ForecastStats(forecastStatsMap);
+        forecastColdStarter.setStats(forecastStats);
+        forecastCheckpointWriteQueue.setStats(forecastStats);
+        forecastResultWriteQueue.setStats(forecastStats);
 
         ForecastRealTimeInferencer forecastInferencer = new ForecastRealTimeInferencer(
             forecastModelManager,
@@ -1312,6 +1403,7 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
             forecastCheckpointWriteQueue,
             forecastInferencer
         );
+        forecastCheckpointReadQueue.setStats(forecastStats);
 
         ForecastColdEntityWorker forecastColdEntityQueue = new ForecastColdEntityWorker(
             heapSizeBytes,
@@ -1481,6 +1573,14 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                     Math.max(1, OpenSearchExecutors.allocatedProcessors(settings) * 3 / 4),
                     TimeValue.timeValueMinutes(10),
                     FORECAST_THREAD_POOL_PREFIX + FORECAST_THREAD_POOL_NAME
+                ),
+                new ScalingExecutorBuilder(
+                    CHECKPOINT_THREAD_POOL_NAME,
+                    1,
+                    // low priority background work. Keep it small so that it does not compete with scoring.
+                    Math.max(1, OpenSearchExecutors.allocatedProcessors(settings) / 8),
+                    TimeValue.timeValueMinutes(10),
+                    TIME_SERIES_THREAD_POOL_PREFIX + CHECKPOINT_THREAD_POOL_NAME
                 )
             );
     }
@@ -1545,8 +1645,10 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 // Security
                 LegacyOpenDistroAnomalyDetectorSettings.AD_FILTER_BY_BACKEND_ROLES,
                 AnomalyDetectorSettings.AD_FILTER_BY_BACKEND_ROLES,
+                AnomalyDetectorSettings.SEARCH_RESULT_INDEX_CACHE_ENABLED,
                 // Insights
                 AnomalyDetectorSettings.INSIGHTS_ENABLED,
+                AnomalyDetectorSettings.INSIGHTS_MAX_ANOMALIES,
                 // Historical
                 LegacyOpenDistroAnomalyDetectorSettings.MAX_BATCH_TASK_PER_NODE,
                 LegacyOpenDistroAnomalyDetectorSettings.BATCH_TASK_PIECE_INTERVAL_SECONDS,
@@ -1554,6 +1656,9 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 LegacyOpenDistroAnomalyDetectorSettings.BATCH_TASK_PIECE_SIZE,
                 AnomalyDetectorSettings.MAX_BATCH_TASK_PER_NODE,
                 AnomalyDetectorSettings.BATCH_TASK_PIECE_INTERVAL_SECONDS,
+                AnomalyDetectorSettings.BATCH_TASK_PIPELINE_DEPTH,
+                AnomalyDetectorSettings.BATCH_TASK_ENTITY_GROUP_SIZE,
+                AnomalyDetectorSettings.TOP_ENTITY_SEARCH_CONCURRENCY_FOR_HISTORICAL_ANALYSIS,
                 AnomalyDetectorSettings.MAX_OLD_AD_TASK_DOCS_PER_DETECTOR,
                 AnomalyDetectorSettings.BATCH_TASK_PIECE_SIZE,
                 AnomalyDetectorSettings.MAX_TOP_ENTITIES_FOR_HISTORICAL_ANALYSIS,
@@ -1563,8 +1668,10 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_CONCURRENCY,
                 AnomalyDetectorSettings.AD_CHECKPOINT_WRITE_QUEUE_CONCURRENCY,
                 AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_CONCURRENCY,
+                AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE,
                 AnomalyDetectorSettings.AD_RESULT_WRITE_QUEUE_CONCURRENCY,
                 AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_BATCH_SIZE,
+                AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM,
                 AnomalyDetectorSettings.AD_CHECKPOINT_WRITE_QUEUE_BATCH_SIZE,
                 AnomalyDetectorSettings.AD_RESULT_WRITE_QUEUE_BATCH_SIZE,
                 AnomalyDetectorSettings.AD_COLD_ENTITY_QUEUE_MAX_HEAP_PERCENT,
@@ -1586,6 +1693,10 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 AnomalyDetectorSettings.AD_PAGE_SIZE,
                 // clean resource
                 AnomalyDetectorSettings.DELETE_AD_RESULT_WHEN_DELETE_DETECTOR,
+                // result summary
+                AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS,
+                AnomalyDetectorSettings.RESULT_SUMMARY_WINDOW,
+                AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS,
                 // stats/profile API
                 AnomalyDetectorSettings.AD_MAX_MODEL_SIZE_PER_NODE,
                 // ======================================
@@ -1625,8 +1736,10 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_CONCURRENCY,
                 ForecastSettings.FORECAST_CHECKPOINT_WRITE_QUEUE_CONCURRENCY,
                 ForecastSettings.FORECAST_COLD_START_QUEUE_CONCURRENCY,
+                ForecastSettings.FORECAST_COLD_START_QUEUE_BATCH_SIZE,
                 ForecastSettings.FORECAST_RESULT_WRITE_QUEUE_CONCURRENCY,
                 ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_BATCH_SIZE,
+                ForecastSettings.FORECAST_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM,
                 ForecastSettings.FORECAST_CHECKPOINT_WRITE_QUEUE_BATCH_SIZE,
                 ForecastSettings.FORECAST_RESULT_WRITE_QUEUE_BATCH_SIZE,
                 ForecastSettings.FORECAST_COLD_ENTITY_QUEUE_MAX_HEAP_PERCENT,
@@ -1646,6 +1759,7 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 ForecastSettings.FORECAST_MAX_MODEL_SIZE_PER_NODE,
                 // clean resource
                 ForecastSettings.DELETE_FORECAST_RESULT_WHEN_DELETE_FORECASTER,
+                ForecastSettings.FORECAST_COMPACT_RESULT,
                 // ======================================
                 // Common settings
                 // ======================================
@@ -1654,7 +1768,12 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 TimeSeriesSettings.BACKOFF_MINUTES,
                 TimeSeriesSettings.COOLDOWN_MINUTES,
                 // tasks
-                TimeSeriesSettings.MAX_CACHED_DELETED_TASKS
+                TimeSeriesSettings.MAX_CACHED_DELETED_TASKS,
+                // checkpoint
+                TimeSeriesSettings.CHECKPOINT_COMPRESSION,
+                TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES,
+                // door keepers
+                TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE
             );
         return unmodifiableList(
             Stream
@@ -1698,6 +1817,7 @@ public class TimeSeriesAnalyticsPlugin extends Plugin
                 new ActionHandler<>(ThresholdResultAction.INSTANCE, ThresholdResultTransportAction.class),
                 new ActionHandler<>(AnomalyResultAction.INSTANCE, AnomalyResultTransportAction.class),
                 new ActionHandler<>(CronAction.INSTANCE, CronTransportAction.class),
+                new ActionHandler<>(InvalidateConfigAction.INSTANCE, InvalidateConfigTransportAction.class),
                 new ActionHandler<>(ADStatsNodesAction.INSTANCE, ADStatsNodesTransportAction.class),
                 new ActionHandler<>(ADProfileAction.INSTANCE, ADProfileTransportAction.class),
                 new ActionHandler<>(RCFPollingAction.INSTANCE, RCFPollingTransportAction.class),
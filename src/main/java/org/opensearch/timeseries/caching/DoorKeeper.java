@@ -11,70 +11,244 @@
 
 package org.opensearch.timeseries.caching;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.common.hash.MurmurHash3;
 import org.opensearch.timeseries.ExpiringState;
 import org.opensearch.timeseries.MaintenanceState;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.model.Entity;
 
 /**
- * A hashmap thats track the exact frequency of each element and reset regularly.
+ * A count-min sketch that tracks the approximate frequency of each element and
+ * resets regularly.
+ *
+ * Counters are 4 bits wide and packed 16 to a long. Each of the depth rows has
+ * width counters. An element maps to one counter per row and its frequency is
+ * the minimum of those counters, so the estimate can only be too high, never too
+ * low. Counters saturate at {@link #MAX_COUNT}.
+ *
+ * Once expectedInsertions updates have been made, all counters are halved
+ * (TinyLFU aging) instead of dropping the whole history. The table is also cleared
+ * every resetInterval.
+ *
+ * All operations are lock-free so that concurrent entity requests can share one
+ * instance. The table is allocated on the first put, so a config that never records
+ * anything costs no memory. It starts at the initial width and doubles whenever the
+ * number of distinct elements exceeds half of the width, up to the max width. Each old
+ * counter is copied to the two counters its elements map to after doubling, so
+ * estimates stay upper bounds. The table bytes are charged to the memory tracker if
+ * there is one, and released on reset and {@link #close()}.
  *
  * The name of door keeper derives from https://arxiv.org/abs/1512.00727
  *
  */
 public class DoorKeeper implements MaintenanceState, ExpiringState {
-    private final Logger LOG = LogManager.getLogger(DoorKeeper.class);
-    // stores entity's model id
+    private static final Logger LOG = LogManager.getLogger(DoorKeeper.class);
+
+    public static final int DEFAULT_DEPTH = 4;
+    // largest value a 4-bit counter holds
+    public static final int MAX_COUNT = 15;
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long HALF_MASK = 0x7777777777777777L;
+    // model Id suffix is the Base64 url encoding of a 128-bit hash: 22 characters without padding
+    private static final int ENCODED_HASH_LENGTH = 22;
+    private static final int[] BASE64_URL_VALUES = new int[128];
+    private static final int MAX_WIDTH = 1 << 30;
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = i;
+        }
+    }
+
+    /**
+     * Counter table of one width. Replaced as a whole when the sketch grows.
+     */
+    private static final class Sketch {
+        private final AtomicLongArray counters;
+        private final int width;
+        private final int wordsPerRow;
+
+        Sketch(int width, int depth) {
+            this.width = width;
+            this.wordsPerRow = width / COUNTERS_PER_WORD;
+            this.counters = new AtomicLongArray(depth * wordsPerRow);
+        }
+
+        long bytes() {
+            return (long) counters.length() * Long.BYTES;
+        }
+    }
+
+    // number of updates between two halvings
     private final long expectedInsertions;
-    private Map<String, Integer> frequencyMap;
-    private Instant lastMaintenanceTime;
+    private final int initialWidth;
+    private final int maxWidth;
+    private final int depth;
+    private final AtomicReference<Sketch> table;
+    private final AtomicLong additions;
+    // elements whose counters were all zero when they were put
+    private final AtomicLong distinct;
+    private final MemoryTracker memoryTracker;
+    private volatile boolean closed;
+    private volatile Instant lastMaintenanceTime;
     private final Duration resetInterval;
     private final Clock clock;
-    private Instant lastAccessTime;
+    private volatile Instant lastAccessTime;
     private final int countThreshold;
 
     public DoorKeeper(long expectedInsertions, Duration resetInterval, Clock clock, int countThreshold) {
-        this.expectedInsertions = expectedInsertions;
+        this(expectedInsertions, defaultWidth(expectedInsertions), DEFAULT_DEPTH, resetInterval, clock, countThreshold);
+    }
+
+    /**
+     * A sketch of a fixed width whose memory is not tracked.
+     *
+     * @param expectedInsertions number of updates after which counters are halved
+     * @param width counters per row. Rounded up to a power of two and at least 16.
+     * @param depth number of rows, i.e., hash functions
+     * @param resetInterval how often the whole sketch is cleared
+     * @param clock clock
+     * @param countThreshold frequency at which an element is considered seen enough. At most {@link #MAX_COUNT}.
+     */
+    public DoorKeeper(long expectedInsertions, int width, int depth, Duration resetInterval, Clock clock, int countThreshold) {
+        this(expectedInsertions, width, width, depth, resetInterval, clock, countThreshold, null);
+    }
+
+    /**
+     * @param expectedInsertions number of updates after which counters are halved
+     * @param initialWidth counters per row when the table is allocated. Rounded up to a power of two and at least 16.
+     * @param maxWidth counters per row the table grows to at most. Rounded up to a power of two and at least initialWidth.
+     * @param depth number of rows, i.e., hash functions
+     * @param resetInterval how often the whole sketch is cleared
+     * @param clock clock
+     * @param countThreshold frequency at which an element is considered seen enough. At most {@link #MAX_COUNT}.
+     * @param memoryTracker tracker charged with the table bytes. Null if the memory is not tracked.
+     */
+    public DoorKeeper(
+        long expectedInsertions,
+        int initialWidth,
+        int maxWidth,
+        int depth,
+        Duration resetInterval,
+        Clock clock,
+        int countThreshold,
+        MemoryTracker memoryTracker
+    ) {
+        if (countThreshold < 1 || countThreshold > MAX_COUNT) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "Count threshold [%d] must be between 1 and %d", countThreshold, MAX_COUNT)
+            );
+        }
+        if (initialWidth < 1 || initialWidth > MAX_WIDTH || maxWidth > MAX_WIDTH || depth < 1) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "Invalid sketch width [%d], max width [%d] or depth [%d]", initialWidth, maxWidth, depth)
+            );
+        }
+        this.expectedInsertions = Math.max(1, expectedInsertions);
+        this.initialWidth = Math.max(COUNTERS_PER_WORD, ceilingPowerOfTwo(initialWidth));
+        this.maxWidth = Math.max(this.initialWidth, ceilingPowerOfTwo(Math.max(1, maxWidth)));
+        this.depth = depth;
+        this.table = new AtomicReference<>();
+        this.additions = new AtomicLong();
+        this.distinct = new AtomicLong();
+        this.memoryTracker = memoryTracker;
         this.resetInterval = resetInterval;
         this.clock = clock;
         this.countThreshold = countThreshold;
         this.lastAccessTime = clock.instant();
-        maintenance();
+        this.lastMaintenanceTime = clock.instant();
     }
 
     public void put(String modelId) {
         this.lastAccessTime = clock.instant();
-        this.frequencyMap.put(modelId, this.frequencyMap.getOrDefault(modelId, 0) + 1);
-        if (frequencyMap.size() > expectedInsertions) {
-            reset();
+        Sketch sketch = table.get();
+        if (sketch == null) {
+            if (closed) {
+                return;
+            }
+            Sketch allocated = new Sketch(initialWidth, depth);
+            if (table.compareAndSet(null, allocated)) {
+                consumeMemory(allocated.bytes());
+                if (closed && table.compareAndSet(allocated, null)) {
+                    // closed while allocating
+                    releaseMemory(allocated);
+                    return;
+                }
+            }
+            sketch = table.get();
+            if (sketch == null) {
+                // reset or closed in between
+                return;
+            }
+        }
+
+        long[] hashes = hash(modelId);
+        int previous = MAX_COUNT;
+        for (int row = 0; row < depth; row++) {
+            previous = Math.min(previous, increment(sketch, row, index(sketch, hashes[0], hashes[1], row)));
+        }
+
+        if (previous == 0 && distinct.incrementAndGet() > sketch.width / 2 && sketch.width < maxWidth) {
+            grow(sketch);
+        }
+
+        if (additions.incrementAndGet() == expectedInsertions) {
+            halve(table.get());
+            // about half of the recorded mass remains
+            additions.addAndGet(expectedInsertions / 2 - expectedInsertions);
         }
     }
 
     /**
-     * We reset the bloom filter when bloom filter is null or it is state ttl is reached
+     * We reset the sketch when its state ttl is reached
      */
     @Override
     public void maintenance() {
-        if (frequencyMap == null || lastMaintenanceTime.plus(resetInterval).isBefore(clock.instant())) {
+        if (lastMaintenanceTime.plus(resetInterval).isBefore(clock.instant())) {
             LOG.debug("maintaining for doorkeeper");
             reset();
         }
     }
 
     private void reset() {
-        frequencyMap = new HashMap<>();
+        // the next put allocates a fresh table of the initial width
+        releaseMemory(table.getAndSet(null));
+        additions.set(0);
+        distinct.set(0);
         lastMaintenanceTime = clock.instant();
     }
 
+    /**
+     * Drop the table and release its memory. Called when the owner stops using this door keeper.
+     */
+    public void close() {
+        closed = true;
+        releaseMemory(table.getAndSet(null));
+    }
+
     public boolean appearsMoreThanOrEqualToThreshold(String item) {
         this.lastAccessTime = clock.instant();
-        return this.frequencyMap.getOrDefault(item, 0) >= countThreshold;
+        Sketch sketch = table.get();
+        if (sketch == null) {
+            return false;
+        }
+        long[] hashes = hash(item);
+        return estimate(sketch, hashes[0], hashes[1]) >= countThreshold;
     }
 
     @Override
@@ -82,4 +256,180 @@ public class DoorKeeper implements MaintenanceState, ExpiringState {
         // ignore stateTtl since we have customized resetInterval
         return expired(lastAccessTime, resetInterval, clock.instant());
     }
+
+    /**
+     * @return bytes used by the counter table, 0 if nothing has been recorded since the last reset
+     */
+    public long getTableBytes() {
+        Sketch sketch = table.get();
+        return sketch == null ? 0 : sketch.bytes();
+    }
+
+    /**
+     * @return counters per row of the current table, or of the next allocated one if there is none
+     */
+    public int getWidth() {
+        Sketch sketch = table.get();
+        return sketch == null ? initialWidth : sketch.width;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private int estimate(Sketch sketch, long h1, long h2) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < depth; row++) {
+            int index = index(sketch, h1, h2, row);
+            long word = sketch.counters.get(row * sketch.wordsPerRow + (index >>> 4));
+            min = Math.min(min, (int) ((word >>> ((index & 15) << 2)) & 0xFL));
+        }
+        return min;
+    }
+
+    /**
+     * Increment a counter unless it is saturated. Unlike a conservative update,
+     * concurrent increments of the same element are never lost.
+     *
+     * @return the counter before the increment
+     */
+    private int increment(Sketch sketch, int row, int index) {
+        AtomicLongArray counters = sketch.counters;
+        int wordIndex = row * sketch.wordsPerRow + (index >>> 4);
+        int shift = (index & 15) << 2;
+        while (true) {
+            long word = counters.get(wordIndex);
+            int count = (int) ((word >>> shift) & 0xFL);
+            if (count == MAX_COUNT) {
+                return count;
+            }
+            if (counters.compareAndSet(wordIndex, word, word + (1L << shift))) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Double the width. An element at index i of a row maps to i or i + width afterwards,
+     * so both get the old counter. Increments made on the old table while it is copied
+     * may be lost, which only makes the door keeper admit an element a little later.
+     */
+    private void grow(Sketch sketch) {
+        Sketch grown = new Sketch(sketch.width * 2, depth);
+        for (int row = 0; row < depth; row++) {
+            for (int word = 0; word < sketch.wordsPerRow; word++) {
+                long value = sketch.counters.get(row * sketch.wordsPerRow + word);
+                grown.counters.set(row * grown.wordsPerRow + word, value);
+                grown.counters.set(row * grown.wordsPerRow + sketch.wordsPerRow + word, value);
+            }
+        }
+        if (table.compareAndSet(sketch, grown)) {
+            consumeMemory(grown.bytes() - sketch.bytes());
+        }
+    }
+
+    private void halve(Sketch sketch) {
+        if (sketch == null) {
+            return;
+        }
+        AtomicLongArray counters = sketch.counters;
+        for (int i = 0; i < counters.length(); i++) {
+            while (true) {
+                long word = counters.get(i);
+                if (counters.compareAndSet(i, word, (word >>> 1) & HALF_MASK)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Double hashing (Kirsch and Mitzenmacher) derives one index per row from two 64-bit hashes.
+     */
+    private int index(Sketch sketch, long h1, long h2, int row) {
+        long combined = h1 + row * h2;
+        // spread high bits into the masked low bits
+        combined ^= combined >>> 32;
+        return (int) combined & (sketch.width - 1);
+    }
+
+    private void consumeMemory(long bytes) {
+        if (memoryTracker != null && bytes > 0) {
+            memoryTracker.consumeMemory(bytes, false, MemoryTracker.Origin.DOOR_KEEPER);
+        }
+    }
+
+    private void releaseMemory(Sketch sketch) {
+        if (memoryTracker != null && sketch != null) {
+            memoryTracker.releaseMemory(sketch.bytes(), false, MemoryTracker.Origin.DOOR_KEEPER);
+        }
+    }
+
+    /**
+     * Entity model Ids end with the Base64 url encoding of the 128-bit murmur3 hash
+     * of the entity's attributes (see {@link Entity#getModelId(String)}). Decode that
+     * instead of hashing the whole Id again. Fall back to murmur3 for other Ids.
+     *
+     * @param modelId model Id
+     * @return two 64-bit hashes
+     */
+    static long[] hash(String modelId) {
+        int start = modelId.length() - ENCODED_HASH_LENGTH;
+        if (start >= Entity.MODEL_ID_INFIX.length()
+            && modelId.startsWith(Entity.MODEL_ID_INFIX, start - Entity.MODEL_ID_INFIX.length())
+            && isBase64Url(modelId, start)) {
+            long h1 = decodeBase64Url(modelId, start, ENCODED_HASH_LENGTH / 2);
+            long h2 = decodeBase64Url(modelId, start + ENCODED_HASH_LENGTH / 2, ENCODED_HASH_LENGTH / 2);
+            // odd h2 keeps the indexes of different rows apart
+            return new long[] { h1, h2 | 1L };
+        }
+        byte[] bytes = modelId.getBytes(StandardCharsets.UTF_8);
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        return new long[] { hash.h1, hash.h2 | 1L };
+    }
+
+    private static boolean isBase64Url(String value, int start) {
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= BASE64_URL_VALUES.length || BASE64_URL_VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode 11 characters (66 bits) into a long. The top 2 bits are shifted out.
+     */
+    private static long decodeBase64Url(String value, int start, int chars) {
+        long bits = 0;
+        for (int i = start; i < start + chars; i++) {
+            bits = (bits << 6) | BASE64_URL_VALUES[value.charAt(i)];
+        }
+        return bits;
+    }
+
+    private static int defaultWidth(long expectedInsertions) {
+        return (int) Math.min(MAX_WIDTH, Math.max(COUNTERS_PER_WORD, expectedInsertions));
+    }
+
+    /**
+     * @param maxBytes bytes the table may use
+     * @param depth number of rows
+     * @return the largest power of two width whose table fits in maxBytes, at least 16
+     */
+    public static int widthForBytes(long maxBytes, int depth) {
+        // two 4-bit counters per byte
+        long counters = Math.min(MAX_WIDTH, maxBytes * 2 / Math.max(1, depth));
+        return Math.max(COUNTERS_PER_WORD, Integer.highestOneBit((int) Math.max(1, counters)));
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
 }
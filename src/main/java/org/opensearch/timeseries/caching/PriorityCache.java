@@ -43,6 +43,7 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.MemoryTracker.Origin;
@@ -86,6 +87,8 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
     // filter out unpopular items that are not likely to appear more
     // than once. Key is detector id
     private Map<String, DoorKeeper> doorKeepers;
+    // counters per row a door keeper grows to at most
+    private volatile int doorKeeperMaxWidth;
     private ThreadPool threadPool;
     private String threadPoolName;
     private Random random;
@@ -135,6 +138,7 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
         this.clock = clock;
         this.modelTtl = modelTtl;
         this.doorKeepers = new ConcurrentHashMap<>();
+        setDoorKeeperMaxSize(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE.get(settings));
 
         Duration inactiveEntityTtl = DateUtils.toDuration(checkpointTtl.get(settings));
 
@@ -171,12 +175,16 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
         if (!maintenanceLock.isLocked() && modelState == null) {
             if (isDoorKeeperInCacheEnabled()) {
                 DoorKeeper doorKeeper = doorKeepers.computeIfAbsent(configId, id -> {
-                    // reset every 60 intervals
+                    // reset every 60 intervals. Grows with the entities of the config.
                     return new DoorKeeper(
                         TimeSeriesSettings.DOOR_KEEPER_FOR_CACHE_MAX_INSERTION,
+                        TimeSeriesSettings.DOOR_KEEPER_INITIAL_WIDTH,
+                        doorKeeperMaxWidth,
+                        DoorKeeper.DEFAULT_DEPTH,
                         config.getIntervalDuration().multipliedBy(TimeSeriesSettings.EXPIRING_VALUE_MAINTENANCE_FREQ),
                         clock,
-                        TimeSeriesSettings.CACHE_DOOR_KEEPER_COUNT_THRESHOLD
+                        TimeSeriesSettings.CACHE_DOOR_KEEPER_COUNT_THRESHOLD,
+                        memoryTracker
                     );
                 });
 
@@ -654,6 +662,7 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
                 // doorKeeper has its own state ttl
                 if (doorKeeper.expired(null)) {
                     doorKeepers.remove(configId);
+                    doorKeeper.close();
                 } else {
                     doorKeeper.maintenance();
                 }
@@ -681,7 +690,10 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
         }
         priorityTrackerMap.remove(configId);
         checkpointDao.deleteModelCheckpointByConfigId(configId);
-        doorKeepers.remove(configId);
+        DoorKeeper doorKeeper = doorKeepers.remove(configId);
+        if (doorKeeper != null) {
+            doorKeeper.close();
+        }
         priorityTrackerMap.remove(configId);
     }
 
@@ -886,6 +898,13 @@ public abstract class PriorityCache<RCFModelType extends ThresholdedRandomCutFor
         activeEnities.values().stream().forEach(cacheBuffer -> cacheBuffer.setCheckpointIntervalHrs(checkpointIntervalHrs));
     }
 
+    /**
+     * @param maxSize largest table of the door keepers created from now on
+     */
+    public void setDoorKeeperMaxSize(ByteSizeValue maxSize) {
+        this.doorKeeperMaxWidth = DoorKeeper.widthForBytes(maxSize.getBytes(), DoorKeeper.DEFAULT_DEPTH);
+    }
+
     @Override
     public List<ModelProfile> getAllModelProfile(String detectorId) {
         CacheBufferType cacheBuffer = activeEnities.get(detectorId);
@@ -15,15 +15,17 @@ import java.time.Clock;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -56,48 +58,37 @@ import org.opensearch.timeseries.annotation.Generated;
  * List&#60;String&#62; top3 = tracker.getTopNEntities(3);
  * </pre>
  *
+ * Updates are frequent while minimum queries happen only when the cache is full
+ * or being cleared. An update is therefore a single CAS on the node's priority.
+ * The priority index keeps immutable snapshots that are lower bounds of the
+ * current priorities and is repaired lazily by minimum queries. Maximum and
+ * top-N queries scan the nodes.
+ *
  */
 public class PriorityTracker {
     private static final Logger LOG = LogManager.getLogger(PriorityTracker.class);
 
+    // Beyond this gap between the increment and the old priority, log(1 + e^{gap}) is below
+    // half an ulp of the old priority and the float sum does not change.
+    private static final float NEGLIGIBLE_INCREMENT_GAP = -24f;
+
     // data structure for an entity and its priority
     static class PriorityNode {
         // entity key
-        private String key;
-        // time-decayed priority
-        private float priority;
+        private final String key;
+        // time-decayed priority as float bits so that updates are a single CAS
+        private final AtomicInteger priorityBits;
+        // the entry representing this node in the priority index
+        private final AtomicReference<IndexEntry> indexed;
 
         PriorityNode(String key, float priority) {
-            this.priority = priority;
             this.key = key;
+            this.priorityBits = new AtomicInteger(Float.floatToIntBits(priority));
+            this.indexed = new AtomicReference<>();
         }
 
-        @Generated
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            if (obj instanceof PriorityNode) {
-                PriorityNode other = (PriorityNode) obj;
-
-                EqualsBuilder equalsBuilder = new EqualsBuilder();
-                equalsBuilder.append(key, other.key);
-                return equalsBuilder.isEquals();
-            }
-            return false;
-        }
-
-        @Generated
-        @Override
-        public int hashCode() {
-            return new HashCodeBuilder().append(key).toHashCode();
+        float getPriority() {
+            return Float.intBitsToFloat(priorityBits.get());
         }
 
         @Generated
@@ -105,40 +96,52 @@ public class PriorityTracker {
         public String toString() {
             ToStringBuilder builder = new ToStringBuilder(this);
             builder.append("key", key);
-            builder.append("priority", priority);
+            builder.append("priority", getPriority());
             return builder.toString();
         }
     }
 
-    // Comparator between two entities. Used to sort entities in a priority queue
-    static class PriorityNodeComparator implements Comparator<PriorityNode> {
+    /**
+     * An immutable snapshot of a node's priority at the time it was indexed.
+     * Since priority updates only increase a priority, the snapshot is a lower
+     * bound of the node's current priority.
+     */
+    static class IndexEntry {
+        private final String key;
+        private final float priority;
+        // breaks ties between entries of the same key and priority, e.g., left behind by a removed node
+        private final long sequence;
 
-        @Override
-        public int compare(PriorityNode priority, PriorityNode priority2) {
-            int equality = priority.key.compareTo(priority2.key);
-            if (equality == 0) {
-                // this is consistent with PriorityNode's equals method
-                return 0;
-            }
-            // if not equal, first check priority
-            int cmp = Float.compare(priority.priority, priority2.priority);
-            if (cmp == 0) {
-                // if priority is equal, use lexicographical order of key
-                cmp = equality;
-            }
-            return cmp;
+        IndexEntry(String key, float priority, long sequence) {
+            this.key = key;
+            this.priority = priority;
+            this.sequence = sequence;
         }
     }
 
+    // order by priority first, then lexicographical order of key
+    static final Comparator<IndexEntry> INDEX_ENTRY_COMPARATOR = Comparator
+        .<IndexEntry>comparingDouble(entry -> entry.priority)
+        .thenComparing(entry -> entry.key)
+        .thenComparingLong(entry -> entry.sequence);
+
+    // the same order on live nodes, used when every node has to be visited
+    static final Comparator<PriorityNode> NODE_COMPARATOR = Comparator
+        .<PriorityNode>comparingDouble(PriorityNode::getPriority)
+        .thenComparing(node -> node.key);
+
     // key -> Priority node
     private final ConcurrentHashMap<String, PriorityNode> key2Priority;
-    // when detector is created.  Can be reset.  Unit: seconds
+    // when detector is created.  Can be reset.  Unit: seconds
     private long landmarkEpoch;
-    // a list of priority nodes
-    private final ConcurrentSkipListSet<PriorityNode> priorityList;
+    // Lazily maintained index ordered by priority. Updates only change a node's priority;
+    // the node's entry is repositioned when a minimum query finds it stale. Entries of
+    // removed or replaced nodes are dropped the same way.
+    private final ConcurrentSkipListSet<IndexEntry> priorityIndex;
+    private final AtomicLong indexSequence;
     // Used to get current time.
     private final Clock clock;
-    // length of seconds in one interval.  Used to compute elapsed periods
+    // length of seconds in one interval.  Used to compute elapsed periods
     // since the detector has been enabled.
     private final long intervalSecs;
     // determines how fast the decay is
@@ -164,7 +167,8 @@ public class PriorityTracker {
         this.clock = clock;
         this.intervalSecs = intervalSecs;
         this.landmarkEpoch = landmarkEpoch;
-        this.priorityList = new ConcurrentSkipListSet<>(new PriorityNodeComparator());
+        this.priorityIndex = new ConcurrentSkipListSet<>(INDEX_ENTRY_COMPARATOR);
+        this.indexSequence = new AtomicLong();
         this.DECAY_CONSTANT = 3;
         this.maxEntities = maxEntities;
     }
@@ -176,10 +180,10 @@ public class PriorityTracker {
      *  if the priority list is empty
      */
     public Optional<Entry<String, Float>> getMinimumScaledPriority() {
-        if (priorityList.isEmpty()) {
+        IndexEntry smallest = findMinimum();
+        if (smallest == null) {
             return Optional.empty();
         }
-        PriorityNode smallest = priorityList.first();
         return Optional.of(new SimpleImmutableEntry<>(smallest.key, getScaledPriority(smallest.priority)));
     }
 
@@ -190,10 +194,10 @@ public class PriorityTracker {
      *  if the priority list is empty
      */
     public Optional<Entry<String, Float>> getMinimumPriority() {
-        if (priorityList.isEmpty()) {
+        IndexEntry smallest = findMinimum();
+        if (smallest == null) {
             return Optional.empty();
         }
-        PriorityNode smallest = priorityList.first();
         return Optional.of(new SimpleImmutableEntry<>(smallest.key, smallest.priority));
     }
 
@@ -203,10 +207,7 @@ public class PriorityTracker {
      *  if the priority list is empty
      */
     public Optional<String> getMinimumPriorityEntityId() {
-        if (priorityList.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(priorityList).map(list -> list.first()).map(node -> node.key);
+        return Optional.ofNullable(findMinimum()).map(entry -> entry.key);
     }
 
     /**
@@ -214,15 +215,8 @@ public class PriorityTracker {
     * @return Get maximum priority entity's Id
     */
     public Optional<String> getHighestPriorityEntityId() {
-        // Start debugging
-        if (priorityList.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // If not empty, grab the last node
-        String key = priorityList.last().key;
-
-        return Optional.of(key);
+        // maximum queries are rare; scan the live nodes instead of keeping a second order
+        return key2Priority.values().stream().max(NODE_COMPARATOR).map(node -> node.key);
     }
 
     /**
@@ -231,14 +225,28 @@ public class PriorityTracker {
      * @return the updated priority
      */
     public float updatePriority(String entityId) {
-        PriorityNode node = key2Priority.computeIfAbsent(entityId, k -> new PriorityNode(entityId, 0f));
-        // reposition this node
-        this.priorityList.remove(node);
-        node.priority = getUpdatedPriority(node.priority);
-        this.priorityList.add(node);
+        PriorityNode node = key2Priority.get(entityId);
+        if (node == null) {
+            node = key2Priority.computeIfAbsent(entityId, k -> new PriorityNode(entityId, 0f));
+            // a concurrent update may have indexed it already
+            if (node.indexed.get() == null) {
+                reindex(node, null);
+            }
+        }
 
-        adjustSizeIfRequired();
-        return node.priority;
+        while (true) {
+            int oldBits = node.priorityBits.get();
+            float oldPriority = Float.intBitsToFloat(oldBits);
+            float newPriority = getUpdatedPriority(oldPriority);
+            if (node.priorityBits.compareAndSet(oldBits, Float.floatToIntBits(newPriority))) {
+                if (newPriority < oldPriority) {
+                    // overflow reset the priority; the indexed lower bound no longer holds
+                    reindex(node, node.indexed.get());
+                }
+                adjustSizeIfRequired();
+                return newPriority;
+            }
+        }
     }
 
     /**
@@ -248,8 +256,11 @@ public class PriorityTracker {
      */
     public void addPriority(String entityId, float priority) {
         PriorityNode node = new PriorityNode(entityId, priority);
-        key2Priority.put(entityId, node);
-        priorityList.add(node);
+        PriorityNode previous = key2Priority.put(entityId, node);
+        if (previous != null) {
+            removeEntry(previous.indexed.get());
+        }
+        reindex(node, null);
 
         adjustSizeIfRequired();
     }
@@ -271,9 +282,10 @@ public class PriorityTracker {
      * @param entityId Entity Id
      */
     public void removePriority(String entityId) {
-        // remove if the key matches; priority does not matter
-        priorityList.remove(new PriorityNode(entityId, 0));
-        key2Priority.remove(entityId);
+        PriorityNode node = key2Priority.remove(entityId);
+        if (node != null) {
+            removeEntry(node.indexed.get());
+        }
     }
 
     /**
@@ -281,7 +293,53 @@ public class PriorityTracker {
      */
     public void clearPriority() {
         key2Priority.clear();
-        priorityList.clear();
+        priorityIndex.clear();
+    }
+
+    /**
+     * Find the entry of the minimum priority node. Entries are lower bounds of their
+     * nodes' priorities, so the first entry whose snapshot is current is the minimum.
+     * Stale entries met on the way are repositioned and obsolete ones dropped.
+     *
+     * @return the minimum entry or null if no entity is tracked
+     */
+    private IndexEntry findMinimum() {
+        while (true) {
+            IndexEntry first;
+            try {
+                first = priorityIndex.first();
+            } catch (NoSuchElementException e) {
+                return null;
+            }
+            PriorityNode node = key2Priority.get(first.key);
+            if (node == null || node.indexed.get() != first) {
+                // left behind by a removed or replaced node, or already repositioned
+                priorityIndex.remove(first);
+            } else if (Float.floatToIntBits(first.priority) != node.priorityBits.get()) {
+                reindex(node, first);
+            } else {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Replace a node's index entry with a snapshot of its current priority.
+     * @param node the node
+     * @param expected the entry to replace. Nothing happens if another thread replaced it first.
+     */
+    private void reindex(PriorityNode node, IndexEntry expected) {
+        IndexEntry fresh = new IndexEntry(node.key, node.getPriority(), indexSequence.incrementAndGet());
+        if (node.indexed.compareAndSet(expected, fresh)) {
+            priorityIndex.add(fresh);
+            removeEntry(expected);
+        }
+    }
+
+    private void removeEntry(IndexEntry entry) {
+        if (entry != null) {
+            priorityIndex.remove(entry);
+        }
     }
 
     /**
@@ -304,7 +362,11 @@ public class PriorityTracker {
      */
     public float getUpdatedPriority(float oldPriority) {
         long increment = computeWeightedPriorityIncrement();
-        oldPriority += Math.log(1 + Math.exp(increment - oldPriority));
+        float gap = increment - oldPriority;
+        if (gap < NEGLIGIBLE_INCREMENT_GAP) {
+            return oldPriority;
+        }
+        oldPriority += Math.log(1 + Math.exp(gap));
         // if overflow happens, using the most recent decayed count instead.
         if (oldPriority == Float.POSITIVE_INFINITY) {
             oldPriority = increment;
@@ -351,10 +413,22 @@ public class PriorityTracker {
      * @return top entities in the descending order of priority
      */
     public List<String> getTopNEntities(int n) {
-        List<String> entities = new ArrayList<>();
-        Iterator<PriorityNode> entityIterator = priorityList.descendingIterator();
-        for (int i = 0; i < n && entityIterator.hasNext(); i++) {
-            entities.add(entityIterator.next().key);
+        if (n <= 0) {
+            return new ArrayList<>();
+        }
+        // top queries are rare; keep snapshots of the n largest live nodes in a min-heap
+        PriorityQueue<IndexEntry> top = new PriorityQueue<>(INDEX_ENTRY_COMPARATOR);
+        for (PriorityNode node : key2Priority.values()) {
+            top.offer(new IndexEntry(node.key, node.getPriority(), 0));
+            if (top.size() > n) {
+                top.poll();
+            }
+        }
+        List<IndexEntry> snapshots = new ArrayList<>(top);
+        snapshots.sort(INDEX_ENTRY_COMPARATOR.reversed());
+        List<String> entities = new ArrayList<>(snapshots.size());
+        for (IndexEntry snapshot : snapshots) {
+            entities.add(snapshot.key);
         }
         return entities;
     }
@@ -18,6 +18,9 @@ import static org.opensearch.ad.settings.AnomalyDetectorSettings.AD_COOLDOWN_MIN
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +54,7 @@ import org.opensearch.plugins.PluginInfo;
 import org.opensearch.timeseries.common.exception.TimeSeriesException;
 import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.ml.SingleStreamModelIdMapper;
+import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.util.DiscoveryNodeFilterer;
 import org.opensearch.transport.client.AdminClient;
 import org.opensearch.transport.client.Client;
@@ -86,7 +90,9 @@ public class HashRing {
     private volatile TimeValue coolDownPeriodForRealtimeAD;
     // This field records time series version hash ring with cooldown period. Realtime job will use this hash ring.
     // Key: time series version; Value: hash ring which only contains eligible data nodes
-    private TreeMap<Version, TreeMap<Integer, DiscoveryNode>> circlesForRealtimeAD;
+    // Readers look up owners on every realtime run, so the map and its snapshots are immutable
+    // and replaced as a whole when the hash ring is rebuilt.
+    private volatile Map<Version, HashRingSnapshot> circlesForRealtimeAD;
 
     // Record node change event. Will check if there is node change event when rebuild AD hash ring with
     // cooldown for realtime job.
@@ -120,7 +126,7 @@ public class HashRing {
         this.dataMigrator = dataMigrator;
         this.nodeVersions = new ConcurrentHashMap<>();
         this.circles = new TreeMap<>();
-        this.circlesForRealtimeAD = new TreeMap<>();
+        this.circlesForRealtimeAD = Collections.emptyMap();
         this.hashRingInited = new AtomicBoolean(false);
         this.nodeChangeEvents = new ConcurrentLinkedQueue<>();
         this.modelManager = modelManager;
@@ -343,11 +349,11 @@ public class HashRing {
         if (eligibleToRebuildCirclesForRealtimeAD()) {
             LOG.info("Rebuild hash ring for realtime with cooldown, nodeChangeEvents size {}", nodeChangeEvents.size());
             int size = nodeChangeEvents.size();
-            TreeMap<Version, TreeMap<Integer, DiscoveryNode>> newCircles = new TreeMap<>();
+            TreeMap<Version, HashRingSnapshot> newCircles = new TreeMap<>();
             for (Map.Entry<Version, TreeMap<Integer, DiscoveryNode>> entry : circles.entrySet()) {
-                newCircles.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+                newCircles.put(entry.getKey(), HashRingSnapshot.of(entry.getValue()));
             }
-            circlesForRealtimeAD = newCircles;
+            circlesForRealtimeAD = Collections.unmodifiableMap(newCircles);
             lastUpdateForRealtimeAD = clock.millis();
             LOG.info("Build version hash ring successfully");
             String localNodeId = clusterService.localNode().getId();
@@ -454,9 +460,7 @@ public class HashRing {
 
     public Optional<DiscoveryNode> getOwningNodeWithSameLocalVersionForRealtime(String modelId) {
         try {
-            DiscoveryNode localNode = clusterService.localNode();
-            Version version = nodeVersions.containsKey(localNode.getId()) ? getVersion(localNode.getId()) : Version.CURRENT;
-            Optional<DiscoveryNode> owningNode = getOwningNodeWithSameVersionDirectly(modelId, version, true);
+            Optional<DiscoveryNode> owningNode = getOwningNodeWithSameVersionDirectly(modelId, getLocalVersion(), true);
             // rebuild hash ring
             buildCirclesForRealtime();
             return owningNode;
@@ -466,9 +470,42 @@ public class HashRing {
         }
     }
 
+    /**
+     * Group entities by their owning node in the realtime hash ring of the local version.
+     * Each entity is hashed once and all lookups use the same snapshot. The hash ring
+     * rebuild check runs once per call instead of once per entity.
+     *
+     * @param entities entities to route
+     * @return owning node to its entities. Entities without an owning node are left out.
+     */
+    public Map<DiscoveryNode, List<Entity>> route(Collection<Entity> entities) {
+        Map<DiscoveryNode, List<Entity>> routes = new HashMap<>();
+        HashRingSnapshot snapshot = circlesForRealtimeAD.get(getLocalVersion());
+        if (snapshot != null) {
+            for (Entity entity : entities) {
+                DiscoveryNode owningNode = snapshot.getOwningNode(Murmur3HashFunction.hash(entity.toString()));
+                if (owningNode != null) {
+                    routes.computeIfAbsent(owningNode, k -> new ArrayList<>()).add(entity);
+                }
+            }
+        }
+        // rebuild hash ring
+        buildCirclesForRealtime();
+        return routes;
+    }
+
+    private Version getLocalVersion() {
+        DiscoveryNode localNode = clusterService.localNode();
+        return nodeVersions.containsKey(localNode.getId()) ? getVersion(localNode.getId()) : Version.CURRENT;
+    }
+
     private Optional<DiscoveryNode> getOwningNodeWithSameVersionDirectly(String modelId, Version version, boolean forRealtime) {
         int modelHash = Murmur3HashFunction.hash(modelId);
-        TreeMap<Integer, DiscoveryNode> versionCircle = forRealtime ? circlesForRealtimeAD.get(version) : circles.get(version);
+        if (forRealtime) {
+            HashRingSnapshot snapshot = circlesForRealtimeAD.get(version);
+            return snapshot == null ? Optional.empty() : Optional.ofNullable(snapshot.getOwningNode(modelHash));
+        }
+        TreeMap<Integer, DiscoveryNode> versionCircle = circles.get(version);
         if (versionCircle != null) {
             Map.Entry<Integer, DiscoveryNode> entry = versionCircle.higherEntry(modelHash);
             return Optional.ofNullable(Optional.ofNullable(entry).orElse(versionCircle.firstEntry())).map(x -> x.getValue());
@@ -499,7 +536,11 @@ public class HashRing {
     }
 
     public Set<DiscoveryNode> getNodesWithSameVersion(Version version, boolean forRealtime) {
-        TreeMap<Integer, DiscoveryNode> circle = forRealtime ? circlesForRealtimeAD.get(version) : circles.get(version);
+        if (forRealtime) {
+            HashRingSnapshot snapshot = circlesForRealtimeAD.get(version);
+            return snapshot == null ? new HashSet<>() : new HashSet<>(snapshot.getNodes());
+        }
+        TreeMap<Integer, DiscoveryNode> circle = circles.get(version);
         Set<String> nodeIds = new HashSet<>();
         Set<DiscoveryNode> nodes = new HashSet<>();
         if (circle == null) {
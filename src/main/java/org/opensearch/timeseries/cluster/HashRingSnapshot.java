@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.cluster;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.opensearch.cluster.node.DiscoveryNode;
+
+/**
+ * Immutable copy of a version circle. Virtual node hashes are kept in a sorted
+ * array next to a parallel array of their nodes, so a lookup is a binary search
+ * over primitives. HashRing publishes a new snapshot when membership changes
+ * instead of mutating the one readers use.
+ */
+final class HashRingSnapshot {
+    private final int[] hashes;
+    private final DiscoveryNode[] owners;
+    private final Set<DiscoveryNode> nodes;
+
+    private HashRingSnapshot(int[] hashes, DiscoveryNode[] owners, Set<DiscoveryNode> nodes) {
+        this.hashes = hashes;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @param circle virtual node hash to node, sorted by hash
+     * @return snapshot of the circle
+     */
+    static HashRingSnapshot of(SortedMap<Integer, DiscoveryNode> circle) {
+        int[] hashes = new int[circle.size()];
+        DiscoveryNode[] owners = new DiscoveryNode[circle.size()];
+        Set<DiscoveryNode> nodes = new LinkedHashSet<>();
+        int i = 0;
+        for (Map.Entry<Integer, DiscoveryNode> entry : circle.entrySet()) {
+            hashes[i] = entry.getKey();
+            owners[i] = entry.getValue();
+            nodes.add(entry.getValue());
+            i++;
+        }
+        return new HashRingSnapshot(hashes, owners, Collections.unmodifiableSet(nodes));
+    }
+
+    /**
+     * Same as TreeMap.higherEntry with wrap-around: the owner is the first virtual
+     * node whose hash is strictly greater than the given hash.
+     *
+     * @param hash hash of a model id or entity
+     * @return owning node, or null if the circle is empty
+     */
+    DiscoveryNode getOwningNode(int hash) {
+        if (hashes.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(hashes, hash);
+        // hashes are distinct, so an exact match's successor is the next slot
+        index = index >= 0 ? index + 1 : -index - 1;
+        return owners[index == hashes.length ? 0 : index];
+    }
+
+    Set<DiscoveryNode> getNodes() {
+        return nodes;
+    }
+
+    int size() {
+        return hashes.length;
+    }
+}
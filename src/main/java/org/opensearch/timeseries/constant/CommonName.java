@@ -75,6 +75,16 @@ public class CommonName {
     public static final String ENTITY_SAMPLE = "sp";
     // current key for entity samples
     public static final String SAMPLE_QUEUE = "samples";
+    // versioned, compressed model bytes in checkpoint. See CheckpointCodec.
+    public static final String FIELD_MODEL_BINARY = "model_binary";
+    public static final String FIELD_MODEL_RAW_BYTES = "model_raw_bytes";
+    public static final String FIELD_MODEL_COMPRESSED_BYTES = "model_compressed_bytes";
+    // samples processed since the saved model, replayed onto it when restoring
+    public static final String FIELD_MODEL_DELTA = "model_delta";
+    // random version of the saved model, new with every full checkpoint
+    public static final String FIELD_MODEL_VERSION = "model_version";
+    // model version the delta applies to. A delta is only replayed onto that model.
+    public static final String FIELD_MODEL_DELTA_BASE = "model_delta_base";
 
     // ======================================
     // Profile name
@@ -258,7 +258,7 @@ public class CompositeRetriever extends AbstractRetriever {
          *  ** a map of composite keys to its values.  The values are arranged
          *    according to the order of anomalyDetector.getEnabledFeatureIds().
          */
-        private Page analyzePage(SearchResponse response) {
+        Page analyzePage(SearchResponse response) {
             Optional<CompositeAggregation> compositeOptional = getComposite(response);
 
             if (false == compositeOptional.isPresent()) {
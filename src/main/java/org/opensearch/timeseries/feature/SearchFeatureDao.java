@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -638,6 +639,97 @@ public class SearchFeatureDao extends AbstractRetriever {
             );
     }
 
+    /**
+     * Get data points of a group of entities for a time range with one paginated composite query.
+     * Entities without any document in the range are absent from the returned map.
+     *
+     * @param detector detector accessor
+     * @param entities entities of the group
+     * @param startTime start time of the range, inclusive
+     * @param endTime end time of the range, exclusive
+     * @param listener listener to return a map from entity to its data points keyed by interval start time
+     * @throws IOException if a user gives wrong query input when defining a detector
+     */
+    public void getFeaturesForPeriodByEntities(
+        AnomalyDetector detector,
+        Collection<Entity> entities,
+        long startTime,
+        long endTime,
+        ActionListener<Map<Entity, Map<Long, Optional<double[]>>>> listener
+    ) throws IOException {
+        SearchSourceBuilder searchSourceBuilder = ParseUtils
+            .batchFeatureQueryByEntities(detector, entities, startTime, endTime, xContent);
+        logger.debug("Batch query of {} entities for detector {}: {} ", entities.size(), detector.getId(), searchSourceBuilder);
+        new EntityFeaturesListener(detector, searchSourceBuilder, listener).search();
+    }
+
+    class EntityFeaturesListener implements ActionListener<SearchResponse> {
+        private final AnomalyDetector detector;
+        private final SearchSourceBuilder searchSourceBuilder;
+        private final ActionListener<Map<Entity, Map<Long, Optional<double[]>>>> listener;
+        private final Map<Entity, Map<Long, Optional<double[]>>> dataPoints;
+
+        EntityFeaturesListener(
+            AnomalyDetector detector,
+            SearchSourceBuilder searchSourceBuilder,
+            ActionListener<Map<Entity, Map<Long, Optional<double[]>>>> listener
+        ) {
+            this.detector = detector;
+            this.searchSourceBuilder = searchSourceBuilder;
+            this.listener = listener;
+            this.dataPoints = new HashMap<>();
+        }
+
+        void search() {
+            // inject user role while searching.
+            clientUtil
+                .<SearchRequest, SearchResponse>asyncRequestWithInjectedSecurity(
+                    new SearchRequest(detector.getIndices().toArray(new String[0])).source(searchSourceBuilder),
+                    client::search,
+                    detector.getId(),
+                    client,
+                    AnalysisType.AD,
+                    this
+                );
+        }
+
+        @Override
+        public void onResponse(SearchResponse response) {
+            try {
+                Aggregations aggs = response.getAggregations();
+                if (aggs == null || false == aggs.get(CommonName.FEATURE_AGGS) instanceof CompositeAggregation) {
+                    logger.warn("Unexpected batch feature response");
+                    listener.onResponse(dataPoints);
+                    return;
+                }
+                CompositeAggregation compositeAgg = aggs.get(CommonName.FEATURE_AGGS);
+                List<String> featureIds = detector.getEnabledFeatureIds();
+                for (CompositeAggregation.Bucket bucket : compositeAgg.getBuckets()) {
+                    Map<String, Object> key = new HashMap<>(bucket.getKey());
+                    Long intervalStart = (Long) key.remove(CommonName.DATE_HISTOGRAM);
+                    dataPoints
+                        .computeIfAbsent(Entity.createEntityByReordering(key), k -> new HashMap<>())
+                        .put(intervalStart, parseAggregations(Optional.ofNullable(bucket.getAggregations()), featureIds, true));
+                }
+                Map<String, Object> afterKey = compositeAgg.afterKey();
+                if (afterKey == null || compositeAgg.getBuckets().isEmpty()) {
+                    listener.onResponse(dataPoints);
+                } else {
+                    updateSourceAfterKey(afterKey, searchSourceBuilder);
+                    search();
+                }
+            } catch (Exception e) {
+                onFailure(e);
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            logger.error("Fail to get batch features of detector " + detector.getId(), e);
+            listener.onFailure(e);
+        }
+    }
+
     private Map<Long, Optional<double[]>> parseBucketAggregationResponse(
         SearchResponse response,
         List<String> featureIds,
@@ -789,6 +881,83 @@ public class SearchFeatureDao extends AbstractRetriever {
             );
     }
 
+    /**
+     * Get cold start samples of multiple entities of the same config with one search.
+     * Each entity's samples are parsed the same way as {@link #getColdStartSamplesForPeriods}.
+     * Entities without any document in the ranges are absent from the returned map.
+     *
+     * @param config config accessor
+     * @param ranges sample ranges in ascending order
+     * @param entities entities to fetch samples for
+     * @param includesEmptyBucket whether to keep buckets without documents
+     * @param context analysis type
+     * @param listener listener to return a map from entity to its samples in ascending order of time
+     */
+    public void getColdStartSamplesForPeriodsByEntities(
+        Config config,
+        List<Entry<Long, Long>> ranges,
+        List<Entity> entities,
+        boolean includesEmptyBucket,
+        AnalysisType context,
+        ActionListener<Map<Entity, List<Optional<double[]>>>> listener
+    ) {
+        SearchRequest request;
+        try {
+            SearchSourceBuilder searchSourceBuilder = ParseUtils.generateBatchColdStartQuery(config, ranges, entities, xContent);
+            request = new SearchRequest(config.getIndices().toArray(new String[0]), searchSourceBuilder);
+        } catch (IOException e) {
+            logger.warn("Failed to create batch cold start feature search request for " + config.getId(), e);
+            listener.onFailure(new IllegalStateException(e));
+            return;
+        }
+
+        final ActionListener<SearchResponse> searchResponseListener = ActionListener.wrap(response -> {
+            listener.onResponse(parseBatchColdStartSampleResp(response, includesEmptyBucket, config));
+        }, listener::onFailure);
+
+        // inject user role while searching.
+        clientUtil
+            .<SearchRequest, SearchResponse>asyncRequestWithInjectedSecurity(
+                request,
+                client::search,
+                config.getId(),
+                client,
+                context,
+                searchResponseListener
+            );
+    }
+
+    private Map<Entity, List<Optional<double[]>>> parseBatchColdStartSampleResp(
+        SearchResponse response,
+        boolean includesEmptyBucket,
+        Config config
+    ) {
+        Map<Entity, List<Optional<double[]>>> samples = new HashMap<>();
+        Aggregations aggs = response.getAggregations();
+        if (aggs == null) {
+            logger.warn("Unexpected empty response");
+            return samples;
+        }
+
+        Aggregation entityAgg = aggs.get(ParseUtils.BATCH_COLD_START_AGG_NAME);
+        if (false == entityAgg instanceof CompositeAggregation) {
+            logger.warn("Unexpected batch cold start response");
+            return samples;
+        }
+
+        for (CompositeAggregation.Bucket bucket : ((CompositeAggregation) entityAgg).getBuckets()) {
+            if (bucket.getKey() == null || bucket.getAggregations() == null) {
+                continue;
+            }
+            samples
+                .put(
+                    Entity.createEntityByReordering(bucket.getKey()),
+                    parseColdStartSamples(bucket.getAggregations(), includesEmptyBucket, config)
+                );
+        }
+        return samples;
+    }
+
     /**
      * Parses the response from a search query for cold start samples, extracting and processing
      * the relevant buckets to obtain their parsed values.
@@ -816,6 +985,10 @@ public class SearchFeatureDao extends AbstractRetriever {
             return Collections.emptyList();
         }
 
+        return parseColdStartSamples(aggs, includesEmptyBucket, config);
+    }
+
+    private List<Optional<double[]>> parseColdStartSamples(Aggregations aggs, boolean includesEmptyBucket, Config config) {
         long docCountThreshold = includesEmptyBucket ? -1 : 0;
 
         // Extract buckets and order by from_as_string. Currently by default it is ascending. Better not to assume it.
@@ -953,6 +1126,18 @@ public class SearchFeatureDao extends AbstractRetriever {
      *         above the document-count threshold
      */
     public int countContinuousShinglesFromDateRangeSearch(SearchResponse response, Config config) {
+        return countContinuousShinglesFromDateRangeAggregations(response.getAggregations(), config);
+    }
+
+    /**
+     * Same as {@link #countContinuousShinglesFromDateRangeSearch(SearchResponse, Config)}, for
+     * aggregations nested in a bucket of a larger search.
+     *
+     * @param aggs aggregations holding the date range aggregation
+     * @param config configuration
+     * @return the number of overlapping shingles whose buckets are all non-empty
+     */
+    public int countContinuousShinglesFromDateRangeAggregations(Aggregations aggs, Config config) {
         /*
          Example response when feature has no filter:
         {
@@ -999,7 +1184,6 @@ public class SearchFeatureDao extends AbstractRetriever {
                     }
                 },
         */
-        Aggregations aggs = response.getAggregations();
         if (aggs == null) {
             logger.warn("Unexpected empty response");
             return 0;
@@ -1052,7 +1236,10 @@ public class SearchFeatureDao extends AbstractRetriever {
     }
 
     public int countContinuousShinglesFromHistogramSearch(SearchResponse response, Config config, boolean includesEmptyBucket) {
-        Aggregations aggs = response.getAggregations();
+        return countContinuousShinglesFromHistogramAggregations(response.getAggregations(), config, includesEmptyBucket);
+    }
+
+    public int countContinuousShinglesFromHistogramAggregations(Aggregations aggs, Config config, boolean includesEmptyBucket) {
         if (aggs == null) {
             logger.warn("Unexpected empty response");
             return 0;
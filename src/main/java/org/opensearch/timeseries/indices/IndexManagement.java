@@ -17,6 +17,7 @@ import static org.opensearch.timeseries.util.RestHandlerUtils.createXContentPars
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -140,6 +141,8 @@ public abstract class IndexManagement<IndexType extends Enum<IndexType> & TimeSe
     protected String customResultIndexPrefix;
     private final ObjectMapper objectMapper = new ObjectMapper();
     protected String configIndexName;
+    // custom result indices validated by scheduled job runs
+    private final ResultIndexValidationCache resultIndexValidationCache;
 
     protected class IndexState {
         // keep track of whether the mapping version is up-to-date
@@ -180,6 +183,8 @@ public abstract class IndexManagement<IndexType extends Enum<IndexType> & TimeSe
         this.clusterService = clusterService;
         this.threadPool = threadPool;
         this.clusterService.addLocalNodeClusterManagerListener(this);
+        this.resultIndexValidationCache = new ResultIndexValidationCache(Clock.systemUTC());
+        this.clusterService.addListener(resultIndexValidationCache);
         this.nodeFilter = nodeFilter;
         this.settings = Settings.builder().put(IndexMetadata.SETTING_INDEX_HIDDEN, true).build();
         this.maxUpdateRunningTimes = maxUpdateRunningTimes;
@@ -1084,9 +1089,25 @@ public abstract class IndexManagement<IndexType extends Enum<IndexType> & TimeSe
                 }
             }));
         } else {
+            // skip revalidation while the concrete index and its mapping are unchanged
+            IndexMetadata resultIndex = ResultIndexValidationCache.resolve(clusterService.state().metadata(), resultIndexOrAlias);
+            if (resultIndex != null && resultIndexValidationCache.isValidated(resultIndex, user, roles)) {
+                try {
+                    function.execute();
+                } catch (Exception e) {
+                    logger.error("Failed to run backend job " + securityLogId, e);
+                    listener.onFailure(e);
+                }
+                return;
+            }
             validateResultIndexMapping(resultIndexOrAlias, ActionListener.wrap(validMapping -> {
                 if (validMapping) {
-                    executeOnCustomIndex(resultIndexOrAlias, securityLogId, user, roles, function, listener);
+                    executeOnCustomIndex(resultIndexOrAlias, securityLogId, user, roles, () -> {
+                        if (resultIndex != null) {
+                            resultIndexValidationCache.putValidated(resultIndex, user, roles);
+                        }
+                        function.execute();
+                    }, listener);
                 } else {
                     listener.onFailure(new EndRunException("Result index mapping is not correct", true));
                 }
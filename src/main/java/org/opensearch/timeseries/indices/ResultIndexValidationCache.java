@@ -0,0 +1,135 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.indices;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+
+/**
+ * Remembers custom result indices that passed the validation of a scheduled job run: the
+ * mapping check and the dummy result write of a user. Validations are keyed by the UUID
+ * and mapping version of the concrete index, so a job run skips revalidation until the
+ * index is replaced or its mapping changes. Entries of changed or deleted indices are
+ * dropped on cluster state changes.
+ *
+ * The dummy write verifies the user's write permission, which can change without any
+ * cluster state change, so a user's validation also expires after {@link #EXPIRATION}.
+ */
+class ResultIndexValidationCache implements ClusterStateListener {
+    private static final Logger logger = LogManager.getLogger(ResultIndexValidationCache.class);
+
+    static final Duration EXPIRATION = Duration.ofHours(1);
+
+    private final Clock clock;
+    // concrete index UUID -> validation
+    private final Map<String, Validation> validations;
+
+    ResultIndexValidationCache(Clock clock) {
+        this.clock = clock;
+        this.validations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Resolve the index that receives results of an index or alias from the local cluster state.
+     *
+     * @param metadata cluster metadata
+     * @param resultIndexOrAlias result index name or alias
+     * @return metadata of the concrete index, or null if it cannot be resolved locally
+     */
+    static IndexMetadata resolve(Metadata metadata, String resultIndexOrAlias) {
+        IndexAbstraction indexAbstraction = metadata.getIndicesLookup().get(resultIndexOrAlias);
+        if (indexAbstraction == null) {
+            return null;
+        }
+        if (indexAbstraction.getWriteIndex() != null) {
+            return indexAbstraction.getWriteIndex();
+        }
+        List<IndexMetadata> indices = indexAbstraction.getIndices();
+        return indices.size() == 1 ? indices.get(0) : null;
+    }
+
+    /**
+     * @param index concrete result index
+     * @param user user name
+     * @param roles user roles
+     * @return whether the index passed the validation of the user with its current mapping
+     */
+    boolean isValidated(IndexMetadata index, String user, List<String> roles) {
+        Validation validation = validations.get(index.getIndexUUID());
+        if (validation == null || validation.mappingVersion != index.getMappingVersion()) {
+            return false;
+        }
+        Long validatedTime = validation.users.get(userKey(user, roles));
+        return validatedTime != null && clock.millis() - validatedTime < EXPIRATION.toMillis();
+    }
+
+    /**
+     * Record a successful validation.
+     *
+     * @param index concrete result index as of before the validation started
+     * @param user user name
+     * @param roles user roles
+     */
+    void putValidated(IndexMetadata index, String user, List<String> roles) {
+        Validation validation = validations.compute(index.getIndexUUID(), (uuid, existing) -> {
+            if (existing == null || existing.mappingVersion != index.getMappingVersion()) {
+                return new Validation(index.getIndex().getName(), index.getMappingVersion());
+            }
+            return existing;
+        });
+        validation.users.put(userKey(user, roles), clock.millis());
+    }
+
+    int size() {
+        return validations.size();
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (validations.isEmpty() || !event.metadataChanged()) {
+            return;
+        }
+        Metadata metadata = event.state().metadata();
+        validations.entrySet().removeIf(entry -> {
+            IndexMetadata index = metadata.index(entry.getValue().indexName);
+            boolean changed = index == null
+                || !index.getIndexUUID().equals(entry.getKey())
+                || index.getMappingVersion() != entry.getValue().mappingVersion;
+            if (changed) {
+                logger.debug("Invalidate result index validation of {}", entry.getValue().indexName);
+            }
+            return changed;
+        });
+    }
+
+    private static String userKey(String user, List<String> roles) {
+        return user + "|" + roles;
+    }
+
+    private static class Validation {
+        private final String indexName;
+        private final long mappingVersion;
+        // user and roles -> validated time
+        private final Map<String, Long> users;
+
+        Validation(String indexName, long mappingVersion) {
+            this.indexName = indexName;
+            this.mappingVersion = mappingVersion;
+            this.users = new ConcurrentHashMap<>();
+        }
+    }
+}
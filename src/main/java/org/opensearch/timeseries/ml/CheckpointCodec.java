@@ -0,0 +1,183 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteBuffersDataOutput;
+import org.apache.lucene.util.compress.LZ4;
+
+/**
+ * Encodes serialized model bytes into the versioned binary checkpoint format and back.
+ *
+ * Layout: [format version: 1 byte][compression id: 1 byte][raw length: 4 bytes big-endian][payload].
+ *
+ * The raw length is kept in the header so that decoding can allocate the output
+ * once and reject payloads that would expand beyond the configured limit before
+ * doing any work.
+ */
+public final class CheckpointCodec {
+    public static final byte FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 6;
+
+    private CheckpointCodec() {}
+
+    /**
+     * Compress raw model bytes and prepend the format header.
+     * @param raw serialized model bytes
+     * @param compression compression to apply. NONE stores the bytes as is.
+     * @return encoded checkpoint bytes
+     * @throws IOException when compression fails
+     */
+    public static byte[] encode(byte[] raw, CheckpointCompression compression) throws IOException {
+        byte[] payload;
+        int payloadLength;
+        switch (compression) {
+            case LZ4:
+                ByteBuffersDataOutput out = new ByteBuffersDataOutput();
+                LZ4.compress(raw, 0, raw.length, out, new LZ4.FastCompressionHashTable());
+                payload = out.toArrayCopy();
+                payloadLength = payload.length;
+                break;
+            case DEFLATE:
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+                try {
+                    deflater.setInput(raw);
+                    deflater.finish();
+                    // incompressible input can grow slightly
+                    payload = new byte[raw.length + raw.length / 1000 + 64];
+                    payloadLength = 0;
+                    while (!deflater.finished()) {
+                        if (payloadLength == payload.length) {
+                            byte[] grown = new byte[payload.length * 2];
+                            System.arraycopy(payload, 0, grown, 0, payloadLength);
+                            payload = grown;
+                        }
+                        payloadLength += deflater.deflate(payload, payloadLength, payload.length - payloadLength);
+                    }
+                } finally {
+                    deflater.end();
+                }
+                break;
+            case NONE:
+            default:
+                payload = raw;
+                payloadLength = raw.length;
+                break;
+        }
+
+        byte[] encoded = new byte[HEADER_BYTES + payloadLength];
+        encoded[0] = FORMAT_VERSION;
+        encoded[1] = compression.getId();
+        writeInt(encoded, 2, raw.length);
+        System.arraycopy(payload, 0, encoded, HEADER_BYTES, payloadLength);
+        return encoded;
+    }
+
+    /**
+     * Restore raw model bytes from an encoded checkpoint.
+     * @param encoded encoded checkpoint bytes
+     * @param maxRawBytes upper bound of the decoded size
+     * @return serialized model bytes
+     * @throws IOException when the header is invalid, the raw size exceeds maxRawBytes, or the payload is corrupted
+     */
+    public static byte[] decode(byte[] encoded, int maxRawBytes) throws IOException {
+        if (encoded == null || encoded.length < HEADER_BYTES) {
+            throw new IOException("Checkpoint is shorter than its header");
+        }
+        if (encoded[0] != FORMAT_VERSION) {
+            throw new IOException(String.format(Locale.ROOT, "Unsupported checkpoint format version [%d]", encoded[0]));
+        }
+        CheckpointCompression compression;
+        try {
+            compression = CheckpointCompression.fromId(encoded[1]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e);
+        }
+        int rawLength = getRawSize(encoded);
+        if (rawLength < 0 || rawLength > maxRawBytes) {
+            throw new IOException(String.format(Locale.ROOT, "Checkpoint raw size [%d] exceeds limit [%d]", rawLength, maxRawBytes));
+        }
+
+        int payloadLength = encoded.length - HEADER_BYTES;
+        byte[] raw = new byte[rawLength];
+        switch (compression) {
+            case LZ4:
+                int end = LZ4.decompress(new ByteArrayDataInput(encoded, HEADER_BYTES, payloadLength), rawLength, raw, 0);
+                if (end != rawLength) {
+                    throw new IOException(String.format(Locale.ROOT, "Expect [%d] bytes, but decompressed [%d]", rawLength, end));
+                }
+                break;
+            case DEFLATE:
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(encoded, HEADER_BYTES, payloadLength);
+                    int read = 0;
+                    while (read < rawLength) {
+                        int n = inflater.inflate(raw, read, rawLength - read);
+                        if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        read += n;
+                    }
+                    if (read != rawLength) {
+                        throw new IOException(String.format(Locale.ROOT, "Expect [%d] bytes, but decompressed [%d]", rawLength, read));
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException(e);
+                } finally {
+                    inflater.end();
+                }
+                break;
+            case NONE:
+            default:
+                if (payloadLength != rawLength) {
+                    throw new IOException(String.format(Locale.ROOT, "Expect [%d] bytes, but got [%d]", rawLength, payloadLength));
+                }
+                System.arraycopy(encoded, HEADER_BYTES, raw, 0, rawLength);
+                break;
+        }
+        return raw;
+    }
+
+    /**
+     * @param encoded encoded checkpoint bytes
+     * @return the uncompressed size recorded in the header
+     */
+    public static int getRawSize(byte[] encoded) {
+        return ((encoded[2] & 0xFF) << 24) | ((encoded[3] & 0xFF) << 16) | ((encoded[4] & 0xFF) << 8) | (encoded[5] & 0xFF);
+    }
+
+    /**
+     * A binary field comes back from a JSON source as a Base64 string and from a
+     * SMILE/CBOR source as raw bytes.
+     *
+     * @param value binary field read from a checkpoint source map
+     * @return encoded checkpoint bytes or null if the value is absent or of an unexpected type
+     */
+    public static byte[] fromSourceValue(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof String) {
+            return Base64.getDecoder().decode((String) value);
+        }
+        return null;
+    }
+
+    private static void writeInt(byte[] dest, int offset, int value) {
+        dest[offset] = (byte) (value >>> 24);
+        dest[offset + 1] = (byte) (value >>> 16);
+        dest[offset + 2] = (byte) (value >>> 8);
+        dest[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import java.util.Locale;
+
+/**
+ * Compression applied to the protostuff bytes of a model checkpoint.
+ *
+ * NONE keeps writing the legacy Base64 string fields (modelV2 for AD, model for
+ * forecasting). It is meant for mixed-version clusters where older nodes still
+ * need to read what newer nodes write. The other values write the versioned
+ * binary format produced by {@link CheckpointCodec}.
+ */
+public enum CheckpointCompression {
+    NONE((byte) 0),
+    LZ4((byte) 1),
+    DEFLATE((byte) 2);
+
+    // persisted in the binary checkpoint header. Never reuse an id.
+    private final byte id;
+
+    CheckpointCompression(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static CheckpointCompression fromId(byte id) {
+        for (CheckpointCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException(String.format(Locale.ROOT, "Unknown checkpoint compression id [%d]", id));
+    }
+
+    public static CheckpointCompression fromName(String name) {
+        for (CheckpointCompression compression : values()) {
+            if (compression.getName().equalsIgnoreCase(name)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException(String.format(Locale.ROOT, "Unknown checkpoint compression [%s]", name));
+    }
+}
@@ -15,9 +15,11 @@ import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -27,6 +29,7 @@ import java.util.Queue;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.ResourceAlreadyExistsException;
 import org.opensearch.action.bulk.BulkAction;
@@ -43,17 +46,24 @@ import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.get.MultiGetResponse;
 import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.DeleteByQueryAction;
 import org.opensearch.index.reindex.DeleteByQueryRequest;
 import org.opensearch.index.reindex.ScrollableHitSource;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.common.exception.TimeSeriesException;
 import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.indices.IndexManagement;
 import org.opensearch.timeseries.indices.TimeSeriesIndex;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
 import org.opensearch.timeseries.util.ClientUtil;
+import org.opensearch.timeseries.util.DateUtils;
 import org.opensearch.transport.client.Client;
 
 import com.google.gson.Gson;
@@ -85,6 +95,15 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
 
     protected final IndexManagement<IndexType> indexUtil;
     protected final Clock clock;
+
+    // compression of model bytes for checkpoints written from now on. Updated by cluster setting.
+    protected volatile CheckpointCompression compression;
+    // how often models are checkpointed. Null until set, in which case no snapshot is captured.
+    protected volatile Duration checkpointInterval;
+    // the most samples an incremental checkpoint holds. 0 disables incremental checkpoints.
+    protected volatile int maxDeltaSamples;
+    // charged for model snapshots. Null until set, in which case snapshots are not accounted.
+    protected volatile MemoryTracker memoryTracker;
     public static final String NOT_ABLE_TO_DELETE_CHECKPOINT_MSG = "Cannot delete all checkpoints of detector";
 
     public CheckpointDao(
@@ -107,6 +126,216 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
         this.serializeRCFBufferSize = serializeRCFBufferSize;
         this.indexUtil = indexUtil;
         this.clock = clock;
+        this.compression = TimeSeriesSettings.CHECKPOINT_COMPRESSION.getDefault(Settings.EMPTY);
+    }
+
+    public void setCompression(CheckpointCompression compression) {
+        this.compression = compression;
+    }
+
+    public CheckpointCompression getCompression() {
+        return compression;
+    }
+
+    public void setCheckpointInterval(TimeValue checkpointInterval) {
+        this.checkpointInterval = DateUtils.toDuration(checkpointInterval);
+    }
+
+    public void setMaxDeltaSamples(int maxDeltaSamples) {
+        this.maxDeltaSamples = maxDeltaSamples;
+    }
+
+    public void setMemoryTracker(MemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * Record samples a model has just processed so that the next checkpoint can
+     * save them instead of the whole model.
+     *
+     * @param modelState model state whose model has processed the samples
+     * @param processed samples in the order the model processed them
+     */
+    public void recordProcessed(ModelState<RCFModelType> modelState, List<Sample> processed) {
+        MemoryTracker tracker = memoryTracker;
+        if (tracker != null) {
+            modelState.setDeltaMemoryListener(bytes -> {
+                if (bytes > 0) {
+                    tracker.consumeMemory(bytes, false, MemoryTracker.Origin.CHECKPOINT_DELTA);
+                } else {
+                    tracker.releaseMemory(-bytes, false, MemoryTracker.Origin.CHECKPOINT_DELTA);
+                }
+            });
+        }
+        modelState.appendDelta(processed, maxDeltaSamples);
+    }
+
+    /**
+     * Prepare an incremental checkpoint: the samples processed since the last full
+     * checkpoint. The full checkpoint fields of the document stay untouched.
+     *
+     * @param modelState model state
+     * @return fields to update or empty if incremental checkpoints are disabled or
+     *  the model needs a full checkpoint
+     */
+    public Optional<Map<String, Object>> toDeltaSource(ModelState<RCFModelType> modelState) {
+        if (maxDeltaSamples <= 0) {
+            return Optional.empty();
+        }
+        Optional<List<Sample>> delta;
+        String baseVersion;
+        // the delta and its base change together when a full checkpoint is saved
+        synchronized (modelState) {
+            delta = modelState.getDelta();
+            baseVersion = modelState.getDeltaBaseVersion();
+        }
+        if (delta.isEmpty() || baseVersion == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> source = new HashMap<>();
+        source.put(CommonName.FIELD_MODEL_DELTA, delta.get().toArray(new Sample[0]));
+        source.put(CommonName.FIELD_MODEL_DELTA_BASE, baseVersion);
+        source.put(CommonName.TIMESTAMP, clock.instant().atZone(ZoneOffset.UTC));
+        return Optional.of(source);
+    }
+
+    /**
+     * @param modelState model state
+     * @return processed count of the model the next full checkpoint serializes: the
+     *  fresh snapshot if there is one, otherwise the live model
+     */
+    public long serializedPosition(ModelState<RCFModelType> modelState) {
+        Optional<ModelSnapshot> snapshot = modelState.getSnapshot();
+        if (snapshot.isPresent() && snapshot.get().getPosition() >= 0) {
+            return snapshot.get().getPosition();
+        }
+        return modelState.getProcessedCount();
+    }
+
+    /**
+     * Start a new delta once a full checkpoint carrying the model has been saved.
+     * Samples the model processed after serialization stay in the delta.
+     *
+     * @param modelState model state
+     * @param source fields of the full checkpoint
+     * @param position processed count of the serialized model
+     */
+    public void restartDelta(ModelState<RCFModelType> modelState, Map<String, Object> source, long position) {
+        // toIndexSource versions the model and clears the stored delta whenever it saves the model
+        Object modelVersion = source.get(CommonName.FIELD_MODEL_VERSION);
+        if (maxDeltaSamples > 0 && modelVersion != null) {
+            modelState.restartDelta(position, modelVersion.toString());
+        }
+    }
+
+    /**
+     * Mark the source as carrying a new model: the delta of the previous model is cleared
+     * and the model gets a new version that later deltas refer to. A delta and its model
+     * go out in different bulks, so the version keeps a delta from being replayed onto a
+     * model saved before or after its base.
+     *
+     * @param source checkpoint source carrying a model
+     */
+    protected void putModelVersion(Map<String, Object> source) {
+        source.put(CommonName.FIELD_MODEL_DELTA, null);
+        source.put(CommonName.FIELD_MODEL_DELTA_BASE, null);
+        source.put(CommonName.FIELD_MODEL_VERSION, UUIDs.base64UUID());
+    }
+
+    /**
+     * Create an update request for an incremental checkpoint. Unlike a full checkpoint,
+     * a delta is useless without the model it applies to, so it is never upserted.
+     *
+     * @param indexName checkpoint index name
+     * @param modelId model Id, used as doc id in the checkpoint index
+     * @param source fields to update
+     * @return the update request
+     */
+    public static UpdateRequest createDeltaRequest(String indexName, String modelId, Map<String, Object> source) {
+        return new UpdateRequest(indexName, modelId).doc(source);
+    }
+
+    /**
+     * Copy the model of the given state if its checkpoint is due. Checkpoint writers
+     * then serialize the copy on their own threads while the model keeps being updated.
+     * The caller must hold the lock that guards updates of the model.
+     *
+     * A checkpoint can stay due for hours as the cache only saves an entity in its
+     * hour slot, so the model is copied once per due period: a fresh snapshot is
+     * kept until the checkpoint that consumes it.
+     *
+     * @param modelState model state whose model has just been updated
+     */
+    public void snapshotIfDue(ModelState<RCFModelType> modelState) {
+        Duration interval = checkpointInterval;
+        if (interval == null || modelState.getSnapshot().isPresent() || !shouldSave(modelState, false, interval, clock)) {
+            return;
+        }
+        Optional<RCFModelType> model = modelState.getModel();
+        if (model.isEmpty()) {
+            return;
+        }
+        try {
+            long position = modelState.getProcessedCount();
+            Object state = toSnapshotState(model.get());
+            if (state == null) {
+                return;
+            }
+            // the copy competes with cached models for memory until the checkpoint releases it
+            MemoryTracker tracker = memoryTracker;
+            if (tracker == null) {
+                modelState.setSnapshot(new ModelSnapshot(state, clock.instant(), position, () -> {}));
+            } else {
+                long bytes = estimateSnapshotBytes(tracker, model.get());
+                tracker.consumeMemory(bytes, false, MemoryTracker.Origin.CHECKPOINT_SNAPSHOT);
+                modelState
+                    .setSnapshot(
+                        new ModelSnapshot(
+                            state,
+                            clock.instant(),
+                            position,
+                            () -> tracker.releaseMemory(bytes, false, MemoryTracker.Origin.CHECKPOINT_SNAPSHOT)
+                        )
+                    );
+            }
+        } catch (Exception e) {
+            // the checkpoint writer falls back to the live model
+            logger.warn(new ParameterizedMessage("Fail to snapshot model [{}]", modelState.getModelId()), e);
+        }
+    }
+
+    /**
+     * @param model live model
+     * @return an independent copy of the model's state that serialization can read without locking
+     */
+    protected abstract Object toSnapshotState(RCFModelType model);
+
+    /**
+     * @param tracker memory tracker
+     * @param model live model
+     * @return estimated bytes of a snapshot of the model
+     */
+    protected abstract long estimateSnapshotBytes(MemoryTracker tracker, RCFModelType model);
+
+    /**
+     * Create an upsert request for a checkpoint source. Sources carrying binary model
+     * bytes are sent as SMILE so that the bytes travel and are stored without Base64.
+     *
+     * @param indexName checkpoint index name
+     * @param modelId model Id, used as doc id in the checkpoint index
+     * @param source fields to update
+     * @return the update request
+     */
+    public static UpdateRequest createUpsertRequest(String indexName, String modelId, Map<String, Object> source) {
+        UpdateRequest updateRequest = new UpdateRequest(indexName, modelId);
+        if (source.containsKey(CommonName.FIELD_MODEL_BINARY)) {
+            updateRequest.doc(source, XContentType.SMILE);
+        } else {
+            updateRequest.doc(source);
+        }
+        // If the document does not already exist, the contents of the upsert element are inserted as a new document.
+        // If the document exists, update fields in the map
+        return updateRequest.docAsUpsert(true);
     }
 
     protected void putModelCheckpoint(String modelId, Map<String, Object> source, ActionListener<Void> listener) {
@@ -128,11 +357,7 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
      */
     protected void saveModelCheckpointAsync(Map<String, Object> source, String modelId, ActionListener<Void> listener) {
 
-        UpdateRequest updateRequest = new UpdateRequest(indexName, modelId);
-        updateRequest.doc(source);
-        // If the document does not already exist, the contents of the upsert element are inserted as a new document.
-        // If the document exists, update fields in the map
-        updateRequest.docAsUpsert(true);
+        UpdateRequest updateRequest = createUpsertRequest(indexName, modelId, source);
         clientUtil
             .<UpdateRequest, UpdateResponse>asyncRequest(
                 updateRequest,
@@ -267,6 +492,55 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
         return Optional.of(samples.toArray(new Sample[0]));
     }
 
+    /**
+     * Put compressed model bytes into the checkpoint source. Every legacy string field is
+     * explicitly nulled: updates merge into the existing document, and readers take a
+     * non-null legacy field over the binary field. Since only nodes that do not know the
+     * binary field leave a legacy field next to it, a non-null legacy field is always newer.
+     *
+     * @param source checkpoint source to add fields to
+     * @param raw serialized model bytes
+     * @param modelId model Id
+     * @param legacyFields the fields older versions store Base64 models in
+     * @return whether the model has been added to the source
+     * @throws IOException when compression fails
+     */
+    protected boolean putModelBinary(Map<String, Object> source, byte[] raw, String modelId, String... legacyFields) throws IOException {
+        if (raw == null || raw.length > maxCheckpointBytes) {
+            logger.warn("[{}]'s model is empty or too large: [{}] bytes", modelId, raw == null ? 0 : raw.length);
+            return false;
+        }
+        byte[] encoded = CheckpointCodec.encode(raw, compression);
+        source.put(CommonName.FIELD_MODEL_BINARY, encoded);
+        source.put(CommonName.FIELD_MODEL_RAW_BYTES, raw.length);
+        source.put(CommonName.FIELD_MODEL_COMPRESSED_BYTES, encoded.length);
+        for (String legacyField : legacyFields) {
+            source.put(legacyField, null);
+        }
+        // a new model supersedes the samples recorded since the previous one
+        putModelVersion(source);
+        return true;
+    }
+
+    /**
+     * Read and decompress model bytes from the checkpoint source.
+     * @param checkpoint checkpoint source
+     * @param modelId model Id
+     * @return serialized model bytes or null if absent, too large, or corrupted
+     */
+    protected byte[] loadModelBinary(Map<String, Object> checkpoint, String modelId) {
+        try {
+            byte[] encoded = CheckpointCodec.fromSourceValue(checkpoint.get(CommonName.FIELD_MODEL_BINARY));
+            if (encoded == null) {
+                return null;
+            }
+            return CheckpointCodec.decode(encoded, maxCheckpointBytes);
+        } catch (Exception e) {
+            logger.warn("Fail to decode binary checkpoint of " + modelId, e);
+            return null;
+        }
+    }
+
     public void batchRead(MultiGetRequest request, ActionListener<MultiGetResponse> listener) {
         clientUtil.<MultiGetRequest, MultiGetResponse>execute(MultiGetAction.INSTANCE, request, listener);
     }
@@ -325,12 +599,77 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
     public ModelState<RCFModelType> processHCGetResponse(GetResponse response, String modelId, String configId) {
         Optional<Map<String, Object>> checkpointString = processRawCheckpoint(response);
         if (checkpointString.isPresent()) {
-            return fromEntityModelCheckpoint(checkpointString.get(), modelId, configId);
+            ModelState<RCFModelType> modelState = fromEntityModelCheckpoint(checkpointString.get(), modelId, configId);
+            if (modelState != null) {
+                applyDelta(modelState, checkpointString.get(), modelId);
+            }
+            return modelState;
         } else {
             return null;
         }
     }
 
+    /**
+     * Replay the samples of an incremental checkpoint onto the restored model.
+     * @param modelState restored model state
+     * @param checkpoint checkpoint document
+     * @param modelId Model Id
+     */
+    private void applyDelta(ModelState<RCFModelType> modelState, Map<String, Object> checkpoint, String modelId) {
+        Optional<RCFModelType> model = modelState.getModel();
+        if (model.isEmpty()) {
+            return;
+        }
+        Object modelVersion = checkpoint.get(CommonName.FIELD_MODEL_VERSION);
+        if (modelVersion == null) {
+            // saved before models were versioned. Its next checkpoint is a full one.
+            return;
+        }
+        Deque<Sample> delta = loadSamples(checkpoint, CommonName.FIELD_MODEL_DELTA, modelId);
+        if (!delta.isEmpty() && !modelVersion.equals(checkpoint.get(CommonName.FIELD_MODEL_DELTA_BASE))) {
+            // the delta belongs to another model, e.g., its bulk landed after a newer full checkpoint
+            logger
+                .warn(
+                    "Skip [{}] samples of [{}] recorded on model version [{}] instead of [{}]",
+                    delta.size(),
+                    modelId,
+                    checkpoint.get(CommonName.FIELD_MODEL_DELTA_BASE),
+                    modelVersion
+                );
+            return;
+        }
+        if (!delta.isEmpty()) {
+            double[][] points = new double[delta.size()][];
+            long[] timestamps = new long[delta.size()];
+            int i = 0;
+            for (Sample sample : delta) {
+                points[i] = sample.getValueList();
+                // same timestamps as RealTimeInferencer used
+                timestamps[i] = sample.getDataEndTime().getEpochSecond();
+                i++;
+            }
+            try {
+                replay(model.get(), points, timestamps);
+            } catch (Exception e) {
+                // keep the saved model. Without a delta, its next checkpoint is a full one.
+                logger.warn(new ParameterizedMessage("Fail to replay [{}] samples onto [{}]", delta.size(), modelId), e);
+                return;
+            }
+        }
+        if (maxDeltaSamples > 0) {
+            modelState.restoreDelta(delta, maxDeltaSamples, modelVersion.toString());
+        }
+    }
+
+    /**
+     * Let the model process samples of an incremental checkpoint again.
+     *
+     * @param model restored model
+     * @param points sample values
+     * @param timestamps sample timestamps in seconds
+     */
+    protected abstract void replay(RCFModelType model, double[][] points, long[] timestamps);
+
     /**
      * Process a checkpoint GetResponse and return the EntityModel object
      * @param response Checkpoint Index GetResponse
@@ -359,11 +698,15 @@ public abstract class CheckpointDao<RCFModelType, IndexType extends Enum<IndexTy
     protected abstract DeleteByQueryRequest createDeleteCheckpointRequest(String configId);
 
     protected Deque<Sample> loadSampleQueue(Map<String, Object> checkpoint, String modelId) {
-        Deque<Sample> sampleQueue = new ArrayDeque<>();
-        // Even though we we save sample_queue using array, after ser/der, we need to read it as List
         // we start using SAMPLE_QUEUE after forecasting refactoring. Previously in AD, we use CommonName.ENTITY_SAMPLE
         // to store samples. The refactoring moves samples out of EntityModel and makes it a first-level field.
-        List<Map<String, Object>> samples = (List<Map<String, Object>>) checkpoint.get(CommonName.SAMPLE_QUEUE);
+        return loadSamples(checkpoint, CommonName.SAMPLE_QUEUE, modelId);
+    }
+
+    protected Deque<Sample> loadSamples(Map<String, Object> checkpoint, String field, String modelId) {
+        Deque<Sample> sampleQueue = new ArrayDeque<>();
+        // Even though we we save samples using array, after ser/der, we need to read it as List
+        List<Map<String, Object>> samples = (List<Map<String, Object>>) checkpoint.get(field);
         if (samples != null) {
             samples.forEach(sampleMap -> {
                 try {
@@ -0,0 +1,326 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.util.Throwables;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.action.support.ThreadedActionListener;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.feature.SearchFeatureDao;
+import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.util.ExceptionUtil;
+
+/**
+ * After an ingestion outage, every entity of a config sees the same gap at about
+ * the same time and asks for the same missing intervals. Instead of one search per
+ * entity, the coordinator collects the requests of a config that end at the same
+ * time for {@link TimeSeriesSettings#GAP_BACKFILL_BATCH_WINDOW}, then fetches the
+ * samples of all of them with one composite aggregation search.
+ *
+ * Entities may have different gap starts. A batch fetches the ranges of its earliest
+ * start. Since ranges are aligned to the shared end time, each entity gets exactly
+ * the ranges a fetch of its own would have returned.
+ *
+ * The composite aggregation has no bucket for an entity without documents in the
+ * ranges, while a fetch of its own returns the values of empty ranges, e.g., zero
+ * counts. Those values do not depend on the entity, so one single fetch serves all
+ * entities of a batch without documents.
+ */
+public class GapBackfillCoordinator {
+    private static final Logger LOG = LogManager.getLogger(GapBackfillCoordinator.class);
+
+    /**
+     * Fetch missing samples of a single entity.
+     */
+    @FunctionalInterface
+    public interface SampleFetcher {
+        void fetch(Config config, Optional<Entity> entity, long startTimeMs, long endTimeMs, ActionListener<List<Sample>> listener);
+    }
+
+    private final SearchFeatureDao searchFeatureDao;
+    private final ThreadPool threadPool;
+    private final String threadPoolName;
+    private final AnalysisType analysisContext;
+    private final SampleFetcher singleFetcher;
+    private final Map<BatchKey, Batch> pending;
+
+    public GapBackfillCoordinator(
+        SearchFeatureDao searchFeatureDao,
+        ThreadPool threadPool,
+        String threadPoolName,
+        AnalysisType analysisContext,
+        SampleFetcher singleFetcher
+    ) {
+        this.searchFeatureDao = searchFeatureDao;
+        this.threadPool = threadPool;
+        this.threadPoolName = threadPoolName;
+        this.analysisContext = analysisContext;
+        this.singleFetcher = singleFetcher;
+        this.pending = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Fetch samples in [startTimeMs, endTimeMs), possibly together with other entities of the same config.
+     *
+     * @param config Config accessor
+     * @param entity Optional entity for which to fetch samples
+     * @param startTimeMs Start time in milliseconds
+     * @param endTimeMs End time in milliseconds
+     * @param listener ActionListener to return available samples in ascending order of time
+     */
+    public void fetch(Config config, Optional<Entity> entity, long startTimeMs, long endTimeMs, ActionListener<List<Sample>> listener) {
+        if (entity.isEmpty() || !config.isHighCardinality()) {
+            singleFetcher.fetch(config, entity, startTimeMs, endTimeMs, listener);
+            return;
+        }
+
+        BatchKey key = new BatchKey(config.getId(), config.getIntervalInMilliseconds(), endTimeMs);
+        Waiter waiter = new Waiter(entity.get(), startTimeMs, listener);
+        while (true) {
+            Batch batch = pending.computeIfAbsent(key, k -> new Batch(config));
+            boolean full;
+            synchronized (batch) {
+                if (batch.closed) {
+                    // flushed between computeIfAbsent and now
+                    continue;
+                }
+                batch.waiters.add(waiter);
+                full = batch.waiters.size() >= TimeSeriesSettings.GAP_BACKFILL_MAX_BATCH_SIZE;
+                if (batch.waiters.size() == 1 && !full) {
+                    threadPool.schedule(() -> flush(key, batch), TimeSeriesSettings.GAP_BACKFILL_BATCH_WINDOW, threadPoolName);
+                }
+            }
+            if (full) {
+                flush(key, batch);
+            }
+            return;
+        }
+    }
+
+    private void flush(BatchKey key, Batch batch) {
+        List<Waiter> waiters;
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+            waiters = batch.waiters;
+        }
+        pending.remove(key, batch);
+
+        Config config = batch.config;
+        if (waiters.size() == 1) {
+            fetchSingle(config, key.endTimeMs, waiters.get(0));
+            return;
+        }
+
+        long startTimeMs = Long.MAX_VALUE;
+        for (Waiter waiter : waiters) {
+            startTimeMs = Math.min(startTimeMs, waiter.startTimeMs);
+        }
+        long intervalMs = config.getIntervalInMilliseconds();
+        int numberOfSamples = (int) Math.floor((key.endTimeMs - startTimeMs) / (double) intervalMs);
+        if (numberOfSamples <= 0 || numberOfSamples > TimeSeriesSettings.MAX_FREQUENCY_MULTIPLE) {
+            waiters.forEach(waiter -> fetchSingle(config, key.endTimeMs, waiter));
+            return;
+        }
+        List<Entry<Long, Long>> sampleRanges = searchFeatureDao
+            .getTrainSampleRanges((IntervalTimeConfiguration) config.getInterval(), startTimeMs, key.endTimeMs, numberOfSamples);
+        if (sampleRanges.isEmpty()) {
+            waiters.forEach(waiter -> waiter.listener.onResponse(new ArrayList<>()));
+            return;
+        }
+
+        // keep the number of buckets of one search bounded
+        int entitiesPerSearch = Math.max(1, TimeSeriesSettings.GAP_BACKFILL_MAX_BUCKETS / sampleRanges.size());
+        Map<Entity, List<Waiter>> byEntity = new LinkedHashMap<>();
+        for (Waiter waiter : waiters) {
+            byEntity.computeIfAbsent(waiter.entity, k -> new ArrayList<>()).add(waiter);
+        }
+        List<Entity> entities = new ArrayList<>(byEntity.keySet());
+        for (int from = 0; from < entities.size(); from += entitiesPerSearch) {
+            Map<Entity, List<Waiter>> chunk = new LinkedHashMap<>();
+            for (Entity entity : entities.subList(from, Math.min(entities.size(), from + entitiesPerSearch))) {
+                chunk.put(entity, byEntity.get(entity));
+            }
+            if (chunk.size() == 1) {
+                chunk.values().forEach(sameEntity -> sameEntity.forEach(waiter -> fetchSingle(config, key.endTimeMs, waiter)));
+            } else {
+                fetchBatch(config, key.endTimeMs, sampleRanges, chunk);
+            }
+        }
+    }
+
+    private void fetchBatch(Config config, long endTimeMs, List<Entry<Long, Long>> sampleRanges, Map<Entity, List<Waiter>> batch) {
+        ActionListener<Map<Entity, List<Optional<double[]>>>> samplesListener = ActionListener.wrap(entitySamples -> {
+            List<Waiter> withoutDocs = new ArrayList<>();
+            for (Entry<Entity, List<Waiter>> entry : batch.entrySet()) {
+                List<Optional<double[]>> featureSamples = entitySamples.get(entry.getKey());
+                for (Waiter waiter : entry.getValue()) {
+                    if (featureSamples == null) {
+                        // no document of the entity during the gap
+                        withoutDocs.add(waiter);
+                    } else if (featureSamples.size() != sampleRanges.size()) {
+                        fetchSingle(config, endTimeMs, waiter);
+                    } else {
+                        waiter.listener.onResponse(toSamples(featureSamples, sampleRanges, waiter.startTimeMs));
+                    }
+                }
+            }
+            fetchEmptyRanges(config, endTimeMs, sampleRanges.get(0).getKey(), withoutDocs);
+            LOG.debug("Backfilled gaps of {} entities of config {} with one search", batch.size(), config.getId());
+        }, exception -> {
+            if (ExceptionUtil.isOverloaded(Throwables.getRootCause(exception))) {
+                batch.values().forEach(waiters -> waiters.forEach(waiter -> waiter.listener.onFailure(exception)));
+                return;
+            }
+            LOG.warn(new ParameterizedMessage("Batched gap backfill failed for config {}, fall back", config.getId()), exception);
+            batch.values().forEach(waiters -> waiters.forEach(waiter -> fetchSingle(config, endTimeMs, waiter)));
+        });
+
+        try {
+            searchFeatureDao
+                .getColdStartSamplesForPeriodsByEntities(
+                    config,
+                    sampleRanges,
+                    new ArrayList<>(batch.keySet()),
+                    // Accept empty bucket. See RealTimeInferencer.getFeatures.
+                    true,
+                    analysisContext,
+                    new ThreadedActionListener<>(LOG, threadPool, threadPoolName, samplesListener, false)
+                );
+        } catch (Exception e) {
+            samplesListener.onFailure(e);
+        }
+    }
+
+    /**
+     * Answer entities without documents in the ranges with what a fetch of their own
+     * returns. One fetch covering all ranges of the batch serves all of them.
+     *
+     * @param config Config accessor
+     * @param endTimeMs end time of the batch
+     * @param startTimeMs start of the first range of the batch
+     * @param waiters waiters of entities without documents
+     */
+    private void fetchEmptyRanges(Config config, long endTimeMs, long startTimeMs, List<Waiter> waiters) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        if (waiters.size() == 1) {
+            fetchSingle(config, endTimeMs, waiters.get(0));
+            return;
+        }
+        singleFetcher.fetch(config, Optional.of(waiters.get(0).entity), startTimeMs, endTimeMs, ActionListener.wrap(samples -> {
+            for (Waiter waiter : waiters) {
+                List<Sample> fromStart = new ArrayList<>();
+                for (Sample sample : samples) {
+                    if (sample.getDataStartTime().toEpochMilli() >= waiter.startTimeMs) {
+                        fromStart.add(sample);
+                    }
+                }
+                waiter.listener.onResponse(fromStart);
+            }
+        }, exception -> waiters.forEach(waiter -> waiter.listener.onFailure(exception))));
+    }
+
+    private void fetchSingle(Config config, long endTimeMs, Waiter waiter) {
+        singleFetcher.fetch(config, Optional.of(waiter.entity), waiter.startTimeMs, endTimeMs, waiter.listener);
+    }
+
+    /**
+     * @param featureSamples features of each range, in ascending order of time
+     * @param sampleRanges ranges of the batch
+     * @param startTimeMs the waiter's start time. Ranges beginning earlier belong to other entities' gaps.
+     * @return samples of present features
+     */
+    static List<Sample> toSamples(List<Optional<double[]>> featureSamples, List<Entry<Long, Long>> sampleRanges, long startTimeMs) {
+        List<Sample> samples = new ArrayList<>();
+        for (int index = 0; index < featureSamples.size(); index++) {
+            Entry<Long, Long> curRange = sampleRanges.get(index);
+            Optional<double[]> featuresOptional = featureSamples.get(index);
+            if (curRange.getKey() >= startTimeMs && featuresOptional.isPresent()) {
+                Instant dataStart = Instant.ofEpochMilli(curRange.getKey());
+                samples.add(new Sample(featuresOptional.get(), dataStart, Instant.ofEpochMilli(curRange.getValue())));
+            }
+        }
+        return samples;
+    }
+
+    int getPendingBatches() {
+        return pending.size();
+    }
+
+    private static class Batch {
+        private final Config config;
+        private final List<Waiter> waiters;
+        private boolean closed;
+
+        Batch(Config config) {
+            this.config = config;
+            this.waiters = new ArrayList<>();
+            this.closed = false;
+        }
+    }
+
+    private static class Waiter {
+        private final Entity entity;
+        private final long startTimeMs;
+        private final ActionListener<List<Sample>> listener;
+
+        Waiter(Entity entity, long startTimeMs, ActionListener<List<Sample>> listener) {
+            this.entity = entity;
+            this.startTimeMs = startTimeMs;
+            this.listener = listener;
+        }
+    }
+
+    private static class BatchKey {
+        private final String configId;
+        private final long intervalMs;
+        private final long endTimeMs;
+
+        BatchKey(String configId, long intervalMs, long endTimeMs) {
+            this.configId = configId;
+            this.intervalMs = intervalMs;
+            this.endTimeMs = endTimeMs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey other = (BatchKey) o;
+            return intervalMs == other.intervalMs && endTimeMs == other.endTimeMs && configId.equals(other.configId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(configId, intervalMs, endTimeMs);
+        }
+    }
+}
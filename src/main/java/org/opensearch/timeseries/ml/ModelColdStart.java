@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,16 +24,21 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.util.Throwables;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.opensearch.action.support.ThreadedActionListener;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.CleanState;
 import org.opensearch.timeseries.MaintenanceState;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.NodeStateManager;
 import org.opensearch.timeseries.caching.DoorKeeper;
 import org.opensearch.timeseries.common.exception.EndRunException;
@@ -49,6 +55,8 @@ import org.opensearch.timeseries.model.IndexableResult;
 import org.opensearch.timeseries.model.IntervalTimeConfiguration;
 import org.opensearch.timeseries.ratelimit.FeatureRequest;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.stats.LatencyStage;
+import org.opensearch.timeseries.stats.Stats;
 import org.opensearch.timeseries.util.ExceptionUtil;
 
 import com.amazon.randomcutforest.config.ImputationMethod;
@@ -69,6 +77,11 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
     // retry cold start of the same model.
     // keys are detector ids.
     protected Map<String, DoorKeeper> doorKeepers;
+    // counters per row a door keeper grows to at most
+    protected volatile int doorKeeperMaxWidth;
+    // charged with door keeper tables. Null until set.
+    protected volatile MemoryTracker memoryTracker;
+    protected volatile Stats stats;
     protected Instant lastThrottledColdStartTime;
     protected int coolDownMinutes;
     protected final Clock clock;
@@ -124,6 +137,7 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         this.thresholdMinPvalue = thresholdMinPvalue;
 
         this.doorKeepers = new ConcurrentHashMap<>();
+        setDoorKeeperMaxSize(TimeSeriesSettings.DOOR_KEEPER_MAX_SIZE.get(Settings.EMPTY));
         this.lastThrottledColdStartTime = Instant.MIN;
         this.initialAcceptFraction = numMinSamples * 1.0d / rcfSampleSize;
 
@@ -145,6 +159,7 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
             DoorKeeper doorKeeper = doorKeeperEntry.getValue();
             if (doorKeeper.expired(modelTtl)) {
                 doorKeepers.remove(id);
+                doorKeeper.close();
             } else {
                 doorKeeper.maintenance();
             }
@@ -153,7 +168,31 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
 
     @Override
     public void clear(String id) {
-        doorKeepers.remove(id);
+        DoorKeeper doorKeeper = doorKeepers.remove(id);
+        if (doorKeeper != null) {
+            doorKeeper.close();
+        }
+    }
+
+    /**
+     * @param maxSize largest table of the door keepers created from now on
+     */
+    public void setDoorKeeperMaxSize(ByteSizeValue maxSize) {
+        this.doorKeeperMaxWidth = DoorKeeper.widthForBytes(maxSize.getBytes(), DoorKeeper.DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param memoryTracker tracker charged with the door keeper tables created from now on
+     */
+    public void setMemoryTracker(MemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * @param stats stats to record the training latency of each model in
+     */
+    public void setStats(Stats stats) {
+        this.stats = stats;
     }
 
     /**
@@ -197,10 +236,83 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         }, listener::onFailure));
     }
 
+    /**
+     * Train models of multiple entities of the same config. Real-time requests that
+     * need training data from the source and share the data start time of the first
+     * request fetch their samples with one search split by entity. The other
+     * requests, and entities whose batched samples fall short of numMinSamples,
+     * go through the per-entity path of {@link #trainModel}.
+     *
+     * @param configId Config Id
+     * @param coldStartRequests cold start request, model state, and listener of each entity
+     */
+    public void trainModels(
+        String configId,
+        List<Triple<FeatureRequest, ModelState<RCFModelType>, ActionListener<List<IndexableResultType>>>> coldStartRequests
+    ) {
+        if (coldStartRequests.size() == 1) {
+            Triple<FeatureRequest, ModelState<RCFModelType>, ActionListener<List<IndexableResultType>>> single = coldStartRequests.get(0);
+            trainModel(single.getLeft(), configId, single.getMiddle(), single.getRight());
+            return;
+        }
+
+        // batching only serves real time, so the config can be cached
+        nodeStateManager.getConfig(configId, context, true, ActionListener.wrap(configOptional -> {
+            if (false == configOptional.isPresent()) {
+                logger.warn(new ParameterizedMessage("Config [{}] is not available.", configId));
+                coldStartRequests
+                    .forEach(request -> request.getRight().onFailure(new TimeSeriesException(configId, "fail to find config")));
+                return;
+            }
+
+            Config config = configOptional.get();
+            long dataStartTimeMillis = coldStartRequests.get(0).getLeft().getDataStartTimeMillis();
+            boolean inCoolDown = lastThrottledColdStartTime.plus(Duration.ofMinutes(coolDownMinutes)).isAfter(clock.instant());
+
+            Map<Entity, Pair<FeatureRequest, ActionListener<List<Sample>>>> batch = new LinkedHashMap<>();
+            for (int i = 0; i < coldStartRequests.size(); i++) {
+                FeatureRequest coldStartRequest = coldStartRequests.get(i).getLeft();
+                ModelState<RCFModelType> modelState = coldStartRequests.get(i).getMiddle();
+                ActionListener<List<IndexableResultType>> listener = coldStartRequests.get(i).getRight();
+                Optional<Entity> entity = coldStartRequest.getEntity();
+                if (coldStartRequest.getTaskId() != null
+                    || entity.isEmpty()
+                    || batch.containsKey(entity.get())
+                    || coldStartRequest.getDataStartTimeMillis() != dataStartTimeMillis
+                    || modelState.getSamples().size() >= numMinSamples) {
+                    trainModel(coldStartRequest, configId, modelState, listener);
+                    continue;
+                }
+
+                String modelId = modelState.getModelId();
+                logger.debug("Trigger batched cold start for {}", modelId);
+                if (inCoolDown) {
+                    logger.info("Still in cool down.");
+                    listener.onResponse(null);
+                    continue;
+                }
+
+                if (false == admitColdStart(modelId, coldStartRequest, config)) {
+                    listener.onResponse(null);
+                    continue;
+                }
+                batch
+                    .put(
+                        entity.get(),
+                        Pair.of(coldStartRequest, createColdStartCallBack(modelId, coldStartRequest, modelState, config, listener))
+                    );
+            }
+
+            if (false == batch.isEmpty()) {
+                threadPool.executor(threadPoolName).execute(() -> getBatchColdStartData(config, dataStartTimeMillis, batch));
+            }
+        }, e -> coldStartRequests.forEach(request -> request.getRight().onFailure(e))));
+    }
+
     public void trainModelFromExistingSamples(ModelState<RCFModelType> modelState, Config config, String taskId) {
         if (modelState.getSamples().size() >= this.numMinSamples) {
             Deque<Sample> samples = modelState.getSamples();
-            trainModelFromDataSegments(new ArrayList<>(samples), modelState, config, taskId);
+            trainAndRecordLatency(new ArrayList<>(samples), modelState, config, taskId);
             // clear after use
             modelState.clearSamples();
         }
@@ -237,89 +349,17 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         String configId = config.getId();
         boolean earlyExit = true;
         try {
-            if (null == coldStartRequest.getTaskId()) {
-                // Won't retry real-time cold start within 60 intervals for an entity
-                // coldStartRequest.getTaskId() == null in real-time cold start
-
-                DoorKeeper doorKeeper = doorKeepers.computeIfAbsent(configId, id -> {
-                    // reset every 60 intervals
-                    return new DoorKeeper(
-                        TimeSeriesSettings.DOOR_KEEPER_FOR_COLD_STARTER_MAX_INSERTION,
-                        config.getIntervalDuration().multipliedBy(TimeSeriesSettings.EXPIRING_VALUE_MAINTENANCE_FREQ),
-                        clock,
-                        TimeSeriesSettings.COLD_START_DOOR_KEEPER_COUNT_THRESHOLD
-                    );
-                });
-
-                // only use door keeper when this is for real time
-                if (doorKeeper.appearsMoreThanOrEqualToThreshold(modelId)) {
-                    logger
-                        .info(
-                            "Won't retry real-time cold start within {} intervals for model {}",
-                            TimeSeriesSettings.EXPIRING_VALUE_MAINTENANCE_FREQ,
-                            modelId
-                        );
-                    return;
-                }
-
-                doorKeeper.put(modelId);
+            if (false == admitColdStart(modelId, coldStartRequest, config)) {
+                return;
             }
 
-            ActionListener<List<Sample>> coldStartCallBack = ActionListener.wrap(trainingData -> {
-                // existing samples might have different interval or duplicated data compared to training data we just grabbed.
-                // clear it before adding historical data.
-                modelState.clearSamples();
-                if (trainingData != null && !trainingData.isEmpty()) {
-                    int dataSize = trainingData.size();
-                    // only train models if we have enough samples
-                    if (dataSize >= numMinSamples) {
-                        // The function trainModelFromDataSegments will save a trained a model. trainModelFromDataSegments is called by
-                        // multiple places, so I want to make the saving model implicit just in case I forgot.
-                        List<IndexableResultType> processedTrainingData = trainModelFromDataSegments(
-                            trainingData,
-                            modelState,
-                            config,
-                            coldStartRequest.getTaskId()
-                        );
-                        logger.info("Succeeded in training entity: {}", modelId);
-                        listener.onResponse(processedTrainingData);
-                    } else {
-                        logger.info("Not enough data to train model: {}, currently we have {}", modelId, dataSize);
-
-                        trainingData.forEach(modelState::addSample);
-
-                        listener.onResponse(null);
-                    }
-                } else {
-                    logger.info("Cannot get training data for {}", modelId);
-                    listener.onResponse(null);
-                }
-            }, exception -> {
-                try {
-                    logger.error(new ParameterizedMessage("Error while cold start {}", modelId), exception);
-                    Throwable cause = Throwables.getRootCause(exception);
-                    if (ExceptionUtil.isOverloaded(cause)) {
-                        logger.error("too many requests");
-                        lastThrottledColdStartTime = Instant.now();
-                    } else if (exception instanceof TimeSeriesException) {
-                        // e.g., cannot find anomaly detector
-                        nodeStateManager
-                            .setException(
-                                configId,
-                                ((TimeSeriesException) exception).cloneWithMsgPrefix(CommonMessages.COLD_START_EXCEPTION)
-                            );
-                    } else if (cause instanceof TimeSeriesException) {
-                        nodeStateManager
-                            .setException(configId, ((TimeSeriesException) cause).cloneWithMsgPrefix(CommonMessages.COLD_START_EXCEPTION));
-                    } else {
-                        nodeStateManager
-                            .setException(configId, new TimeSeriesException(configId, CommonMessages.COLD_START_EXCEPTION, cause));
-                    }
-                    listener.onFailure(exception);
-                } catch (Exception e) {
-                    listener.onFailure(e);
-                }
-            });
+            ActionListener<List<Sample>> coldStartCallBack = createColdStartCallBack(
+                modelId,
+                coldStartRequest,
+                modelState,
+                config,
+                listener
+            );
 
             threadPool
                 .executor(threadPoolName)
@@ -338,6 +378,110 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         }
     }
 
+    /**
+     * Won't retry real-time cold start within 60 intervals for an entity.
+     * coldStartRequest.getTaskId() == null in real-time cold start.
+     *
+     * @param modelId model Id
+     * @param coldStartRequest cold start request
+     * @param config config accessor
+     * @return whether the cold start can proceed
+     */
+    private boolean admitColdStart(String modelId, FeatureRequest coldStartRequest, Config config) {
+        if (null != coldStartRequest.getTaskId()) {
+            return true;
+        }
+
+        DoorKeeper doorKeeper = doorKeepers.computeIfAbsent(config.getId(), id -> {
+            // reset every 60 intervals
+            return new DoorKeeper(
+                TimeSeriesSettings.DOOR_KEEPER_FOR_COLD_STARTER_MAX_INSERTION,
+                TimeSeriesSettings.DOOR_KEEPER_INITIAL_WIDTH,
+                doorKeeperMaxWidth,
+                DoorKeeper.DEFAULT_DEPTH,
+                config.getIntervalDuration().multipliedBy(TimeSeriesSettings.EXPIRING_VALUE_MAINTENANCE_FREQ),
+                clock,
+                TimeSeriesSettings.COLD_START_DOOR_KEEPER_COUNT_THRESHOLD,
+                memoryTracker
+            );
+        });
+
+        // only use door keeper when this is for real time
+        if (doorKeeper.appearsMoreThanOrEqualToThreshold(modelId)) {
+            logger
+                .info(
+                    "Won't retry real-time cold start within {} intervals for model {}",
+                    TimeSeriesSettings.EXPIRING_VALUE_MAINTENANCE_FREQ,
+                    modelId
+                );
+            return false;
+        }
+
+        doorKeeper.put(modelId);
+        return true;
+    }
+
+    private ActionListener<List<Sample>> createColdStartCallBack(
+        String modelId,
+        FeatureRequest coldStartRequest,
+        ModelState<RCFModelType> modelState,
+        Config config,
+        ActionListener<List<IndexableResultType>> listener
+    ) {
+        String configId = config.getId();
+        return ActionListener.wrap(trainingData -> {
+            // existing samples might have different interval or duplicated data compared to training data we just grabbed.
+            // clear it before adding historical data.
+            modelState.clearSamples();
+            if (trainingData != null && !trainingData.isEmpty()) {
+                int dataSize = trainingData.size();
+                // only train models if we have enough samples
+                if (dataSize >= numMinSamples) {
+                    // The function trainModelFromDataSegments will save a trained a model. trainModelFromDataSegments is called by
+                    // multiple places, so I want to make the saving model implicit just in case I forgot.
+                    List<IndexableResultType> processedTrainingData = trainAndRecordLatency(
+                        trainingData,
+                        modelState,
+                        config,
+                        coldStartRequest.getTaskId()
+                    );
+                    logger.info("Succeeded in training entity: {}", modelId);
+                    listener.onResponse(processedTrainingData);
+                } else {
+                    logger.info("Not enough data to train model: {}, currently we have {}", modelId, dataSize);
+
+                    trainingData.forEach(modelState::addSample);
+
+                    listener.onResponse(null);
+                }
+            } else {
+                logger.info("Cannot get training data for {}", modelId);
+                listener.onResponse(null);
+            }
+        }, exception -> {
+            try {
+                logger.error(new ParameterizedMessage("Error while cold start {}", modelId), exception);
+                Throwable cause = Throwables.getRootCause(exception);
+                if (ExceptionUtil.isOverloaded(cause)) {
+                    logger.error("too many requests");
+                    lastThrottledColdStartTime = Instant.now();
+                } else if (exception instanceof TimeSeriesException) {
+                    // e.g., cannot find anomaly detector
+                    nodeStateManager
+                        .setException(configId, ((TimeSeriesException) exception).cloneWithMsgPrefix(CommonMessages.COLD_START_EXCEPTION));
+                } else if (cause instanceof TimeSeriesException) {
+                    nodeStateManager
+                        .setException(configId, ((TimeSeriesException) cause).cloneWithMsgPrefix(CommonMessages.COLD_START_EXCEPTION));
+                } else {
+                    nodeStateManager.setException(configId, new TimeSeriesException(configId, CommonMessages.COLD_START_EXCEPTION, cause));
+                }
+                listener.onFailure(exception);
+            } catch (Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
     /**
      * Get training data for an entity.
      *
@@ -408,6 +552,102 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
             );
     }
 
+    /**
+     * Get training data for a batch of entities with one search. Sample ranges are
+     * computed from the earliest data time of the config instead of each entity's,
+     * so entities with a shorter history come back short and fall back to
+     * {@link #getColdStartData}, which also probes farther into history.
+     *
+     * @param config config accessor
+     * @param endTimeMs data start time of the current interval, i.e., the end of training data
+     * @param batch cold start request and training data callback of each entity
+     */
+    private void getBatchColdStartData(
+        Config config,
+        long endTimeMs,
+        Map<Entity, Pair<FeatureRequest, ActionListener<List<Sample>>>> batch
+    ) {
+        ActionListener<Optional<Long>> minTimeListener = ActionListener.wrap(earliest -> {
+            if (false == earliest.isPresent()) {
+                batch.values().forEach(request -> request.getRight().onResponse(new ArrayList<>()));
+                return;
+            }
+
+            long startTimeMs = earliest.get().longValue();
+            if (startTimeMs >= endTimeMs || endTimeMs - startTimeMs < config.getIntervalInMilliseconds()) {
+                batch.values().forEach(request -> request.getRight().onResponse(new ArrayList<>()));
+                return;
+            }
+
+            List<Entry<Long, Long>> sampleRanges = searchFeatureDao
+                .getTrainSampleRanges(
+                    (IntervalTimeConfiguration) config.getInterval(),
+                    startTimeMs,
+                    endTimeMs,
+                    selectNumberOfSamples(config)
+                );
+            if (sampleRanges.isEmpty()) {
+                batch.values().forEach(request -> request.getRight().onResponse(new ArrayList<>()));
+                return;
+            }
+
+            ActionListener<Map<Entity, List<Optional<double[]>>>> samplesListener = ActionListener.wrap(entitySamples -> {
+                int fallbacks = 0;
+                for (Entry<Entity, Pair<FeatureRequest, ActionListener<List<Sample>>>> entry : batch.entrySet()) {
+                    List<Optional<double[]>> featureSamples = entitySamples.get(entry.getKey());
+                    List<Sample> samples = featureSamples == null || featureSamples.size() != sampleRanges.size()
+                        ? new ArrayList<>()
+                        : toSamples(featureSamples, sampleRanges);
+                    if (samples.size() >= numMinSamples) {
+                        entry.getValue().getRight().onResponse(samples);
+                    } else {
+                        fallbacks++;
+                        fallbackToSingleColdStart(config.getId(), entry.getValue());
+                    }
+                }
+                logger.debug("Batched cold start for config {}: {} entities, {} fell back", config.getId(), batch.size(), fallbacks);
+            }, exception -> {
+                if (ExceptionUtil.isOverloaded(Throwables.getRootCause(exception))) {
+                    batch.values().forEach(request -> request.getRight().onFailure(exception));
+                    return;
+                }
+                logger.warn(new ParameterizedMessage("Batched cold start failed for config {}, fall back", config.getId()), exception);
+                batch.values().forEach(request -> fallbackToSingleColdStart(config.getId(), request));
+            });
+
+            try {
+                searchFeatureDao
+                    .getColdStartSamplesForPeriodsByEntities(
+                        config,
+                        sampleRanges,
+                        new ArrayList<>(batch.keySet()),
+                        // Accept empty bucket. See getFeatures.
+                        true,
+                        context,
+                        new ThreadedActionListener<>(logger, threadPool, threadPoolName, samplesListener, false)
+                    );
+            } catch (Exception e) {
+                samplesListener.onFailure(e);
+            }
+        }, exception -> batch.values().forEach(request -> request.getRight().onFailure(exception)));
+
+        searchFeatureDao
+            .getMinDataTime(
+                config,
+                Optional.empty(),
+                context,
+                new ThreadedActionListener<>(logger, threadPool, threadPoolName, minTimeListener, false)
+            );
+    }
+
+    private void fallbackToSingleColdStart(String configId, Pair<FeatureRequest, ActionListener<List<Sample>>> request) {
+        getColdStartData(
+            configId,
+            request.getLeft(),
+            new ThreadedActionListener<>(logger, threadPool, threadPoolName, request.getRight(), false)
+        );
+    }
+
     /**
      * Get the number of training samples to fetch from history.
      * We require at least numMinSamples to let rcf output non-zero rcf scores.
@@ -459,22 +699,7 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
             }
 
             // featuresSamples are in ascending order of time.
-
-            List<Sample> samples = new ArrayList<>();
-            for (int index = 0; index < featureSamples.size(); index++) {
-                Optional<double[]> featuresOptional = featureSamples.get(index);
-                if (featuresOptional.isPresent()) {
-                    Entry<Long, Long> curRange = sampleRanges.get(index);
-                    samples
-                        .add(
-                            new Sample(
-                                featuresOptional.get(),
-                                Instant.ofEpochMilli(curRange.getKey()),
-                                Instant.ofEpochMilli(curRange.getValue())
-                            )
-                        );
-                }
-            }
+            List<Sample> samples = toSamples(featureSamples, sampleRanges);
 
             List<Sample> concatenatedDataSample = null;
             // make sure the following logic making sense via checking lastRoundFirstStartTime > 0
@@ -533,6 +758,30 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         }
     }
 
+    /**
+     * @param featureSamples features in ascending order of time, one per sample range
+     * @param sampleRanges sample ranges in ascending order
+     * @return samples of the present features
+     */
+    private List<Sample> toSamples(List<Optional<double[]>> featureSamples, List<Entry<Long, Long>> sampleRanges) {
+        List<Sample> samples = new ArrayList<>();
+        for (int index = 0; index < featureSamples.size(); index++) {
+            Optional<double[]> featuresOptional = featureSamples.get(index);
+            if (featuresOptional.isPresent()) {
+                Entry<Long, Long> curRange = sampleRanges.get(index);
+                samples
+                    .add(
+                        new Sample(
+                            featuresOptional.get(),
+                            Instant.ofEpochMilli(curRange.getKey()),
+                            Instant.ofEpochMilli(curRange.getValue())
+                        )
+                    );
+            }
+        }
+        return samples;
+    }
+
     // Method to apply imputation method based on the imputation option
     public static <T extends ThresholdedRandomCutForest.Builder<T>> T applyImputationMethod(Config config, T builder) {
         ImputationOption imputationOption = config.getImputationOption();
@@ -562,6 +811,26 @@ public abstract class ModelColdStart<RCFModelType extends ThresholdedRandomCutFo
         }
     }
 
+    /**
+     * Train a model and record how long the training took, whether it succeeded or not.
+     */
+    private List<IndexableResultType> trainAndRecordLatency(
+        List<Sample> dataPoints,
+        ModelState<RCFModelType> state,
+        Config config,
+        String taskId
+    ) {
+        long startNanos = System.nanoTime();
+        try {
+            return trainModelFromDataSegments(dataPoints, state, config, taskId);
+        } finally {
+            Stats latencyStats = stats;
+            if (latencyStats != null) {
+                latencyStats.recordLatency(LatencyStage.COLD_START, context, startNanos);
+            }
+        }
+    }
+
     protected abstract List<IndexableResultType> trainModelFromDataSegments(
         List<Sample> dataPoints,
         ModelState<RCFModelType> state,
@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An immutable copy of a model taken between two model updates. Checkpoint writers
+ * serialize the copy instead of the live model, which may change during serialization.
+ */
+public class ModelSnapshot {
+    // mapper state of the model, e.g., ThresholdedRandomCutForestState
+    private final Object state;
+    private final Instant capturedTime;
+    // processed count of the model when it was copied
+    private final long position;
+    // gives back the memory charged for the copy
+    private final Runnable onRelease;
+    private final AtomicBoolean released;
+
+    public ModelSnapshot(Object state, Instant capturedTime) {
+        this(state, capturedTime, -1, () -> {});
+    }
+
+    public ModelSnapshot(Object state, Instant capturedTime, long position, Runnable onRelease) {
+        this.state = state;
+        this.capturedTime = capturedTime;
+        this.position = position;
+        this.onRelease = onRelease;
+        this.released = new AtomicBoolean();
+    }
+
+    public Object getState() {
+        return state;
+    }
+
+    public Instant getCapturedTime() {
+        return capturedTime;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Called once the model state no longer references the snapshot. Writers that
+     * already picked the snapshot up keep their reference until they are done.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+}
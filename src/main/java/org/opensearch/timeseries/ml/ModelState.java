@@ -15,10 +15,14 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
 
 import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.model.Entity;
@@ -40,6 +44,23 @@ public class ModelState<T> implements org.opensearch.timeseries.ExpiringState {
     protected float priority;
     protected Deque<Sample> samples;
     protected Optional<Entity> entity;
+    // copy of the model taken between updates for checkpointing
+    protected final AtomicReference<ModelSnapshot> snapshot;
+    // the most recent samples the model processed, at most as many as a delta can hold
+    protected final Deque<Sample> delta;
+    // number of samples the model processed. A full checkpoint records the position it
+    // serialized so that the delta restarts from there once the checkpoint is saved.
+    protected long processedCount;
+    // position of the last saved full checkpoint or -1 if the saved model is unknown
+    protected long deltaBase;
+    // model version of the last saved full checkpoint, written with each delta so that a
+    // delta is never replayed onto another model
+    protected String deltaBaseVersion;
+    // positions below this belong to a model that has been replaced
+    protected long minDeltaBase;
+    protected long deltaBytes;
+    // told about changes of deltaBytes. Null until someone accounts the delta.
+    protected LongConsumer deltaMemoryListener;
 
     /**
      * Constructor.
@@ -74,6 +95,9 @@ public class ModelState<T> implements org.opensearch.timeseries.ExpiringState {
         this.priority = priority;
         this.entity = entity;
         this.samples = samples;
+        this.snapshot = new AtomicReference<>();
+        this.delta = new ArrayDeque<>();
+        this.deltaBase = -1;
     }
 
     /**
@@ -132,6 +156,170 @@ public class ModelState<T> implements org.opensearch.timeseries.ExpiringState {
      */
     public void setLastCheckpointTime(Instant lastCheckpointTime) {
         this.lastCheckpointTime = lastCheckpointTime;
+        // release a snapshot the checkpoint has made obsolete
+        ModelSnapshot current = snapshot.get();
+        if (current != null && !isFresh(current) && snapshot.compareAndSet(current, null)) {
+            current.release();
+        }
+    }
+
+    /**
+     * Sets the copy of the model that checkpoint writers serialize instead of the live model.
+     * Must be captured while no other thread updates the model.
+     *
+     * @param snapshot model snapshot
+     */
+    public void setSnapshot(ModelSnapshot snapshot) {
+        releaseSnapshot(this.snapshot.getAndSet(snapshot));
+    }
+
+    /**
+     * A snapshot is only returned if it was captured after the last checkpoint. An
+     * older snapshot has been saved already or belongs to a model that was replaced.
+     *
+     * @return the model snapshot or empty if there is no fresh one
+     */
+    public Optional<ModelSnapshot> getSnapshot() {
+        ModelSnapshot current = snapshot.get();
+        if (current == null || !isFresh(current)) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Record samples the model has just processed for the next incremental checkpoint.
+     *
+     * @param processed samples in the order the model processed them
+     * @param maxDeltaSamples the most samples an incremental checkpoint holds
+     */
+    public synchronized void appendDelta(List<Sample> processed, int maxDeltaSamples) {
+        processedCount += processed.size();
+        if (maxDeltaSamples <= 0) {
+            // incremental checkpoints are disabled
+            trimDelta(0);
+            return;
+        }
+        long added = 0;
+        for (Sample sample : processed) {
+            delta.addLast(sample);
+            added += sample.estimateBytes();
+        }
+        changeDeltaBytes(added);
+        trimDelta(maxDeltaSamples);
+    }
+
+    /**
+     * Restart the delta after a full checkpoint has been saved. Samples processed after
+     * the checkpoint was serialized stay in the delta.
+     *
+     * @param position processed count when the saved model was serialized
+     * @param modelVersion version of the saved model
+     */
+    public synchronized void restartDelta(long position, String modelVersion) {
+        if (position < minDeltaBase || position <= deltaBase || position > processedCount) {
+            // a checkpoint of a replaced model or older than the one we know is saved
+            return;
+        }
+        deltaBase = position;
+        deltaBaseVersion = modelVersion;
+        trimDelta(processedCount - position);
+    }
+
+    /**
+     * Continue tracking after restoring a model from a checkpoint whose delta has been replayed.
+     *
+     * @param restored samples of the restored delta
+     * @param maxDeltaSamples the most samples an incremental checkpoint holds
+     * @param modelVersion version of the restored model
+     */
+    public synchronized void restoreDelta(Deque<Sample> restored, int maxDeltaSamples, String modelVersion) {
+        trimDelta(0);
+        deltaBase = processedCount;
+        deltaBaseVersion = modelVersion;
+        appendDelta(new ArrayList<>(restored), maxDeltaSamples);
+    }
+
+    /**
+     * @return a copy of the samples processed since the last saved full checkpoint, or
+     *  empty if the next checkpoint has to be a full one
+     */
+    public synchronized Optional<List<Sample>> getDelta() {
+        long unsaved = processedCount - deltaBase;
+        if (deltaBase < 0 || unsaved > delta.size()) {
+            return Optional.empty();
+        }
+        List<Sample> buffered = new ArrayList<>(delta);
+        return Optional.of(new ArrayList<>(buffered.subList(buffered.size() - (int) unsaved, buffered.size())));
+    }
+
+    /**
+     * @return version of the saved model the delta applies to, or null if unknown
+     */
+    public synchronized String getDeltaBaseVersion() {
+        return deltaBaseVersion;
+    }
+
+    /**
+     * @return number of samples the model has processed, which identifies the model a
+     *  checkpoint serializes
+     */
+    public synchronized long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * Account the memory of the buffered samples. The listener is called with the
+     * current bytes right away and with every change afterwards.
+     *
+     * @param listener consumer of byte changes, negative when bytes are freed
+     */
+    public synchronized void setDeltaMemoryListener(LongConsumer listener) {
+        if (deltaMemoryListener != null) {
+            return;
+        }
+        deltaMemoryListener = listener;
+        if (deltaBytes != 0) {
+            listener.accept(deltaBytes);
+        }
+    }
+
+    private synchronized void dropDelta() {
+        trimDelta(0);
+        deltaBase = -1;
+        deltaBaseVersion = null;
+        // skip a position so that checkpoints of the replaced model cannot restart the delta
+        processedCount++;
+        minDeltaBase = processedCount;
+    }
+
+    private void trimDelta(long maxSamples) {
+        long freed = 0;
+        while (delta.size() > maxSamples) {
+            freed += delta.removeFirst().estimateBytes();
+        }
+        changeDeltaBytes(-freed);
+    }
+
+    private void changeDeltaBytes(long bytes) {
+        if (bytes == 0) {
+            return;
+        }
+        deltaBytes += bytes;
+        if (deltaMemoryListener != null) {
+            deltaMemoryListener.accept(bytes);
+        }
+    }
+
+    private static void releaseSnapshot(ModelSnapshot dropped) {
+        if (dropped != null) {
+            dropped.release();
+        }
+    }
+
+    private boolean isFresh(ModelSnapshot current) {
+        Instant checkpointTime = lastCheckpointTime;
+        return checkpointTime == null || current.getCapturedTime().isAfter(checkpointTime);
     }
 
     /**
@@ -191,6 +379,8 @@ public class ModelState<T> implements org.opensearch.timeseries.ExpiringState {
      */
     public void setModel(T model) {
         this.model = model;
+        releaseSnapshot(this.snapshot.getAndSet(null));
+        dropDelta();
         this.lastUsedTime = clock.instant();
     }
 
@@ -213,6 +403,8 @@ public class ModelState<T> implements org.opensearch.timeseries.ExpiringState {
     public void clear() {
         clearSamples();
         model = null;
+        releaseSnapshot(snapshot.getAndSet(null));
+        dropDelta();
     }
 
     /**
@@ -49,6 +49,7 @@ import org.opensearch.timeseries.ratelimit.FeatureRequest;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.ratelimit.SaveResultStrategy;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.stats.Stats;
 import org.opensearch.timeseries.task.TaskCacheManager;
 import org.opensearch.timeseries.task.TaskManager;
@@ -88,6 +89,8 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
     private Clock clock;
     private SearchFeatureDao searchFeatureDao;
     private AnalysisType analysisContext;
+    // shares one search among entities backfilling the same gap
+    private GapBackfillCoordinator gapBackfillCoordinator;
 
     public RealTimeInferencer(
         ModelManagerType modelManager,
@@ -118,6 +121,13 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
         this.clock = clock;
         this.searchFeatureDao = searchFeatureDao;
         this.analysisContext = analysisContext;
+        this.gapBackfillCoordinator = new GapBackfillCoordinator(
+            searchFeatureDao,
+            threadPool,
+            threadPoolName,
+            analysisContext,
+            this::getFeatures
+        );
     }
 
     /**
@@ -181,19 +191,20 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
                 // latest existing sample, ensuring we always process it at least once.
                 // Future queries start from that sample onward, never looking back
                 // before it.
-                getFeatures(
-                    config,
-                    modelState.getEntity(),
-                    lastInputTimestampSecs * 1000,
-                    sample.getDataStartTime().getEpochSecond() * 1000,
-                    ActionListener.wrap(samples -> {
-                        LOG.info("samples size: {}", samples.size());
-                        for (Sample s : samples) {
-                            addSample(queue, s, config);
-                        }
-                        processWithTimeout(modelState, config, taskId, sample, listener);
-                    }, listener::onFailure)
-                );
+                gapBackfillCoordinator
+                    .fetch(
+                        config,
+                        modelState.getEntity(),
+                        lastInputTimestampSecs * 1000,
+                        sample.getDataStartTime().getEpochSecond() * 1000,
+                        ActionListener.wrap(samples -> {
+                            LOG.info("samples size: {}", samples.size());
+                            for (Sample s : samples) {
+                                addSample(queue, s, config);
+                            }
+                            processWithTimeout(modelState, config, taskId, sample, listener);
+                        }, listener::onFailure)
+                    );
             } else if (diffSecs < minGapSecs) {
                 processWithTimeout(modelState, config, taskId, sample, listener);
             } else {
@@ -220,6 +231,20 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
         String taskId,
         Sample sample,
         ActionListener<Boolean> listener
+    ) {
+        processWithTimeout(modelState, config, taskId, sample, listener, System.nanoTime());
+    }
+
+    /**
+     * @param firstAttemptNanos start of the first attempt to lock the model, kept across retries
+     */
+    private void processWithTimeout(
+        ModelState<RCFModelType> modelState,
+        Config config,
+        String taskId,
+        Sample sample,
+        ActionListener<Boolean> listener,
+        long firstAttemptNanos
     ) {
         String modelId = modelState.getModelId();
         ReentrantLock lock = (ReentrantLock) modelLocks
@@ -237,6 +262,7 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
         LOG.debug("try lock");
         if (lock.tryLock()) {
             LOG.debug("lock acquired");
+            stats.recordLatency(LatencyStage.INFERENCE_LOCK_WAIT, analysisContext, firstAttemptNanos);
             try {
                 TreeSet<Sample> queue = sampleQueues.get(modelId).getValue();
                 LOG.debug("queue size:{}", queue.size());
@@ -264,6 +290,7 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
                             Arrays.toString(timestamps),
                             modelState.getEntity().map(Object::toString).orElse("null")
                         );
+                    long scoreStartNanos = System.nanoTime();
                     List<AnomalyDescriptor> results = model.processSequentially(points, timestamps, x -> true);
                     List<RCFResultType> intermediateResults = new ArrayList<>();
                     for (int i = 0; i < results.size(); i++) {
@@ -273,6 +300,12 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
                             .toResult(model.getForest(), result, sampleI.getValueList(), result.getMissingValues() != null, config);
                         intermediateResults.add(rcfResult);
                     }
+                    stats.recordLatency(LatencyStage.INFERENCE_SCORE, analysisContext, scoreStartNanos);
+                    // the next checkpoint may save these samples instead of the whole model
+                    checkpointDao.recordProcessed(modelState, samples);
+                    // copy the model while we hold its lock so that the checkpoint writer
+                    // does not serialize it concurrently with the next update
+                    checkpointDao.snapshotIfDue(modelState);
                     resultWriteWorker
                         .saveAllResults(
                             intermediateResults,
@@ -339,7 +372,7 @@ public abstract class RealTimeInferencer<RCFModelType extends ThresholdedRandomC
                     // Schedule a retry in one second
                     threadPool
                         .schedule(
-                            () -> processWithTimeout(modelState, config, taskId, sample, listener),
+                            () -> processWithTimeout(modelState, config, taskId, sample, listener, firstAttemptNanos),
                             new TimeValue(1, TimeUnit.SECONDS),
                             threadPoolName
                         );
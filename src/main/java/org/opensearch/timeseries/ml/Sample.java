@@ -43,6 +43,13 @@ public class Sample implements ToXContentObject {
         this.dataStartTime = this.dataEndTime = Instant.MIN;
     }
 
+    /**
+     * @return estimated heap bytes of the sample: its header, the value array and two instants
+     */
+    public long estimateBytes() {
+        return 24 + 16 + 8L * data.length + 2 * 24;
+    }
+
     public double[] getValueList() {
         return data;
     }
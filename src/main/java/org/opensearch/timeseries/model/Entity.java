@@ -56,7 +56,7 @@ import com.google.common.base.Objects;
 public class Entity implements ToXContentObject, Writeable {
 
     private static final long RANDOM_SEED = 42;
-    private static final String MODEL_ID_INFIX = "_entity_";
+    public static final String MODEL_ID_INFIX = "_entity_";
 
     public static final String ATTRIBUTE_NAME_FIELD = "name";
     public static final String ATTRIBUTE_VALUE_FIELD = "value";
@@ -28,6 +28,8 @@ import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.NodeStateManager;
 import org.opensearch.timeseries.breaker.CircuitBreakerService;
+import org.opensearch.timeseries.stats.LatencyStage;
+import org.opensearch.timeseries.stats.Stats;
 
 /**
  *
@@ -39,6 +41,8 @@ public abstract class BatchWorker<RequestType extends QueuedRequest, BatchReques
     ConcurrentWorker<RequestType> {
     private static final Logger LOG = LogManager.getLogger(BatchWorker.class);
     protected int batchSize;
+    // set once the plugin has created the stats, which depend on components built after the workers
+    private volatile Stats stats;
 
     public BatchWorker(
         String queueName,
@@ -104,6 +108,20 @@ public abstract class BatchWorker<RequestType extends QueuedRequest, BatchReques
      */
     protected abstract BatchRequestType toBatchRequest(List<RequestType> toProcess);
 
+    /**
+     * @param stats stats to record the batch latency in
+     */
+    public void setStats(Stats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * @return stage whose latency the round trip of a batch request is recorded as, or null to not record it
+     */
+    protected LatencyStage getBatchLatencyStage() {
+        return null;
+    }
+
     @Override
     protected void execute(Runnable afterProcessCallback, Runnable emptyQueueCallback) {
 
@@ -132,7 +150,13 @@ public abstract class BatchWorker<RequestType extends QueuedRequest, BatchReques
             );
 
             final ActionListener<BatchResponseType> listenerWithRelease = ActionListener.runAfter(listener, afterProcessCallback);
+            final LatencyStage latencyStage = getBatchLatencyStage();
+            final Stats latencyStats = stats;
+            final long startNanos = System.nanoTime();
             executeBatchRequest(batchRequest, ActionListener.runAfter(listenerWithRelease, () -> {
+                if (latencyStage != null && latencyStats != null) {
+                    latencyStats.recordLatency(latencyStage, context, startNanos);
+                }
                 if (!inflights.isEmpty()) {
                     inflightConfigs.removeAll(inflights);
                 }
@@ -13,13 +13,11 @@ package org.opensearch.timeseries.ratelimit;
 
 import java.time.Clock;
 import java.time.Duration;
-import java.util.Map;
 import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
-import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Provider;
 import org.opensearch.common.settings.Setting;
@@ -80,24 +78,20 @@ public class CheckPointMaintainRequestAdapter<RCFModelType extends ThresholdedRa
             }
 
             try {
-                Map<String, Object> source = checkpointDao.toIndexSource(state);
-
-                // the model state is bloated or empty (empty samples and models), skip
-                if (source == null || source.isEmpty() || Strings.isEmpty(modelId)) {
+                if (Strings.isEmpty(modelId)) {
                     return Optional.empty();
                 }
-
-                return Optional
-                    .of(
-                        new CheckpointWriteRequest(
-                            request.getExpirationEpochMs(),
-                            configId,
-                            request.getPriority(),
-                            // If the document does not already exist, the contents of the upsert element
-                            // are inserted as a new document.
-                            // If the document exists, update fields in the map
-                            new UpdateRequest(indexName, modelId).docAsUpsert(true).doc(source)
-                        )
+                // once the delta overflows, this compacts it into a full checkpoint.
+                // Empty if the model state is bloated or empty (empty samples and models).
+                return CheckpointWriteWorker
+                    .toWriteRequest(
+                        checkpointDao,
+                        indexName,
+                        modelId,
+                        state,
+                        request.getExpirationEpochMs(),
+                        configId,
+                        request.getPriority()
                     );
             } catch (Exception e) {
                 // Example exception:
@@ -14,6 +14,7 @@ package org.opensearch.timeseries.ratelimit;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -21,6 +22,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +37,7 @@ import org.opensearch.common.inject.Provider;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
@@ -54,6 +59,7 @@ import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.IndexableResult;
 import org.opensearch.timeseries.model.TaskType;
 import org.opensearch.timeseries.model.TimeSeriesTask;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.task.TaskCacheManager;
 import org.opensearch.timeseries.task.TaskManager;
 import org.opensearch.timeseries.util.ActionListenerExecutor;
@@ -73,6 +79,8 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
     protected final Provider<? extends TimeSeriesCache<RCFModelType>> cacheProvider;
     protected final String checkpointIndexName;
     protected final InferencerType inferencer;
+    // max checkpoints of one batch restored in parallel. 1 restores them one after another.
+    protected volatile int restoreParallelism;
 
     public CheckpointReadWorker(
         String workerName,
@@ -100,6 +108,7 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
         CheckpointWriteWorkerType checkpointWriteWorker,
         Setting<Integer> concurrencySetting,
         Setting<Integer> batchSizeSetting,
+        Setting<Integer> restoreParallelismSetting,
         String checkpointIndexName,
         AnalysisType context,
         InferencerType inferencer
@@ -135,6 +144,8 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
         this.checkpointWriteWorker = checkpointWriteWorker;
         this.checkpointIndexName = checkpointIndexName;
         this.inferencer = inferencer;
+        this.restoreParallelism = restoreParallelismSetting.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(restoreParallelismSetting, it -> restoreParallelism = it);
     }
 
     @Override
@@ -142,6 +153,11 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
         checkpointDao.batchRead(request, listener);
     }
 
+    @Override
+    protected LatencyStage getBatchLatencyStage() {
+        return LatencyStage.CHECKPOINT_READ;
+    }
+
     /**
      * Convert the input list of FeatureRequest to a multi-get request.
      * RateLimitedRequestWorker.getRequests has already limited the number of
@@ -256,7 +272,11 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
                 // don't need to proceed further since no checkpoint is available
                 return;
             }
-            processCheckpointIteration(0, toProcess, successfulRequests, retryableRequests);
+            if (restoreParallelism > 1) {
+                processCheckpointsInParallel(toProcess, successfulRequests, retryableRequests);
+            } else {
+                processCheckpointIteration(0, toProcess, successfulRequests, retryableRequests);
+            }
         }, exception -> {
             LOG.warn("Exception while processing checkpoints", exception);
             if (ExceptionUtil.isOverloaded(exception)) {
@@ -353,47 +373,210 @@ public abstract class CheckpointReadWorker<RCFModelType extends ThresholdedRando
                 return;
             }
 
-            Config config = configOptional.get();
-
-            LOG.info("Processing sample for model [{}]", modelId);
-            inferencer
-                .process(
-                    new Sample(
-                        origRequest.getCurrentFeature(),
-                        Instant.ofEpochMilli(origRequest.getDataStartTimeMillis()),
-                        Instant.ofEpochMilli(origRequest.getDataStartTimeMillis() + config.getIntervalInMilliseconds())
-                    ),
-                    restoredModelState,
-                    config,
-                    origRequest.getTaskId(),
-                    ActionListener.wrap(processed -> {
-                        if (processed) {
-                            // try to load to cache
-                            boolean loaded = cacheProvider.get().hostIfPossible(config, restoredModelState);
-
-                            if (false == loaded) {
-                                // not in memory. Maybe cold entities or long interval entities
-                                // Save checkpoints.
-                                checkpointWriteWorker
-                                    .write(
-                                        restoredModelState,
-                                        true,
-                                        config.isLongFrequency() ? RequestPriority.MEDIUM : RequestPriority.LOW
-                                    );
-                            }
-                        }
-
-                        processCheckpointIteration(index + 1, toProcess, successfulRequests, retryableRequests);
-                    }, e -> {
-                        LOG.error("Failed to process checkpoint for model " + modelId, e);
-                        nodeStateManager.setException(configId, e);
-                        processCheckpointIteration(index + 1, toProcess, successfulRequests, retryableRequests);
-                    })
-                );
+            processRestoredModel(
+                origRequest,
+                configOptional.get(),
+                restoredModelState,
+                modelId,
+                configId,
+                () -> processCheckpointIteration(index + 1, toProcess, successfulRequests, retryableRequests)
+            );
         }, exception -> {
             LOG.error(new ParameterizedMessage("fail to get checkpoint [{}]", modelId, exception));
             nodeStateManager.setException(configId, exception);
             processCheckpointIteration(index + 1, toProcess, successfulRequests, retryableRequests);
         }, threadPool.executor(threadPoolName));
     }
+
+    /**
+     * Score the current sample with a restored model and host the model in cache if possible.
+     * @param origRequest request carrying the current sample
+     * @param config the config of the model
+     * @param restoredModelState model state restored from checkpoint
+     * @param modelId model Id
+     * @param configId config Id
+     * @param next what to do after the model is processed, successfully or not
+     */
+    protected void processRestoredModel(
+        FeatureRequest origRequest,
+        Config config,
+        ModelState<RCFModelType> restoredModelState,
+        String modelId,
+        String configId,
+        Runnable next
+    ) {
+        LOG.info("Processing sample for model [{}]", modelId);
+        inferencer
+            .process(
+                new Sample(
+                    origRequest.getCurrentFeature(),
+                    Instant.ofEpochMilli(origRequest.getDataStartTimeMillis()),
+                    Instant.ofEpochMilli(origRequest.getDataStartTimeMillis() + config.getIntervalInMilliseconds())
+                ),
+                restoredModelState,
+                config,
+                origRequest.getTaskId(),
+                ActionListener.wrap(processed -> {
+                    if (processed) {
+                        // try to load to cache
+                        boolean loaded = cacheProvider.get().hostIfPossible(config, restoredModelState);
+
+                        if (false == loaded) {
+                            // not in memory. Maybe cold entities or long interval entities
+                            // Save checkpoints.
+                            checkpointWriteWorker
+                                .write(restoredModelState, true, config.isLongFrequency() ? RequestPriority.MEDIUM : RequestPriority.LOW);
+                        }
+                    }
+
+                    next.run();
+                }, e -> {
+                    LOG.error("Failed to process checkpoint for model " + modelId, e);
+                    nodeStateManager.setException(configId, e);
+                    next.run();
+                })
+            );
+    }
+
+    /**
+     * Restore checkpoints of a multi-get batch with bounded parallelism.
+     *
+     * Configs are fetched once per config Id. Once all of them are back, up to
+     * restoreParallelism lanes run on the analysis thread pool for the whole batch,
+     * however many configs it has. Each lane takes the next checkpoint, deserializes
+     * it, and scores it, so inference of one model overlaps with deserialization of
+     * others. The outcome of every item is the same as in processCheckpointIteration:
+     * a missing or corrupted model goes to cold start, a retryable failure is requeued,
+     * and a config failure is recorded in node state.
+     *
+     * @param toProcess requests of the batch
+     * @param successfulRequests model Id to checkpoint get response
+     * @param retryableRequests model Ids to retry
+     */
+    protected void processCheckpointsInParallel(
+        List<FeatureRequest> toProcess,
+        Map<String, MultiGetItemResponse> successfulRequests,
+        Set<String> retryableRequests
+    ) {
+        List<FeatureRequest> restoreRequests = new ArrayList<>();
+        Set<String> configIds = new HashSet<>();
+        for (FeatureRequest origRequest : toProcess) {
+            String modelId = origRequest.getModelId();
+            if (null == modelId) {
+                continue;
+            }
+            if (successfulRequests.containsKey(modelId)) {
+                restoreRequests.add(origRequest);
+                configIds.add(origRequest.getConfigId());
+            } else if (retryableRequests != null && retryableRequests.contains(modelId)) {
+                // failed requests
+                super.put(origRequest);
+            }
+        }
+        if (restoreRequests.isEmpty()) {
+            return;
+        }
+
+        Map<String, Optional<? extends Config>> configs = new ConcurrentHashMap<>();
+        Map<String, Exception> configExceptions = new ConcurrentHashMap<>();
+        AtomicInteger pendingConfigs = new AtomicInteger(configIds.size());
+        Runnable onConfigFetched = () -> {
+            if (pendingConfigs.decrementAndGet() == 0) {
+                startRestoreLanes(restoreRequests, successfulRequests, configs, configExceptions);
+            }
+        };
+        for (String configId : configIds) {
+            nodeStateManager.getConfig(configId, context, true, ActionListener.wrap(configOptional -> {
+                configs.put(configId, configOptional);
+                onConfigFetched.run();
+            }, exception -> {
+                configExceptions.put(configId, exception);
+                onConfigFetched.run();
+            }));
+        }
+    }
+
+    private void startRestoreLanes(
+        List<FeatureRequest> restoreRequests,
+        Map<String, MultiGetItemResponse> successfulRequests,
+        Map<String, Optional<? extends Config>> configs,
+        Map<String, Exception> configExceptions
+    ) {
+        AtomicInteger cursor = new AtomicInteger();
+        int lanes = Math.min(restoreParallelism, restoreRequests.size());
+        ExecutorService executor = threadPool.executor(threadPoolName);
+        int started = 0;
+        for (int i = 0; i < lanes; i++) {
+            try {
+                executor.execute(() -> restoreNext(cursor, restoreRequests, successfulRequests, configs, configExceptions));
+                started++;
+            } catch (OpenSearchRejectedExecutionException e) {
+                // lanes already started drain the cursor
+                LOG.warn("Started {} of {} restore lanes as the thread pool is full", started, lanes);
+                break;
+            }
+        }
+        if (started == 0) {
+            // nothing took a request yet; fetch the checkpoints again later
+            restoreRequests.forEach(super::put);
+        }
+    }
+
+    private void restoreNext(
+        AtomicInteger cursor,
+        List<FeatureRequest> restoreRequests,
+        Map<String, MultiGetItemResponse> successfulRequests,
+        Map<String, Optional<? extends Config>> configs,
+        Map<String, Exception> configExceptions
+    ) {
+        int index = cursor.getAndIncrement();
+        if (index >= restoreRequests.size()) {
+            return;
+        }
+
+        // whether we will process next response in callbacks
+        // if false, finally will process next checkpoints
+        boolean processNextInCallBack = false;
+        try {
+            FeatureRequest origRequest = restoreRequests.get(index);
+            String modelId = origRequest.getModelId();
+            String configId = origRequest.getConfigId();
+
+            ModelState<RCFModelType> modelState = checkpointDao
+                .processHCGetResponse(successfulRequests.get(modelId).getResponse(), modelId, configId);
+
+            if (null == modelState) {
+                // checkpoint is not available (e.g., too big or corrupted); cold start again
+                coldStartWorker.put(origRequest);
+                return;
+            }
+
+            Exception configException = configExceptions.get(configId);
+            if (configException != null) {
+                LOG.error(new ParameterizedMessage("fail to get checkpoint [{}]", modelId, configException));
+                nodeStateManager.setException(configId, configException);
+                return;
+            }
+
+            Optional<? extends Config> configOptional = configs.getOrDefault(configId, Optional.empty());
+            if (configOptional.isEmpty()) {
+                LOG.warn(new ParameterizedMessage("Config [{}] is not available.", configId));
+                return;
+            }
+
+            processRestoredModel(
+                origRequest,
+                configOptional.get(),
+                modelState,
+                modelId,
+                configId,
+                () -> restoreNext(cursor, restoreRequests, successfulRequests, configs, configExceptions)
+            );
+            processNextInCallBack = true;
+        } finally {
+            if (false == processNextInCallBack) {
+                restoreNext(cursor, restoreRequests, successfulRequests, configs, configExceptions);
+            }
+        }
+    }
 }
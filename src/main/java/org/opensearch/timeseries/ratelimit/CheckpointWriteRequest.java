@@ -15,13 +15,30 @@ import org.opensearch.action.update.UpdateRequest;
 
 public class CheckpointWriteRequest extends QueuedRequest {
     private final UpdateRequest updateRequest;
+    // run once the checkpoint has been indexed
+    private final Runnable onSaved;
 
     public CheckpointWriteRequest(long expirationEpochMs, String detectorId, RequestPriority priority, UpdateRequest updateRequest) {
+        this(expirationEpochMs, detectorId, priority, updateRequest, () -> {});
+    }
+
+    public CheckpointWriteRequest(
+        long expirationEpochMs,
+        String detectorId,
+        RequestPriority priority,
+        UpdateRequest updateRequest,
+        Runnable onSaved
+    ) {
         super(expirationEpochMs, detectorId, priority);
         this.updateRequest = updateRequest;
+        this.onSaved = onSaved;
     }
 
     public UpdateRequest getUpdateRequest() {
         return updateRequest;
     }
+
+    public void onSaved() {
+        onSaved.run();
+    }
 }
@@ -5,6 +5,7 @@
 
 package org.opensearch.timeseries.ratelimit;
 
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -28,12 +29,14 @@ import org.opensearch.core.common.Strings;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.NodeStateManager;
+import org.opensearch.timeseries.TimeSeriesAnalyticsPlugin;
 import org.opensearch.timeseries.breaker.CircuitBreakerService;
 import org.opensearch.timeseries.indices.IndexManagement;
 import org.opensearch.timeseries.indices.TimeSeriesIndex;
 import org.opensearch.timeseries.ml.CheckpointDao;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.util.ExceptionUtil;
 
 public abstract class CheckpointWriteWorker<RCFModelType, IndexType extends Enum<IndexType> & TimeSeriesIndex, IndexManagementType extends IndexManagement<IndexType>, CheckpointDaoType extends CheckpointDao<RCFModelType, IndexType, IndexManagementType>>
@@ -103,6 +106,11 @@ public abstract class CheckpointWriteWorker<RCFModelType, IndexType extends Enum
         checkpoint.batchWrite(request, listener);
     }
 
+    @Override
+    protected LatencyStage getBatchLatencyStage() {
+        return LatencyStage.CHECKPOINT_WRITE;
+    }
+
     @Override
     protected BulkRequest toBatchRequest(List<CheckpointWriteRequest> toProcess) {
         final BulkRequest bulkRequest = new BulkRequest();
@@ -115,12 +123,17 @@ public abstract class CheckpointWriteWorker<RCFModelType, IndexType extends Enum
     @Override
     protected ActionListener<BulkResponse> getResponseListener(List<CheckpointWriteRequest> toProcess, BulkRequest batchRequest) {
         return ActionListener.wrap(response -> {
-            for (BulkItemResponse r : response.getItems()) {
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < items.length; i++) {
+                BulkItemResponse r = items[i];
                 if (r.getFailureMessage() != null) {
                     // maybe indicating a bug
                     // don't retry failed requests since checkpoints are too large (250KB+)
                     // Later maintenance window or cold start or cache remove will retry saving
                     LOG.error(r.getFailureMessage());
+                } else if (i < toProcess.size()) {
+                    // bulk items are in the order of the requests
+                    toProcess.get(i).onSaved();
                 }
             }
         }, exception -> {
@@ -175,39 +188,40 @@ public abstract class CheckpointWriteWorker<RCFModelType, IndexType extends Enum
             }
 
             Config config = configOptional.get();
-            try {
-                Map<String, Object> source = checkpoint.toIndexSource(modelState);
-
-                // the model state is bloated or we have bugs, skip
-                if (source == null || source.isEmpty()) {
-                    return;
-                }
+            serializeInBackground(() -> serialize(config, configId, modelId, modelState, priority));
+        }, exception -> { LOG.error(new ParameterizedMessage("fail to get config [{}]", configId), exception); });
+    }
 
-                modelState.setLastCheckpointTime(clock.instant());
-                CheckpointWriteRequest request = new CheckpointWriteRequest(
-                    System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
-                    configId,
-                    priority,
-                    // If the document does not already exist, the contents of the upsert element
-                    // are inserted as a new document.
-                    // If the document exists, update fields in the map
-                    new UpdateRequest(indexName, modelId).docAsUpsert(true).doc(source)
-                );
+    private void serialize(Config config, String configId, String modelId, ModelState<RCFModelType> modelState, RequestPriority priority) {
+        try {
+            Optional<CheckpointWriteRequest> request = toWriteRequest(
+                checkpoint,
+                indexName,
+                modelId,
+                modelState,
+                System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
+                configId,
+                priority
+            );
 
-                put(request);
-            } catch (Exception e) {
-                // Example exception:
-                // ConcurrentModificationException when calling toCheckpoint
-                // and updating rcf model at the same time. To prevent this,
-                // we need to have a deep copy of models or have a lock. Both
-                // options are costly.
-                // As we are gonna retry serializing either when the entity is
-                // evicted out of cache or during the next maintenance period,
-                // don't do anything when the exception happens.
-                LOG.error(new ParameterizedMessage("Exception while serializing models for [{}]", modelId), e);
+            // the model state is bloated or we have bugs, skip
+            if (request.isEmpty()) {
+                return;
             }
 
-        }, exception -> { LOG.error(new ParameterizedMessage("fail to get config [{}]", configId), exception); });
+            modelState.setLastCheckpointTime(clock.instant());
+            put(request.get());
+        } catch (Exception e) {
+            // Example exception:
+            // ConcurrentModificationException when calling toCheckpoint
+            // and updating rcf model at the same time. This only happens
+            // when there is no fresh model snapshot captured under the model
+            // lock, e.g., for models that are not scored in real time.
+            // As we are gonna retry serializing either when the entity is
+            // evicted out of cache or during the next maintenance period,
+            // don't do anything when the exception happens.
+            LOG.error(new ParameterizedMessage("Exception while serializing models for [{}]", modelId), e);
+        }
     }
 
     public void writeAll(List<ModelState<RCFModelType>> modelStates, String configId, boolean forceWrite, RequestPriority priority) {
@@ -218,52 +232,125 @@ public abstract class CheckpointWriteWorker<RCFModelType, IndexType extends Enum
             }
 
             Config config = configOptional.get();
-            try {
-                List<CheckpointWriteRequest> allRequests = new ArrayList<>();
-                for (ModelState<RCFModelType> state : modelStates) {
-                    if (!checkpoint.shouldSave(state, forceWrite, checkpointInterval, clock)) {
-                        continue;
-                    }
+            serializeInBackground(() -> serializeAll(config, configId, modelStates, forceWrite, priority));
+        }, exception -> { LOG.error(new ParameterizedMessage("fail to get config [{}]", configId), exception); });
+
+        // run once won't write checkpoint. Safe to cache config
+        nodeStateManager.getConfig(configId, context, true, onGetForAll);
+    }
 
-                    Map<String, Object> source = checkpoint.toIndexSource(state);
-                    String modelId = state.getModelId();
+    private void serializeAll(
+        Config config,
+        String configId,
+        List<ModelState<RCFModelType>> modelStates,
+        boolean forceWrite,
+        RequestPriority priority
+    ) {
+        try {
+            List<CheckpointWriteRequest> allRequests = new ArrayList<>();
+            for (ModelState<RCFModelType> state : modelStates) {
+                if (!checkpoint.shouldSave(state, forceWrite, checkpointInterval, clock)) {
+                    continue;
+                }
 
-                    // the model state is bloated or empty (empty samples and models), skip
-                    if (source == null || source.isEmpty() || Strings.isEmpty(modelId)) {
-                        continue;
-                    }
+                String modelId = state.getModelId();
+                if (Strings.isEmpty(modelId)) {
+                    continue;
+                }
+                Optional<CheckpointWriteRequest> request = toWriteRequest(
+                    checkpoint,
+                    indexName,
+                    modelId,
+                    state,
+                    System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
+                    configId,
+                    priority
+                );
 
-                    state.setLastCheckpointTime(clock.instant());
-                    allRequests
-                        .add(
-                            new CheckpointWriteRequest(
-                                System.currentTimeMillis() + config.getInferredFrequencyInMilliseconds(),
-                                configId,
-                                priority,
-                                // If the document does not already exist, the contents of the upsert element
-                                // are inserted as a new document.
-                                // If the document exists, update fields in the map
-                                new UpdateRequest(indexName, modelId).docAsUpsert(true).doc(source)
-                            )
-                        );
+                // the model state is bloated or empty (empty samples and models), skip
+                if (request.isEmpty()) {
+                    continue;
                 }
 
-                putAll(allRequests);
-            } catch (Exception e) {
-                // Example exception:
-                // ConcurrentModificationException when calling toCheckpoint
-                // and updating rcf model at the same time. To prevent this,
-                // we need to have a deep copy of models or have a lock. Both
-                // options are costly.
-                // As we are gonna retry serializing either when the entity is
-                // evicted out of cache or during the next maintenance period,
-                // don't do anything when the exception happens.
-                LOG.info(new ParameterizedMessage("Exception while serializing models for [{}]", configId), e);
+                state.setLastCheckpointTime(clock.instant());
+                allRequests.add(request.get());
             }
 
-        }, exception -> { LOG.error(new ParameterizedMessage("fail to get config [{}]", configId), exception); });
+            putAll(allRequests);
+        } catch (Exception e) {
+            // Example exception:
+            // ConcurrentModificationException when calling toCheckpoint
+            // and updating rcf model at the same time. This only happens
+            // when there is no fresh model snapshot captured under the model
+            // lock, e.g., for models that are not scored in real time.
+            // As we are gonna retry serializing either when the entity is
+            // evicted out of cache or during the next maintenance period,
+            // don't do anything when the exception happens.
+            LOG.info(new ParameterizedMessage("Exception while serializing models for [{}]", configId), e);
+        }
+    }
 
-        // run once won't write checkpoint. Safe to cache config
-        nodeStateManager.getConfig(configId, context, true, onGetForAll);
+    /**
+     * Build the checkpoint write of a model: only the samples processed since the
+     * last full checkpoint when incremental checkpoints are enabled and the delta
+     * has not overflowed, otherwise the whole model state.
+     *
+     * @param checkpoint checkpoint dao
+     * @param indexName checkpoint index name
+     * @param modelId model Id
+     * @param state model state
+     * @param expirationEpochMs time the write request expires
+     * @param configId config Id
+     * @param priority how urgent the write is
+     * @return the write request or empty if the model state is bloated or empty
+     * @throws IOException when serialization fails
+     */
+    static <ModelType> Optional<CheckpointWriteRequest> toWriteRequest(
+        CheckpointDao<ModelType, ?, ?> checkpoint,
+        String indexName,
+        String modelId,
+        ModelState<ModelType> state,
+        long expirationEpochMs,
+        String configId,
+        RequestPriority priority
+    ) throws IOException {
+        Optional<Map<String, Object>> delta = checkpoint.toDeltaSource(state);
+        if (delta.isPresent()) {
+            UpdateRequest update = CheckpointDao.createDeltaRequest(indexName, modelId, delta.get());
+            return Optional.of(new CheckpointWriteRequest(expirationEpochMs, configId, priority, update));
+        }
+
+        // read before serializing: samples processed afterwards are not in the saved model
+        long position = checkpoint.serializedPosition(state);
+        Map<String, Object> source = checkpoint.toIndexSource(state);
+        if (source == null || source.isEmpty()) {
+            return Optional.empty();
+        }
+        // If the document does not already exist, the contents of the upsert element
+        // are inserted as a new document.
+        // If the document exists, update fields in the map
+        UpdateRequest update = CheckpointDao.createUpsertRequest(indexName, modelId, source);
+        // the delta restarts only once the model it applies to is saved
+        return Optional
+            .of(
+                new CheckpointWriteRequest(
+                    expirationEpochMs,
+                    configId,
+                    priority,
+                    update,
+                    () -> checkpoint.restartDelta(state, source, position)
+                )
+            );
+    }
+
+    /**
+     * Serializing, compressing, and building upsert requests of models are CPU heavy.
+     * Run them on the small checkpoint pool instead of the caller, which is often
+     * scoring data.
+     *
+     * @param serialization serialization task
+     */
+    private void serializeInBackground(Runnable serialization) {
+        threadPool.executor(TimeSeriesAnalyticsPlugin.CHECKPOINT_THREAD_POOL_NAME).execute(serialization);
     }
 }
@@ -14,15 +14,21 @@ package org.opensearch.timeseries.ratelimit;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.BlockingQueue;
 
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
@@ -63,6 +69,8 @@ public abstract class ColdStartWorker<RCFModelType extends ThresholdedRandomCutF
     private final SaveResultStrategyType resultSaver;
     private final TaskManagerType taskManager;
     protected final CheckpointWriteWorkerType checkpointWriteWorker;
+    // max real-time requests of the same config trained together
+    protected volatile int batchSize;
 
     public ColdStartWorker(
         String workerName,
@@ -81,6 +89,7 @@ public abstract class ColdStartWorker<RCFModelType extends ThresholdedRandomCutF
         float lowSegmentPruneRatio,
         int maintenanceFreqConstant,
         Setting<Integer> concurrency,
+        Setting<Integer> batchSizeSetting,
         Duration executionTtl,
         ColdStarterType coldStarter,
         Duration stateTtl,
@@ -120,6 +129,94 @@ public abstract class ColdStartWorker<RCFModelType extends ThresholdedRandomCutF
         this.resultSaver = resultSaver;
         this.taskManager = taskManager;
         this.checkpointWriteWorker = checkpointWriteWorker;
+
+        this.batchSize = batchSizeSetting.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(batchSizeSetting, it -> batchSize = it);
+    }
+
+    /**
+     * With a batch size larger than 1, pull up to batchSize real-time requests of the
+     * same config and interval from the selected queue and train their models together
+     * so that their training data is fetched with one search.
+     */
+    @Override
+    protected void execute(Runnable afterProcessCallback, Runnable emptyQueueCallback) {
+        if (batchSize <= 1) {
+            super.execute(afterProcessCallback, emptyQueueCallback);
+            return;
+        }
+
+        Optional<BlockingQueue<FeatureRequest>> queueOptional = selectNextQueue();
+        if (false == queueOptional.isPresent()) {
+            // no queue has requests
+            emptyQueueCallback.run();
+            return;
+        }
+
+        BlockingQueue<FeatureRequest> queue = queueOptional.get();
+        FeatureRequest firstRequest = queue.poll();
+        if (firstRequest == null) {
+            emptyQueueCallback.run();
+            return;
+        }
+
+        String configId = firstRequest.getConfigId();
+        List<FeatureRequest> requests = new ArrayList<>();
+        requests.add(firstRequest);
+        if (configId != null && firstRequest.getTaskId() == null) {
+            // medium priority queues hold one config each; low and high priority queues are shared
+            Iterator<FeatureRequest> iterator = queue.iterator();
+            while (requests.size() < batchSize && iterator.hasNext()) {
+                FeatureRequest request = iterator.next();
+                if (configId.equals(request.getConfigId())
+                    && request.getTaskId() == null
+                    && request.getDataStartTimeMillis() == firstRequest.getDataStartTimeMillis()
+                    && queue.remove(request)) {
+                    requests.add(request);
+                }
+            }
+        }
+        if (configId != null) {
+            inflightConfigs.add(configId);
+        }
+
+        final ActionListener<Void> listener = ActionListener.runAfter(ActionListener.wrap(afterProcessCallback), () -> {
+            if (configId != null) {
+                inflightConfigs.remove(configId);
+            }
+        });
+        if (requests.size() == 1) {
+            executeRequest(firstRequest, listener);
+        } else {
+            executeRequests(configId, requests, listener);
+        }
+    }
+
+    private void executeRequests(String configId, List<FeatureRequest> coldStartRequests, ActionListener<Void> listener) {
+        GroupedActionListener<Void> groupedListener = new GroupedActionListener<>(
+            ActionListener.wrap(r -> listener.onResponse(null), listener::onFailure),
+            coldStartRequests.size()
+        );
+
+        List<Triple<FeatureRequest, ModelState<RCFModelType>, ActionListener<List<IndexableResultType>>>> toTrain = new ArrayList<>();
+        for (FeatureRequest coldStartRequest : coldStartRequests) {
+            String modelId = coldStartRequest.getModelId();
+            if (null == modelId) {
+                String error = String.format(Locale.ROOT, "Fail to get model id for request %s", coldStartRequest);
+                LOG.warn(error);
+                groupedListener.onFailure(new RuntimeException(error));
+                continue;
+            }
+            ModelState<RCFModelType> modelState = createEmptyState(coldStartRequest, modelId, configId);
+            toTrain
+                .add(
+                    Triple.of(coldStartRequest, modelState, createColdStartListener(coldStartRequest, modelId, modelState, groupedListener))
+                );
+        }
+
+        if (false == toTrain.isEmpty()) {
+            coldStarter.trainModels(configId, toTrain);
+        }
     }
 
     @Override
@@ -135,7 +232,18 @@ public abstract class ColdStartWorker<RCFModelType extends ThresholdedRandomCutF
         }
         ModelState<RCFModelType> modelState = createEmptyState(coldStartRequest, modelId, configId);
 
-        ActionListener<List<IndexableResultType>> coldStartListener = ActionListener.wrap(r -> {
+        coldStarter
+            .trainModel(coldStartRequest, configId, modelState, createColdStartListener(coldStartRequest, modelId, modelState, listener));
+    }
+
+    private ActionListener<List<IndexableResultType>> createColdStartListener(
+        FeatureRequest coldStartRequest,
+        String modelId,
+        ModelState<RCFModelType> modelState,
+        ActionListener<Void> listener
+    ) {
+        String configId = coldStartRequest.getConfigId();
+        return ActionListener.wrap(r -> {
             // task id equals to null means it is real time and we want to cache
             nodeStateManager.getConfig(configId, context, coldStartRequest.getTaskId() == null, ActionListener.wrap(configOptional -> {
                 try {
@@ -216,8 +324,6 @@ public abstract class ColdStartWorker<RCFModelType extends ThresholdedRandomCutF
                 listener.onFailure(e);
             }
         });
-
-        coldStarter.trainModel(coldStartRequest, configId, modelState, coldStartListener);
     }
 
     protected abstract ModelState<RCFModelType> createEmptyState(FeatureRequest coldStartRequest, String modelId, String configId);
@@ -58,4 +58,14 @@ public abstract class QueuedRequest {
     public void setExpirationEpochMs(long expirationEpochMs) {
         this.expirationEpochMs = expirationEpochMs;
     }
+
+    /**
+     * Workers assume every request takes their fixed single request size unless
+     * the request knows its real size.
+     *
+     * @return heap bytes the request holds while queued, or 0 if unknown
+     */
+    public long getMemoryBytes() {
+        return 0;
+    }
 }
@@ -469,7 +469,36 @@ public abstract class RateLimitedRequestWorker<RequestType extends QueuedRequest
         for (RequestQueue q : queues) {
             totalSize += q.size();
         }
-        return totalSize - queueSize;
+        if (false == measuresRequestMemory() || totalSize == 0) {
+            return totalSize - queueSize;
+        }
+
+        long totalBytes = 0;
+        int measured = 0;
+        for (RequestQueue q : queues) {
+            for (RequestType request : q.content) {
+                long requestBytes = request.getMemoryBytes();
+                totalBytes += requestBytes > 0 ? requestBytes : singleRequestSize;
+                measured++;
+            }
+        }
+        long maxBytes = (long) (heapSize * maxHeapPercentForQueue);
+        if (measured == 0 || totalBytes <= maxBytes) {
+            return 0;
+        }
+        // convert the excess bytes to the number of requests of the average size to remove
+        return (int) Math.ceil((totalBytes - maxBytes) * (double) measured / totalBytes);
+    }
+
+    /**
+     * Whether queued requests know their memory size (see {@link QueuedRequest#getMemoryBytes()}).
+     * If so, the queue is bounded by the bytes its requests hold instead of by the
+     * number of requests of the fixed single request size.
+     *
+     * @return whether to measure the memory of queued requests
+     */
+    protected boolean measuresRequestMemory() {
+        return false;
     }
 
     public boolean isQueueEmpty() {
@@ -482,6 +511,17 @@ public abstract class RateLimitedRequestWorker<RequestType extends QueuedRequest
         return true;
     }
 
+    /**
+     * @return the number of requests waiting in all queues of the worker
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (RequestQueue q : requestQueues.values()) {
+            size += q.size();
+        }
+        return size;
+    }
+
     @Override
     public void maintenance() {
         try {
@@ -11,15 +11,42 @@
 
 package org.opensearch.timeseries.ratelimit;
 
+import static org.opensearch.common.xcontent.XContentFactory.jsonBuilder;
+
 import java.io.IOException;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.timeseries.model.IndexableResult;
+import org.opensearch.timeseries.util.RestHandlerUtils;
 
+/**
+ * A result waiting in the result write queue.
+ *
+ * The result is encoded to its index source once, when the request is created.
+ * The queue holds the encoded bytes instead of the result's object graph, and the
+ * same bytes back the index requests of both the result index and the flattened
+ * result index. The result is decoded again only if somebody asks for it.
+ */
 public abstract class ResultWriteRequest<ResultType extends IndexableResult> extends QueuedRequest implements Writeable {
+    private static final Logger LOG = LogManager.getLogger(ResultWriteRequest.class);
+
+    // null once the result is encoded
     private final ResultType result;
+    // null if the result cannot be encoded
+    private final BytesReference source;
+    private final boolean highPriority;
     // If resultIndex is null, result will be stored in default result index.
     private final String resultIndex;
     private final String flattenResultIndex;
@@ -33,26 +60,80 @@ public abstract class ResultWriteRequest<ResultType extends IndexableResult> ext
         String flattenResultIndex
     ) {
         super(expirationEpochMs, configId, priority);
-        this.result = result;
+        this.highPriority = result.isHighPriority();
+        this.source = encode(result);
+        this.result = source == null ? result : null;
         this.resultIndex = resultIndex;
         this.flattenResultIndex = flattenResultIndex;
     }
 
     public ResultWriteRequest(StreamInput in, Reader<ResultType> resultReader) throws IOException {
-        this.result = resultReader.read(in);
+        ResultType readResult = resultReader.read(in);
+        this.highPriority = readResult.isHighPriority();
+        this.source = encode(readResult);
+        this.result = source == null ? readResult : null;
         this.resultIndex = in.readOptionalString();
         this.flattenResultIndex = in.readOptionalString();
     }
 
+    private static BytesReference encode(IndexableResult result) {
+        try (XContentBuilder builder = jsonBuilder()) {
+            return BytesReference.bytes(result.toXContent(builder, RestHandlerUtils.XCONTENT_WITH_TYPE));
+        } catch (Exception e) {
+            // keep the result and let the bulk action retry encoding it
+            LOG.warn(new ParameterizedMessage("Failed to encode result of config [{}]", result.getConfigId()), e);
+            return null;
+        }
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
-        result.writeTo(out);
+        getResult().writeTo(out);
         out.writeOptionalString(resultIndex);
         out.writeOptionalString(flattenResultIndex);
     }
 
+    /**
+     * Decode the result from the encoded source if the result was encoded.
+     *
+     * @param parser parser positioned at the start of the result object
+     * @return the parsed result
+     * @throws IOException when parsing fails
+     */
+    protected abstract ResultType parseResult(XContentParser parser) throws IOException;
+
     public ResultType getResult() {
-        return result;
+        if (result != null) {
+            return result;
+        }
+        try (
+            XContentParser parser = XContentHelper
+                .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, source, XContentType.JSON)
+        ) {
+            parser.nextToken();
+            return parseResult(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode result of config " + configId, e);
+        }
+    }
+
+    /**
+     * @return the encoded index source of the result, or null if the result could not be encoded
+     */
+    public BytesReference getSource() {
+        return source;
+    }
+
+    /**
+     * @return whether the result has to be written even under high index pressure
+     */
+    public boolean isHighPriority() {
+        return highPriority;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return source == null ? 0 : source.ramBytesUsed();
     }
 
     public String getResultIndex() {
@@ -11,16 +11,19 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.CheckedFunction;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.core.action.ActionListener;
@@ -36,6 +39,7 @@ import org.opensearch.timeseries.indices.IndexManagement;
 import org.opensearch.timeseries.indices.TimeSeriesIndex;
 import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.IndexableResult;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.transport.ResultBulkRequest;
 import org.opensearch.timeseries.transport.ResultBulkResponse;
 import org.opensearch.timeseries.transport.handler.IndexMemoryPressureAwareResultHandler;
@@ -102,6 +106,19 @@ public abstract class ResultWriteWorker<ResultType extends IndexableResult, Resu
         this.resultParser = resultParser;
     }
 
+    /**
+     * Queued results hold their encoded index source, whose size is known.
+     */
+    @Override
+    protected boolean measuresRequestMemory() {
+        return true;
+    }
+
+    @Override
+    protected LatencyStage getBatchLatencyStage() {
+        return LatencyStage.RESULT_WRITE;
+    }
+
     @Override
     protected void executeBatchRequest(BatchRequestType request, ActionListener<ResultBulkResponse> listener) {
         if (request.numberOfActions() < 1) {
@@ -111,6 +128,37 @@ public abstract class ResultWriteWorker<ResultType extends IndexableResult, Resu
         resultHandler.flush(request, listener);
     }
 
+    /**
+     * Write results in bulks of the batch size one after another, bypassing the queue, and
+     * wait for them up to the timeout. Used when the node stops and the queue is no
+     * longer drained. Failed documents are not retried.
+     *
+     * @param requests results to write
+     * @param timeout how long to wait for all bulks
+     * @return number of results whose bulk finished in time
+     */
+    public int writeAndWait(List<ResultWriteRequestType> requests, TimeValue timeout) {
+        long deadlineNanos = System.nanoTime() + timeout.nanos();
+        int written = 0;
+        while (written < requests.size()) {
+            List<ResultWriteRequestType> bulk = requests.subList(written, Math.min(requests.size(), written + batchSize));
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            PlainActionFuture<ResultBulkResponse> future = PlainActionFuture.newFuture();
+            executeBatchRequest(toBatchRequest(bulk), future);
+            try {
+                future.actionGet(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                LOG.warn("Fail to write results before stopping", e);
+                break;
+            }
+            written += bulk.size();
+        }
+        return written;
+    }
+
     @Override
     protected ActionListener<ResultBulkResponse> getResponseListener(List<ResultWriteRequestType> toProcess, BatchRequestType bulkRequest) {
         return ActionListener.wrap(adResultBulkResponse -> {
@@ -23,6 +23,8 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilders;
 import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
+import org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.opensearch.search.aggregations.bucket.histogram.Histogram;
 import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
@@ -44,6 +46,8 @@ public class AggregationPrep {
     TimeValue requestTimeout;
 
     public static final String AGGREGATION = "agg";
+    // prefix of the aggregation that holds the buckets of one candidate interval
+    public static final String CANDIDATE_AGGREGATION = "candidate_";
 
     public AggregationPrep(SearchFeatureDao searchFeatureDao, TimeValue requestTimeout, Config config) {
         this.searchFeatureDao = searchFeatureDao;
@@ -102,6 +106,35 @@ public class AggregationPrep {
         }
     }
 
+    /**
+     * Count shingles of one candidate interval in the response of
+     * {@link #createSearchRequest(List, long, int, Map)}.
+     *
+     * @param response response of the search of all candidates
+     * @param candidateIndex index of the candidate
+     * @return number of continuous shingles of the candidate
+     */
+    public long getShingleCount(SearchResponse response, int candidateIndex) {
+        Aggregations aggs = response.getAggregations();
+        if (aggs == null) {
+            logger.warn("Unexpected null aggregation.");
+            throw new ValidationException(
+                CommonMessages.MODEL_VALIDATION_FAILED_UNEXPECTEDLY,
+                ValidationIssueType.AGGREGATION,
+                ValidationAspect.MODEL
+            );
+        }
+        Filter candidate = aggs.get(CANDIDATE_AGGREGATION + candidateIndex);
+        if (candidate == null) {
+            throw new IllegalArgumentException("Failed to find valid aggregation result");
+        }
+        if (config.getEnabledFeatureIds() != null && config.getEnabledFeatureIds().size() > 0) {
+            return searchFeatureDao.countContinuousShinglesFromDateRangeAggregations(candidate.getAggregations(), config);
+        } else {
+            return searchFeatureDao.countContinuousShinglesFromHistogramAggregations(candidate.getAggregations(), config, false);
+        }
+    }
+
     public List<Long> getTimestamps(SearchResponse response) {
         if (config.getEnabledFeatureIds() != null && config.getEnabledFeatureIds().size() > 0) {
             return searchFeatureDao.parseColdStartSampleTimestamp(response, false, config);
@@ -150,6 +183,58 @@ public class AggregationPrep {
         }
     }
 
+    /**
+     * Create one search for several candidate intervals. Each candidate gets its own
+     * filter aggregation named {@link #CANDIDATE_AGGREGATION} plus its index, holding
+     * the aggregation that {@link #createSearchRequest(IntervalTimeConfiguration, LongBounds, Map, int)}
+     * would send for the candidate alone. A single candidate is searched as is.
+     *
+     * @param candidates candidate intervals
+     * @param endMillis end of the time range of every candidate
+     * @param numberOfSamples number of intervals to look back per candidate
+     * @param topEntity entity to search, empty if the config is not high cardinality
+     * @return the search request
+     */
+    public SearchRequest createSearchRequest(
+        List<IntervalTimeConfiguration> candidates,
+        long endMillis,
+        int numberOfSamples,
+        Map<String, Object> topEntity
+    ) {
+        if (candidates.size() == 1) {
+            IntervalTimeConfiguration candidate = candidates.get(0);
+            return createSearchRequest(candidate, getTimeRangeBounds(candidate, endMillis, numberOfSamples), topEntity, 0);
+        }
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(0).timeout(requestTimeout);
+        QueryBuilder candidateQuery = null;
+        long startMillis = endMillis;
+        for (int i = 0; i < candidates.size(); i++) {
+            LongBounds bounds = getTimeRangeBounds(candidates.get(i), endMillis, numberOfSamples);
+            SearchSourceBuilder candidateSource = createSearchRequest(candidates.get(i), bounds, topEntity, 0).source();
+            // candidates differ in their aggregations only
+            candidateQuery = candidateSource.query();
+            startMillis = Math.min(startMillis, bounds.getMin());
+            FilterAggregationBuilder candidateAggregation = AggregationBuilders
+                .filter(
+                    CANDIDATE_AGGREGATION + i,
+                    QueryBuilders.rangeQuery(config.getTimeField()).gte(bounds.getMin()).lte(bounds.getMax()).format("epoch_millis")
+                );
+            for (AggregationBuilder aggregation : candidateSource.aggregations().getAggregatorFactories()) {
+                candidateAggregation.subAggregation(aggregation);
+            }
+            searchSourceBuilder.aggregation(candidateAggregation);
+        }
+        searchSourceBuilder
+            .query(
+                QueryBuilders
+                    .boolQuery()
+                    .filter(candidateQuery)
+                    .filter(QueryBuilders.rangeQuery(config.getTimeField()).gte(startMillis).lte(endMillis).format("epoch_millis"))
+            );
+        return new SearchRequest(config.getIndices().toArray(new String[0])).source(searchSourceBuilder);
+    }
+
     public SearchRequest createSearchRequestForFeature(
         IntervalTimeConfiguration currentInterval,
         LongBounds currentTimeStampBounds,
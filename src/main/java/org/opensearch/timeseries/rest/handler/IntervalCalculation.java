@@ -10,11 +10,11 @@ import java.time.Clock;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,7 +32,6 @@ import org.opensearch.search.aggregations.bucket.histogram.AutoDateHistogramAggr
 import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.opensearch.search.aggregations.bucket.histogram.Histogram;
-import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
 import org.opensearch.search.aggregations.metrics.Max;
 import org.opensearch.search.aggregations.metrics.Min;
 import org.opensearch.search.aggregations.metrics.NumericMetricsAggregation;
@@ -56,6 +55,8 @@ public class IntervalCalculation {
     // keep ≤256 buckets when searching for minimum interval
     private static final int BUCKET_CAP = 256;
     private static final int MAX_SPLIT_DEPTH = 10;
+    // candidate intervals explored by one search
+    private static final int MAX_INTERVAL_CANDIDATES = 10;
 
     private final AggregationPrep aggregationPrep;
     private final Client client;
@@ -117,8 +118,21 @@ public class IntervalCalculation {
         throws IOException {
 
         try {
-            LongBounds timeStampBounds = aggregationPrep.getTimeRangeBounds(minimumInterval, endMillis, lookBackWindows);
-            SearchRequest searchRequest = aggregationPrep.createSearchRequest(minimumInterval, timeStampBounds, topEntity, 0);
+            // the minimum interval and the next larger nice intervals, at most MAX_INTERVAL_CANDIDATES of them
+            List<IntervalTimeConfiguration> candidates = new ArrayList<>();
+            candidates.add(minimumInterval);
+            int current = (int) minimumInterval.getInterval();
+            while (candidates.size() < MAX_INTERVAL_CANDIDATES) {
+                int next = nextNiceInterval(current);
+                if (next <= current) {
+                    break;
+                }
+                candidates.add(new IntervalTimeConfiguration(next, ChronoUnit.MINUTES));
+                current = next;
+            }
+
+            // one search holds the aggregations of all candidates
+            SearchRequest searchRequest = aggregationPrep.createSearchRequest(candidates, endMillis, lookBackWindows, topEntity);
             ActionListener<IntervalTimeConfiguration> intervalListener = ActionListener
                 .wrap(interval -> listener.onResponse(interval), exception -> {
                     listener.onFailure(exception);
@@ -126,9 +140,8 @@ public class IntervalCalculation {
                 });
             final ActionListener<SearchResponse> searchResponseListener = new IntervalRecommendationListener(
                 intervalListener,
-                minimumInterval,
-                clock.millis() + TimeSeriesSettings.TOP_VALIDATE_TIMEOUT_IN_MILLIS,
-                timeStampBounds
+                candidates,
+                clock.millis() + TimeSeriesSettings.TOP_VALIDATE_TIMEOUT_IN_MILLIS
             );
             // using the original context in listener as user roles have no permissions for internal operations like fetching a
             // checkpoint
@@ -148,49 +161,59 @@ public class IntervalCalculation {
     }
 
     /**
-     * ActionListener class to handle execution of multiple bucket aggregations one after the other
-     * Bucket aggregation with different interval lengths are executed one by one to check if the data is dense enough
-     * We only need to execute the next query if the previous one led to data that is too sparse.
+     * Pick the smallest candidate interval that is dense enough.
+     *
+     * @param candidates candidate intervals in ascending order
+     * @param response response of the search built by
+     *   {@link AggregationPrep#createSearchRequest(List, long, int, Map)} for the candidates
+     * @return the smallest dense enough interval, or null if there is none
+     */
+    public IntervalTimeConfiguration selectInterval(List<IntervalTimeConfiguration> candidates, SearchResponse response) {
+        for (int i = 0; i < candidates.size(); i++) {
+            long shingles = candidates.size() == 1
+                ? aggregationPrep.getShingleCount(response)
+                : aggregationPrep.getShingleCount(response, i);
+            logger.debug("interval {}, number of shingles: {}", candidates.get(i), shingles);
+            if (shingles >= TimeSeriesSettings.NUM_MIN_SAMPLES) {
+                return candidates.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ActionListener class to handle the search of candidate intervals. The search holds one
+     * aggregation per candidate interval, and the smallest candidate whose data is dense
+     * enough is recommended. If no candidate is dense enough and the exploration ran past
+     * its deadline, the recommendation times out.
      */
     public class IntervalRecommendationListener implements ActionListener<SearchResponse> {
         private final ActionListener<IntervalTimeConfiguration> intervalListener;
-        IntervalTimeConfiguration currentIntervalToTry;
+        private final List<IntervalTimeConfiguration> candidates;
         private final long expirationEpochMs;
-        private LongBounds currentTimeStampBounds;
-        private int attempts = 1;                       // the first query has fired
 
         public IntervalRecommendationListener(
             ActionListener<IntervalTimeConfiguration> intervalListener,
-            IntervalTimeConfiguration currentIntervalToTry,
-            long expirationEpochMs,
-            LongBounds timeStampBounds
+            List<IntervalTimeConfiguration> candidates,
+            long expirationEpochMs
         ) {
             this.intervalListener = intervalListener;
-            this.currentIntervalToTry = currentIntervalToTry;
+            this.candidates = candidates;
             this.expirationEpochMs = expirationEpochMs;
-            this.currentTimeStampBounds = timeStampBounds;
         }
 
         @Override
         public void onResponse(SearchResponse resp) {
             logger.debug("interval explorer response: {}", resp);
             try {
-                long shingles = aggregationPrep.getShingleCount(resp);
-                logger.debug("number of shingles: {}", shingles);
-
-                if (shingles >= TimeSeriesSettings.NUM_MIN_SAMPLES) {     // dense enough
-                    intervalListener.onResponse(currentIntervalToTry);
-                    return;
-                }
-
-                if (++attempts > 10) {                                    // retry budget exhausted
-                    logger.debug("number of attempts: {}", attempts);
-                    intervalListener.onResponse(null);
+                IntervalTimeConfiguration interval = selectInterval(candidates, resp);
+                if (interval != null) {                                       // dense enough
+                    intervalListener.onResponse(interval);
                     return;
                 }
 
                 long nowMillis = clock.millis();
-                if (nowMillis > expirationEpochMs) {                          // timeout
+                if (nowMillis > expirationEpochMs || resp.isTimedOut()) {     // timeout
                     logger.debug("Timed out: now={}, expires={}", nowMillis, expirationEpochMs);
                     intervalListener
                         .onFailure(
@@ -203,37 +226,13 @@ public class IntervalCalculation {
                     return;
                 }
 
-                int nextMin = nextNiceInterval((int) currentIntervalToTry.getInterval());
-                if (nextMin <= currentIntervalToTry.getInterval()) {           // cannot grow further
-                    logger.info("Cannot grow interval further: next={}, current={}", nextMin, currentIntervalToTry.getInterval());
-                    intervalListener.onResponse(null);
-                    return;
-                }
-                searchWithDifferentInterval(nextMin);
-
+                logger.info("No candidate interval is dense enough, largest tried: {}", candidates.get(candidates.size() - 1));
+                intervalListener.onResponse(null);
             } catch (Exception e) {
                 onFailure(e);
             }
         }
 
-        private void searchWithDifferentInterval(int newIntervalMinuteValue) {
-            this.currentIntervalToTry = new IntervalTimeConfiguration(newIntervalMinuteValue, ChronoUnit.MINUTES);
-            this.currentTimeStampBounds = aggregationPrep.getTimeRangeBounds(currentIntervalToTry, endMillis, lookBackWindows);
-            // using the original context in listener as user roles have no permissions for internal operations like fetching a
-            // checkpoint
-            SearchRequest searchRequest = aggregationPrep.createSearchRequest(currentIntervalToTry, currentTimeStampBounds, topEntity, 0);
-            logger.debug("next search request: {}", searchRequest);
-            clientUtil
-                .<SearchRequest, SearchResponse>asyncRequestWithInjectedSecurity(
-                    searchRequest,
-                    client::search,
-                    user,
-                    client,
-                    context,
-                    this
-                );
-        }
-
         @Override
         public void onFailure(Exception e) {
             logger.error("Failed to recommend new interval", e);
@@ -390,7 +389,19 @@ public class IntervalCalculation {
                 rangeMs = MAX_RANGE_MS;
             }
 
-            refineGap(initBucketMins, -1, baseFilter, listener, MIN_BUCKET_WIDTH_MINS, ChronoUnit.MINUTES, TS_FIELD, 0, minMs, maxMs);
+            refineGap(
+                initBucketMins,
+                -1,
+                baseFilter,
+                listener,
+                MIN_BUCKET_WIDTH_MINS,
+                ChronoUnit.MINUTES,
+                TS_FIELD,
+                0,
+                minMs,
+                maxMs,
+                new HashMap<>()
+            );
         }, e -> {
             logger.error(e.getMessage(), e);
             listener.onFailure(e);
@@ -512,97 +523,48 @@ public class IntervalCalculation {
         int depth,
         long sliceMinMs,
         long sliceMaxMs
+    ) {
+        refineGap(
+            bucketMins,
+            zoomDir,
+            baseFilter,
+            listener,
+            minBucketMins,
+            returnUnit,
+            tsField,
+            depth,
+            sliceMinMs,
+            sliceMaxMs,
+            new HashMap<>()
+        );
+    }
+
+    /**
+     * Same as the public refineGap, but reuses histograms fetched by earlier steps. A step
+     * revisiting a bucket size reuses its histogram, and once a histogram covers the whole
+     * slice, every coarser bucket size that it divides is rolled up from it locally.
+     */
+    private void refineGap(
+        long bucketMins,
+        int zoomDir,
+        BoolQueryBuilder baseFilter,
+        ActionListener<IntervalTimeConfiguration> listener,
+        long minBucketMins,
+        ChronoUnit returnUnit,
+        String tsField,
+        int depth,
+        long sliceMinMs,
+        long sliceMaxMs,
+        Map<Long, GapHistogram> fetched
     ) {
         if (depth > MAX_SPLIT_DEPTH) {          // fallback
             runAutoDate(baseFilter, listener, returnUnit, tsField);
             return;
         }
 
-        BoolQueryBuilder filter = new BoolQueryBuilder();
-        filter.must(baseFilter);              // shallow copy of all clauses
-        long sliceRange = sliceMaxMs - sliceMinMs;
-        /* -------- histogram request ---------------------------------- */
-        long bucketMs = TimeUnit.MINUTES.toMillis(bucketMins);
-        if (bucketMs > 0 && sliceRange / bucketMs > BUCKET_CAP) {                         // keep ≤256 buckets
-            long windowMs = bucketMs * BUCKET_CAP;
-            long sliceStart = sliceMaxMs - windowMs;
-            filter.filter(QueryBuilders.rangeQuery(tsField).gte(sliceStart).format("epoch_millis"));  // ← add filter
-        }
-
-        SearchSourceBuilder src = new SearchSourceBuilder().size(0).query(filter);
-
-        DateHistogramAggregationBuilder hist = AggregationBuilders
-            .dateHistogram("dyn")
-            .field(tsField)
-            .fixedInterval(new DateHistogramInterval(bucketMins + "m"))
-            // min_doc_count is set to 0 to ensure that all buckets in the time range are returned,
-            // even if they are empty. This allows the client-side logic to detect empty buckets,
-            // which is the signal to switch from zooming-in to zooming-out.
-            .minDocCount(0);
-
-        hist.subAggregation(AggregationBuilders.min("first_ts").field(tsField));
-
-        src.aggregation(hist);
-
-        SearchRequest searchRequest = new SearchRequest(config.getIndices().toArray(new String[0])).source(src);
-        logger.debug("Minimum interval search request: {}", searchRequest);
-        final ActionListener<SearchResponse> minIntervalSearchListener = ActionListener.wrap(r -> {
-            logger.debug("Minimum interval search response: {}", r);
-            double gap = Double.NaN;
-            boolean hasEmptyBuckets = false;
-            Histogram histogram = r.getAggregations().get("dyn");
-            if (histogram != null) {
-                List<? extends Histogram.Bucket> buckets = histogram.getBuckets();
-                int firstNonEmpty = -1;
-                int lastNonEmpty = -1;
-                for (int i = 0; i < buckets.size(); i++) {
-                    if (buckets.get(i).getDocCount() > 0) {
-                        if (firstNonEmpty == -1) {
-                            firstNonEmpty = i;
-                        }
-                        lastNonEmpty = i;
-                    }
-                }
-
-                if (firstNonEmpty != -1) {
-                    for (int i = firstNonEmpty + 1; i < lastNonEmpty; i++) {
-                        if (buckets.get(i).getDocCount() == 0) {
-                            hasEmptyBuckets = true;
-                            break;
-                        }
-                    }
-                }
-
-                List<Long> timestamps = buckets
-                    .stream()
-                    .filter(bucket -> bucket.getDocCount() > 0)
-                    .map(bucket -> (Min) bucket.getAggregations().get("first_ts"))
-                    .filter(min -> min != null && Double.isFinite(min.getValue()))
-                    .map(min -> (long) min.getValue())
-                    .collect(Collectors.toList());
-
-                if (timestamps.size() >= 2) {
-                    List<Long> gaps = new ArrayList<>();
-                    for (int i = 1; i < timestamps.size(); i++) {
-                        long currentGap = timestamps.get(i) - timestamps.get(i - 1);
-                        if (currentGap > 0) {
-                            gaps.add(currentGap);
-                        }
-                    }
-
-                    if (!gaps.isEmpty()) {
-                        gaps.sort(null);
-                        int size = gaps.size();
-                        int middle = size / 2;
-                        if (size % 2 == 1) {
-                            gap = gaps.get(middle);
-                        } else if (size > 0) {
-                            gap = (gaps.get(middle - 1) + gaps.get(middle)) / 2.0;
-                        }
-                    }
-                }
-            }
-
+        ActionListener<GapHistogram> histogramListener = ActionListener.wrap(histogram -> {
+            fetched.put(bucketMins, histogram);
+            double gap = histogram.medianGap();
             long gapMins = toCeilMinutes(gap);
 
             /*
@@ -625,7 +587,7 @@ public class IntervalCalculation {
             if (zoomDir < 0) { // zooming in
                 // If we see empty buckets between data points, we have zoomed in too far.
                 // It's time to turn around and start zooming out.
-                if (hasEmptyBuckets || bucketMins <= minBucketMins) {
+                if (histogram.hasEmptyBuckets() || bucketMins <= minBucketMins) {
                     nextDir = 1;
                     nextBucketMins = bucketMins * 2;
                 } else {
@@ -638,12 +600,75 @@ public class IntervalCalculation {
                 nextBucketMins = bucketMins * 2;
             }
 
-            refineGap(nextBucketMins, nextDir, baseFilter, listener, minBucketMins, returnUnit, tsField, depth + 1, sliceMinMs, sliceMaxMs);
+            refineGap(
+                nextBucketMins,
+                nextDir,
+                baseFilter,
+                listener,
+                minBucketMins,
+                returnUnit,
+                tsField,
+                depth + 1,
+                sliceMinMs,
+                sliceMaxMs,
+                fetched
+            );
         }, e -> {
             logger.error(e.getMessage(), e);
             listener.onFailure(e);
         });
 
+        GapHistogram reused = fetched.get(bucketMins);
+        if (reused == null) {
+            for (GapHistogram finer : fetched.values()) {
+                if (finer.coversSlice() && bucketMins % finer.getBucketMins() == 0) {
+                    reused = finer.rollUp(bucketMins);
+                    break;
+                }
+            }
+        }
+        if (reused != null) {
+            logger.debug("Reuse fetched histogram for bucket size {} minutes", bucketMins);
+            histogramListener.onResponse(reused);
+            return;
+        }
+
+        BoolQueryBuilder filter = new BoolQueryBuilder();
+        filter.must(baseFilter);              // shallow copy of all clauses
+        long sliceRange = sliceMaxMs - sliceMinMs;
+        /* -------- histogram request ---------------------------------- */
+        long bucketMs = TimeUnit.MINUTES.toMillis(bucketMins);
+        boolean coversSlice = true;
+        if (bucketMs > 0 && sliceRange / bucketMs > BUCKET_CAP) {                         // keep ≤256 buckets
+            long windowMs = bucketMs * BUCKET_CAP;
+            long sliceStart = sliceMaxMs - windowMs;
+            filter.filter(QueryBuilders.rangeQuery(tsField).gte(sliceStart).format("epoch_millis"));  // ← add filter
+            coversSlice = false;
+        }
+
+        SearchSourceBuilder src = new SearchSourceBuilder().size(0).query(filter);
+
+        DateHistogramAggregationBuilder hist = AggregationBuilders
+            .dateHistogram("dyn")
+            .field(tsField)
+            .fixedInterval(new DateHistogramInterval(bucketMins + "m"))
+            // min_doc_count is set to 0 to ensure that all buckets in the time range are returned,
+            // even if they are empty. This allows the client-side logic to detect empty buckets,
+            // which is the signal to switch from zooming-in to zooming-out.
+            .minDocCount(0);
+
+        hist.subAggregation(AggregationBuilders.min("first_ts").field(tsField));
+
+        src.aggregation(hist);
+
+        SearchRequest searchRequest = new SearchRequest(config.getIndices().toArray(new String[0])).source(src);
+        logger.debug("Minimum interval search request: {}", searchRequest);
+        final boolean histogramCoversSlice = coversSlice;
+        final ActionListener<SearchResponse> minIntervalSearchListener = ActionListener.wrap(r -> {
+            logger.debug("Minimum interval search response: {}", r);
+            histogramListener.onResponse(GapHistogram.of(bucketMins, histogramCoversSlice, r.getAggregations().get("dyn")));
+        }, histogramListener::onFailure);
+
         clientUtil
             .<SearchRequest, SearchResponse>asyncRequestWithInjectedSecurity(
                 searchRequest,
@@ -655,6 +680,143 @@ public class IntervalCalculation {
             );
     }
 
+    /**
+     * Buckets of a refineGap histogram: doc count and earliest timestamp per bucket.
+     */
+    static final class GapHistogram {
+        private final long bucketMins;
+        // whether the histogram covers the whole slice rather than its latest BUCKET_CAP buckets
+        private final boolean coversSlice;
+        private final long[] keys;
+        private final long[] docCounts;
+        // NaN when a bucket has no usable earliest timestamp
+        private final double[] firstTimestamps;
+
+        GapHistogram(long bucketMins, boolean coversSlice, long[] keys, long[] docCounts, double[] firstTimestamps) {
+            this.bucketMins = bucketMins;
+            this.coversSlice = coversSlice;
+            this.keys = keys;
+            this.docCounts = docCounts;
+            this.firstTimestamps = firstTimestamps;
+        }
+
+        static GapHistogram of(long bucketMins, boolean coversSlice, Histogram histogram) {
+            if (histogram == null) {
+                return new GapHistogram(bucketMins, coversSlice, new long[0], new long[0], new double[0]);
+            }
+            List<? extends Histogram.Bucket> buckets = histogram.getBuckets();
+            long[] keys = new long[buckets.size()];
+            long[] docCounts = new long[buckets.size()];
+            double[] firstTimestamps = new double[buckets.size()];
+            for (int i = 0; i < buckets.size(); i++) {
+                Histogram.Bucket bucket = buckets.get(i);
+                keys[i] = AggregationPrep.convertKeyToEpochMillis(bucket.getKey());
+                docCounts[i] = bucket.getDocCount();
+                Min min = bucket.getAggregations() == null ? null : bucket.getAggregations().get("first_ts");
+                firstTimestamps[i] = min != null && Double.isFinite(min.getValue()) ? min.getValue() : Double.NaN;
+            }
+            return new GapHistogram(bucketMins, coversSlice, keys, docCounts, firstTimestamps);
+        }
+
+        /**
+         * Roll up into a coarser bucket size that this bucket size divides. Fixed interval
+         * buckets are aligned to the epoch, so each coarse bucket is a run of fine buckets.
+         *
+         * @param coarserMins coarser bucket size in minutes
+         * @return histogram with the coarser bucket size
+         */
+        GapHistogram rollUp(long coarserMins) {
+            long coarserMs = TimeUnit.MINUTES.toMillis(coarserMins);
+            List<long[]> coarse = new ArrayList<>();
+            List<Double> coarseFirst = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                long key = Math.floorDiv(keys[i], coarserMs) * coarserMs;
+                int last = coarse.size() - 1;
+                if (last < 0 || coarse.get(last)[0] != key) {
+                    coarse.add(new long[] { key, docCounts[i] });
+                    coarseFirst.add(firstTimestamps[i]);
+                } else {
+                    coarse.get(last)[1] += docCounts[i];
+                    double first = coarseFirst.get(last);
+                    if (Double.isNaN(first) || firstTimestamps[i] < first) {
+                        coarseFirst.set(last, firstTimestamps[i]);
+                    }
+                }
+            }
+            long[] coarseKeys = new long[coarse.size()];
+            long[] coarseCounts = new long[coarse.size()];
+            double[] coarseFirstTimestamps = new double[coarse.size()];
+            for (int i = 0; i < coarse.size(); i++) {
+                coarseKeys[i] = coarse.get(i)[0];
+                coarseCounts[i] = coarse.get(i)[1];
+                coarseFirstTimestamps[i] = coarseFirst.get(i);
+            }
+            return new GapHistogram(coarserMins, coversSlice, coarseKeys, coarseCounts, coarseFirstTimestamps);
+        }
+
+        /**
+         * @return whether there are empty buckets between the first and the last non-empty bucket
+         */
+        boolean hasEmptyBuckets() {
+            int firstNonEmpty = -1;
+            int lastNonEmpty = -1;
+            for (int i = 0; i < docCounts.length; i++) {
+                if (docCounts[i] > 0) {
+                    if (firstNonEmpty == -1) {
+                        firstNonEmpty = i;
+                    }
+                    lastNonEmpty = i;
+                }
+            }
+            if (firstNonEmpty != -1) {
+                for (int i = firstNonEmpty + 1; i < lastNonEmpty; i++) {
+                    if (docCounts[i] == 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return median gap in milliseconds between the earliest timestamps of consecutive
+         *  non-empty buckets, or NaN if there are fewer than two such buckets
+         */
+        double medianGap() {
+            List<Long> timestamps = new ArrayList<>();
+            for (int i = 0; i < docCounts.length; i++) {
+                if (docCounts[i] > 0 && !Double.isNaN(firstTimestamps[i])) {
+                    timestamps.add((long) firstTimestamps[i]);
+                }
+            }
+            if (timestamps.size() < 2) {
+                return Double.NaN;
+            }
+            List<Long> gaps = new ArrayList<>();
+            for (int i = 1; i < timestamps.size(); i++) {
+                long currentGap = timestamps.get(i) - timestamps.get(i - 1);
+                if (currentGap > 0) {
+                    gaps.add(currentGap);
+                }
+            }
+            if (gaps.isEmpty()) {
+                return Double.NaN;
+            }
+            gaps.sort(null);
+            int size = gaps.size();
+            int middle = size / 2;
+            return size % 2 == 1 ? gaps.get(middle) : (gaps.get(middle - 1) + gaps.get(middle)) / 2.0;
+        }
+
+        long getBucketMins() {
+            return bucketMins;
+        }
+
+        boolean coversSlice() {
+            return coversSlice;
+        }
+    }
+
     /**
      * Finds an approximate data interval using a single {@code auto_date_histogram} query.
      *
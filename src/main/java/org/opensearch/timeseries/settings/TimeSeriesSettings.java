@@ -9,6 +9,9 @@ import java.time.Duration;
 
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.timeseries.ml.CheckpointCompression;
 
 public class TimeSeriesSettings {
 
@@ -29,39 +32,35 @@ public class TimeSeriesSettings {
     public static final String JOBS_INDEX_MAPPING_FILE = "mappings/job.json";
 
     /**
-     * Memory Usage Estimation for a Map&lt;String, Integer&gt; with 100,000 entries:
+     * Door keepers are count-min sketches with 4 rows of 4-bit counters, one per config.
+     * Counters are halved after max insertion updates.
      *
-     * 1. HashMap Object Overhead: This can vary, but let's assume it's about 36 bytes.
-     * 2. Array Overhead:
-     *    - The array size will be the nearest power of 2 greater than or equal to 100,000 / load factor.
-     *    - Assuming a load factor of 0.75, the array size will be 2^17 = 131,072.
-     *    - The memory usage will be 131,072 * 4 bytes = 524,288 bytes.
-     * 3. Entry Overhead: Each entry has an overhead of about 32 bytes (object header, hash code, and three references).
-     * 4. Key Overhead:
-     *    - Each key has an overhead of about 36 bytes (object header, length, hash cache) plus the character data.
-     *    - Assuming the character data is 64 bytes, the total key overhead per entry is 100 bytes.
-     * 5. Value Overhead: Each Integer object has an overhead of about 16 bytes (object header plus int value).
-     *
-     * Total Memory Usage Formula:
-     * Total Memory Usage = HashMap Object Overhead + Array Overhead +
-     *                      (Entry Overhead + Key Overhead + Value Overhead) * Number of Entries
-     *
-     * Plugging in the numbers:
-     * Total Memory Usage = 36 + 524,288 + (32 + 100 + 16) * 100,000
-     *                    ≈ 14,965 kilobytes (≈ 15 MB)
-     *
-     * Note:
-     * This estimation is quite simplistic and the actual memory usage may be different based on the JVM implementation,
-     * the actual Map implementation being used, and other factors.
+     * The table is allocated on the first insertion with DOOR_KEEPER_INITIAL_WIDTH counters
+     * per row and doubles as the number of distinct entities grows, until it reaches
+     * DOOR_KEEPER_MAX_SIZE. The table bytes are charged to the memory tracker.
      */
     public static final int DOOR_KEEPER_FOR_COLD_STARTER_MAX_INSERTION = 100_000;
 
     // clean up door keeper every 60 intervals
     public static final int EXPIRING_VALUE_MAINTENANCE_FREQ = 60;
 
-    // 1 million insertion costs roughly 1 MB.
     public static final int DOOR_KEEPER_FOR_CACHE_MAX_INSERTION = 1_000_000;
 
+    // 4 rows * 1,024 counters * 0.5 byte = 2 KB per config until it sees more than 512 entities
+    public static final int DOOR_KEEPER_INITIAL_WIDTH = 1024;
+
+    // Largest table of a door keeper. 2 MB holds 4 rows of 1,048,576 counters, enough for a config
+    // with about 500,000 entities missing the cache within a reset interval.
+    public static final Setting<ByteSizeValue> DOOR_KEEPER_MAX_SIZE = Setting
+        .byteSizeSetting(
+            "plugins.timeseries.door_keeper_max_size",
+            new ByteSizeValue(2, ByteSizeUnit.MB),
+            new ByteSizeValue(1, ByteSizeUnit.KB),
+            new ByteSizeValue(64, ByteSizeUnit.MB),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
     // for a real-time operation, we trade off speed for memory as real time opearation
     // only has to do one update/scoring per interval
     public static final double REAL_TIME_BOUNDING_BOX_CACHE_RATIO = 0;
@@ -117,6 +116,27 @@ public class TimeSeriesSettings {
     // to risk OOM for the flexibility.
     public static final int MAX_CHECKPOINT_BYTES = 30_000_000;
 
+    // Compression of model bytes in checkpoints. The default "none" keeps writing the
+    // legacy Base64 string fields so that nodes of older versions can read new checkpoints
+    // during a rolling upgrade. Set it to "lz4" or "deflate" only after every node in the
+    // cluster is upgraded. Readers understand both formats regardless and take a non-null
+    // legacy field over the binary one, as binary writers null out all legacy fields.
+    public static final Setting<CheckpointCompression> CHECKPOINT_COMPRESSION = new Setting<>(
+        "plugins.timeseries.checkpoint_compression",
+        CheckpointCompression.NONE.getName(),
+        CheckpointCompression::fromName,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    // Incremental checkpoints: between two full model checkpoints, only the samples processed
+    // since the last full one are written, up to this many. Restoring replays them onto the
+    // saved model. Once a model has processed more, its next checkpoint is a full one.
+    // 0 disables incremental checkpoints. Enable it only after every node in the cluster
+    // understands incremental checkpoints.
+    public static final Setting<Integer> CHECKPOINT_MAX_DELTA_SAMPLES = Setting
+        .intSetting("plugins.timeseries.checkpoint_max_delta_samples", 0, 0, 10_000, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
     // Sets the cap on the number of buffer that can be allocated by the rcf deserialization
     // buffer pool. Each buffer is of 512 bytes. Memory occupied by 20 buffers is 10.24 KB.
     public static final int MAX_TOTAL_RCF_SERIALIZATION_BUFFERS = 20;
@@ -249,6 +269,15 @@ public class TimeSeriesSettings {
     // max multiple of interval for frequency
     public static final int MAX_FREQUENCY_MULTIPLE = 10_000;
 
+    // how long gap backfill requests of a config wait for each other before one search fetches them all
+    public static final TimeValue GAP_BACKFILL_BATCH_WINDOW = TimeValue.timeValueMillis(200);
+
+    // entities whose gaps are backfilled together at most
+    public static final int GAP_BACKFILL_MAX_BATCH_SIZE = 1000;
+
+    // entity and date range buckets a gap backfill search returns at most. Well below search.max_buckets.
+    public static final int GAP_BACKFILL_MAX_BUCKETS = 20_000;
+
     // ======================================
     // JOB
     // ======================================
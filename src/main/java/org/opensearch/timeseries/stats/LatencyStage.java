@@ -0,0 +1,54 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.stats;
+
+import org.opensearch.timeseries.AnalysisType;
+
+/**
+ * Stages of the real time pipeline whose latencies are recorded on each node.
+ *
+ * A stage only names its stats; the plugin creates the histograms and registers them as
+ * node level stats, and components record into them through {@link Stats#recordLatency}.
+ */
+public enum LatencyStage {
+    // search of a page of entities in the result processor
+    RESULT_PAGE_FETCH(StatNames.AD_RESULT_PAGE_FETCH_LATENCY, StatNames.FORECAST_RESULT_PAGE_FETCH_LATENCY),
+    // handling of the entity features sent to a node
+    ENTITY_RESULT(StatNames.AD_ENTITY_RESULT_LATENCY, StatNames.FORECAST_ENTITY_RESULT_LATENCY),
+    // wait for the model lock before scoring, including retries
+    INFERENCE_LOCK_WAIT(StatNames.AD_INFERENCE_LOCK_WAIT_LATENCY, StatNames.FORECAST_INFERENCE_LOCK_WAIT_LATENCY),
+    // scoring of the samples of a model
+    INFERENCE_SCORE(StatNames.AD_INFERENCE_SCORE_LATENCY, StatNames.FORECAST_INFERENCE_SCORE_LATENCY),
+    // round trip of a checkpoint read batch
+    CHECKPOINT_READ(StatNames.AD_CHECKPOINT_READ_LATENCY, StatNames.FORECAST_CHECKPOINT_READ_LATENCY),
+    // round trip of a checkpoint write batch
+    CHECKPOINT_WRITE(StatNames.AD_CHECKPOINT_WRITE_LATENCY, StatNames.FORECAST_CHECKPOINT_WRITE_LATENCY),
+    // training of a model during cold start
+    COLD_START(StatNames.AD_COLD_START_LATENCY, StatNames.FORECAST_COLD_START_LATENCY),
+    // round trip of a result write batch
+    RESULT_WRITE(StatNames.AD_RESULT_WRITE_LATENCY, StatNames.FORECAST_RESULT_WRITE_LATENCY);
+
+    private final StatNames adStatName;
+    private final StatNames forecastStatName;
+
+    LatencyStage(StatNames adStatName, StatNames forecastStatName) {
+        this.adStatName = adStatName;
+        this.forecastStatName = forecastStatName;
+    }
+
+    /**
+     * @param analysisType analysis the stage ran for
+     * @return name of the stage's latency stat, or null for analyses other than AD and forecast
+     */
+    public String getStatName(AnalysisType analysisType) {
+        if (analysisType == AnalysisType.AD) {
+            return adStatName.getName();
+        } else if (analysisType == AnalysisType.FORECAST) {
+            return forecastStatName.getName();
+        }
+        return null;
+    }
+}
@@ -42,6 +42,15 @@ public enum StatNames {
     AD_BATCH_TASK_FAILURE_COUNT("ad_batch_task_failure_count", StatType.AD),
     MODEL_COUNT("model_count", StatType.AD),
     AD_MODEL_CORRUTPION_COUNT("ad_model_corruption_count", StatType.AD),
+    // per-stage latencies of the real time pipeline
+    AD_RESULT_PAGE_FETCH_LATENCY("ad_result_page_fetch_latency", StatType.AD),
+    AD_ENTITY_RESULT_LATENCY("ad_entity_result_latency", StatType.AD),
+    AD_INFERENCE_LOCK_WAIT_LATENCY("ad_inference_lock_wait_latency", StatType.AD),
+    AD_INFERENCE_SCORE_LATENCY("ad_inference_score_latency", StatType.AD),
+    AD_CHECKPOINT_READ_LATENCY("ad_checkpoint_read_latency", StatType.AD),
+    AD_CHECKPOINT_WRITE_LATENCY("ad_checkpoint_write_latency", StatType.AD),
+    AD_COLD_START_LATENCY("ad_cold_start_latency", StatType.AD),
+    AD_RESULT_WRITE_LATENCY("ad_result_write_latency", StatType.AD),
     // forecast stats
     FORECAST_CONFIG_INDEX_STATUS("forecast_config_index_status", StatType.FORECAST),
     FORECAST_EXECUTE_REQUEST_COUNT("forecast_execute_request_count", StatType.FORECAST),
@@ -54,7 +63,15 @@ public enum StatNames {
     FORECASTER_COUNT("forecaster_count", StatType.FORECAST),
     SINGLE_STREAM_FORECASTER_COUNT("single_stream_forecaster_count", StatType.FORECAST),
     HC_FORECASTER_COUNT("hc_forecaster_count", StatType.FORECAST),
-    FORECAST_MODEL_CORRUPTION_COUNT("forecast_model_corruption_count", StatType.FORECAST);
+    FORECAST_MODEL_CORRUPTION_COUNT("forecast_model_corruption_count", StatType.FORECAST),
+    FORECAST_RESULT_PAGE_FETCH_LATENCY("forecast_result_page_fetch_latency", StatType.FORECAST),
+    FORECAST_ENTITY_RESULT_LATENCY("forecast_entity_result_latency", StatType.FORECAST),
+    FORECAST_INFERENCE_LOCK_WAIT_LATENCY("forecast_inference_lock_wait_latency", StatType.FORECAST),
+    FORECAST_INFERENCE_SCORE_LATENCY("forecast_inference_score_latency", StatType.FORECAST),
+    FORECAST_CHECKPOINT_READ_LATENCY("forecast_checkpoint_read_latency", StatType.FORECAST),
+    FORECAST_CHECKPOINT_WRITE_LATENCY("forecast_checkpoint_write_latency", StatType.FORECAST),
+    FORECAST_COLD_START_LATENCY("forecast_cold_start_latency", StatType.FORECAST),
+    FORECAST_RESULT_WRITE_LATENCY("forecast_result_write_latency", StatType.FORECAST);
 
     private final String name;
     private final StatType type;
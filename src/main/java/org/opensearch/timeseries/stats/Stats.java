@@ -14,6 +14,8 @@ package org.opensearch.timeseries.stats;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.opensearch.timeseries.AnalysisType;
+
 public class Stats {
     private Map<String, TimeSeriesStat<?>> stats;
 
@@ -49,6 +51,20 @@ public class Stats {
         return stats.get(key);
     }
 
+    /**
+     * Record the latency of a stage up to now. Stages without a registered stat are ignored.
+     *
+     * @param stage stage of the real time pipeline
+     * @param analysisType analysis the stage ran for
+     * @param startNanos start of the stage, as returned by System.nanoTime
+     */
+    public void recordLatency(LatencyStage stage, AnalysisType analysisType, long startNanos) {
+        TimeSeriesStat<?> stat = stats.get(stage.getStatName(analysisType));
+        if (stat != null) {
+            stat.record(System.nanoTime() - startNanos);
+        }
+    }
+
     /**
      * Get a map of the stats that are kept at the node level
      *
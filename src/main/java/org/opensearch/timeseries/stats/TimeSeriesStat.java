@@ -14,6 +14,7 @@ package org.opensearch.timeseries.stats;
 import java.util.function.Supplier;
 
 import org.opensearch.timeseries.stats.suppliers.CounterSupplier;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 import org.opensearch.timeseries.stats.suppliers.SettableSupplier;
 
 /**
@@ -80,4 +81,15 @@ public class TimeSeriesStat<T> {
             ((CounterSupplier) supplier).decrement();
         }
     }
+
+    /**
+     * Records a latency if the supplier is a latency histogram
+     *
+     * @param durationNanos latency in nanoseconds
+     */
+    public void record(long durationNanos) {
+        if (supplier instanceof LatencySupplier) {
+            ((LatencySupplier) supplier).record(durationNanos);
+        }
+    }
 }
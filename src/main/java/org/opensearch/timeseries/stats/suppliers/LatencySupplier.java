@@ -0,0 +1,201 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.stats.suppliers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Supplier;
+
+/**
+ * LatencySupplier records latencies into a fixed-size log-linear histogram and provides
+ * count, p50, p99 and max as the value.
+ *
+ * Like HdrHistogram, values in microseconds are bucketed by their power of two and 16
+ * linear sub-buckets within it, so a reported percentile is at most 1/16 above the true
+ * value. Recording is a lock-free increment of one bucket. The value also carries the
+ * non-empty buckets so that histograms of different nodes can be merged exactly; they
+ * are dropped when the stat is rendered.
+ */
+public class LatencySupplier implements Supplier<Map<String, Object>> {
+    public static final String COUNT = "count";
+    public static final String P50 = "p50_ms";
+    public static final String P99 = "p99_ms";
+    public static final String MAX = "max_ms";
+    // non-empty buckets as (bucket index, count) pairs
+    public static final String BUCKETS = "buckets";
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // latencies of 2^36 microseconds (about 19 hours) or more go to the last bucket
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_TRACKABLE_MICROS = (1L << MAX_EXPONENT) - 1;
+    static final int NUM_BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAccumulator maxMicros;
+
+    /**
+     * Constructor
+     */
+    public LatencySupplier() {
+        this.counts = new AtomicLongArray(NUM_BUCKETS);
+        this.maxMicros = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * Record a latency
+     *
+     * @param durationNanos latency in nanoseconds, as measured with System.nanoTime
+     */
+    public void record(long durationNanos) {
+        long micros = Math.max(0L, durationNanos / 1000L);
+        counts.incrementAndGet(bucketIndex(Math.min(micros, MAX_TRACKABLE_MICROS)));
+        maxMicros.accumulate(micros);
+    }
+
+    @Override
+    public Map<String, Object> get() {
+        long[] snapshot = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return summarize(snapshot, maxMicros.get(), true);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @return the largest value in microseconds that falls into the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private static Map<String, Object> summarize(long[] bucketCounts, long maxMicros, boolean withBuckets) {
+        long count = 0;
+        int nonEmpty = 0;
+        for (long bucketCount : bucketCounts) {
+            count += bucketCount;
+            if (bucketCount > 0) {
+                nonEmpty++;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put(COUNT, count);
+        summary.put(P50, toMillis(percentile(bucketCounts, count, 0.5, maxMicros)));
+        summary.put(P99, toMillis(percentile(bucketCounts, count, 0.99, maxMicros)));
+        summary.put(MAX, toMillis(maxMicros));
+        if (withBuckets) {
+            long[] buckets = new long[2 * nonEmpty];
+            int next = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                if (bucketCounts[i] > 0) {
+                    buckets[next++] = i;
+                    buckets[next++] = bucketCounts[i];
+                }
+            }
+            summary.put(BUCKETS, buckets);
+        }
+        return summary;
+    }
+
+    private static long percentile(long[] bucketCounts, long count, double quantile, long maxMicros) {
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * @param value stat value
+     * @return whether the value is provided by a LatencySupplier
+     */
+    public static boolean isLatency(Object value) {
+        return value instanceof Map && ((Map<?, ?>) value).get(BUCKETS) instanceof long[];
+    }
+
+    /**
+     * @param value stat value
+     * @return the value without the buckets if it is a latency, otherwise the value itself
+     */
+    public static Object forDisplay(Object value) {
+        if (!isLatency(value)) {
+            return value;
+        }
+        Map<String, Object> display = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            if (!BUCKETS.equals(entry.getKey())) {
+                display.put((String) entry.getKey(), entry.getValue());
+            }
+        }
+        return display;
+    }
+
+    /**
+     * Merge the latencies of several nodes.
+     *
+     * @param nodeStats stat name to value of each node
+     * @return stat name to merged count, p50, p99 and max of every latency stat found
+     */
+    public static Map<String, Object> merge(List<Map<String, Object>> nodeStats) {
+        Map<String, long[]> mergedCounts = new LinkedHashMap<>();
+        Map<String, Long> mergedMax = new LinkedHashMap<>();
+        for (Map<String, Object> stats : nodeStats) {
+            if (stats == null) {
+                continue;
+            }
+            for (Map.Entry<String, Object> entry : stats.entrySet()) {
+                if (!isLatency(entry.getValue())) {
+                    continue;
+                }
+                Map<?, ?> latency = (Map<?, ?>) entry.getValue();
+                long[] bucketCounts = mergedCounts.computeIfAbsent(entry.getKey(), k -> new long[NUM_BUCKETS]);
+                long[] buckets = (long[]) latency.get(BUCKETS);
+                for (int i = 0; i + 1 < buckets.length; i += 2) {
+                    int index = (int) buckets[i];
+                    if (index >= 0 && index < NUM_BUCKETS) {
+                        bucketCounts[index] += buckets[i + 1];
+                    }
+                }
+                long max = latency.get(MAX) instanceof Number ? Math.round(((Number) latency.get(MAX)).doubleValue() * 1000) : 0L;
+                mergedMax.merge(entry.getKey(), max, Math::max);
+            }
+        }
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : mergedCounts.entrySet()) {
+            merged.put(entry.getKey(), summarize(entry.getValue(), mergedMax.get(entry.getKey()), false));
+        }
+        return merged;
+    }
+}
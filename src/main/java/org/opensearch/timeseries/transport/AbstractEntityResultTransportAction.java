@@ -37,6 +37,7 @@ import org.opensearch.timeseries.ratelimit.CheckpointWriteWorker;
 import org.opensearch.timeseries.ratelimit.ColdEntityWorker;
 import org.opensearch.timeseries.ratelimit.ColdStartWorker;
 import org.opensearch.timeseries.ratelimit.SaveResultStrategy;
+import org.opensearch.timeseries.stats.Stats;
 import org.opensearch.timeseries.task.TaskCacheManager;
 import org.opensearch.timeseries.task.TaskManager;
 import org.opensearch.timeseries.util.ExceptionUtil;
@@ -60,6 +61,7 @@ public abstract class AbstractEntityResultTransportAction<RCFModelType extends T
     private final HCCheckpointReadWorkerType checkpointReadQueue;
     private final ColdEntityWorkerType coldEntityQueue;
     private final InferencerType inferencer;
+    private final Stats stats;
 
     private EntityResultProcessor<RCFModelType, IndexableResultType, IntermediateResultType, IndexType, IndexManagementType, CheckpointDaoType, CheckpointWriteWorkerType, ModelColdStartType, ModelManagerType, CacheType, SaveResultStrategyType, TaskCacheManagerType, TaskTypeEnum, TaskClass, TaskManagerType, ColdStartWorkerType, InferencerType, HCCheckpointReadWorkerType, ColdEntityWorkerType> intervalDataProcessor;
 
@@ -74,7 +76,8 @@ public abstract class AbstractEntityResultTransportAction<RCFModelType extends T
         String threadPoolName,
         HCCheckpointReadWorkerType checkpointReadQueue,
         ColdEntityWorkerType coldEntityQueue,
-        InferencerType inferencer
+        InferencerType inferencer,
+        Stats stats
     ) {
         super(actionName, transportService, actionFilters, EntityResultRequest::new);
         this.circuitBreakerService = circuitBreakerService;
@@ -86,6 +89,7 @@ public abstract class AbstractEntityResultTransportAction<RCFModelType extends T
         this.checkpointReadQueue = checkpointReadQueue;
         this.coldEntityQueue = coldEntityQueue;
         this.inferencer = inferencer;
+        this.stats = stats;
         this.intervalDataProcessor = null;
     }
 
@@ -122,7 +126,8 @@ public abstract class AbstractEntityResultTransportAction<RCFModelType extends T
                 inferencer,
                 threadPool,
                 threadPoolName,
-                clock
+                clock,
+                stats
             );
 
             stateManager
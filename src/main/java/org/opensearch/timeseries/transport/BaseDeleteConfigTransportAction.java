@@ -205,6 +205,8 @@ public abstract class BaseDeleteConfigTransportAction<TaskCacheManagerType exten
         client.delete(deleteRequest, new ActionListener<DeleteResponse>() {
             @Override
             public void onResponse(DeleteResponse deleteResponse) {
+                // other nodes may have cached the deleted config
+                nodeStateManager.invalidateConfigOnAllNodes(configId, deleteResponse.getVersion());
                 listener.onResponse(deleteResponse);
             }
 
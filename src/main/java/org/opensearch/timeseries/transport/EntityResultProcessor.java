@@ -7,19 +7,21 @@ package org.opensearch.timeseries.transport;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
-import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.threadpool.ThreadPool;
@@ -49,6 +51,8 @@ import org.opensearch.timeseries.ratelimit.ColdStartWorker;
 import org.opensearch.timeseries.ratelimit.FeatureRequest;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.ratelimit.SaveResultStrategy;
+import org.opensearch.timeseries.stats.LatencyStage;
+import org.opensearch.timeseries.stats.Stats;
 import org.opensearch.timeseries.task.TaskCacheManager;
 import org.opensearch.timeseries.task.TaskManager;
 import org.opensearch.timeseries.util.ActionListenerExecutor;
@@ -64,6 +68,8 @@ import com.amazon.randomcutforest.parkservices.ThresholdedRandomCutForest;
 public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutForest, IndexableResultType extends IndexableResult, IntermediateResultType extends IntermediateResult<IndexableResultType>, IndexType extends Enum<IndexType> & TimeSeriesIndex, IndexManagementType extends IndexManagement<IndexType>, CheckpointDaoType extends CheckpointDao<RCFModelType, IndexType, IndexManagementType>, CheckpointWriteWorkerType extends CheckpointWriteWorker<RCFModelType, IndexType, IndexManagementType, CheckpointDaoType>, ModelColdStartType extends ModelColdStart<RCFModelType, IndexType, IndexManagementType, IndexableResultType>, ModelManagerType extends ModelManager<RCFModelType, IndexableResultType, IntermediateResultType, IndexType, IndexManagementType, CheckpointDaoType, ModelColdStartType>, CacheType extends TimeSeriesCache<RCFModelType>, SaveResultStrategyType extends SaveResultStrategy<IndexableResultType, IntermediateResultType>, TaskCacheManagerType extends TaskCacheManager, TaskTypeEnum extends TaskType, TaskClass extends TimeSeriesTask, TaskManagerType extends TaskManager<TaskCacheManagerType, TaskTypeEnum, TaskClass, IndexType, IndexManagementType>, ColdStartWorkerType extends ColdStartWorker<RCFModelType, IndexType, IndexManagementType, CheckpointDaoType, CheckpointWriteWorkerType, ModelColdStartType, CacheType, IndexableResultType, IntermediateResultType, ModelManagerType, SaveResultStrategyType, TaskCacheManagerType, TaskTypeEnum, TaskClass, TaskManagerType>, InferencerType extends RealTimeInferencer<RCFModelType, IndexableResultType, IntermediateResultType, IndexType, IndexManagementType, CheckpointDaoType, CheckpointWriteWorkerType, ModelColdStartType, ModelManagerType, SaveResultStrategyType, CacheType, TaskCacheManagerType, TaskTypeEnum, TaskClass, TaskManagerType, ColdStartWorkerType>, HCCheckpointReadWorkerType extends CheckpointReadWorker<RCFModelType, IndexableResultType, IntermediateResultType, IndexType, IndexManagementType, CheckpointDaoType, CheckpointWriteWorkerType, ModelColdStartType, ModelManagerType, CacheType, SaveResultStrategyType, TaskCacheManagerType, TaskTypeEnum, TaskClass, TaskManagerType, ColdStartWorkerType, InferencerType>, ColdEntityWorkerType extends ColdEntityWorker<RCFModelType, IndexableResultType, IndexType, IndexManagementType, CheckpointDaoType, IntermediateResultType, ModelManagerType, CheckpointWriteWorkerType, ModelColdStartType, CacheType, SaveResultStrategyType, TaskCacheManagerType, TaskTypeEnum, TaskClass, TaskManagerType, ColdStartWorkerType, InferencerType, HCCheckpointReadWorkerType>> {
 
     private static final Logger LOG = LogManager.getLogger(EntityResultProcessor.class);
+    // below this many entities per chunk, the cost of queueing a task outweighs the parallelism
+    private static final int MIN_ENTITIES_PER_CHUNK = 16;
 
     private CacheProvider<RCFModelType, CacheType> cache;
     private HCCheckpointReadWorkerType checkpointReadQueue;
@@ -72,6 +78,7 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
     private ThreadPool threadPool;
     private String threadPoolName;
     private Clock clock;
+    private Stats stats;
 
     public EntityResultProcessor(
         CacheProvider<RCFModelType, CacheType> cache,
@@ -80,7 +87,8 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
         InferencerType inferencer,
         ThreadPool threadPool,
         String threadPoolName,
-        Clock clock
+        Clock clock,
+        Stats stats
     ) {
         this.cache = cache;
         this.checkpointReadQueue = checkpointReadQueue;
@@ -89,6 +97,7 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
         this.threadPool = threadPool;
         this.threadPoolName = threadPoolName;
         this.clock = clock;
+        this.stats = stats;
     }
 
     public ActionListener<Optional<? extends Config>> onGetConfig(
@@ -98,28 +107,28 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
         Optional<Exception> prevException,
         AnalysisType analysisType
     ) {
+        // covers the config lookup and the handling of all entities of the request
+        long startNanos = System.nanoTime();
+        ActionListener<AcknowledgedResponse> timedListener = ActionListener
+            .runAfter(listener, () -> stats.recordLatency(LatencyStage.ENTITY_RESULT, analysisType, startNanos));
         return ActionListenerExecutor.wrap(configOptional -> {
             if (!configOptional.isPresent()) {
-                listener.onFailure(new EndRunException(configId, "Config " + configId + " is not available.", false));
+                timedListener.onFailure(new EndRunException(configId, "Config " + configId + " is not available.", false));
                 return;
             }
 
             Config config = configOptional.get();
 
             if (request.getEntities() == null) {
-                listener.onFailure(new EndRunException(configId, "Fail to get any entities from request.", false));
+                timedListener.onFailure(new EndRunException(configId, "Fail to get any entities from request.", false));
                 return;
             }
 
-            Map<Entity, double[]> cacheMissEntities = new ConcurrentHashMap<>();
-
-            // Convert the entrySet to a list for parallel processing
             List<Entry<Entity, double[]>> entityEntries = new ArrayList<>(request.getEntities().entrySet());
             long deadline = clock.millis() + config.getInferredFrequencyInMilliseconds();
 
             AtomicReference<Exception> processingException = new AtomicReference<>(prevException.orElse(null));
-            // Process entities in parallel instead of sequentially
-            processEntitiesInParallel(entityEntries, cacheMissEntities, config, configId, request, listener, processingException, deadline);
+            processEntitiesInChunks(entityEntries, config, configId, request, timedListener, processingException, deadline);
         }, exception -> {
             LOG
                 .error(
@@ -131,13 +140,18 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
                     ),
                     exception
                 );
-            listener.onFailure(exception);
+            timedListener.onFailure(exception);
         }, threadPool.executor(threadPoolName));
     }
 
-    private void processEntitiesInParallel(
+    /**
+     * Split the entities into at most one chunk per thread of the analysis pool. Each
+     * chunk does the cache lookups and inference of its entities in a loop and collects
+     * its cache misses locally, which avoids queueing one task per entity. Small requests
+     * stay in a single chunk on the current thread.
+     */
+    private void processEntitiesInChunks(
         List<Entry<Entity, double[]>> entityEntries,
-        Map<Entity, double[]> cacheMissEntities,
         Config config,
         String configId,
         EntityResultRequest request,
@@ -145,46 +159,102 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
         AtomicReference<Exception> processingException,
         long deadline
     ) {
-        if (entityEntries.isEmpty()) {
+        int numEntities = entityEntries.size();
+        if (numEntities == 0) {
             // No entities to process; proceed directly with cache misses handling.
-            processCacheMissEntities(cacheMissEntities, config, configId, request, listener, processingException);
+            processCacheMissEntities(new HashMap<>(), config, configId, request, listener, processingException);
             return;
         }
 
-        // GroupedActionListener coordinates the multiple parallel operations.
-        GroupedActionListener<Void> groupedListener = new GroupedActionListener<>(ActionListener.wrap(r -> {
-            // This is called when ALL entities have been processed (successfully or with cache misses).
-            processCacheMissEntities(cacheMissEntities, config, configId, request, listener, processingException);
-        }, e -> {
-            // This is called if ANY of the entity processing calls result in an exception.
-            LOG.error("Error occurred during parallel entity processing", e);
-            // We still proceed with cache misses even if some hot entities failed.
-            processingException.updateAndGet(existing -> {
-                if (existing == null) {
-                    return e;
+        int numChunks = getNumChunks(numEntities);
+        int chunkSize = (numEntities + numChunks - 1) / numChunks;
+        numChunks = (numEntities + chunkSize - 1) / chunkSize;
+        AtomicReferenceArray<List<Entry<Entity, double[]>>> chunkCacheMisses = new AtomicReferenceArray<>(numChunks);
+
+        // one unit per entity plus one per chunk: the chunk's unit is released after its
+        // cache misses are published, so reaching zero means every chunk is done.
+        AtomicInteger pending = new AtomicInteger(numEntities + numChunks);
+        Runnable onUnitDone = () -> {
+            if (pending.decrementAndGet() == 0) {
+                Map<Entity, double[]> cacheMissEntities = new HashMap<>();
+                for (int i = 0; i < chunkCacheMisses.length(); i++) {
+                    List<Entry<Entity, double[]>> misses = chunkCacheMisses.get(i);
+                    if (misses == null) {
+                        continue;
+                    }
+                    for (Entry<Entity, double[]> miss : misses) {
+                        cacheMissEntities.put(miss.getKey(), miss.getValue());
+                    }
                 }
-                return ExceptionUtil.selectHigherPriorityException(e, existing);
-            });
-            processCacheMissEntities(cacheMissEntities, config, configId, request, listener, processingException);
-        }), entityEntries.size());
+                processCacheMissEntities(cacheMissEntities, config, configId, request, listener, processingException);
+            }
+        };
 
-        for (Entry<Entity, double[]> entityEntry : entityEntries) {
-            // Once the maximum number of threads is reached and all of them are busy, any new tasks will be queued
-            // until one of the threads is freed up. The queue is unbounded, so it's possible to starve the queue if
-            // the processing takes too long.
-            threadPool.executor(threadPoolName).execute(() -> {
-                processSingleEntity(entityEntry, cacheMissEntities, config, configId, request, groupedListener, deadline);
-            });
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            int chunkIndex = chunk;
+            List<Entry<Entity, double[]>> chunkEntries = entityEntries
+                .subList(chunk * chunkSize, Math.min(numEntities, (chunk + 1) * chunkSize));
+            Runnable chunkTask = () -> {
+                List<Entry<Entity, double[]>> cacheMisses = new ArrayList<>(chunkEntries.size());
+                try {
+                    for (Entry<Entity, double[]> entityEntry : chunkEntries) {
+                        // an entity releases its unit once even if it throws after completing its listener
+                        ActionListener<Void> entityListener = ActionListener.notifyOnce(ActionListener.wrap(r -> onUnitDone.run(), e -> {
+                            recordException(processingException, e);
+                            onUnitDone.run();
+                        }));
+                        try {
+                            processSingleEntity(entityEntry, cacheMisses, config, configId, request, entityListener, deadline);
+                        } catch (Exception e) {
+                            LOG.error("Failed to process entity " + entityEntry.getKey(), e);
+                            entityListener.onFailure(e);
+                        }
+                    }
+                } finally {
+                    chunkCacheMisses.set(chunkIndex, cacheMisses);
+                    onUnitDone.run();
+                }
+            };
+            if (chunk == numChunks - 1) {
+                // we are on the analysis thread pool already
+                chunkTask.run();
+            } else {
+                // Once the maximum number of threads is reached and all of them are busy, any new tasks will be queued
+                // until one of the threads is freed up.
+                try {
+                    threadPool.executor(threadPoolName).execute(chunkTask);
+                } catch (Exception e) {
+                    // rejected: the chunk's units must still be released, so run it here
+                    LOG.debug("Chunk of config [{}] rejected by the thread pool, running it on the current thread", configId);
+                    chunkTask.run();
+                }
+            }
         }
     }
 
+    private int getNumChunks(int numEntities) {
+        ThreadPool.Info info = threadPool.info(threadPoolName);
+        int maxThreads = info == null ? 1 : Math.max(1, info.getMax());
+        int chunksBySize = (numEntities + MIN_ENTITIES_PER_CHUNK - 1) / MIN_ENTITIES_PER_CHUNK;
+        return Math.max(1, Math.min(maxThreads, chunksBySize));
+    }
+
+    private void recordException(AtomicReference<Exception> processingException, Exception e) {
+        processingException.updateAndGet(existing -> {
+            if (existing == null) {
+                return e;
+            }
+            return ExceptionUtil.selectHigherPriorityException(e, existing);
+        });
+    }
+
     private void processSingleEntity(
         Entry<Entity, double[]> entityEntry,
-        Map<Entity, double[]> cacheMissEntities,
+        List<Entry<Entity, double[]>> cacheMissEntities,
         Config config,
         String configId,
         EntityResultRequest request,
-        ActionListener<Void> listener, // This is the sub-listener from GroupedActionListener
+        ActionListener<Void> listener,
         long deadline
     ) {
         if (clock.millis() >= deadline) {
@@ -216,7 +286,7 @@ public class EntityResultProcessor<RCFModelType extends ThresholdedRandomCutFore
             ModelState<RCFModelType> entityModel = cache.get().get(modelId, config);
             if (entityModel == null) {
                 // cache miss
-                cacheMissEntities.put(finalEntity, datapoint);
+                cacheMissEntities.add(new SimpleImmutableEntry<>(finalEntity, datapoint));
                 listener.onResponse(null);
                 return;
             }
@@ -0,0 +1,19 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.ad.constant.ADCommonValue;
+
+public class InvalidateConfigAction extends ActionType<InvalidateConfigResponse> {
+    // Internal Action which is not used for public facing RestAPIs.
+    public static final String NAME = ADCommonValue.INTERNAL_ACTION_PREFIX + "config/invalidate";
+    public static final InvalidateConfigAction INSTANCE = new InvalidateConfigAction();
+
+    private InvalidateConfigAction() {
+        super(NAME, InvalidateConfigResponse::new);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.transport;
+
+import java.io.IOException;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.transport.TransportRequest;
+
+public class InvalidateConfigNodeRequest extends TransportRequest {
+    private final String configId;
+    private final long version;
+
+    public InvalidateConfigNodeRequest(StreamInput in) throws IOException {
+        super(in);
+        this.configId = in.readString();
+        this.version = in.readLong();
+    }
+
+    public InvalidateConfigNodeRequest(InvalidateConfigRequest request) {
+        this.configId = request.getConfigId();
+        this.version = request.getVersion();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(configId);
+        out.writeLong(version);
+    }
+
+    public String getConfigId() {
+        return configId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
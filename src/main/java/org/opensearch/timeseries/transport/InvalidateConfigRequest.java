@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.transport;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+/**
+ * Sent to all nodes when a config is updated or deleted.
+ */
+public class InvalidateConfigRequest extends BaseNodesRequest<InvalidateConfigRequest> {
+    private final String configId;
+    // document version of the config after the update or delete
+    private final long version;
+
+    public InvalidateConfigRequest(StreamInput in) throws IOException {
+        super(in);
+        this.configId = in.readString();
+        this.version = in.readLong();
+    }
+
+    public InvalidateConfigRequest(String configId, long version) {
+        // all nodes
+        super((String[]) null);
+        this.configId = configId;
+        this.version = version;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(configId);
+        out.writeLong(version);
+    }
+
+    public String getConfigId() {
+        return configId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
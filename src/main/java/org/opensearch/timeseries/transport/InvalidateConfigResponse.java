@@ -0,0 +1,36 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.transport;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+public class InvalidateConfigResponse extends BaseNodesResponse<InvalidateConfigNodeResponse> {
+
+    public InvalidateConfigResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public InvalidateConfigResponse(ClusterName clusterName, List<InvalidateConfigNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    public List<InvalidateConfigNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(InvalidateConfigNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<InvalidateConfigNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.transport;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.timeseries.NodeStateManager;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Drops the cached copies of an updated or deleted config on every node.
+ */
+public class InvalidateConfigTransportAction extends
+    TransportNodesAction<InvalidateConfigRequest, InvalidateConfigResponse, InvalidateConfigNodeRequest, InvalidateConfigNodeResponse> {
+    private final NodeStateManager nodeStateManager;
+
+    @Inject
+    public InvalidateConfigTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        NodeStateManager nodeStateManager
+    ) {
+        super(
+            InvalidateConfigAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            InvalidateConfigRequest::new,
+            InvalidateConfigNodeRequest::new,
+            ThreadPool.Names.MANAGEMENT,
+            InvalidateConfigNodeResponse.class
+        );
+        this.nodeStateManager = nodeStateManager;
+    }
+
+    @Override
+    protected InvalidateConfigResponse newResponse(
+        InvalidateConfigRequest request,
+        List<InvalidateConfigNodeResponse> responses,
+        List<FailedNodeException> failures
+    ) {
+        return new InvalidateConfigResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected InvalidateConfigNodeRequest newNodeRequest(InvalidateConfigRequest request) {
+        return new InvalidateConfigNodeRequest(request);
+    }
+
+    @Override
+    protected InvalidateConfigNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new InvalidateConfigNodeResponse(in);
+    }
+
+    @Override
+    protected InvalidateConfigNodeResponse nodeOperation(InvalidateConfigNodeRequest request) {
+        nodeStateManager.onConfigVersion(request.getConfigId(), request.getVersion());
+        return new InvalidateConfigNodeResponse(clusterService.localNode());
+    }
+}
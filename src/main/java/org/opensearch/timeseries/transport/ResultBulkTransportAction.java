@@ -26,7 +26,9 @@ import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -110,6 +112,25 @@ public abstract class ResultBulkTransportAction<ResultType extends IndexableResu
 
     protected abstract BulkRequest prepareBulkRequest(float indexingPressurePercent, ResultBulkRequestType request);
 
+    /**
+     * Add the index request of a queued result. Uses the source encoded when the
+     * result was queued, so a result written to both the result index and the
+     * flattened result index is serialized only once.
+     *
+     * @param bulkRequest bulk request to add to
+     * @param resultWriteRequest queued result
+     * @param resultIndex index to write to. Null means the default result index.
+     */
+    protected void addResult(BulkRequest bulkRequest, ResultWriteRequest<?> resultWriteRequest, String resultIndex) {
+        BytesReference source = resultWriteRequest.getSource();
+        if (source == null) {
+            addResult(bulkRequest, resultWriteRequest.getResult(), resultIndex);
+            return;
+        }
+        String index = resultIndex == null ? indexName : resultIndex;
+        bulkRequest.add(new IndexRequest(index).source(source, XContentType.JSON));
+    }
+
     protected void addResult(BulkRequest bulkRequest, ToXContentObject result, String resultIndex) {
         String index = resultIndex == null ? indexName : resultIndex;
         try (XContentBuilder builder = jsonBuilder()) {
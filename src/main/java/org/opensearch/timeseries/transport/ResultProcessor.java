@@ -15,6 +15,7 @@ import java.net.ConnectException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -25,7 +26,6 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -78,6 +78,7 @@ import org.opensearch.timeseries.model.IndexableResult;
 import org.opensearch.timeseries.model.IntervalTimeConfiguration;
 import org.opensearch.timeseries.model.TaskType;
 import org.opensearch.timeseries.model.TimeSeriesTask;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.stats.StatNames;
 import org.opensearch.timeseries.stats.Stats;
 import org.opensearch.timeseries.task.TaskCacheManager;
@@ -214,6 +215,8 @@ public abstract class ResultProcessor<TransportResultRequestType extends ResultR
         // we ensure that the count of in-flight pages is accurate at all times. This allows us to reliably determine
         // when all pages have been processed.
         private AtomicInteger pagesInFlight;
+        // start of the outstanding page search; pages are fetched one at a time
+        private volatile long pageRequestNanos;
 
         PageListener(PageIterator pageIterator, Config config, long dataStartTime, long dataEndTime, String taskId) {
             this.pageIterator = pageIterator;
@@ -227,14 +230,23 @@ public abstract class ResultProcessor<TransportResultRequestType extends ResultR
             this.pagesInFlight = new AtomicInteger();
         }
 
+        /**
+         * Fetch the next page and time the search
+         */
+        void requestNextPage() {
+            pageRequestNanos = System.nanoTime();
+            pageIterator.next(this);
+        }
+
         @Override
         public void onResponse(CompositeRetriever.Page entityFeatures) {
+            timeSeriesStats.recordLatency(LatencyStage.RESULT_PAGE_FETCH, analysisType, pageRequestNanos);
             // Increment pagesInFlight to track the processing of this page
             pagesInFlight.incrementAndGet();
 
             // start processing next page after sending out features for previous page
             if (pageIterator.hasNext()) {
-                pageIterator.next(this);
+                requestNextPage();
             } else if (config.getImputationOption() != null) {
                 scheduleImputeHCTask();
             }
@@ -253,20 +265,17 @@ public abstract class ResultProcessor<TransportResultRequestType extends ResultR
                 threadPool.executor(threadPoolName).execute(() -> {
                     try {
 
-                        Set<Entry<DiscoveryNode, Map<Entity, double[]>>> node2Entities = entityFeatures
-                            .getResults()
-                            .entrySet()
-                            .stream()
-                            .filter(e -> hashRing.getOwningNodeWithSameLocalVersionForRealtime(e.getKey().toString()).isPresent())
-                            .collect(
-                                Collectors
-                                    .groupingBy(
-                                        // from entity name to its node
-                                        e -> hashRing.getOwningNodeWithSameLocalVersionForRealtime(e.getKey().toString()).get(),
-                                        Collectors.toMap(Entry::getKey, Entry::getValue)
-                                    )
-                            )
-                            .entrySet();
+                        Map<Entity, double[]> pageResults = entityFeatures.getResults();
+                        // route the whole page at once: one hash per entity and one hash ring rebuild check per page
+                        Map<DiscoveryNode, Map<Entity, double[]>> nodeToEntityFeatures = new HashMap<>();
+                        for (Entry<DiscoveryNode, List<Entity>> route : hashRing.route(pageResults.keySet()).entrySet()) {
+                            Map<Entity, double[]> features = new HashMap<>();
+                            for (Entity entity : route.getValue()) {
+                                features.put(entity, pageResults.get(entity));
+                            }
+                            nodeToEntityFeatures.put(route.getKey(), features);
+                        }
+                        Set<Entry<DiscoveryNode, Map<Entity, double[]>>> node2Entities = nodeToEntityFeatures.entrySet();
 
                         Iterator<Entry<DiscoveryNode, Map<Entity, double[]>>> iterator = node2Entities.iterator();
 
@@ -336,6 +345,7 @@ public abstract class ResultProcessor<TransportResultRequestType extends ResultR
 
         @Override
         public void onFailure(Exception e) {
+            timeSeriesStats.recordLatency(LatencyStage.RESULT_PAGE_FETCH, analysisType, pageRequestNanos);
             LOG.error("Unexpetected exception", e);
             handleException(e);
         }
@@ -544,7 +554,7 @@ public abstract class ResultProcessor<TransportResultRequestType extends ResultR
             // hasNext is always true unless time is up at this point (won't happen in normal cases)
             if (pageIterator.hasNext()) {
                 LOG.debug("PageIterator has next page for config [{}]", configID);
-                pageIterator.next(getEntityFeatureslistener);
+                getEntityFeatureslistener.requestNextPage();
             } else if (config.getImputationOption() != null) {
                 LOG.debug("Starting imputation for HC config [{}]", configID);
                 imputeHC(dataStartTime, dataEndTime, configID, taskId);
@@ -20,6 +20,7 @@ import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 
 /**
  * ADStatsNodeResponse
@@ -88,7 +89,7 @@ public class StatsNodeResponse extends BaseNodeResponse implements ToXContentFra
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         for (String stat : statsMap.keySet()) {
-            builder.field(stat, statsMap.get(stat));
+            builder.field(stat, LatencySupplier.forDisplay(statsMap.get(stat)));
         }
 
         return builder;
@@ -12,7 +12,9 @@
 package org.opensearch.timeseries.transport;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -23,6 +25,7 @@ import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.timeseries.model.Mergeable;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 
 /**
  * StatsResponse contains logic to merge the node stats and cluster stats together and return them to user
@@ -96,6 +99,17 @@ public class StatsResponse implements ToXContentObject, Mergeable {
         for (Map.Entry<String, Object> clusterStat : clusterStats.entrySet()) {
             builder.field(clusterStat.getKey(), clusterStat.getValue());
         }
+        // latencies of all nodes merged from their histograms
+        List<Map<String, Object>> nodeStats = statsNodesResponse
+            .getNodes()
+            .stream()
+            .map(StatsNodeResponse::getStatsMap)
+            .collect(Collectors.toList());
+        for (Map.Entry<String, Object> latency : LatencySupplier.merge(nodeStats).entrySet()) {
+            if (!clusterStats.containsKey(latency.getKey())) {
+                builder.field(latency.getKey(), latency.getValue());
+            }
+        }
         statsNodesResponse.toXContent(xContentBuilder, ToXContent.EMPTY_PARAMS);
         return xContentBuilder.endObject();
     }
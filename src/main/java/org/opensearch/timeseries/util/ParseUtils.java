@@ -68,6 +68,7 @@ import org.opensearch.search.aggregations.PipelineAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
 import org.opensearch.search.aggregations.bucket.composite.DateHistogramValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
 import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.opensearch.search.aggregations.bucket.range.DateRangeAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.Max;
@@ -90,6 +91,7 @@ import com.google.common.collect.ImmutableList;
  */
 public final class ParseUtils {
     private static final Logger logger = LogManager.getLogger(ParseUtils.class);
+    public static final String BATCH_COLD_START_AGG_NAME = "cold_start_entities";
 
     private ParseUtils() {}
 
@@ -375,6 +377,67 @@ public final class ParseUtils {
             }
         }
 
+        return new SearchSourceBuilder()
+            .query(internalFilterQuery)
+            .size(0)
+            .aggregation(generateColdStartDateRange(config, ranges, xContentRegistry));
+    }
+
+    /**
+     * Generate one cold start query for multiple entities of a config. Entities are
+     * split by a composite aggregation on the category fields, and each entity
+     * bucket holds the same date range aggregation as {@link #generateColdStartQuery}.
+     *
+     * @param config config accessor
+     * @param ranges sample ranges in ascending order
+     * @param entities entities to fetch samples for
+     * @param xContentRegistry content registry
+     * @return search source builder
+     * @throws IOException if feature aggregations cannot be parsed
+     */
+    public static SearchSourceBuilder generateBatchColdStartQuery(
+        Config config,
+        List<Entry<Long, Long>> ranges,
+        Collection<Entity> entities,
+        NamedXContentRegistry xContentRegistry
+    ) throws IOException {
+        BoolQueryBuilder entityFilter = QueryBuilders.boolQuery().minimumShouldMatch(1);
+        for (Entity entity : entities) {
+            BoolQueryBuilder termFilter = QueryBuilders.boolQuery();
+            for (TermQueryBuilder term : entity.getTermQueryForCustomerIndex()) {
+                termFilter.filter(term);
+            }
+            entityFilter.should(termFilter);
+        }
+
+        BoolQueryBuilder internalFilterQuery = QueryBuilders
+            .boolQuery()
+            .filter(config.getFilterQuery())
+            .filter(
+                new RangeQueryBuilder(config.getTimeField())
+                    .gte(ranges.get(0).getKey())
+                    .lt(ranges.get(ranges.size() - 1).getValue())
+                    .format("epoch_millis")
+            )
+            .filter(entityFilter);
+
+        List<CompositeValuesSourceBuilder<?>> sources = new ArrayList<>();
+        for (String categoryField : config.getCategoryFields()) {
+            sources.add(new TermsValuesSourceBuilder(categoryField).field(categoryField));
+        }
+        // the entity filter bounds the number of buckets, so a single page holds all of them
+        CompositeAggregationBuilder composite = new CompositeAggregationBuilder(BATCH_COLD_START_AGG_NAME, sources)
+            .size(entities.size())
+            .subAggregation(generateColdStartDateRange(config, ranges, xContentRegistry));
+
+        return new SearchSourceBuilder().query(internalFilterQuery).size(0).trackTotalHits(false).aggregation(composite);
+    }
+
+    private static DateRangeAggregationBuilder generateColdStartDateRange(
+        Config config,
+        List<Entry<Long, Long>> ranges,
+        NamedXContentRegistry xContentRegistry
+    ) throws IOException {
         DateRangeAggregationBuilder dateRangeBuilder = dateRange("date_range").field(config.getTimeField()).format("epoch_millis");
         for (Entry<Long, Long> range : ranges) {
             dateRangeBuilder.addRange(range.getKey(), range.getValue());
@@ -390,8 +453,7 @@ public final class ParseUtils {
                 dateRangeBuilder.subAggregation(internalAgg.getAggregatorFactories().iterator().next());
             }
         }
-
-        return new SearchSourceBuilder().query(internalFilterQuery).size(0).aggregation(dateRangeBuilder);
+        return dateRangeBuilder;
     }
 
     public static SearchSourceBuilder generateColdStartQueryForSingleFeature(
@@ -823,6 +885,82 @@ public final class ParseUtils {
         return searchSourceBuilder;
     }
 
+    /**
+     * Generate a feature query of a group of entities for a time range. The composite aggregation
+     * buckets by category fields and then by interval, so one query returns the data points of all
+     * entities in the group. Page through it with the composite after key.
+     *
+     * @param config config accessor
+     * @param entities entities of the group
+     * @param startTime start time of the range, inclusive
+     * @param endTime end time of the range, exclusive
+     * @param xContentRegistry content registry
+     * @return search source builder
+     * @throws IOException if feature aggregations cannot be parsed
+     */
+    public static SearchSourceBuilder batchFeatureQueryByEntities(
+        Config config,
+        Collection<Entity> entities,
+        long startTime,
+        long endTime,
+        NamedXContentRegistry xContentRegistry
+    ) throws IOException {
+        BoolQueryBuilder entityFilter = QueryBuilders.boolQuery().minimumShouldMatch(1);
+        for (Entity entity : entities) {
+            BoolQueryBuilder termFilter = QueryBuilders.boolQuery();
+            for (TermQueryBuilder term : entity.getTermQueryForCustomerIndex()) {
+                termFilter.filter(term);
+            }
+            entityFilter.should(termFilter);
+        }
+
+        BoolQueryBuilder internalFilterQuery = QueryBuilders
+            .boolQuery()
+            .must(
+                new RangeQueryBuilder(config.getTimeField())
+                    .from(startTime)
+                    .to(endTime)
+                    .format(CommonName.EPOCH_MILLIS_FORMAT)
+                    .includeLower(true)
+                    .includeUpper(false)
+            )
+            .must(config.getFilterQuery())
+            .filter(entityFilter);
+
+        long intervalSeconds = ((IntervalTimeConfiguration) config.getInterval()).toDuration().getSeconds();
+
+        List<CompositeValuesSourceBuilder<?>> sources = new ArrayList<>();
+        for (String categoryField : config.getCategoryFields()) {
+            sources.add(new TermsValuesSourceBuilder(categoryField).field(categoryField));
+        }
+        sources
+            .add(
+                new DateHistogramValuesSourceBuilder(CommonName.DATE_HISTOGRAM)
+                    .field(config.getTimeField())
+                    .fixedInterval(DateHistogramInterval.seconds((int) intervalSeconds))
+            );
+
+        CompositeAggregationBuilder aggregationBuilder = new CompositeAggregationBuilder(CommonName.FEATURE_AGGS, sources)
+            .size(MAX_BATCH_TASK_PIECE_SIZE);
+
+        if (config.getEnabledFeatureIds().size() == 0) {
+            throw new TimeSeriesException("No enabled feature configured").countedInStats(false);
+        }
+
+        for (Feature feature : config.getFeatureAttributes()) {
+            if (feature.getEnabled()) {
+                AggregatorFactories.Builder internalAgg = parseAggregators(
+                    feature.getAggregation().toString(),
+                    xContentRegistry,
+                    feature.getId()
+                );
+                aggregationBuilder.subAggregation(internalAgg.getAggregatorFactories().iterator().next());
+            }
+        }
+
+        return new SearchSourceBuilder().query(internalFilterQuery).size(0).trackTotalHits(false).aggregation(aggregationBuilder);
+    }
+
     public static <T> boolean isNullOrEmpty(Collection<T> collection) {
         return collection == null || collection.size() == 0;
     }
@@ -860,6 +998,24 @@ public final class ParseUtils {
         return oldValList.stream().mapToDouble(Double::doubleValue).toArray();
     }
 
+    public static float[] parseFloatArray(XContentParser parser) throws IOException {
+        double[] values = parseDoubleArray(parser);
+        float[] res = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            res[i] = (float) values[i];
+        }
+        return res;
+    }
+
+    public static long[] parseLongArray(XContentParser parser) throws IOException {
+        final List<Long> oldValList = new ArrayList<>();
+        ensureExpectedToken(XContentParser.Token.START_ARRAY, parser.currentToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+            oldValList.add(parser.longValue());
+        }
+        return oldValList.stream().mapToLong(Long::longValue).toArray();
+    }
+
     public static List<String> parseAggregationRequest(XContentParser parser) throws IOException {
         List<String> fieldNames = new ArrayList<>();
         XContentParser.Token token;
@@ -0,0 +1,139 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.ad.correlation.Anomaly;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.TestHelpers;
+import org.opensearch.timeseries.model.Entity;
+
+public class InsightsAnomaliesTests extends OpenSearchTestCase {
+    private static final long MINUTE = 60_000L;
+
+    private static XContentParser parser(String json) throws IOException {
+        XContentParser parser = XContentType.JSON
+            .xContent()
+            .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, json);
+        parser.nextToken();
+        return parser;
+    }
+
+    public void testCapacityAndTruncation() {
+        InsightsAnomalies anomalies = new InsightsAnomalies(2);
+        assertTrue(anomalies.add("d1", "m1", null, 0, MINUTE));
+        // empty data time range and missing config id are skipped without using capacity
+        assertFalse(anomalies.add("d1", "m1", null, MINUTE, MINUTE));
+        assertFalse(anomalies.add(null, "m1", null, 0, MINUTE));
+        assertFalse(anomalies.isTruncated());
+        assertEquals(1, anomalies.remaining());
+
+        assertTrue(anomalies.add("d2", null, null, 0, MINUTE));
+        assertTrue(anomalies.isFull());
+        assertFalse(anomalies.add("d3", "m3", null, 0, MINUTE));
+        assertTrue(anomalies.isTruncated());
+        assertEquals(2, anomalies.size());
+        assertEquals(Set.of("d1", "d2"), anomalies.getConfigIds());
+    }
+
+    public void testGrowBeyondInitialSize() {
+        InsightsAnomalies anomalies = new InsightsAnomalies(3000);
+        for (int i = 0; i < 2500; i++) {
+            assertTrue(anomalies.add("d" + (i % 3), "m" + i, null, i * MINUTE, (i + 1) * MINUTE));
+        }
+        assertEquals(2500, anomalies.size());
+        assertEquals(500, anomalies.remaining());
+    }
+
+    public void testCorrelationInputGroupedByConfig() {
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        anomalies.add("d1", "m1", "host=a", 0, MINUTE);
+        anomalies.add("d2", null, null, MINUTE, 2 * MINUTE);
+        anomalies.add("d1", "m2", "host=b", 2 * MINUTE, 3 * MINUTE);
+
+        IdentityHashMap<Anomaly, String> entityKeys = new IdentityHashMap<>();
+        List<Anomaly> input = anomalies.toCorrelationInput(entityKeys);
+
+        assertEquals(3, input.size());
+        // anomalies of a config are adjacent and keep their load order
+        assertEquals("m1", input.get(0).getModelId());
+        assertEquals("m2", input.get(1).getModelId());
+        assertEquals("d1", input.get(1).getConfigId());
+        assertEquals(2 * MINUTE, input.get(1).getDataStartTime().toEpochMilli());
+        assertEquals(3 * MINUTE, input.get(1).getDataEndTime().toEpochMilli());
+        // single-stream anomalies use the config id as model id
+        assertEquals("d2", input.get(2).getModelId());
+
+        assertEquals(2, entityKeys.size());
+        assertEquals("host=a", entityKeys.get(input.get(0)));
+        assertEquals("host=b", entityKeys.get(input.get(1)));
+        assertNull(entityKeys.get(input.get(2)));
+    }
+
+    public void testParseHighCardinalityResult() throws IOException {
+        String json = TestHelpers
+            .builder()
+            .startObject()
+            .field("detector_id", "d1")
+            .field("anomaly_grade", 0.8)
+            .field("data_start_time", MINUTE)
+            .field("data_end_time", 2 * MINUTE)
+            .startArray("entity")
+            .startObject()
+            .field("name", "service")
+            .field("value", "app")
+            .endObject()
+            .startObject()
+            .field("name", "host")
+            .field("value", "server-1")
+            .endObject()
+            .endArray()
+            .startArray("feature_data")
+            .startObject()
+            .field("feature_id", "f1")
+            .field("data", 1.0)
+            .endObject()
+            .endArray()
+            .endObject()
+            .toString();
+
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        assertTrue(anomalies.add(parser(json)));
+
+        IdentityHashMap<Anomaly, String> entityKeys = new IdentityHashMap<>();
+        Anomaly anomaly = anomalies.toCorrelationInput(entityKeys).get(0);
+        assertEquals("d1", anomaly.getConfigId());
+        // model id is derived from the entity when the result does not carry one
+        Entity entity = Entity.createEntityByReordering(Map.of("service", "app", "host", "server-1"));
+        assertEquals(entity.getModelId("d1").get(), anomaly.getModelId());
+        assertEquals(MINUTE, anomaly.getDataStartTime().toEpochMilli());
+        assertEquals("host=server-1,service=app", entityKeys.get(anomaly));
+    }
+
+    public void testParseSkipsIncompleteResult() throws IOException {
+        String json = TestHelpers
+            .builder()
+            .startObject()
+            .field("detector_id", "d1")
+            .field("model_id", (String) null)
+            .field("data_start_time", MINUTE)
+            .endObject()
+            .toString();
+
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        assertFalse(anomalies.add(parser(json)));
+        assertEquals(0, anomalies.size());
+    }
+}
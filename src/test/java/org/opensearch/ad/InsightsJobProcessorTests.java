@@ -36,11 +36,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
-import org.opensearch.action.search.ClearScrollRequest;
-import org.opensearch.action.search.ClearScrollResponse;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.indices.ADIndexManagement;
 import org.opensearch.ad.model.AnomalyDetector;
@@ -67,12 +67,16 @@ import org.opensearch.jobscheduler.spi.LockModel;
 import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
 import org.opensearch.jobscheduler.spi.schedule.Schedule;
 import org.opensearch.jobscheduler.spi.utils.LockService;
+import org.opensearch.search.DocValueFormat;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.SearchShardTarget;
 import org.opensearch.search.aggregations.Aggregation;
 import org.opensearch.search.aggregations.Aggregations;
 import org.opensearch.search.aggregations.bucket.terms.StringTerms;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
@@ -447,17 +451,34 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             assertNotEquals("request-user||request-role-1,request-role-2", userInfo);
             SearchHits searchHits = new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f);
             when(searchResponse.getHits()).thenReturn(searchHits);
-            when(searchResponse.getScrollId()).thenReturn("scroll-1");
             listener.onResponse(searchResponse);
             return null;
         }).when(client).search(any(SearchRequest.class), any());
 
+        // the point in time over the result indices is opened and closed under the job user as well
+        doAnswer(invocation -> {
+            String userInfo = threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT);
+            assertNotEquals("request-user||request-role-1,request-role-2", userInfo);
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse("pit-1"));
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+        doAnswer(invocation -> {
+            String userInfo = threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT);
+            assertNotEquals("request-user||request-role-1,request-role-2", userInfo);
+            return null;
+        }).when(client).deletePits(any(DeletePitRequest.class), any());
+
         // Run once so we exercise the InjectSecurity path under job user
         insightsJobProcessor.runOnce(jobWithUser);
+
+        verify(client, times(2)).search(any(SearchRequest.class), any());
+        verify(client, times(1)).createPit(any(CreatePitRequest.class), any());
+        verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
     }
 
     @Test
-    public void testQueryCustomResultIndexUsesCustomResultAliasesAndClearsScroll() throws Exception {
+    public void testQueryCustomResultIndexUsesCustomResultAliasesAndDeletesPit() throws Exception {
         String customAlias = ADCommonName.CUSTOM_RESULT_INDEX_PREFIX + "unit-test-alias";
         Instant end = Instant.now();
         Instant start = end.minus(2, ChronoUnit.HOURS);
@@ -484,8 +505,19 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
                 return null;
             }
 
-            // 2) anomaly search: empty hits, with a scroll id
+            // 2) anomaly search over the point in time, most severe anomalies first
             assertNotNull(request.source());
+            assertEquals(0, request.indices().length);
+            assertEquals("pit-1", request.source().pointInTimeBuilder().getId());
+            assertNull(request.source().searchAfter());
+            assertEquals(10000, request.source().size());
+            FieldSortBuilder gradeSort = (FieldSortBuilder) request.source().sorts().get(0);
+            assertEquals("anomaly_grade", gradeSort.getFieldName());
+            assertEquals(SortOrder.DESC, gradeSort.order());
+            assertEquals(
+                List.of("detector_id", "model_id", "entity", "data_start_time", "data_end_time"),
+                Arrays.asList(request.source().fetchSource().includes())
+            );
             QueryBuilder query = request.source().query();
             assertTrue(query instanceof BoolQueryBuilder);
             List<QueryBuilder> filters = ((BoolQueryBuilder) query).filter();
@@ -514,33 +546,36 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             assertEquals(0, grade.from());
             assertFalse(grade.includeLower());
 
-            when(resp.getScrollId()).thenReturn("scroll-1");
             SearchHits hits = new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f);
             when(resp.getHits()).thenReturn(hits);
             listener.onResponse(resp);
             return null;
         }).when(client).search(any(SearchRequest.class), any());
 
-        // clear scroll is called at the end of the first page when hits < pageSize
+        ArgumentCaptor<CreatePitRequest> pitReq = ArgumentCaptor.forClass(CreatePitRequest.class);
         doAnswer(invocation -> {
-            ActionListener<ClearScrollResponse> listener = invocation.getArgument(1);
-            ClearScrollResponse resp = mock(ClearScrollResponse.class);
-            when(resp.isSucceeded()).thenReturn(true);
-            listener.onResponse(resp);
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse("pit-1"));
             return null;
-        }).when(client).clearScroll(any(ClearScrollRequest.class), any());
+        }).when(client).createPit(pitReq.capture(), any());
+
+        // the point in time is deleted at the end of the first page when hits < pageSize
+        ArgumentCaptor<DeletePitRequest> deleteReq = ArgumentCaptor.forClass(DeletePitRequest.class);
 
         Method m = InsightsJobProcessor.class
             .getDeclaredMethod("queryCustomResultIndex", Job.class, Instant.class, Instant.class, ActionListener.class);
         m.setAccessible(true);
 
         @SuppressWarnings("unchecked")
-        ActionListener<List<org.opensearch.ad.model.AnomalyResult>> listener = mock(ActionListener.class);
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
         m.invoke(insightsJobProcessor, insightsJob, start, end, listener);
 
         // We should have executed searches and responded
-        verify(client, atLeastOnce()).search(any(SearchRequest.class), any());
-        verify(listener, times(1)).onResponse(any(List.class));
+        verify(client, times(2)).search(any(SearchRequest.class), any());
+        verify(listener, times(1)).onResponse(any(InsightsAnomalies.class));
+        assertTrue(pitReq.getValue().indices()[0].startsWith(customAlias));
+        verify(client, times(1)).deletePits(deleteReq.capture(), any());
+        assertEquals(List.of("pit-1"), deleteReq.getValue().getPitIds());
     }
 
     @Test
@@ -664,7 +699,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             .getDeclaredMethod(
                 "processAnomaliesWithCorrelation",
                 Job.class,
-                List.class,
+                InsightsAnomalies.class,
                 Map.class,
                 List.class,
                 Instant.class,
@@ -679,7 +714,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             .invoke(
                 insightsJobProcessor,
                 insightsJob,
-                Collections.emptyList(),
+                new InsightsAnomalies(10),
                 Collections.emptyMap(),
                 null,
                 Instant.now().minus(1, ChronoUnit.HOURS),
@@ -693,19 +728,18 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
 
     @Test
     public void testBuildDetectorMetadataFromAnomaliesDedupesDetectorIds() throws Exception {
-        org.opensearch.ad.model.AnomalyResult a1 = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a1.getDetectorId()).thenReturn("d1");
-        org.opensearch.ad.model.AnomalyResult a2 = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a2.getDetectorId()).thenReturn("d1"); // duplicate: covers containsKey == true branch
-        org.opensearch.ad.model.AnomalyResult a3 = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a3.getDetectorId()).thenReturn("d2");
-
-        Method m = InsightsJobProcessor.class.getDeclaredMethod("buildDetectorMetadataFromAnomalies", List.class);
+        long start = Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli();
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        anomalies.add("d1", null, null, start, start + 60_000L);
+        anomalies.add("d1", null, null, start + 60_000L, start + 120_000L); // duplicate detector id
+        anomalies.add("d2", null, null, start, start + 60_000L);
+
+        Method m = InsightsJobProcessor.class.getDeclaredMethod("buildDetectorMetadataFromAnomalies", InsightsAnomalies.class);
         m.setAccessible(true);
 
         @SuppressWarnings("unchecked")
         Map<String, org.opensearch.ad.model.DetectorMetadata> map = (Map<String, org.opensearch.ad.model.DetectorMetadata>) m
-            .invoke(insightsJobProcessor, List.of(a1, a2, a3));
+            .invoke(insightsJobProcessor, anomalies);
         assertEquals(2, map.size());
         assertTrue(map.containsKey("d1"));
         assertTrue(map.containsKey("d2"));
@@ -833,15 +867,58 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             return null;
         }).when(client).search(any(SearchRequest.class), any());
 
+        doAnswer(invocation -> {
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse("pit-1"));
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+
         Method m = InsightsJobProcessor.class
             .getDeclaredMethod("queryCustomResultIndex", Job.class, Instant.class, Instant.class, ActionListener.class);
         m.setAccessible(true);
 
         @SuppressWarnings("unchecked")
-        ActionListener<List<org.opensearch.ad.model.AnomalyResult>> listener = mock(ActionListener.class);
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
         m.invoke(insightsJobProcessor, insightsJob, Instant.now().minus(2, ChronoUnit.HOURS), Instant.now(), listener);
 
         verify(listener, times(1)).onFailure(any(Exception.class));
+        // the point in time is not leaked on failure
+        verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
+    }
+
+    @Test
+    public void testQueryCustomResultIndexCreatePitFailure() throws Exception {
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchResponse resp = mock(SearchResponse.class);
+            StringTerms terms = mock(StringTerms.class);
+            when(terms.getName()).thenReturn("result_index");
+            StringTerms.Bucket bucket = mock(StringTerms.Bucket.class);
+            when(bucket.getKeyAsString()).thenReturn(ADCommonName.CUSTOM_RESULT_INDEX_PREFIX + "unit-test-alias");
+            when(terms.getBuckets()).thenReturn(List.of(bucket));
+            when(resp.getAggregations()).thenReturn(new Aggregations(List.<Aggregation>of(terms)));
+            listener.onResponse(resp);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        doAnswer(invocation -> {
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new RuntimeException("no such index [opensearch-ad-plugin-result-unit-test-alias*]"));
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+
+        Method m = InsightsJobProcessor.class
+            .getDeclaredMethod("queryCustomResultIndex", Job.class, Instant.class, Instant.class, ActionListener.class);
+        m.setAccessible(true);
+
+        @SuppressWarnings("unchecked")
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
+        m.invoke(insightsJobProcessor, insightsJob, Instant.now().minus(2, ChronoUnit.HOURS), Instant.now(), listener);
+
+        verify(listener, times(1)).onFailure(any(Exception.class));
+        // only the config index aggregation; no anomaly search without a point in time
+        verify(client, times(1)).search(any(SearchRequest.class), any());
+        verify(client, never()).deletePits(any(DeletePitRequest.class), any());
     }
 
     @Test
@@ -955,124 +1032,138 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
     }
 
     @Test
-    public void testClearScrollWithEmptyIdDoesNothing() throws Exception {
-        Method m = InsightsJobProcessor.class.getDeclaredMethod("clearScroll", Job.class, String.class);
+    public void testDeletePitWithEmptyIdDoesNothing() throws Exception {
+        Method m = InsightsJobProcessor.class.getDeclaredMethod("deletePit", Job.class, String.class);
         m.setAccessible(true);
 
         m.invoke(insightsJobProcessor, insightsJob, "");
-        verify(client, never()).clearScroll(any(ClearScrollRequest.class), any());
+        verify(client, never()).deletePits(any(DeletePitRequest.class), any());
     }
 
     @Test
-    public void testFetchScrolledAnomaliesStopsWhenHitsLessThanPageSizeClearsNextScrollId() throws Exception {
+    public void testSearchAnomaliesStopsWhenHitsLessThanPageSizeDeletesLatestPit() throws Exception {
         doAnswer(invocation -> {
             ActionListener<SearchResponse> listener = invocation.getArgument(1);
             SearchResponse resp = mock(SearchResponse.class);
-            when(resp.getScrollId()).thenReturn("scroll-next");
+            when(resp.pointInTimeId()).thenReturn("pit-next");
             SearchHits hits = new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f);
             when(resp.getHits()).thenReturn(hits);
             listener.onResponse(resp);
             return null;
-        }).when(client).searchScroll(any(SearchScrollRequest.class), any());
+        }).when(client).search(any(SearchRequest.class), any());
 
-        ArgumentCaptor<ClearScrollRequest> clearReq = ArgumentCaptor.forClass(ClearScrollRequest.class);
-        doAnswer(invocation -> {
-            ActionListener<ClearScrollResponse> listener = invocation.getArgument(1);
-            ClearScrollResponse resp = mock(ClearScrollResponse.class);
-            when(resp.isSucceeded()).thenReturn(true);
-            listener.onResponse(resp);
-            return null;
-        }).when(client).clearScroll(clearReq.capture(), any());
-
-        Method m = InsightsJobProcessor.class
-            .getDeclaredMethod(
-                "fetchScrolledAnomalies",
-                Job.class,
-                String.class,
-                TimeValue.class,
-                int.class,
-                List.class,
-                Instant.class,
-                Instant.class,
-                ActionListener.class
-            );
-        m.setAccessible(true);
+        ArgumentCaptor<DeletePitRequest> deleteReq = ArgumentCaptor.forClass(DeletePitRequest.class);
 
         @SuppressWarnings("unchecked")
-        ActionListener<List<org.opensearch.ad.model.AnomalyResult>> listener = mock(ActionListener.class);
-        List<org.opensearch.ad.model.AnomalyResult> all = new ArrayList<>();
-        m
-            .invoke(
-                insightsJobProcessor,
-                insightsJob,
-                "scroll-prev",
-                TimeValue.timeValueMinutes(5),
-                10000,
-                all,
-                Instant.now().minus(1, ChronoUnit.HOURS),
-                Instant.now(),
-                listener
-            );
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
+        invokeSearchAnomalies("pit-prev", new InsightsAnomalies(100), listener);
+
+        verify(listener, times(1)).onResponse(any(InsightsAnomalies.class));
+        verify(client, times(1)).deletePits(deleteReq.capture(), any());
+        assertEquals(List.of("pit-next"), deleteReq.getValue().getPitIds());
+    }
+
+    @Test
+    public void testSearchAnomaliesPagesWithSearchAfterUntilCapacity() throws Exception {
+        // Use a real registry for this parsing test to avoid mock behavior surprises.
+        insightsJobProcessor.setXContentRegistry(NamedXContentRegistry.EMPTY);
+        try {
+            long start = Instant.now().minus(30, ChronoUnit.MINUTES).toEpochMilli();
+            List<SearchRequest> requests = new ArrayList<>();
+            doAnswer(invocation -> {
+                SearchRequest request = invocation.getArgument(0);
+                requests.add(request);
+                int page = requests.size();
+                int size = request.source().size();
+                SearchHit[] hits = new SearchHit[size];
+                for (int i = 0; i < size; i++) {
+                    long dataStart = start + (page * 10L + i) * 60_000L;
+                    // the first page has two results with an empty data time range which are skipped
+                    long dataEnd = page == 1 && i < 2 ? dataStart : dataStart + 60_000L;
+                    hits[i] = anomalyHit("detector-" + page, dataStart, dataEnd, 0.9, "sort-" + page + "-" + i);
+                }
+                ActionListener<SearchResponse> listener = invocation.getArgument(1);
+                SearchResponse resp = mock(SearchResponse.class);
+                when(resp.getHits()).thenReturn(new SearchHits(hits, new TotalHits(100, TotalHits.Relation.EQUAL_TO), 1.0f));
+                listener.onResponse(resp);
+                return null;
+            }).when(client).search(any(SearchRequest.class), any());
+
+            AtomicReference<InsightsAnomalies> loaded = new AtomicReference<>();
+            invokeSearchAnomalies("pit-1", new InsightsAnomalies(5), ActionListener.wrap(loaded::set, e -> fail("did not expect failure")));
+
+            // the page size shrinks to the remaining capacity plus one and the next page starts after the last hit
+            assertEquals(2, requests.size());
+            assertEquals(6, requests.get(0).source().size());
+            assertNull(requests.get(0).source().searchAfter());
+            assertEquals(2, requests.get(1).source().size());
+            assertArrayEquals(new Object[] { "sort-1-5" }, requests.get(1).source().searchAfter());
+
+            assertEquals(5, loaded.get().size());
+            // the window has more anomalies than the capacity
+            assertTrue(loaded.get().isTruncated());
+            verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
+        } finally {
+            insightsJobProcessor.setXContentRegistry(xContentRegistry);
+        }
+    }
+
+    @Test
+    public void testSearchAnomaliesExactlyAtCapacityIsNotTruncated() throws Exception {
+        insightsJobProcessor.setXContentRegistry(NamedXContentRegistry.EMPTY);
+        try {
+            long start = Instant.now().minus(30, ChronoUnit.MINUTES).toEpochMilli();
+            List<SearchRequest> requests = new ArrayList<>();
+            doAnswer(invocation -> {
+                requests.add(invocation.getArgument(0));
+                // the window holds exactly three anomalies
+                SearchHit[] hits = new SearchHit[3];
+                for (int i = 0; i < hits.length; i++) {
+                    long dataStart = start + i * 60_000L;
+                    hits[i] = anomalyHit("detector", dataStart, dataStart + 60_000L, 0.9, "sort-" + i);
+                }
+                ActionListener<SearchResponse> listener = invocation.getArgument(1);
+                SearchResponse resp = mock(SearchResponse.class);
+                when(resp.getHits()).thenReturn(new SearchHits(hits, new TotalHits(3, TotalHits.Relation.EQUAL_TO), 1.0f));
+                listener.onResponse(resp);
+                return null;
+            }).when(client).search(any(SearchRequest.class), any());
 
-        verify(listener, times(1)).onResponse(any(List.class));
-        assertNotNull(clearReq.getValue());
-        assertTrue(clearReq.getValue().getScrollIds().contains("scroll-next"));
+            AtomicReference<InsightsAnomalies> loaded = new AtomicReference<>();
+            invokeSearchAnomalies("pit-1", new InsightsAnomalies(3), ActionListener.wrap(loaded::set, e -> fail("did not expect failure")));
+
+            assertEquals(1, requests.size());
+            assertEquals(4, requests.get(0).source().size());
+            List<SortBuilder<?>> sorts = requests.get(0).source().sorts();
+            assertEquals("_shard_doc", ((FieldSortBuilder) sorts.get(sorts.size() - 1)).getFieldName());
+            assertEquals(3, loaded.get().size());
+            assertFalse(loaded.get().isTruncated());
+        } finally {
+            insightsJobProcessor.setXContentRegistry(xContentRegistry);
+        }
     }
 
     @Test
-    public void testFetchScrolledAnomaliesParseExceptionClearsNewestScrollIdAndFails() throws Exception {
+    public void testSearchAnomaliesParseExceptionDeletesLatestPitAndFails() throws Exception {
         doAnswer(invocation -> {
             ActionListener<SearchResponse> listener = invocation.getArgument(1);
             SearchResponse resp = mock(SearchResponse.class);
-            when(resp.getScrollId()).thenReturn("scroll-newest");
+            when(resp.pointInTimeId()).thenReturn("pit-newest");
             SearchHits hits = new SearchHits(new SearchHit[] { null }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
             when(resp.getHits()).thenReturn(hits);
             listener.onResponse(resp);
             return null;
-        }).when(client).searchScroll(any(SearchScrollRequest.class), any());
+        }).when(client).search(any(SearchRequest.class), any());
 
-        ArgumentCaptor<ClearScrollRequest> clearReq = ArgumentCaptor.forClass(ClearScrollRequest.class);
-        doAnswer(invocation -> {
-            ActionListener<ClearScrollResponse> listener = invocation.getArgument(1);
-            ClearScrollResponse resp = mock(ClearScrollResponse.class);
-            when(resp.isSucceeded()).thenReturn(true);
-            listener.onResponse(resp);
-            return null;
-        }).when(client).clearScroll(clearReq.capture(), any());
-
-        Method m = InsightsJobProcessor.class
-            .getDeclaredMethod(
-                "fetchScrolledAnomalies",
-                Job.class,
-                String.class,
-                TimeValue.class,
-                int.class,
-                List.class,
-                Instant.class,
-                Instant.class,
-                ActionListener.class
-            );
-        m.setAccessible(true);
+        ArgumentCaptor<DeletePitRequest> deleteReq = ArgumentCaptor.forClass(DeletePitRequest.class);
 
         @SuppressWarnings("unchecked")
-        ActionListener<List<org.opensearch.ad.model.AnomalyResult>> listener = mock(ActionListener.class);
-        List<org.opensearch.ad.model.AnomalyResult> all = new ArrayList<>();
-        m
-            .invoke(
-                insightsJobProcessor,
-                insightsJob,
-                "scroll-prev",
-                TimeValue.timeValueMinutes(5),
-                10000,
-                all,
-                Instant.now().minus(1, ChronoUnit.HOURS),
-                Instant.now(),
-                listener
-            );
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
+        invokeSearchAnomalies("pit-prev", new InsightsAnomalies(100), listener);
 
         verify(listener, times(1)).onFailure(any(Exception.class));
-        assertNotNull(clearReq.getValue());
-        assertTrue(clearReq.getValue().getScrollIds().contains("scroll-newest"));
+        verify(client, times(1)).deletePits(deleteReq.capture(), any());
+        assertEquals(List.of("pit-newest"), deleteReq.getValue().getPitIds());
     }
 
     @Test
@@ -1082,13 +1173,16 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
         try {
             SearchHit bad = new SearchHit(1);
             bad.sourceRef(new BytesArray("not-json"));
+            long start = Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli();
+            SearchHit good = anomalyHit("detector-1", start, start + 60_000L, 0.5, "a");
 
-            Method m = InsightsJobProcessor.class.getDeclaredMethod("parseAnomalyHits", SearchHit[].class, List.class);
+            Method m = InsightsJobProcessor.class.getDeclaredMethod("parseAnomalyHits", SearchHit[].class, InsightsAnomalies.class);
             m.setAccessible(true);
 
-            List<org.opensearch.ad.model.AnomalyResult> out = new ArrayList<>();
-            m.invoke(insightsJobProcessor, new Object[] { new SearchHit[] { bad }, out });
-            assertEquals(0, out.size());
+            InsightsAnomalies out = new InsightsAnomalies(10);
+            m.invoke(insightsJobProcessor, new Object[] { new SearchHit[] { bad, good }, out });
+            assertEquals(1, out.size());
+            assertEquals(Collections.singleton("detector-1"), out.getConfigIds());
         } finally {
             insightsJobProcessor.setXContentRegistry(xContentRegistry);
         }
@@ -1106,13 +1200,15 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
 
     @Test
     public void testFetchDetectorMetadataNoDetectorIds() throws Exception {
-        org.opensearch.ad.model.AnomalyResult a = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a.getDetectorId()).thenReturn(null);
+        // an anomaly without detector id is not loaded
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        long start = Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli();
+        assertFalse(anomalies.add(null, "m1", null, start, start + 60_000L));
 
         Method m = InsightsJobProcessor.class
             .getDeclaredMethod(
                 "fetchDetectorMetadataAndProceed",
-                List.class,
+                InsightsAnomalies.class,
                 Job.class,
                 Instant.class,
                 Instant.class,
@@ -1122,20 +1218,23 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
 
         @SuppressWarnings("unchecked")
         ActionListener<Void> completion = mock(ActionListener.class);
-        m.invoke(insightsJobProcessor, List.of(a), insightsJob, Instant.now().minus(1, ChronoUnit.HOURS), Instant.now(), completion);
+        m.invoke(insightsJobProcessor, anomalies, insightsJob, Instant.now().minus(1, ChronoUnit.HOURS), Instant.now(), completion);
         verify(completion, times(1)).onResponse(null);
+        verify(client, never()).search(any(SearchRequest.class), any());
     }
 
     @Test
     public void testFetchDetectorMetadataSearchFailureFallsBack() throws Exception {
         // anomaly with detector id so we attempt config search
-        org.opensearch.ad.model.AnomalyResult a = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a.getDetectorId()).thenReturn("detector-1");
-        when(a.getConfigId()).thenReturn("detector-1");
-        when(a.getDataStartTime()).thenReturn(Instant.now().minus(10, ChronoUnit.MINUTES));
-        when(a.getDataEndTime()).thenReturn(Instant.now().minus(5, ChronoUnit.MINUTES));
-        when(a.getModelId()).thenReturn("m1");
-        when(a.getEntity()).thenReturn(java.util.Optional.empty());
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        anomalies
+            .add(
+                "detector-1",
+                "m1",
+                null,
+                Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli(),
+                Instant.now().minus(5, ChronoUnit.MINUTES).toEpochMilli()
+            );
 
         doAnswer(invocation -> {
             ActionListener<SearchResponse> l = invocation.getArgument(1);
@@ -1146,7 +1245,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
         Method m = InsightsJobProcessor.class
             .getDeclaredMethod(
                 "fetchDetectorMetadataAndProceed",
-                List.class,
+                InsightsAnomalies.class,
                 Job.class,
                 Instant.class,
                 Instant.class,
@@ -1156,7 +1255,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
 
         @SuppressWarnings("unchecked")
         ActionListener<Void> completion = mock(ActionListener.class);
-        m.invoke(insightsJobProcessor, List.of(a), insightsJob, Instant.now().minus(1, ChronoUnit.HOURS), Instant.now(), completion);
+        m.invoke(insightsJobProcessor, anomalies, insightsJob, Instant.now().minus(1, ChronoUnit.HOURS), Instant.now(), completion);
 
         // Fallback path ends up skipping correlation due to empty detector configs list
         verify(completion, times(1)).onResponse(null);
@@ -1164,25 +1263,13 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
 
     @Test
     public void testProcessAnomaliesWithCorrelationHappyPathWritesInsights() throws Exception {
-        // Two valid anomaly results so includeSingletons=false correlation still yields a non-empty cluster list.
-        org.opensearch.ad.model.AnomalyResult a = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(a.getConfigId()).thenReturn("detector-1");
-        when(a.getDetectorId()).thenReturn("detector-1");
-        Instant start = Instant.now().minus(10, ChronoUnit.MINUTES);
-        Instant end = Instant.now().minus(5, ChronoUnit.MINUTES);
-        when(a.getDataStartTime()).thenReturn(start);
-        when(a.getDataEndTime()).thenReturn(end);
-        when(a.getModelId()).thenReturn("m1");
-        when(a.getEntity()).thenReturn(java.util.Optional.empty());
-
-        org.opensearch.ad.model.AnomalyResult b = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(b.getConfigId()).thenReturn("detector-2");
-        when(b.getDetectorId()).thenReturn("detector-2");
-        // Same interval as 'a' to ensure strong temporal overlap and correlation edge.
-        when(b.getDataStartTime()).thenReturn(start);
-        when(b.getDataEndTime()).thenReturn(end);
-        when(b.getModelId()).thenReturn("m2");
-        when(b.getEntity()).thenReturn(java.util.Optional.empty());
+        // Two valid anomalies so includeSingletons=false correlation still yields a non-empty cluster list.
+        long start = Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli();
+        long end = Instant.now().minus(5, ChronoUnit.MINUTES).toEpochMilli();
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        anomalies.add("detector-1", "m1", null, start, end);
+        // Same interval as the first anomaly to ensure strong temporal overlap and correlation edge.
+        anomalies.add("detector-2", "m2", "host=server-1", start, end);
 
         // minimal detector configs for correlation
         AnomalyDetector d = mock(AnomalyDetector.class);
@@ -1226,7 +1313,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             .getDeclaredMethod(
                 "processAnomaliesWithCorrelation",
                 Job.class,
-                List.class,
+                InsightsAnomalies.class,
                 Map.class,
                 List.class,
                 Instant.class,
@@ -1241,7 +1328,7 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             .invoke(
                 insightsJobProcessor,
                 insightsJob,
-                List.of(a, b),
+                anomalies,
                 md,
                 List.of(d, d2),
                 Instant.now().minus(1, ChronoUnit.HOURS),
@@ -1249,12 +1336,15 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
                 completion
             );
 
-        verify(client, times(1)).index(any(IndexRequest.class), any());
+        ArgumentCaptor<IndexRequest> indexRequest = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(client, times(1)).index(indexRequest.capture(), any());
         verify(completion, times(1)).onResponse(null);
+        // entity keys of the projection reach the insights document
+        assertTrue(indexRequest.getValue().source().utf8ToString().contains("host=server-1"));
     }
 
     @Test
-    public void testQueryCustomResultIndexParseExceptionClearsScrollAndFails() throws Exception {
+    public void testQueryCustomResultIndexParseExceptionDeletesPitAndFails() throws Exception {
         Instant end = Instant.now();
         Instant start = end.minus(2, ChronoUnit.HOURS);
         // 1) patterns resolution returns one custom result index alias*
@@ -1307,7 +1397,6 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
             assertEquals(0, grade.from());
             assertFalse(grade.includeLower());
 
-            when(resp.getScrollId()).thenReturn("scroll-err");
             SearchHits hits = new SearchHits(new SearchHit[] { null }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
             when(resp.getHits()).thenReturn(hits);
             listener.onResponse(resp);
@@ -1315,60 +1404,54 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
         }).when(client).search(any(SearchRequest.class), any());
 
         doAnswer(invocation -> {
-            ActionListener<ClearScrollResponse> listener = invocation.getArgument(1);
-            ClearScrollResponse resp = mock(ClearScrollResponse.class);
-            when(resp.isSucceeded()).thenReturn(true);
-            listener.onResponse(resp);
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse("pit-err"));
             return null;
-        }).when(client).clearScroll(any(ClearScrollRequest.class), any());
+        }).when(client).createPit(any(CreatePitRequest.class), any());
 
         Method m = InsightsJobProcessor.class
             .getDeclaredMethod("queryCustomResultIndex", Job.class, Instant.class, Instant.class, ActionListener.class);
         m.setAccessible(true);
 
         @SuppressWarnings("unchecked")
-        ActionListener<List<org.opensearch.ad.model.AnomalyResult>> listener = mock(ActionListener.class);
+        ActionListener<InsightsAnomalies> listener = mock(ActionListener.class);
         m.invoke(insightsJobProcessor, insightsJob, start, end, listener);
 
         verify(listener, times(1)).onFailure(any(Exception.class));
-        verify(client, times(1)).clearScroll(any(ClearScrollRequest.class), any());
+        verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
     }
 
     @Test
     public void testBuildCorrelationPayloadCoversBranchesAndInnerClass() throws Exception {
         InsightsJobProcessor p = InsightsJobProcessor.getInstance();
 
-        org.opensearch.ad.model.AnomalyResult valid = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(valid.getDataStartTime()).thenReturn(Instant.now().minus(10, ChronoUnit.MINUTES));
-        when(valid.getDataEndTime()).thenReturn(Instant.now().minus(5, ChronoUnit.MINUTES));
-        when(valid.getModelId()).thenReturn(null); // force fallback path
-        when(valid.getEntity()).thenReturn(java.util.Optional.empty());
-        when(valid.getConfigId()).thenReturn("detector-x");
-
-        org.opensearch.ad.model.AnomalyResult badTime = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(badTime.getDataStartTime()).thenReturn(Instant.now());
-        when(badTime.getDataEndTime()).thenReturn(Instant.now()); // not after
-
-        org.opensearch.ad.model.AnomalyResult missingConfig = mock(org.opensearch.ad.model.AnomalyResult.class);
-        when(missingConfig.getDataStartTime()).thenReturn(Instant.now().minus(10, ChronoUnit.MINUTES));
-        when(missingConfig.getDataEndTime()).thenReturn(Instant.now().minus(9, ChronoUnit.MINUTES));
-        when(missingConfig.getConfigId()).thenReturn(null);
-
-        Method m = InsightsJobProcessor.class.getDeclaredMethod("buildCorrelationPayload", List.class);
+        long start = Instant.now().minus(10, ChronoUnit.MINUTES).toEpochMilli();
+        InsightsAnomalies anomalies = new InsightsAnomalies(10);
+        // model id falls back to the detector id
+        assertTrue(anomalies.add("detector-x", null, null, start, start + 60_000L));
+        assertTrue(anomalies.add("detector-y", "m1", "host=server-1", start, start + 60_000L));
+        // not after
+        assertFalse(anomalies.add("detector-x", "m2", null, start, start));
+        // missing config
+        assertFalse(anomalies.add(null, "m3", null, start, start + 60_000L));
+
+        Method m = InsightsJobProcessor.class.getDeclaredMethod("buildCorrelationPayload", InsightsAnomalies.class);
         m.setAccessible(true);
-        Object payload = m.invoke(p, List.of(valid, badTime, missingConfig));
+        Object payload = m.invoke(p, anomalies);
         assertNotNull(payload);
 
         Field anomaliesField = payload.getClass().getDeclaredField("anomalies");
         anomaliesField.setAccessible(true);
-        List<?> anomalies = (List<?>) anomaliesField.get(payload);
-        assertEquals(1, anomalies.size());
+        List<?> correlationAnomalies = (List<?>) anomaliesField.get(payload);
+        assertEquals(2, correlationAnomalies.size());
+        assertEquals("detector-x", ((org.opensearch.ad.correlation.Anomaly) correlationAnomalies.get(0)).getModelId());
 
         // Ensure the inner class lines are covered by accessing its second field
-        Field mapField = payload.getClass().getDeclaredField("anomalyResultByAnomaly");
+        Field mapField = payload.getClass().getDeclaredField("entityKeyByAnomaly");
         mapField.setAccessible(true);
-        Object idMap = mapField.get(payload);
-        assertNotNull(idMap);
+        Map<?, ?> entityKeys = (Map<?, ?>) mapField.get(payload);
+        assertEquals(1, entityKeys.size());
+        assertEquals("host=server-1", entityKeys.get(correlationAnomalies.get(1)));
     }
 
     @Test
@@ -1979,4 +2062,54 @@ public class InsightsJobProcessorTests extends OpenSearchTestCase {
         // choose to skip indexing. We primarily verify that the flow completes without
         // throwing and that the correlation pipeline can be exercised end-to-end.
     }
+
+    private static CreatePitResponse pitResponse(String pitId) {
+        CreatePitResponse response = mock(CreatePitResponse.class);
+        when(response.getId()).thenReturn(pitId);
+        return response;
+    }
+
+    private static SearchHit anomalyHit(String detectorId, long dataStart, long dataEnd, double grade, Object sortValue)
+        throws IOException {
+        String json = TestHelpers
+            .builder()
+            .startObject()
+            .field("detector_id", detectorId)
+            .field("anomaly_grade", grade)
+            .field("data_start_time", dataStart)
+            .field("data_end_time", dataEnd)
+            .endObject()
+            .toString();
+        SearchHit hit = new SearchHit(1);
+        hit.sourceRef(new BytesArray(json));
+        hit.sortValues(new Object[] { sortValue }, new DocValueFormat[] { DocValueFormat.RAW });
+        return hit;
+    }
+
+    private void invokeSearchAnomalies(String pitId, InsightsAnomalies anomalies, ActionListener<InsightsAnomalies> listener)
+        throws Exception {
+        Method m = InsightsJobProcessor.class
+            .getDeclaredMethod(
+                "searchAnomalies",
+                Job.class,
+                String.class,
+                Object[].class,
+                InsightsAnomalies.class,
+                Instant.class,
+                Instant.class,
+                ActionListener.class
+            );
+        m.setAccessible(true);
+        m
+            .invoke(
+                insightsJobProcessor,
+                insightsJob,
+                pitId,
+                null,
+                anomalies,
+                Instant.now().minus(1, ChronoUnit.HOURS),
+                Instant.now(),
+                listener
+            );
+    }
 }
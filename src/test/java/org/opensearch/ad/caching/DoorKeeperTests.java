@@ -0,0 +1,228 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.caching;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.caching.DoorKeeper;
+import org.opensearch.timeseries.model.Entity;
+
+public class DoorKeeperTests extends OpenSearchTestCase {
+    Clock clock;
+    Instant now;
+    Duration resetInterval;
+    String configId;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        clock = mock(Clock.class);
+        now = Instant.now();
+        when(clock.instant()).thenReturn(now);
+        resetInterval = Duration.ofMinutes(60);
+        configId = "123";
+    }
+
+    private String modelId(int i) {
+        return Entity.createSingleAttributeEntity("host", "server_" + i).getModelId(configId).get();
+    }
+
+    public void testThreshold() {
+        DoorKeeper doorKeeper = new DoorKeeper(100_000, resetInterval, clock, 3);
+        String modelId = modelId(1);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId));
+            doorKeeper.put(modelId);
+        }
+        assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId));
+        assertFalse(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(2)));
+    }
+
+    public void testNonEntityModelId() {
+        DoorKeeper doorKeeper = new DoorKeeper(1000, resetInterval, clock, 1);
+        doorKeeper.put("foo");
+        assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold("foo"));
+        assertFalse(doorKeeper.appearsMoreThanOrEqualToThreshold("bar"));
+    }
+
+    public void testLowFalsePositiveRate() {
+        int insertions = 10_000;
+        DoorKeeper doorKeeper = new DoorKeeper(100_000, resetInterval, clock, 3);
+        for (int i = 0; i < insertions; i++) {
+            String modelId = modelId(i);
+            doorKeeper.put(modelId);
+            doorKeeper.put(modelId);
+        }
+        int falsePositives = 0;
+        for (int i = insertions; i < 2 * insertions; i++) {
+            if (doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < insertions / 1000);
+    }
+
+    public void testHalving() {
+        DoorKeeper doorKeeper = new DoorKeeper(4, 1024, 4, resetInterval, clock, 2);
+        String modelId = modelId(1);
+        doorKeeper.put(modelId);
+        doorKeeper.put(modelId);
+        doorKeeper.put(modelId);
+        assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId));
+        // the 4th update halves the counters
+        doorKeeper.put(modelId(2));
+        assertFalse(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId));
+    }
+
+    public void testReset() {
+        DoorKeeper doorKeeper = new DoorKeeper(1000, resetInterval, clock, 1);
+        assertEquals(0, doorKeeper.getTableBytes());
+        doorKeeper.put(modelId(1));
+        assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(1)));
+        assertEquals(4 * 1024 / 16 * Long.BYTES, doorKeeper.getTableBytes());
+
+        // not due yet
+        doorKeeper.maintenance();
+        assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(1)));
+
+        when(clock.instant()).thenReturn(now.plus(resetInterval).plusSeconds(1));
+        doorKeeper.maintenance();
+        assertFalse(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(1)));
+        assertEquals(0, doorKeeper.getTableBytes());
+    }
+
+    public void testExpired() {
+        DoorKeeper doorKeeper = new DoorKeeper(1000, resetInterval, clock, 1);
+        assertFalse(doorKeeper.expired(null));
+        when(clock.instant()).thenReturn(now.plus(resetInterval).plusSeconds(1));
+        assertTrue(doorKeeper.expired(null));
+    }
+
+    public void testWidthAndDepth() {
+        DoorKeeper doorKeeper = new DoorKeeper(1000, 1000, 3, resetInterval, clock, 1);
+        assertEquals(1024, doorKeeper.getWidth());
+        assertEquals(3, doorKeeper.getDepth());
+        expectThrows(IllegalArgumentException.class, () -> new DoorKeeper(1000, 0, 3, resetInterval, clock, 1));
+        expectThrows(IllegalArgumentException.class, () -> new DoorKeeper(1000, resetInterval, clock, DoorKeeper.MAX_COUNT + 1));
+    }
+
+    private MemoryTracker trackingMemory(AtomicLong charged) {
+        MemoryTracker memoryTracker = mock(MemoryTracker.class);
+        doAnswer(invocation -> charged.addAndGet(invocation.<Long>getArgument(0)))
+            .when(memoryTracker)
+            .consumeMemory(anyLong(), anyBoolean(), eq(MemoryTracker.Origin.DOOR_KEEPER));
+        doAnswer(invocation -> charged.addAndGet(-invocation.<Long>getArgument(0)))
+            .when(memoryTracker)
+            .releaseMemory(anyLong(), anyBoolean(), eq(MemoryTracker.Origin.DOOR_KEEPER));
+        return memoryTracker;
+    }
+
+    public void testGrowsWithDistinctEntities() {
+        AtomicLong charged = new AtomicLong();
+        DoorKeeper doorKeeper = new DoorKeeper(100_000, 1024, 4096, 4, resetInterval, clock, 1, trackingMemory(charged));
+        assertEquals(0, charged.get());
+
+        doorKeeper.put(modelId(0));
+        assertEquals(1024, doorKeeper.getWidth());
+        assertEquals(4 * 1024 / 16 * Long.BYTES, charged.get());
+
+        int entities = 10_000;
+        for (int i = 1; i < entities; i++) {
+            doorKeeper.put(modelId(i));
+        }
+        // capped at the max width
+        assertEquals(4096, doorKeeper.getWidth());
+        assertEquals(doorKeeper.getTableBytes(), charged.get());
+        // growing keeps every recorded entity
+        for (int i = 0; i < entities; i++) {
+            assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(i)));
+        }
+
+        when(clock.instant()).thenReturn(now.plus(resetInterval).plusSeconds(1));
+        doorKeeper.maintenance();
+        assertEquals(0, charged.get());
+        assertEquals(1024, doorKeeper.getWidth());
+    }
+
+    public void testSmallConfigStaysSmall() {
+        AtomicLong charged = new AtomicLong();
+        DoorKeeper doorKeeper = new DoorKeeper(100_000, 1024, 1 << 20, 4, resetInterval, clock, 1, trackingMemory(charged));
+        for (int i = 0; i < 100; i++) {
+            doorKeeper.put(modelId(i));
+        }
+        assertEquals(1024, doorKeeper.getWidth());
+        assertEquals(2048, charged.get());
+
+        doorKeeper.close();
+        assertEquals(0, charged.get());
+        // a closed door keeper no longer allocates
+        doorKeeper.put(modelId(1));
+        assertEquals(0, doorKeeper.getTableBytes());
+        assertEquals(0, charged.get());
+    }
+
+    public void testWidthForBytes() {
+        // 2 MB of 4 rows of 4-bit counters
+        assertEquals(1 << 20, DoorKeeper.widthForBytes(2 * 1024 * 1024, 4));
+        assertEquals(16, DoorKeeper.widthForBytes(1, 4));
+        // rounded down to a power of two
+        assertEquals(512, DoorKeeper.widthForBytes(1000, 3));
+    }
+
+    public void testConcurrentPut() throws InterruptedException {
+        DoorKeeper doorKeeper = new DoorKeeper(100_000, resetInterval, clock, 3);
+        int threads = 4;
+        int entities = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < entities; i++) {
+                    doorKeeper.put(modelId(i));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // counts never go below the true frequency
+        for (int i = 0; i < entities; i++) {
+            assertTrue(doorKeeper.appearsMoreThanOrEqualToThreshold(modelId(i)));
+        }
+    }
+}
@@ -17,7 +17,12 @@ import static org.mockito.Mockito.when;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.opensearch.test.OpenSearchTestCase;
@@ -98,4 +103,109 @@ public class PriorityTrackerTests extends OpenSearchTestCase {
         assertTrue(!tracker.getMinimumPriorityEntityId().isPresent());
         assertTrue(!tracker.getHighestPriorityEntityId().isPresent());
     }
+
+    public void testMinimumAfterUpdates() {
+        when(clock.instant()).thenReturn(now);
+        tracker.updatePriority(entity1);
+        tracker.updatePriority(entity2);
+        tracker.updatePriority(entity3);
+        // entity2 and entity3 get ahead of entity1 without the index being touched
+        tracker.updatePriority(entity2);
+        tracker.updatePriority(entity3);
+        assertEquals(entity1, tracker.getMinimumPriorityEntityId().get());
+
+        tracker.updatePriority(entity1);
+        tracker.updatePriority(entity1);
+        assertEquals(entity2, tracker.getMinimumPriorityEntityId().get());
+        assertEquals(entity1, tracker.getHighestPriorityEntityId().get());
+
+        tracker.removePriority(entity2);
+        assertEquals(entity3, tracker.getMinimumPriorityEntityId().get());
+        assertEquals(2, tracker.size());
+    }
+
+    public void testAddPriorityReplacesExisting() {
+        when(clock.instant()).thenReturn(now);
+        tracker.updatePriority(entity1);
+        tracker.updatePriority(entity2);
+        tracker.addPriority(entity1, 100f);
+        assertEquals(entity2, tracker.getMinimumPriorityEntityId().get());
+        assertEquals(entity1, tracker.getHighestPriorityEntityId().get());
+        assertEquals(2, tracker.size());
+
+        tracker.clearPriority();
+        assertEquals(0, tracker.size());
+        assertTrue(!tracker.getMinimumPriority().isPresent());
+    }
+
+    /**
+     * Many threads update, add, and remove entities while others query the minimum.
+     * Afterwards the minimum must agree with a scan of the final priorities.
+     */
+    public void testConcurrentUpdates() throws InterruptedException {
+        when(clock.instant()).thenReturn(now);
+        int numEntities = 200;
+        tracker = new PriorityTracker(clock, 1, now.getEpochSecond(), numEntities);
+        int writers = 4;
+        int readers = 2;
+        int iterations = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers + readers; t++) {
+            boolean writer = t < writers;
+            long seed = random().nextLong();
+            Thread thread = new Thread(() -> {
+                Random rnd = new Random(seed);
+                try {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        if (writer) {
+                            String entity = "entity" + rnd.nextInt(numEntities);
+                            int op = rnd.nextInt(20);
+                            if (op == 0) {
+                                tracker.removePriority(entity);
+                            } else if (op == 1) {
+                                tracker.addPriority(entity, rnd.nextFloat());
+                            } else {
+                                tracker.updatePriority(entity);
+                            }
+                        } else {
+                            tracker.getMinimumPriority();
+                            if (i % 100 == 0) {
+                                tracker.getTopNEntities(10);
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertTrue(tracker.size() <= numEntities);
+
+        // quiescent state: the lazily repaired index must agree with the live priorities
+        List<String> all = tracker.getTopNEntities(numEntities);
+        assertEquals(tracker.size(), all.size());
+        Entry<String, Float> minimum = tracker.getMinimumPriority().get();
+        assertEquals(all.get(all.size() - 1), minimum.getKey());
+        assertEquals(all.get(0), tracker.getHighestPriorityEntityId().get());
+
+        // draining by minimum returns entities in ascending priority order
+        float previous = Float.NEGATIVE_INFINITY;
+        while (tracker.size() > 0) {
+            Entry<String, Float> next = tracker.getMinimumPriority().get();
+            assertTrue(next.getValue() >= previous);
+            previous = next.getValue();
+            tracker.removePriority(next.getKey());
+        }
+        assertTrue(!tracker.getMinimumPriorityEntityId().isPresent());
+    }
 }
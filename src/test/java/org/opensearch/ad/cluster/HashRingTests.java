@@ -26,6 +26,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -51,6 +52,7 @@ import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.cluster.ADDataMigrator;
 import org.opensearch.timeseries.cluster.HashRing;
 import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.util.DiscoveryNodeFilterer;
 import org.opensearch.transport.client.AdminClient;
 import org.opensearch.transport.client.Client;
@@ -217,6 +219,31 @@ public class HashRingTests extends ADUnitTestCase {
             );
     }
 
+    public void testRouteMatchesOwningNode() throws UnknownHostException {
+        setupNodeDelta();
+
+        hashRing.buildCircles(delta, ActionListener.wrap(r -> {
+            List<Entity> entities = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                entities.add(Entity.createSingleAttributeEntity("host", "server_" + i));
+            }
+            Map<DiscoveryNode, List<Entity>> routes = hashRing.route(entities);
+            int routed = 0;
+            for (Map.Entry<DiscoveryNode, List<Entity>> route : routes.entrySet()) {
+                for (Entity entity : route.getValue()) {
+                    Optional<DiscoveryNode> node = hashRing.getOwningNodeWithSameLocalVersionForRealtime(entity.toString());
+                    assertEquals(node.get(), route.getKey());
+                    routed++;
+                }
+            }
+            assertEquals(entities.size(), routed);
+            assertEquals(2, routes.size());
+        }, e -> {
+            logger.error("building hash ring failed", e);
+            assertFalse("Build hash ring failed", true);
+        }));
+    }
+
     private List<DiscoveryNode> setupNodeDelta() {
         List<DiscoveryNode> addedNodes = new ArrayList<>();
         addedNodes.add(newNode);
@@ -0,0 +1,335 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.correlation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.opensearch.ad.model.AnomalyDetector;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.model.Feature;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+
+/**
+ * Differential tests of {@link PrimitiveAnomalyCorrelation} against the object-based
+ * threshold graph and components of {@link AnomalyCorrelation}.
+ */
+public class PrimitiveAnomalyCorrelationTests extends OpenSearchTestCase {
+    private static final Instant BASE = Instant.parse("2025-03-01T00:00:00Z");
+    private static final long[] INTERVAL_MINUTES = { 1, 5, 10, 30, 60 };
+
+    private static AnomalyDetector detector(String detectorId, Duration interval, AggregationBuilder aggregation) {
+        IntervalTimeConfiguration intervalConfig = new IntervalTimeConfiguration(interval.getSeconds(), ChronoUnit.SECONDS);
+        Feature feature = new Feature(detectorId + "-feature", detectorId + "-feature", true, aggregation);
+        return new AnomalyDetector(
+            detectorId,
+            1L,
+            detectorId,
+            null,
+            "timestamp",
+            Collections.singletonList("index"),
+            Collections.singletonList(feature),
+            QueryBuilders.matchAllQuery(),
+            intervalConfig,
+            new IntervalTimeConfiguration(0, ChronoUnit.MINUTES),
+            1,
+            null,
+            1,
+            Instant.EPOCH,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    private List<AnomalyDetector> randomDetectors(int count) {
+        List<AnomalyDetector> detectors = new ArrayList<>(count);
+        for (int d = 0; d < count; d++) {
+            Duration interval = Duration.ofMinutes(INTERVAL_MINUTES[randomIntBetween(0, INTERVAL_MINUTES.length - 1)]);
+            // avg is a community aggregation and turns on backward dilation for coarse detectors
+            AggregationBuilder aggregation = randomBoolean()
+                ? AggregationBuilders.avg("avg").field("value")
+                : AggregationBuilders.max("max").field("value");
+            detectors.add(detector("detector_" + d, interval, aggregation));
+        }
+        return detectors;
+    }
+
+    /**
+     * Anomalies aligned to detector intervals, bunched into a few incidents so that
+     * the graph has both dense and sparse regions.
+     */
+    private List<Anomaly> randomAnomalies(List<AnomalyDetector> detectors, int count, boolean offsetStarts) {
+        int incidents = randomIntBetween(1, Math.max(1, count / 10));
+        long[] incidentStarts = new long[incidents];
+        for (int i = 0; i < incidents; i++) {
+            incidentStarts[i] = randomLongBetween(0, Duration.ofDays(1).toMinutes());
+        }
+        List<Anomaly> anomalies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AnomalyDetector detector = detectors.get(randomIntBetween(0, detectors.size() - 1));
+            long intervalMinutes = ((IntervalTimeConfiguration) detector.getInterval()).toDuration().toMinutes();
+            long startMinute = incidentStarts[randomIntBetween(0, incidents - 1)] + randomLongBetween(-90, 90);
+            startMinute -= Math.floorMod(startMinute, intervalMinutes);
+            Instant start = BASE.plus(Duration.ofMinutes(startMinute));
+            Instant end = start.plus(Duration.ofMinutes(intervalMinutes * randomIntBetween(1, 8)));
+            if (offsetStarts && rarely()) {
+                start = start.plusMillis(randomIntBetween(1, 59_999));
+            }
+            String modelId = detector.getId() + "_entity_" + randomIntBetween(0, 20);
+            anomalies.add(new Anomaly(modelId, detector.getId(), start, end));
+        }
+        return anomalies;
+    }
+
+    private static List<List<Integer>> toLists(int[][] arrays) {
+        List<List<Integer>> lists = new ArrayList<>(arrays.length);
+        for (int[] array : arrays) {
+            List<Integer> list = new ArrayList<>(array.length);
+            for (int value : array) {
+                list.add(value);
+            }
+            lists.add(list);
+        }
+        return lists;
+    }
+
+    private static PrimitiveAnomalyCorrelation engine(
+        List<Anomaly> anomalies,
+        List<AnomalyDetector> detectors,
+        Duration delta,
+        Duration kappa,
+        double minSimilarity,
+        Duration minOverlap,
+        AnomalyCorrelation.TemporalMode temporalMode,
+        double lam,
+        double tauContain,
+        double rhoMax,
+        double containmentRelax
+    ) {
+        return PrimitiveAnomalyCorrelation
+            .create(
+                anomalies,
+                AnomalyCorrelation.detectorIntervalsById(detectors),
+                AnomalyCorrelation.detectorUsesCommunityAggregationById(detectors),
+                delta,
+                kappa,
+                minSimilarity,
+                minOverlap,
+                temporalMode,
+                lam,
+                tauContain,
+                rhoMax,
+                containmentRelax
+            );
+    }
+
+    private static void assertSameGraphAndComponents(
+        List<Anomaly> anomalies,
+        List<AnomalyDetector> detectors,
+        Duration delta,
+        Duration kappa,
+        double minSimilarity,
+        Duration minOverlap,
+        AnomalyCorrelation.TemporalMode temporalMode,
+        double lam,
+        double tauContain,
+        double rhoMax,
+        double containmentRelax
+    ) {
+        List<List<Integer>> expectedGraph = AnomalyCorrelation
+            .buildThresholdGraph(
+                anomalies,
+                detectors,
+                delta,
+                kappa,
+                minSimilarity,
+                minOverlap,
+                temporalMode,
+                lam,
+                tauContain,
+                rhoMax,
+                containmentRelax
+            );
+        PrimitiveAnomalyCorrelation engine = engine(
+            anomalies,
+            detectors,
+            delta,
+            kappa,
+            minSimilarity,
+            minOverlap,
+            temporalMode,
+            lam,
+            tauContain,
+            rhoMax,
+            containmentRelax
+        );
+        assertNotNull(engine);
+        assertEquals(expectedGraph, toLists(engine.thresholdGraph()));
+        assertEquals(AnomalyCorrelation.connectedComponents(expectedGraph), toLists(engine.connectedComponents()));
+    }
+
+    /**
+     * Clusters as the object-based graph and components of {@link AnomalyCorrelation} produce them.
+     */
+    private static List<List<Anomaly>> referenceClusters(List<Anomaly> anomalies, List<AnomalyDetector> detectors) {
+        List<Anomaly> deduped = new ArrayList<>(new LinkedHashSet<>(anomalies));
+        List<List<Integer>> graph = AnomalyCorrelation
+            .buildThresholdGraph(
+                deduped,
+                detectors,
+                AnomalyCorrelation.DELTA_TOL,
+                AnomalyCorrelation.KAPPA,
+                AnomalyCorrelation.ALPHA,
+                AnomalyCorrelation.MIN_OVERLAP,
+                AnomalyCorrelation.MODE,
+                AnomalyCorrelation.LAM,
+                AnomalyCorrelation.TAU_CONTAIN,
+                AnomalyCorrelation.RHO_MAX,
+                AnomalyCorrelation.CONTAINMENT_RELAX
+            );
+        List<List<Anomaly>> clusters = new ArrayList<>();
+        for (List<Integer> comp : AnomalyCorrelation.connectedComponents(graph)) {
+            List<Anomaly> members = new ArrayList<>(comp.size());
+            for (int idx : comp) {
+                members.add(deduped.get(idx));
+            }
+            members.sort((a, b) -> a.getModelId().compareTo(b.getModelId()));
+            clusters.add(members);
+        }
+        return clusters;
+    }
+
+    public void testMatchesObjectGraphWithDefaults() {
+        for (int round = 0; round < 20; round++) {
+            List<AnomalyDetector> detectors = randomDetectors(randomIntBetween(1, 6));
+            List<Anomaly> anomalies = randomAnomalies(detectors, randomIntBetween(0, 300), true);
+            assertSameGraphAndComponents(
+                anomalies,
+                detectors,
+                AnomalyCorrelation.DELTA_TOL,
+                AnomalyCorrelation.KAPPA,
+                AnomalyCorrelation.ALPHA,
+                AnomalyCorrelation.MIN_OVERLAP,
+                AnomalyCorrelation.MODE,
+                AnomalyCorrelation.LAM,
+                AnomalyCorrelation.TAU_CONTAIN,
+                AnomalyCorrelation.RHO_MAX,
+                AnomalyCorrelation.CONTAINMENT_RELAX
+            );
+        }
+    }
+
+    public void testMatchesObjectGraphWithRandomParameters() {
+        for (int round = 0; round < 20; round++) {
+            List<AnomalyDetector> detectors = randomDetectors(randomIntBetween(1, 6));
+            List<Anomaly> anomalies = randomAnomalies(detectors, randomIntBetween(0, 200), true);
+            assertSameGraphAndComponents(
+                anomalies,
+                detectors,
+                Duration.ofMinutes(randomIntBetween(0, 15)),
+                Duration.ofMinutes(randomIntBetween(0, 90)),
+                randomDoubleBetween(0.0, 1.0, true),
+                Duration.ofSeconds(randomIntBetween(-60, 600)),
+                randomFrom(AnomalyCorrelation.TemporalMode.values()),
+                randomDoubleBetween(0.0, 1.0, true),
+                randomDoubleBetween(0.0, 1.0, true),
+                randomDoubleBetween(0.0, 1.0, true),
+                randomBoolean() ? 0.0 : randomDoubleBetween(0.0, 1.0, true)
+            );
+        }
+    }
+
+    public void testClusterMatchesObjectGraph() {
+        for (int round = 0; round < 10; round++) {
+            List<AnomalyDetector> detectors = randomDetectors(randomIntBetween(1, 6));
+            List<Anomaly> anomalies = randomAnomalies(detectors, randomIntBetween(1, 300), true);
+            // duplicates are removed before clustering
+            anomalies.addAll(anomalies.subList(0, randomIntBetween(0, anomalies.size())));
+            List<List<Anomaly>> expected = referenceClusters(anomalies, detectors);
+            assertEquals(expected, AnomalyCorrelation.cluster(anomalies, detectors));
+        }
+    }
+
+    public void testSubMillisecondInputFallsBack() {
+        List<AnomalyDetector> detectors = randomDetectors(3);
+        List<Anomaly> anomalies = randomAnomalies(detectors, 50, false);
+        Anomaly first = anomalies.get(0);
+        anomalies
+            .set(
+                0,
+                new Anomaly(first.getModelId(), first.getConfigId(), first.getDataStartTime().plusNanos(1), first.getDataEndTime())
+            );
+
+        assertNull(
+            engine(
+                anomalies,
+                detectors,
+                AnomalyCorrelation.DELTA_TOL,
+                AnomalyCorrelation.KAPPA,
+                AnomalyCorrelation.ALPHA,
+                AnomalyCorrelation.MIN_OVERLAP,
+                AnomalyCorrelation.MODE,
+                AnomalyCorrelation.LAM,
+                AnomalyCorrelation.TAU_CONTAIN,
+                AnomalyCorrelation.RHO_MAX,
+                AnomalyCorrelation.CONTAINMENT_RELAX
+            )
+        );
+        assertEquals(referenceClusters(anomalies, detectors), AnomalyCorrelation.cluster(anomalies, detectors));
+    }
+
+    public void testContainmentUsesCoarseInterval() {
+        AnomalyDetector coarse = detector("coarse", Duration.ofHours(1), AggregationBuilders.avg("avg").field("value"));
+        AnomalyDetector fine = detector("fine", Duration.ofMinutes(1), AggregationBuilders.max("max").field("value"));
+        List<AnomalyDetector> detectors = List.of(coarse, fine);
+        List<Anomaly> anomalies = new ArrayList<>();
+        anomalies.add(new Anomaly("coarse_1", "coarse", BASE, BASE.plus(Duration.ofHours(3))));
+        for (int i = 0; i < 6; i++) {
+            Instant start = BASE.plus(Duration.ofMinutes(20 + 25 * i));
+            anomalies.add(new Anomaly("fine_" + i, "fine", start, start.plus(Duration.ofMinutes(5))));
+        }
+        assertSameGraphAndComponents(
+            anomalies,
+            detectors,
+            AnomalyCorrelation.DELTA_TOL,
+            AnomalyCorrelation.KAPPA,
+            AnomalyCorrelation.ALPHA,
+            AnomalyCorrelation.MIN_OVERLAP,
+            AnomalyCorrelation.MODE,
+            AnomalyCorrelation.LAM,
+            AnomalyCorrelation.TAU_CONTAIN,
+            AnomalyCorrelation.RHO_MAX,
+            AnomalyCorrelation.CONTAINMENT_RELAX
+        );
+    }
+}
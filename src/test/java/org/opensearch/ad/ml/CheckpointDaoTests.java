@@ -89,15 +89,21 @@ import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.indices.ADIndexManagement;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.secure_sm.AccessController;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.MemoryTracker;
 import org.opensearch.timeseries.TestHelpers;
 import org.opensearch.timeseries.constant.CommonName;
+import org.opensearch.timeseries.ml.CheckpointCompression;
+import org.opensearch.timeseries.ml.CheckpointDao;
 import org.opensearch.timeseries.ml.ModelManager;
+import org.opensearch.timeseries.ml.ModelSnapshot;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.ml.Sample;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
@@ -1263,4 +1269,304 @@ public class CheckpointDaoTests extends OpenSearchTestCase {
         assertEquals(inputModelState.getSamples().size(), modelState.getSamples().size());
         assertEquals(now, modelState.getLastUsedTime());
     }
+
+    public void testBinaryCheckpointRoundTrip() throws IOException {
+        checkpointDao.setCompression(CheckpointCompression.LZ4);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        ThresholdedRandomCutForest modelToSave = state.getModel().get();
+
+        Map<String, Object> source = checkpointDao.toIndexSource(state);
+        assertTrue(source.get(CommonName.FIELD_MODEL_BINARY) instanceof byte[]);
+        assertTrue(source.containsKey(FIELD_MODELV2));
+        assertNull(source.get(FIELD_MODELV2));
+        int rawBytes = (Integer) source.get(CommonName.FIELD_MODEL_RAW_BYTES);
+        int compressedBytes = (Integer) source.get(CommonName.FIELD_MODEL_COMPRESSED_BYTES);
+        assertEquals(((byte[]) source.get(CommonName.FIELD_MODEL_BINARY)).length, compressedBytes);
+        assertTrue(rawBytes > 0);
+
+        UpdateRequest request = CheckpointDao.createUpsertRequest(indexName, modelId, source);
+        assertEquals(XContentType.SMILE, request.doc().getContentType());
+
+        ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+        assertEquals(modelToSave.getForest().getTotalUpdates(), modelState.getModel().get().getForest().getTotalUpdates());
+    }
+
+    public void testLegacyCheckpointWhenCompressionNone() throws IOException {
+        checkpointDao.setCompression(CheckpointCompression.NONE);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+
+        Map<String, Object> source = checkpointDao.toIndexSource(state);
+        assertTrue(source.get(FIELD_MODELV2) instanceof String);
+        assertFalse(source.containsKey(CommonName.FIELD_MODEL_BINARY));
+        assertEquals(XContentType.JSON, CheckpointDao.createUpsertRequest(indexName, modelId, source).doc().getContentType());
+
+        ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+        assertTrue(modelState.getModel().isPresent());
+    }
+
+    public void testLegacyFieldTakesPrecedenceOverStaleBinary() throws IOException {
+        checkpointDao.setCompression(CheckpointCompression.LZ4);
+        ModelState<ThresholdedRandomCutForest> binaryState = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        Map<String, Object> source = checkpointDao.toIndexSource(binaryState);
+
+        // an older node writes modelV2 on top of a binary checkpoint
+        ThresholdedRandomCutForest newer = createTRCF();
+        source.put(FIELD_MODELV2, checkpointDao.toCheckpoint(newer, modelId).get());
+
+        ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+        assertEquals(newer.getForest().getTotalUpdates(), modelState.getModel().get().getForest().getTotalUpdates());
+    }
+
+    public void testV1ModelTakesPrecedenceOverStaleBinary() throws IOException, URISyntaxException {
+        checkpointDao.setCompression(CheckpointCompression.LZ4);
+        ModelState<ThresholdedRandomCutForest> binaryState = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        Map<String, Object> source = checkpointDao.toIndexSource(binaryState);
+        // binary writers clear every legacy field
+        assertTrue(source.containsKey(CommonName.FIELD_MODEL));
+        assertNull(source.get(CommonName.FIELD_MODEL));
+
+        Map<String, Object> v1Source = setUp1_0Model("checkpoint_2.json").getLeft();
+        ModelState<ThresholdedRandomCutForest> v1State = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(v1Source, modelId, "blah"), modelId, "123");
+
+        // so a model field next to the binary model was written later by a node that does not know the binary field
+        source.put(CommonName.FIELD_MODEL, v1Source.get(CommonName.FIELD_MODEL));
+
+        ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+        assertEquals(
+            v1State.getModel().get().getForest().getTotalUpdates(),
+            modelState.getModel().get().getForest().getTotalUpdates()
+        );
+    }
+
+    public void testCorruptedBinaryCheckpoint() throws IOException {
+        checkpointDao.setCompression(CheckpointCompression.LZ4);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        Map<String, Object> source = checkpointDao.toIndexSource(state);
+        byte[] binary = (byte[]) source.get(CommonName.FIELD_MODEL_BINARY);
+        // claim a raw size larger than the limit
+        binary[2] = 0x7F;
+
+        assertNull(checkpointDao.processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123"));
+    }
+
+    public void testSnapshotIfDue() {
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(7)));
+        // no checkpoint interval yet
+        checkpointDao.snapshotIfDue(state);
+        assertTrue(state.getSnapshot().isEmpty());
+
+        checkpointDao.setCheckpointInterval(TimeValue.timeValueHours(6));
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(1)));
+        checkpointDao.snapshotIfDue(state);
+        assertTrue(state.getSnapshot().isEmpty());
+
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(7)));
+        checkpointDao.snapshotIfDue(state);
+        assertTrue(state.getSnapshot().isPresent());
+        assertTrue(state.getSnapshot().get().getState() instanceof ThresholdedRandomCutForestState);
+
+        // later updates in the same due period keep the first copy
+        ModelSnapshot snapshot = state.getSnapshot().get();
+        checkpointDao.snapshotIfDue(state);
+        assertSame(snapshot, state.getSnapshot().get());
+
+        // the checkpoint makes the snapshot obsolete
+        state.setLastCheckpointTime(now);
+        assertTrue(state.getSnapshot().isEmpty());
+    }
+
+    public void testSnapshotMemoryIsAccounted() {
+        MemoryTracker memoryTracker = mock(MemoryTracker.class);
+        when(memoryTracker.estimateTRCFModelSize(any(ThresholdedRandomCutForest.class))).thenReturn(1000L);
+        checkpointDao.setMemoryTracker(memoryTracker);
+        checkpointDao.setCheckpointInterval(TimeValue.timeValueHours(6));
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(7)));
+
+        checkpointDao.snapshotIfDue(state);
+        checkpointDao.snapshotIfDue(state);
+        verify(memoryTracker, times(1)).consumeMemory(1000L, false, MemoryTracker.Origin.CHECKPOINT_SNAPSHOT);
+
+        // released once when the checkpoint makes it obsolete, not again on clear
+        state.setLastCheckpointTime(now);
+        state.clear();
+        verify(memoryTracker, times(1)).releaseMemory(1000L, false, MemoryTracker.Origin.CHECKPOINT_SNAPSHOT);
+    }
+
+    public void testToIndexSourceSerializesSnapshot() throws IOException {
+        checkpointDao.setCheckpointInterval(TimeValue.timeValueHours(6));
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        ThresholdedRandomCutForest model = state.getModel().get();
+        long snapshotUpdates = model.getForest().getTotalUpdates();
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(7)));
+        checkpointDao.snapshotIfDue(state);
+
+        // the live model keeps changing after the snapshot
+        long timestamp = Instant.now().plus(Duration.ofDays(1)).getEpochSecond();
+        for (int i = 0; i < 10; i++) {
+            model.process(new double[] { randomDouble() }, timestamp + i * 60);
+        }
+        assertTrue(model.getForest().getTotalUpdates() > snapshotUpdates);
+
+        for (CheckpointCompression compression : CheckpointCompression.values()) {
+            checkpointDao.setCompression(compression);
+            Map<String, Object> source = checkpointDao.toIndexSource(state);
+            ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+                .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+            assertEquals(snapshotUpdates, modelState.getModel().get().getForest().getTotalUpdates());
+        }
+
+        // without a snapshot the live model is serialized
+        state.setModel(model);
+        Map<String, Object> source = checkpointDao.toIndexSource(state);
+        ModelState<ThresholdedRandomCutForest> modelState = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(source, modelId, "blah"), modelId, "123");
+        assertEquals(model.getForest().getTotalUpdates(), modelState.getModel().get().getForest().getTotalUpdates());
+    }
+
+    private List<Sample> processNewSamples(ThresholdedRandomCutForest model, int count) {
+        List<Sample> samples = new ArrayList<>();
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        double[][] points = new double[count][];
+        long[] timestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            Instant dataEnd = start.plus(Duration.ofMinutes(i + 1));
+            Sample sample = new Sample(new double[] { randomDouble() }, dataEnd.minus(Duration.ofMinutes(1)), dataEnd);
+            samples.add(sample);
+            points[i] = sample.getValueList();
+            timestamps[i] = dataEnd.getEpochSecond();
+        }
+        model.processSequentially(points, timestamps, x -> true);
+        return samples;
+    }
+
+    public void testDeltaCheckpointRoundTrip() throws IOException {
+        checkpointDao.setMaxDeltaSamples(20);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        ThresholdedRandomCutForest model = state.getModel().get();
+
+        // no delta is tracked before the first full checkpoint
+        assertTrue(checkpointDao.toDeltaSource(state).isEmpty());
+        long position = checkpointDao.serializedPosition(state);
+        Map<String, Object> base = checkpointDao.toIndexSource(state);
+        checkpointDao.restartDelta(state, base, position);
+
+        checkpointDao.recordProcessed(state, processNewSamples(model, 10));
+        Optional<Map<String, Object>> delta = checkpointDao.toDeltaSource(state);
+        assertTrue(delta.isPresent());
+        assertEquals(3, delta.get().size());
+        assertEquals(10, ((Sample[]) delta.get().get(CommonName.FIELD_MODEL_DELTA)).length);
+        // the delta names the model it applies to
+        assertNotNull(base.get(CommonName.FIELD_MODEL_VERSION));
+        assertEquals(base.get(CommonName.FIELD_MODEL_VERSION), delta.get().get(CommonName.FIELD_MODEL_DELTA_BASE));
+
+        // the update request merges the delta into the stored base
+        Map<String, Object> stored = new HashMap<>(base);
+        stored.putAll(delta.get());
+        ModelState<ThresholdedRandomCutForest> restored = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(stored, modelId, "blah"), modelId, "123");
+        assertEquals(model.getForest().getTotalUpdates(), restored.getModel().get().getForest().getTotalUpdates());
+        assertEquals(10, restored.getDelta().get().size());
+
+        // samples beyond the limit make the next checkpoint a full one
+        checkpointDao.recordProcessed(state, processNewSamples(model, 11));
+        assertTrue("overflow forces a full checkpoint", checkpointDao.toDeltaSource(state).isEmpty());
+
+        // a full checkpoint clears the stored delta
+        Map<String, Object> full = checkpointDao.toIndexSource(state);
+        assertTrue(full.containsKey(CommonName.FIELD_MODEL_DELTA));
+        assertNull(full.get(CommonName.FIELD_MODEL_DELTA));
+    }
+
+    public void testDeltaOfAnotherModelIsNotReplayed() throws IOException {
+        checkpointDao.setMaxDeltaSamples(20);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        ThresholdedRandomCutForest model = state.getModel().get();
+
+        long position = checkpointDao.serializedPosition(state);
+        checkpointDao.restartDelta(state, checkpointDao.toIndexSource(state), position);
+        checkpointDao.recordProcessed(state, processNewSamples(model, 5));
+        Map<String, Object> oldDelta = checkpointDao.toDeltaSource(state).get();
+
+        // a newer full checkpoint is saved before the delta of the older model lands
+        Map<String, Object> full = checkpointDao.toIndexSource(state);
+        assertNotEquals(oldDelta.get(CommonName.FIELD_MODEL_DELTA_BASE), full.get(CommonName.FIELD_MODEL_VERSION));
+        long savedUpdates = model.getForest().getTotalUpdates();
+        Map<String, Object> stored = new HashMap<>(full);
+        stored.putAll(oldDelta);
+
+        ModelState<ThresholdedRandomCutForest> restored = checkpointDao
+            .processHCGetResponse(TestHelpers.createGetResponse(stored, modelId, "blah"), modelId, "123");
+        // the samples are already in the newer model
+        assertEquals(savedUpdates, restored.getModel().get().getForest().getTotalUpdates());
+        // and the next checkpoint is a full one
+        assertTrue(restored.getDelta().isEmpty());
+    }
+
+    public void testDeltaRestartsFromSerializedPosition() throws IOException {
+        checkpointDao.setMaxDeltaSamples(20);
+        checkpointDao.setCheckpointInterval(TimeValue.timeValueHours(6));
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        ThresholdedRandomCutForest model = state.getModel().get();
+        state.setLastCheckpointTime(now.minus(Duration.ofHours(7)));
+
+        checkpointDao.recordProcessed(state, processNewSamples(model, 2));
+        checkpointDao.snapshotIfDue(state);
+        // samples scored after the snapshot are not in the checkpoint
+        List<Sample> unsaved = processNewSamples(model, 3);
+        checkpointDao.recordProcessed(state, unsaved);
+
+        long position = checkpointDao.serializedPosition(state);
+        assertEquals(2, position);
+        Map<String, Object> source = checkpointDao.toIndexSource(state);
+        // the delta waits for the checkpoint to be saved
+        assertTrue(checkpointDao.toDeltaSource(state).isEmpty());
+
+        checkpointDao.restartDelta(state, source, position);
+        Optional<Map<String, Object>> delta = checkpointDao.toDeltaSource(state);
+        assertTrue(delta.isPresent());
+        assertEquals(unsaved, Arrays.asList((Sample[]) delta.get().get(CommonName.FIELD_MODEL_DELTA)));
+    }
+
+    public void testDeltaMemoryIsAccounted() {
+        MemoryTracker memoryTracker = mock(MemoryTracker.class);
+        checkpointDao.setMemoryTracker(memoryTracker);
+        checkpointDao.setMaxDeltaSamples(20);
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        List<Sample> samples = processNewSamples(state.getModel().get(), 5);
+        long bytes = samples.get(0).estimateBytes() * samples.size();
+
+        checkpointDao.recordProcessed(state, samples);
+        verify(memoryTracker, times(1)).consumeMemory(bytes, false, MemoryTracker.Origin.CHECKPOINT_DELTA);
+
+        state.clear();
+        verify(memoryTracker, times(1)).releaseMemory(bytes, false, MemoryTracker.Origin.CHECKPOINT_DELTA);
+    }
+
+    public void testDeltaCheckpointDisabled() throws IOException {
+        ModelState<ThresholdedRandomCutForest> state = MLUtil
+            .randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        long position = checkpointDao.serializedPosition(state);
+        checkpointDao.restartDelta(state, checkpointDao.toIndexSource(state), position);
+        checkpointDao.recordProcessed(state, processNewSamples(state.getModel().get(), 1));
+        assertTrue(checkpointDao.toDeltaSource(state).isEmpty());
+    }
 }
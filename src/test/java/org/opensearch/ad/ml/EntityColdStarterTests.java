@@ -14,6 +14,7 @@ package org.opensearch.ad.ml;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -27,25 +28,32 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.tuple.Triple;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.ad.constant.ADCommonName;
+import org.opensearch.ad.model.AnomalyResult;
 import org.opensearch.ad.settings.ADEnabledSetting;
 import org.opensearch.ad.settings.AnomalyDetectorSettings;
+import org.opensearch.ad.stats.ADStats;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.settings.ClusterSettings;
@@ -62,10 +70,15 @@ import org.opensearch.timeseries.ml.ModelColdStart;
 import org.opensearch.timeseries.ml.ModelManager;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.ml.Sample;
+import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.model.IntervalTimeConfiguration;
 import org.opensearch.timeseries.ratelimit.FeatureRequest;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.stats.StatNames;
+import org.opensearch.timeseries.stats.TimeSeriesStat;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 
 import com.amazon.randomcutforest.config.ForestMode;
 import com.amazon.randomcutforest.config.Precision;
@@ -622,6 +635,91 @@ public class EntityColdStarterTests extends AbstractCosineDataTest {
         checkSemaphoreRelease();
     }
 
+    @SuppressWarnings("unchecked")
+    public void testBatchedColdStart() throws InterruptedException {
+        Entity shortEntity = Entity.createSingleAttributeEntity("field", "def");
+        ModelState<ThresholdedRandomCutForest> batchedState = new ModelState<>(
+            null,
+            entity.getModelId(detectorId).get(),
+            detectorId,
+            ModelManager.ModelType.TRCF.getName(),
+            clock,
+            priority,
+            Optional.of(entity),
+            new ArrayDeque<>()
+        );
+        ModelState<ThresholdedRandomCutForest> shortState = new ModelState<>(
+            null,
+            shortEntity.getModelId(detectorId).get(),
+            detectorId,
+            ModelManager.ModelType.TRCF.getName(),
+            clock,
+            priority,
+            Optional.of(shortEntity),
+            new ArrayDeque<>()
+        );
+
+        long startTime = 1602269260000L;
+        doAnswer(invocation -> {
+            ActionListener<Optional<Long>> listener = invocation.getArgument(3);
+            listener.onResponse(Optional.of(startTime));
+            return null;
+        }).when(searchFeatureDao).getMinDataTime(any(), any(), eq(AnalysisType.AD), any());
+
+        // only the first entity has data in the batched search
+        doAnswer(invocation -> {
+            List<Entry<Long, Long>> ranges = invocation.getArgument(1);
+            List<Optional<double[]>> coldStartSamples = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                coldStartSamples.add(Optional.of(new double[] { i }));
+            }
+            ActionListener<Map<Entity, List<Optional<double[]>>>> listener = invocation.getArgument(5);
+            listener.onResponse(Collections.singletonMap(entity, coldStartSamples));
+            return null;
+        }).when(searchFeatureDao).getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        // the per-entity fallback finds no data either
+        doAnswer(invocation -> {
+            List<Entry<Long, Long>> ranges = invocation.getArgument(1);
+            List<Optional<double[]>> coldStartSamples = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                coldStartSamples.add(Optional.empty());
+            }
+            ActionListener<List<Optional<double[]>>> listener = invocation.getArgument(5);
+            listener.onResponse(coldStartSamples);
+            return null;
+        }).when(searchFeatureDao).getColdStartSamplesForPeriods(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        long dataStartTime = startTime + 20 * detector.getIntervalInMilliseconds();
+        CountDownLatch done = new CountDownLatch(2);
+        List<Triple<FeatureRequest, ModelState<ThresholdedRandomCutForest>, ActionListener<List<AnomalyResult>>>> requests =
+            new ArrayList<>();
+        for (ModelState<ThresholdedRandomCutForest> state : Arrays.asList(batchedState, shortState)) {
+            FeatureRequest featureRequest = new FeatureRequest(
+                Instant.now().toEpochMilli(),
+                detectorId,
+                RequestPriority.MEDIUM,
+                new double[] { 0 },
+                dataStartTime,
+                state.getEntity().get(),
+                null
+            );
+            requests.add(Triple.of(featureRequest, state, ActionListener.wrap(r -> done.countDown(), e -> done.countDown())));
+        }
+
+        entityColdStarter.trainModels(detectorId, requests);
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        assertTrue(batchedState.getModel().isPresent());
+        assertTrue(shortState.getModel().isEmpty());
+        verify(searchFeatureDao, times(1))
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+        // only the entity without data goes through the per-entity path
+        verify(searchFeatureDao, atLeastOnce())
+            .getColdStartSamplesForPeriods(any(), any(), eq(Optional.of(shortEntity)), anyBoolean(), any(), any());
+        verify(searchFeatureDao, never()).getColdStartSamplesForPeriods(any(), any(), eq(Optional.of(entity)), anyBoolean(), any(), any());
+    }
+
     @SuppressWarnings("unchecked")
     public void testNotEnoughSamples() throws InterruptedException, IOException {
         Deque<Sample> samples = MLUtil.createQueueSamples(1);
@@ -1323,4 +1421,32 @@ public class EntityColdStarterTests extends AbstractCosineDataTest {
         entityColdStarter.trainModelFromExistingSamples(modelState, detector, "123");
         assertTrue(modelState.getModel().isEmpty());
     }
+
+    public void testTrainingLatencyRecordedWhenTrainingFails() {
+        LatencySupplier coldStartLatency = new LatencySupplier();
+        Map<String, TimeSeriesStat<?>> statsMap = new HashMap<>();
+        statsMap.put(StatNames.AD_COLD_START_LATENCY.getName(), new TimeSeriesStat<>(false, coldStartLatency));
+        entityColdStarter.setStats(new ADStats(statsMap));
+
+        Deque<Sample> samples = new ArrayDeque<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < numMinSamples; i++) {
+            samples.add(new Sample(new double[] { i }, now, now));
+        }
+        modelState = new ModelState<ThresholdedRandomCutForest>(
+            null,
+            modelId,
+            detectorId,
+            ModelManager.ModelType.TRCF.getName(),
+            clock,
+            priority,
+            Optional.of(entity),
+            samples
+        );
+        Config config = mock(Config.class);
+        when(config.getShingleSize()).thenThrow(new IllegalStateException("broken config"));
+
+        expectThrows(IllegalStateException.class, () -> entityColdStarter.trainModelFromExistingSamples(modelState, config, "123"));
+        assertEquals(1L, coldStartLatency.get().get(LatencySupplier.COUNT));
+    }
 }
@@ -13,6 +13,7 @@ package org.opensearch.ad.model;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -134,6 +135,35 @@ public class AnomalyResultTests extends OpenSearchSingleNodeTestCase {
         assertEquals("Parsing anomaly detect result doesn't work", detectResult, parsedDetectResult);
     }
 
+    public void testParseAnomalyResultWithSummary() throws IOException {
+        Instant windowStart = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        ResultSummary summary = new ResultSummary(60, 0.1, 0.9, 0.4, windowStart, windowStart.plus(1, ChronoUnit.HOURS));
+        AnomalyResult detectResult = TestHelpers.randomHCADAnomalyDetectResult(0.8, 0.5).withSummary(summary);
+        String detectResultString = TestHelpers
+            .xContentBuilderToString(detectResult.toXContent(TestHelpers.builder(), ToXContent.EMPTY_PARAMS));
+        AnomalyResult parsedDetectResult = AnomalyResult.parse(TestHelpers.parser(detectResultString));
+        assertEquals("Parsing anomaly detect result doesn't work", detectResult, parsedDetectResult);
+        assertEquals(summary, parsedDetectResult.getSummary());
+    }
+
+    public void testSerializeAnomalyResultWithSummary() throws IOException {
+        Instant windowStart = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        Instant windowEnd = windowStart.plus(1, ChronoUnit.HOURS);
+        ResultSummary summary = new ResultSummary(3, Double.NaN, Double.NaN, Double.NaN, windowStart, windowEnd);
+        AnomalyResult detectResult = TestHelpers.randomHCADAnomalyDetectResult(0.8, 0.5).withSummary(summary);
+        BytesStreamOutput output = new BytesStreamOutput();
+        detectResult.writeTo(output);
+        NamedWriteableAwareStreamInput input = new NamedWriteableAwareStreamInput(output.bytes().streamInput(), writableRegistry());
+        AnomalyResult parsedDetectResult = new AnomalyResult(input);
+        assertTrue(parsedDetectResult.equals(detectResult));
+
+        // scores without any scored result are left out of the document
+        String detectResultString = TestHelpers
+            .xContentBuilderToString(detectResult.toXContent(TestHelpers.builder(), ToXContent.EMPTY_PARAMS));
+        assertFalse(detectResultString.contains(ResultSummary.MEAN_SCORE_FIELD));
+        assertEquals(summary, AnomalyResult.parse(TestHelpers.parser(detectResultString)).getSummary());
+    }
+
     public void testSerializeAnomalyResult() throws IOException {
         AnomalyResult detectResult = TestHelpers.randomAnomalyDetectResult(0.8, randomAlphaOfLength(5), randomAlphaOfLength(5));
         BytesStreamOutput output = new BytesStreamOutput();
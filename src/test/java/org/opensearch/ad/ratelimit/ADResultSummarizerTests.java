@@ -0,0 +1,296 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.ratelimit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.ad.model.AnomalyResult;
+import org.opensearch.ad.model.ResultSummary;
+import org.opensearch.ad.settings.AnomalyDetectorSettings;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.constant.CommonValue;
+import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.model.FeatureData;
+
+public class ADResultSummarizerTests extends OpenSearchTestCase {
+    private static final String DETECTOR_ID = "detector";
+    private static final long INTERVAL_MS = 60_000L;
+    private static final long HOUR_MS = 3_600_000L;
+    private static final long WINDOW_START_MS = 1_700_000_000_000L / HOUR_MS * HOUR_MS;
+
+    private Clock clock;
+    private ClusterSettings clusterSettings;
+    private AtomicLong summaryBytes;
+    private Config config;
+    private ADResultSummarizer summarizer;
+    private List<AnomalyResult> written;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(WINDOW_START_MS);
+
+        Settings settings = Settings.builder().putList(AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS.getKey(), DETECTOR_ID).build();
+        clusterSettings = new ClusterSettings(
+            settings,
+            Collections
+                .unmodifiableSet(
+                    new HashSet<>(
+                        Arrays
+                            .asList(
+                                AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS,
+                                AnomalyDetectorSettings.RESULT_SUMMARY_WINDOW,
+                                AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS
+                            )
+                    )
+                )
+        );
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+
+        config = mock(Config.class);
+        when(config.getId()).thenReturn(DETECTOR_ID);
+        when(config.getIntervalInMilliseconds()).thenReturn(INTERVAL_MS);
+
+        summaryBytes = new AtomicLong();
+        MemoryTracker memoryTracker = mock(MemoryTracker.class);
+        doAnswer(invocation -> summaryBytes.addAndGet((long) invocation.getArgument(0)))
+            .when(memoryTracker)
+            .consumeMemory(anyLong(), eq(false), eq(MemoryTracker.Origin.RESULT_SUMMARY));
+        doAnswer(invocation -> summaryBytes.addAndGet(-(long) invocation.getArgument(0)))
+            .when(memoryTracker)
+            .releaseMemory(anyLong(), eq(false), eq(MemoryTracker.Origin.RESULT_SUMMARY));
+
+        summarizer = new ADResultSummarizer(settings, clusterService, clock, memoryTracker);
+        written = new ArrayList<>();
+    }
+
+    private AnomalyResult result(String detectorId, String entityValue, long dataStartMs, double score, double grade, String taskId) {
+        return new AnomalyResult(
+            detectorId,
+            taskId,
+            score,
+            grade,
+            0.9,
+            Collections.singletonList(new FeatureData("feature", "feature", score * 100)),
+            Instant.ofEpochMilli(dataStartMs),
+            Instant.ofEpochMilli(dataStartMs + INTERVAL_MS),
+            Instant.ofEpochMilli(dataStartMs + INTERVAL_MS),
+            Instant.ofEpochMilli(dataStartMs + INTERVAL_MS),
+            null,
+            Optional.of(Entity.createSingleAttributeEntity("host", entityValue)),
+            null,
+            CommonValue.NO_SCHEMA_VERSION,
+            detectorId + "_entity_" + entityValue,
+            null,
+            null,
+            null,
+            null,
+            1.0,
+            null
+        );
+    }
+
+    private void add(AnomalyResult result) {
+        summarizer.add(result, config, (r, c) -> written.add(r));
+    }
+
+    public void testFoldZeroGradeResults() {
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS, 0.2, 0, null));
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + INTERVAL_MS, 0.6, 0, null));
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + 2 * INTERVAL_MS, 0.4, 0, null));
+        assertTrue(written.isEmpty());
+        assertEquals(1, summarizer.getOpenWindows());
+
+        // anomalies are written as they come and do not join the window
+        AnomalyResult anomaly = result(DETECTOR_ID, "a", WINDOW_START_MS + 3 * INTERVAL_MS, 2.0, 0.8, null);
+        add(anomaly);
+        assertEquals(1, written.size());
+        assertSame(anomaly, written.get(0));
+        assertNull(anomaly.getSummary());
+
+        // the first result of the next window closes the previous one
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + HOUR_MS, 0.3, 0, null));
+        assertEquals(2, written.size());
+        AnomalyResult summarized = written.get(1);
+        ResultSummary summary = summarized.getSummary();
+        assertEquals(3, summary.getCount());
+        assertEquals(0.2, summary.getMinScore(), 0.001);
+        assertEquals(0.6, summary.getMaxScore(), 0.001);
+        assertEquals(0.4, summary.getMeanScore(), 0.001);
+        assertEquals(WINDOW_START_MS, summary.getWindowStart().toEpochMilli());
+        assertEquals(WINDOW_START_MS + HOUR_MS, summary.getWindowEnd().toEpochMilli());
+        // the latest result of the window carries the summary
+        assertEquals(WINDOW_START_MS + 2 * INTERVAL_MS, summarized.getDataStartTime().toEpochMilli());
+        assertEquals(40, summarized.getFeatureData().get(0).getData(), 0.001);
+        assertEquals(1, summarizer.getOpenWindows());
+    }
+
+    public void testWriteThrough() {
+        // not summarized detector, historical result, and single-stream result
+        AnomalyResult other = result("other", "a", WINDOW_START_MS, 0.2, 0, null);
+        AnomalyResult historical = result(DETECTOR_ID, "a", WINDOW_START_MS, 0.2, 0, "task");
+        AnomalyResult singleStream = new AnomalyResult(
+            DETECTOR_ID,
+            null,
+            null,
+            Instant.ofEpochMilli(WINDOW_START_MS),
+            Instant.ofEpochMilli(WINDOW_START_MS + INTERVAL_MS),
+            null,
+            null,
+            null,
+            Optional.empty(),
+            null,
+            CommonValue.NO_SCHEMA_VERSION,
+            null
+        );
+        add(other);
+        add(historical);
+        add(singleStream);
+        assertEquals(Arrays.asList(other, historical, singleStream), written);
+        assertEquals(0, summarizer.getOpenWindows());
+    }
+
+    public void testFlushExpired() {
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS, 0.2, 0, null));
+        when(clock.millis()).thenReturn(WINDOW_START_MS + INTERVAL_MS);
+        add(result(DETECTOR_ID, "b", WINDOW_START_MS, 0.2, 0, null));
+
+        // a is idle for more than two intervals, b is not
+        when(clock.millis()).thenReturn(WINDOW_START_MS + 2 * INTERVAL_MS + 1);
+        summarizer.flushExpired((r, c) -> written.add(r));
+        assertEquals(1, written.size());
+        assertEquals("a", written.get(0).getEntity().get().getAttributes().get("host"));
+        assertEquals(1, written.get(0).getSummary().getCount());
+        assertEquals(1, summarizer.getOpenWindows());
+
+        // turning the mode off flushes open windows
+        clusterSettings.applySettings(Settings.builder().putList(AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS.getKey()).build());
+        summarizer.flushExpired((r, c) -> written.add(r));
+        assertEquals(2, written.size());
+        assertEquals(0, summarizer.getOpenWindows());
+    }
+
+    public void testEvictLeastRecentlyUpdatedWindow() {
+        clusterSettings
+            .applySettings(
+                Settings
+                    .builder()
+                    .putList(AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS.getKey(), DETECTOR_ID)
+                    .put(AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS.getKey(), 2)
+                    .build()
+            );
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS, 0.2, 0, null));
+        add(result(DETECTOR_ID, "b", WINDOW_START_MS, 0.2, 0, null));
+        // a is updated after b
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + INTERVAL_MS, 0.2, 0, null));
+        assertTrue(written.isEmpty());
+
+        add(result(DETECTOR_ID, "c", WINDOW_START_MS, 0.2, 0, null));
+        assertEquals(1, written.size());
+        assertEquals("b", written.get(0).getEntity().get().getAttributes().get("host"));
+        assertEquals(1, written.get(0).getSummary().getCount());
+        assertEquals(2, summarizer.getOpenWindows());
+
+        // no windows at all: results are written as they come
+        clusterSettings
+            .applySettings(
+                Settings
+                    .builder()
+                    .putList(AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS.getKey(), DETECTOR_ID)
+                    .put(AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS.getKey(), 0)
+                    .build()
+            );
+        AnomalyResult notFolded = result(DETECTOR_ID, "d", WINDOW_START_MS, 0.2, 0, null);
+        add(notFolded);
+        assertSame(notFolded, written.get(1));
+        // the lowered bound applies to the windows already open
+        summarizer.flushExpired((r, c) -> written.add(r));
+        assertEquals(4, written.size());
+        assertEquals(0, summarizer.getOpenWindows());
+        assertEquals(0, summaryBytes.get());
+    }
+
+    public void testFlushAllAndAccountMemory() {
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS, 0.2, 0, null));
+        long oneWindow = summaryBytes.get();
+        assertTrue(oneWindow > 0);
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + INTERVAL_MS, 0.4, 0, null));
+        add(result(DETECTOR_ID, "b", WINDOW_START_MS, 0.2, 0, null));
+        assertEquals(2 * oneWindow, summaryBytes.get());
+
+        // closing a window releases its bytes and the next window charges them again
+        add(result(DETECTOR_ID, "a", WINDOW_START_MS + HOUR_MS, 0.2, 0, null));
+        assertEquals(1, written.size());
+        assertEquals(2, written.get(0).getSummary().getCount());
+        assertEquals(2 * oneWindow, summaryBytes.get());
+
+        summarizer.flushAll((r, c) -> written.add(r));
+        assertEquals(3, written.size());
+        assertEquals(0, summarizer.getOpenWindows());
+        assertEquals(0, summaryBytes.get());
+    }
+
+    public void testConcurrentAddsKeepCap() throws InterruptedException {
+        clusterSettings
+            .applySettings(
+                Settings
+                    .builder()
+                    .putList(AnomalyDetectorSettings.SUMMARIZED_RESULT_DETECTORS.getKey(), DETECTOR_ID)
+                    .put(AnomalyDetectorSettings.MAX_RESULT_SUMMARY_WINDOWS.getKey(), 50)
+                    .build()
+            );
+        List<AnomalyResult> concurrentlyWritten = Collections.synchronizedList(new ArrayList<>());
+        int threads = 4;
+        int entitiesPerThread = 100;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                for (int i = 0; i < entitiesPerThread; i++) {
+                    summarizer
+                        .add(
+                            result(DETECTOR_ID, thread + "_" + i, WINDOW_START_MS, 0.2, 0, null),
+                            config,
+                            (r, c) -> concurrentlyWritten.add(r)
+                        );
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        // racing evictions may write a few windows more than needed, but never lose one
+        assertTrue(summarizer.getOpenWindows() <= 50);
+        assertEquals(threads * entitiesPerThread, concurrentlyWritten.size() + summarizer.getOpenWindows());
+
+        summarizer.flushAll((r, c) -> concurrentlyWritten.add(r));
+        assertEquals(threads * entitiesPerThread, concurrentlyWritten.size());
+        assertEquals(0, summarizer.getOpenWindows());
+        assertEquals(0, summaryBytes.get());
+    }
+}
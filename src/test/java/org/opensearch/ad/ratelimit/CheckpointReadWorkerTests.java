@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -38,6 +39,7 @@ import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.mockito.Mockito;
 import org.opensearch.OpenSearchException;
@@ -122,7 +124,8 @@ public class CheckpointReadWorkerTests extends AbstractRateLimitingTest {
                             .asList(
                                 AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_MAX_HEAP_PERCENT,
                                 AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_CONCURRENCY,
-                                AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_BATCH_SIZE
+                                AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_BATCH_SIZE,
+                                AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM
                             )
                     )
                 )
@@ -659,6 +662,28 @@ public class CheckpointReadWorkerTests extends AbstractRateLimitingTest {
         assertTrue(worker.isQueueEmpty());
     }
 
+    public void testQueueSize() {
+        // do nothing when putting a request to keep queues not empty
+        ExecutorService executorService = mock(ExecutorService.class);
+        when(threadPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME)).thenReturn(executorService);
+
+        assertEquals(0, worker.getQueueSize());
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        requests.add(request);
+        requests.add(request2);
+        worker.putAll(requests);
+        assertEquals(2, worker.getQueueSize());
+
+        // make RequestQueue.expired return true
+        when(clock.instant()).thenReturn(Instant.now().plusSeconds(TimeSeriesSettings.HOURLY_MAINTENANCE.getSeconds() + 1));
+
+        // removed the expired queue
+        worker.maintenance();
+
+        assertEquals(0, worker.getQueueSize());
+    }
+
     private void maintenanceSetup() {
         // do nothing when putting a request to keep queues not empty
         ExecutorService executorService = mock(ExecutorService.class);
@@ -952,4 +977,212 @@ public class CheckpointReadWorkerTests extends AbstractRateLimitingTest {
 
         verify(checkpointWriteQueue, times(1)).write(any(), anyBoolean(), eq(RequestPriority.LOW));
     }
+
+    private void enableParallelRestore() {
+        Settings newSettings = Settings
+            .builder()
+            .put(AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_RESTORE_PARALLELISM.getKey(), "4")
+            .build();
+        Settings.Builder target = Settings.builder();
+        clusterSettings.updateDynamicSettings(newSettings, target, Settings.builder(), "test");
+        clusterSettings.applySettings(target.build());
+    }
+
+    private MultiGetItemResponse foundCheckpoint(String modelId) {
+        return new MultiGetItemResponse(
+            new GetResponse(new GetResult(ADCommonName.CHECKPOINT_INDEX_NAME, modelId, 1, 1, 0, true, null, null, null)),
+            null
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testParallelRestore() {
+        enableParallelRestore();
+
+        String modelId1 = entity.getModelId(detectorId).get();
+        String modelId2 = entity2.getModelId(detectorId).get();
+        String modelId3 = entity3.getModelId(detectorId).get();
+
+        ModelState<ThresholdedRandomCutForest> state2 = MLUtil.randomModelState(new RandomModelStateConfig.Builder().fullModel(true).build());
+        when(checkpoint.processHCGetResponse(any(), eq(modelId1), anyString())).thenReturn(state);
+        when(checkpoint.processHCGetResponse(any(), eq(modelId2), anyString())).thenReturn(state2);
+        // corrupted checkpoint
+        when(checkpoint.processHCGetResponse(any(), eq(modelId3), anyString())).thenReturn(null);
+        when(modelManager.getResult(any(), any(), anyString(), any(), any())).thenReturn(new ThresholdingResult(0, 1, 1));
+
+        doAnswer(invocation -> {
+            MultiGetItemResponse[] items = new MultiGetItemResponse[3];
+            items[0] = foundCheckpoint(modelId1);
+            items[1] = foundCheckpoint(modelId2);
+            items[2] = foundCheckpoint(modelId3);
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new MultiGetResponse(items));
+            return null;
+        }).when(checkpoint).batchRead(any(), any());
+
+        request2 = new FeatureRequest(
+            clock.millis() + TimeUnit.MINUTES.toMillis(10),
+            detectorId,
+            RequestPriority.MEDIUM,
+            new double[] { 0 },
+            getSafeDataStartTimeMillis(state2),
+            entity2,
+            null
+        );
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        requests.add(request);
+        requests.add(request2);
+        requests.add(request3);
+        worker.putAll(requests);
+
+        verify(checkpoint, times(3)).processHCGetResponse(any(), anyString(), anyString());
+        // config is looked up once for the whole batch
+        verify(nodeStateManager, times(1)).getConfig(eq(detectorId), eq(AnalysisType.AD), any(boolean.class), any(ActionListener.class));
+        verify(coldstartQueue, times(1)).put(eq(request3));
+        verify(entityCache, times(2)).hostIfPossible(any(), any());
+        verify(resultWriteStrategy, times(2)).saveAllResults(any(), any(), any(), any(), anyString(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testParallelRestoreConfigFailure() {
+        enableParallelRestore();
+
+        doAnswer(invocation -> {
+            ActionListener<Optional<AnomalyDetector>> listener = invocation.getArgument(3);
+            listener.onFailure(new OpenSearchStatusException("blah", RestStatus.SERVICE_UNAVAILABLE));
+            return null;
+        }).when(nodeStateManager).getConfig(eq(detectorId), eq(AnalysisType.AD), any(boolean.class), any(ActionListener.class));
+
+        doAnswer(invocation -> {
+            MultiGetItemResponse[] items = new MultiGetItemResponse[2];
+            items[0] = foundCheckpoint(entity.getModelId(detectorId).get());
+            items[1] = foundCheckpoint(entity2.getModelId(detectorId).get());
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new MultiGetResponse(items));
+            return null;
+        }).when(checkpoint).batchRead(any(), any());
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        requests.add(request);
+        requests.add(request2);
+        worker.putAll(requests);
+
+        verify(nodeStateManager, times(1)).getConfig(eq(detectorId), eq(AnalysisType.AD), any(boolean.class), any(ActionListener.class));
+        verify(nodeStateManager, times(2)).setException(eq(detectorId), any(OpenSearchStatusException.class));
+        verify(coldstartQueue, never()).put(any());
+        verify(entityCache, never()).hostIfPossible(any(), any());
+    }
+
+    public void testParallelRestoreRetryable() {
+        enableParallelRestore();
+
+        AtomicBoolean retried = new AtomicBoolean();
+        doAnswer(invocation -> {
+            MultiGetItemResponse[] items = new MultiGetItemResponse[1];
+            if (retried.get()) {
+                items[0] = foundCheckpoint(entity.getModelId(detectorId).get());
+            } else {
+                retried.set(true);
+                items[0] = new MultiGetItemResponse(
+                    null,
+                    new MultiGetResponse.Failure(
+                        ADCommonName.CHECKPOINT_INDEX_NAME,
+                        entity.getModelId(detectorId).get(),
+                        new OpenSearchStatusException("blah", RestStatus.REQUEST_TIMEOUT)
+                    )
+                );
+            }
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new MultiGetResponse(items));
+            return null;
+        }).when(checkpoint).batchRead(any(), any());
+
+        worker.put(request);
+
+        // the retried request is read again and restored
+        verify(checkpoint, times(2)).batchRead(any(), any());
+        verify(coldstartQueue, never()).put(any());
+        verify(entityCache, times(1)).hostIfPossible(any(), any());
+    }
+
+    public void testParallelRestoreLanesAreBoundedPerBatch() {
+        enableParallelRestore();
+
+        String otherDetectorId = detectorId + "-other";
+        AnomalyDetector otherDetector = TestHelpers.randomAnomalyDetectorUsingCategoryFields(otherDetectorId, Arrays.asList(categoryField));
+        doAnswer(invocation -> {
+            ActionListener<Optional<AnomalyDetector>> listener = invocation.getArgument(3);
+            listener.onResponse(Optional.of(otherDetector));
+            return null;
+        }).when(nodeStateManager).getConfig(eq(otherDetectorId), eq(AnalysisType.AD), any(boolean.class), any(ActionListener.class));
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        List<MultiGetItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String configId = i % 2 == 0 ? detectorId : otherDetectorId;
+            Entity restored = Entity.createSingleAttributeEntity(categoryField, "value" + i);
+            requests
+                .add(
+                    new FeatureRequest(
+                        clock.millis() + TimeUnit.MINUTES.toMillis(10),
+                        configId,
+                        RequestPriority.MEDIUM,
+                        new double[] { 0 },
+                        0,
+                        restored,
+                        null
+                    )
+                );
+            items.add(foundCheckpoint(restored.getModelId(configId).get()));
+        }
+        when(checkpoint.processHCGetResponse(any(), anyString(), anyString())).thenReturn(null);
+        doAnswer(invocation -> {
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new MultiGetResponse(items.toArray(new MultiGetItemResponse[0])));
+            return null;
+        }).when(checkpoint).batchRead(any(), any());
+
+        ExecutorService executorService = threadPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME);
+        worker.putAll(requests);
+
+        verify(checkpoint, times(6)).processHCGetResponse(any(), anyString(), anyString());
+        verify(coldstartQueue, times(6)).put(any());
+        // the batch task, the response listener, the follow-up process call, and 4 lanes
+        // for the whole batch rather than 3 lanes for each of the two configs
+        verify(executorService, atMost(7)).execute(any(Runnable.class));
+    }
+
+    public void testRejectedRestoreLanesRequeueRequests() {
+        enableParallelRestore();
+
+        ExecutorService executorService = threadPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME);
+        AtomicInteger executions = new AtomicInteger();
+        doAnswer(invocation -> {
+            // the pool fills up once the batch task and its response listener are running
+            if (executions.incrementAndGet() > 2) {
+                throw new OpenSearchRejectedExecutionException("full");
+            }
+            Runnable runnable = invocation.getArgument(0);
+            runnable.run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+
+        doAnswer(invocation -> {
+            MultiGetItemResponse[] items = new MultiGetItemResponse[2];
+            items[0] = foundCheckpoint(entity.getModelId(detectorId).get());
+            items[1] = foundCheckpoint(entity2.getModelId(detectorId).get());
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new MultiGetResponse(items));
+            return null;
+        }).when(checkpoint).batchRead(any(), any());
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        requests.add(request);
+        requests.add(request2);
+        worker.putAll(requests);
+
+        verify(checkpoint, never()).processHCGetResponse(any(), anyString(), anyString());
+        assertTrue(worker.hasConfigIdInQueue(detectorId));
+    }
 }
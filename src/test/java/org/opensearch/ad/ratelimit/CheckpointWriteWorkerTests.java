@@ -13,6 +13,7 @@ package org.opensearch.ad.ratelimit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
@@ -39,12 +40,15 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.mockito.ArgumentCaptor;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkItemResponse.Failure;
+import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.ml.ADCheckpointDao;
 import org.opensearch.ad.model.AnomalyDetector;
@@ -151,6 +155,10 @@ public class CheckpointWriteWorkerTests extends AbstractRateLimitingTest {
         worker.write(state, true, RequestPriority.MEDIUM);
 
         verify(checkpoint, times(1)).batchWrite(any(), any());
+        // serialization runs on the checkpoint pool
+        verify(threadPool, times(1)).executor(TimeSeriesAnalyticsPlugin.CHECKPOINT_THREAD_POOL_NAME);
+        // the saved checkpoint restarts the delta
+        verify(checkpoint, times(1)).restartDelta(eq(state), any(), anyLong());
     }
 
     public void testTriggerSaveAll() {
@@ -187,6 +195,14 @@ public class CheckpointWriteWorkerTests extends AbstractRateLimitingTest {
 
         ThreadPool mockThreadPool = mock(ThreadPool.class);
         when(mockThreadPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME)).thenReturn(executorService);
+        // serialize right away
+        ExecutorService checkpointExecutor = mock(ExecutorService.class);
+        when(mockThreadPool.executor(TimeSeriesAnalyticsPlugin.CHECKPOINT_THREAD_POOL_NAME)).thenReturn(checkpointExecutor);
+        doAnswer(invocation -> {
+            Runnable runnable = invocation.getArgument(0);
+            runnable.run();
+            return null;
+        }).when(checkpointExecutor).execute(any(Runnable.class));
         doAnswer(invocation -> {
             Runnable runnable = () -> {
                 try {
@@ -308,6 +324,8 @@ public class CheckpointWriteWorkerTests extends AbstractRateLimitingTest {
         worker.write(state, true, RequestPriority.MEDIUM);
         // we don't retry checkpoint write
         verify(checkpoint, times(1)).batchWrite(any(), any());
+        // the delta keeps the samples the stored model misses
+        verify(checkpoint, never()).restartDelta(any(), any(), anyLong());
     }
 
     @SuppressWarnings("unchecked")
@@ -433,4 +451,20 @@ public class CheckpointWriteWorkerTests extends AbstractRateLimitingTest {
         worker.write(state, true, RequestPriority.MEDIUM);
         verify(checkpoint, never()).batchWrite(any(), any());
     }
+
+    public void testDeltaCheckpoint() throws IOException {
+        Map<String, Object> delta = new HashMap<>();
+        delta.put(CommonName.FIELD_MODEL_DELTA, new Object[0]);
+        when(checkpoint.toDeltaSource(any())).thenReturn(Optional.of(delta));
+        ArgumentCaptor<BulkRequest> requestCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+
+        worker.write(state, true, RequestPriority.MEDIUM);
+
+        verify(checkpoint, times(1)).batchWrite(requestCaptor.capture(), any());
+        verify(checkpoint, never()).toIndexSource(any());
+        UpdateRequest update = (UpdateRequest) requestCaptor.getValue().requests().get(0);
+        // a delta without its base model is useless
+        assertNull(update.upsertRequest());
+        assertTrue(update.doc().sourceAsMap().containsKey(CommonName.FIELD_MODEL_DELTA));
+    }
 }
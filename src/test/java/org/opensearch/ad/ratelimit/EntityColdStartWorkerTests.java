@@ -13,6 +13,7 @@ package org.opensearch.ad.ratelimit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -21,15 +22,19 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 
+import org.apache.commons.lang3.tuple.Triple;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.ad.caching.ADPriorityCache;
 import org.opensearch.ad.ml.ADColdStart;
 import org.opensearch.ad.ml.ADModelManager;
+import org.opensearch.ad.model.AnomalyResult;
 import org.opensearch.ad.settings.AnomalyDetectorSettings;
 import org.opensearch.ad.task.ADTaskManager;
 import org.opensearch.cluster.service.ClusterService;
@@ -40,6 +45,7 @@ import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.timeseries.breaker.CircuitBreakerService;
 import org.opensearch.timeseries.ml.ModelState;
+import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.ratelimit.FeatureRequest;
 import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
@@ -66,7 +72,8 @@ public class EntityColdStartWorkerTests extends AbstractRateLimitingTest {
                         Arrays
                             .asList(
                                 AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_MAX_HEAP_PERCENT,
-                                AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_CONCURRENCY
+                                AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_CONCURRENCY,
+                                AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE
                             )
                     )
                 )
@@ -77,8 +84,12 @@ public class EntityColdStartWorkerTests extends AbstractRateLimitingTest {
 
         cacheProvider = mock(ADPriorityCache.class);
 
+        worker = createWorker(Settings.EMPTY);
+    }
+
+    private ADColdStartWorker createWorker(Settings settings) {
         // Integer.MAX_VALUE makes a huge heap
-        worker = new ADColdStartWorker(
+        return new ADColdStartWorker(
             Integer.MAX_VALUE,
             TimeSeriesSettings.FEATURE_REQUEST_SIZE_IN_BYTES,
             AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_MAX_HEAP_PERCENT,
@@ -86,7 +97,7 @@ public class EntityColdStartWorkerTests extends AbstractRateLimitingTest {
             new Random(42),
             mock(CircuitBreakerService.class),
             threadPool,
-            Settings.EMPTY,
+            settings,
             TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
             clock,
             TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
@@ -198,4 +209,29 @@ public class EntityColdStartWorkerTests extends AbstractRateLimitingTest {
 
         verify(cacheProvider, times(1)).hostIfPossible(any(), any());
     }
+
+    @SuppressWarnings("unchecked")
+    public void testBatchedColdStart() {
+        worker = createWorker(Settings.builder().put(AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_BATCH_SIZE.getKey(), 10).build());
+
+        List<FeatureRequest> requests = new ArrayList<>();
+        for (Entity requestEntity : Arrays.asList(entity, entity2, entity3)) {
+            requests
+                .add(new FeatureRequest(Long.MAX_VALUE, detectorId, RequestPriority.MEDIUM, new double[] { 0 }, 0, requestEntity, null));
+        }
+
+        doAnswer(invocation -> {
+            List<Triple<FeatureRequest, ModelState<ThresholdedRandomCutForest>, ActionListener<List<AnomalyResult>>>> toTrain = invocation
+                .getArgument(1);
+            for (Triple<FeatureRequest, ModelState<ThresholdedRandomCutForest>, ActionListener<List<AnomalyResult>>> request : toTrain) {
+                request.getRight().onResponse(null);
+            }
+            return null;
+        }).when(entityColdStarter).trainModels(anyString(), any());
+
+        worker.putAll(requests);
+
+        verify(entityColdStarter, times(1)).trainModels(eq(detectorId), argThat(toTrain -> toTrain.size() == 3));
+        verify(entityColdStarter, never()).trainModel(any(), anyString(), any(), any());
+    }
 }
@@ -44,6 +44,7 @@ import org.opensearch.ad.transport.handler.ADIndexMemoryPressureAwareResultHandl
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.core.rest.RestStatus;
@@ -140,6 +141,33 @@ public class ResultWriteWorkerTests extends AbstractRateLimitingTest {
         verify(resultHandler, times(1)).flush(any(), any());
     }
 
+    public void testWriteAndWait() {
+        doAnswer(invocation -> {
+            ActionListener<ResultBulkResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new ResultBulkResponse());
+            return null;
+        }).when(resultHandler).flush(any(), any());
+
+        List<ADResultWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new ADResultWriteRequest(Long.MAX_VALUE, detectorId, RequestPriority.MEDIUM, detectResult, null, null));
+        }
+
+        assertEquals(3, resultWriteQueue.writeAndWait(requests, TimeValue.timeValueSeconds(10)));
+        // one bulk of the batch size, without going through the queue
+        verify(resultHandler, times(1)).flush(any(), any());
+        assertTrue(resultWriteQueue.isQueueEmpty());
+    }
+
+    public void testWriteAndWaitTimesOut() {
+        // the bulk never returns
+        List<ADResultWriteRequest> requests = new ArrayList<>();
+        requests.add(new ADResultWriteRequest(Long.MAX_VALUE, detectorId, RequestPriority.MEDIUM, detectResult, null, null));
+
+        assertEquals(0, resultWriteQueue.writeAndWait(requests, TimeValue.timeValueMillis(10)));
+        verify(resultHandler, times(1)).flush(any(), any());
+    }
+
     public void testSingleRetryRequest() throws IOException {
         List<IndexRequest> retryRequests = new ArrayList<>();
         try (XContentBuilder builder = jsonBuilder()) {
@@ -41,12 +41,15 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.ml.ModelManager;
 import org.opensearch.timeseries.ml.ModelState;
+import org.opensearch.timeseries.stats.LatencyStage;
 import org.opensearch.timeseries.stats.StatNames;
 import org.opensearch.timeseries.stats.TimeSeriesStat;
 import org.opensearch.timeseries.stats.suppliers.CounterSupplier;
 import org.opensearch.timeseries.stats.suppliers.IndexStatusSupplier;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 import org.opensearch.timeseries.util.IndexUtils;
 
 import com.amazon.randomcutforest.RandomCutForest;
@@ -227,4 +230,19 @@ public class ADStatsTests extends OpenSearchTestCase {
         }
     }
 
+    @Test
+    public void testRecordLatency() {
+        LatencySupplier resultWrite = new LatencySupplier();
+        Map<String, TimeSeriesStat<?>> latencyStats = new HashMap<>();
+        latencyStats.put(StatNames.AD_RESULT_WRITE_LATENCY.getName(), new TimeSeriesStat<>(false, resultWrite));
+        ADStats stats = new ADStats(latencyStats);
+
+        stats.recordLatency(LatencyStage.RESULT_WRITE, AnalysisType.AD, System.nanoTime());
+        // forecast and unregistered stages are ignored
+        stats.recordLatency(LatencyStage.RESULT_WRITE, AnalysisType.FORECAST, System.nanoTime());
+        stats.recordLatency(LatencyStage.COLD_START, AnalysisType.AD, System.nanoTime());
+
+        assertEquals(1L, resultWrite.get().get(LatencySupplier.COUNT));
+    }
+
 }
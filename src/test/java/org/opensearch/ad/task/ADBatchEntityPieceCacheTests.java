@@ -0,0 +1,231 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.model.Entity;
+
+public class ADBatchEntityPieceCacheTests extends OpenSearchTestCase {
+    private static final String DETECTOR_TASK_ID = "detectorTask";
+    private static final long PIECE_LENGTH = 100;
+
+    private Clock clock;
+    private MemoryTracker memoryTracker;
+    private ADBatchEntityPieceCache cache;
+    private Entity a;
+    private Entity b;
+    private Entity c;
+    private List<Entity> singleFetches;
+    private List<Collection<Entity>> groupFetches;
+    private List<ActionListener<Map<Entity, Map<Long, Optional<double[]>>>>> groupListeners;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        memoryTracker = mock(MemoryTracker.class);
+        cache = new ADBatchEntityPieceCache(clock, memoryTracker);
+        a = Entity.createSingleAttributeEntity("host", "a");
+        b = Entity.createSingleAttributeEntity("host", "b");
+        c = Entity.createSingleAttributeEntity("host", "c");
+        singleFetches = new ArrayList<>();
+        groupFetches = new ArrayList<>();
+        groupListeners = new ArrayList<>();
+    }
+
+    private AtomicReference<Map<Long, Optional<double[]>>> getPiece(Entity entity, long start, int groupSize) {
+        AtomicReference<Map<Long, Optional<double[]>>> result = new AtomicReference<>();
+        cache.getPiece(DETECTOR_TASK_ID, entity, start, start + PIECE_LENGTH, PIECE_LENGTH, groupSize, (s, e, listener) -> {
+            singleFetches.add(entity);
+            listener.onResponse(dataOf(entity, s));
+        }, (entities, s, e, listener) -> {
+            groupFetches.add(entities);
+            groupListeners.add(listener);
+        }, ActionListener.wrap(result::set, e -> fail()));
+        return result;
+    }
+
+    private static Map<Long, Optional<double[]>> dataOf(Entity entity, long start) {
+        Map<Long, Optional<double[]>> points = new HashMap<>();
+        points.put(start, Optional.of(new double[] { entity.toString().length() }));
+        return points;
+    }
+
+    public void testShareQueryAmongTasks() {
+        // first piece of each task: nobody is known to be behind yet
+        getPiece(a, 0, 10);
+        getPiece(b, 0, 10);
+        getPiece(c, 0, 10);
+        assertEquals(3, singleFetches.size());
+
+        // a leads and queries the next piece for b and c as well
+        AtomicReference<Map<Long, Optional<double[]>>> resultA = getPiece(a, 100, 10);
+        assertEquals(1, groupFetches.size());
+        assertEquals(3, groupFetches.get(0).size());
+        assertNull(resultA.get());
+
+        // b asks while the query is running
+        AtomicReference<Map<Long, Optional<double[]>>> resultB = getPiece(b, 100, 10);
+        assertNull(resultB.get());
+
+        Map<Entity, Map<Long, Optional<double[]>>> groupData = new HashMap<>();
+        groupData.put(a, dataOf(a, 100));
+        groupData.put(b, dataOf(b, 100));
+        // c has no data in the piece
+        groupListeners.get(0).onResponse(groupData);
+        assertTrue(resultA.get().containsKey(100L));
+        assertTrue(resultB.get().containsKey(100L));
+        assertEquals(1, cache.getCachedPieces());
+
+        // c asks after the query returned
+        AtomicReference<Map<Long, Optional<double[]>>> resultC = getPiece(c, 100, 10);
+        assertTrue(resultC.get().isEmpty());
+        assertEquals(3, singleFetches.size());
+        assertEquals(1, groupFetches.size());
+        assertEquals(0, cache.getCachedPieces());
+    }
+
+    public void testGroupSizeLimit() {
+        getPiece(a, 0, 2);
+        getPiece(b, 0, 2);
+        getPiece(c, 0, 2);
+        getPiece(a, 100, 2);
+        assertEquals(2, groupFetches.get(0).size());
+
+        getPiece(a, 200, 1);
+        // group size 1 queries the entity alone
+        assertEquals(4, singleFetches.size());
+    }
+
+    public void testReleaseAndExpire() {
+        getPiece(a, 0, 10);
+        getPiece(b, 0, 10);
+        getPiece(a, 100, 10);
+        groupListeners.get(0).onResponse(new HashMap<>());
+        assertEquals(1, cache.getCachedPieces());
+
+        // b's task ended before taking its data
+        cache.release(DETECTOR_TASK_ID, b);
+        assertEquals(0, cache.getCachedPieces());
+
+        getPiece(c, 100, 10);
+        getPiece(a, 200, 10);
+        groupListeners.get(1).onResponse(new HashMap<>());
+        assertEquals(1, cache.getCachedPieces());
+        when(clock.millis()).thenReturn(ADBatchEntityPieceCache.EXPIRATION.toMillis() + 1);
+        getPiece(a, 300, 1);
+        assertEquals(0, cache.getCachedPieces());
+    }
+
+    public void testGroupQueryFailure() {
+        getPiece(a, 0, 10);
+        getPiece(b, 0, 10);
+        AtomicReference<Exception> failureA = new AtomicReference<>();
+        cache
+            .getPiece(
+                DETECTOR_TASK_ID,
+                a,
+                100,
+                200,
+                PIECE_LENGTH,
+                10,
+                (s, e, listener) -> fail(),
+                (entities, s, e, listener) -> listener.onFailure(new IllegalArgumentException("bad query")),
+                ActionListener.wrap(r -> fail(), failureA::set)
+            );
+        assertEquals("bad query", failureA.get().getMessage());
+        assertEquals(0, cache.getCachedPieces());
+
+        // b fetches the piece itself
+        getPiece(b, 100, 10);
+        assertEquals(3, singleFetches.size());
+    }
+
+    public void testLateEntityDoesNotReplaceGroupInFlight() {
+        Entity d = Entity.createSingleAttributeEntity("host", "d");
+        getPiece(a, 0, 2);
+        getPiece(b, 0, 2);
+        getPiece(c, 0, 2);
+        getPiece(d, 0, 2);
+        // the group is capped at a and b
+        AtomicReference<Map<Long, Optional<double[]>>> resultA = getPiece(a, 100, 2);
+        assertEquals(1, groupFetches.size());
+        assertEquals(2, groupFetches.get(0).size());
+
+        // c is not in the group and could lead a group with d, but fetches alone while the query runs
+        AtomicReference<Map<Long, Optional<double[]>>> resultC = getPiece(c, 100, 2);
+        assertTrue(resultC.get().containsKey(100L));
+        assertEquals(5, singleFetches.size());
+        assertEquals(1, groupFetches.size());
+        assertEquals(1, cache.getCachedPieces());
+
+        AtomicReference<Map<Long, Optional<double[]>>> resultB = getPiece(b, 100, 2);
+        assertNull(resultB.get());
+
+        Map<Entity, Map<Long, Optional<double[]>>> groupData = new HashMap<>();
+        groupData.put(a, dataOf(a, 100));
+        groupData.put(b, dataOf(b, 100));
+        groupListeners.get(0).onResponse(groupData);
+        assertTrue(resultA.get().containsKey(100L));
+        assertTrue(resultB.get().containsKey(100L));
+        assertEquals(0, cache.getCachedPieces());
+    }
+
+    public void testWaitingPiecesAreChargedToMemoryTracker() {
+        getPiece(a, 0, 10);
+        getPiece(b, 0, 10);
+        getPiece(c, 0, 10);
+        getPiece(a, 100, 10);
+
+        Map<Entity, Map<Long, Optional<double[]>>> groupData = new HashMap<>();
+        groupData.put(a, dataOf(a, 100));
+        groupData.put(b, dataOf(b, 100));
+        groupData.put(c, dataOf(c, 100));
+        long bytes = ADBatchEntityPieceCache.estimateBytes(groupData);
+        assertTrue(bytes > 0);
+        groupListeners.get(0).onResponse(groupData);
+        verify(memoryTracker, times(1)).consumeMemory(bytes, false, MemoryTracker.Origin.HISTORICAL_ENTITY_PIECE);
+
+        // still waiting for c
+        getPiece(b, 100, 10);
+        verify(memoryTracker, never()).releaseMemory(anyLong(), anyBoolean(), any());
+
+        getPiece(c, 100, 10);
+        assertEquals(0, cache.getCachedPieces());
+        verify(memoryTracker, times(1)).releaseMemory(bytes, false, MemoryTracker.Origin.HISTORICAL_ENTITY_PIECE);
+
+        // an expired piece gives its memory back too
+        getPiece(a, 200, 10);
+        groupData.remove(a);
+        long expiredBytes = ADBatchEntityPieceCache.estimateBytes(groupData);
+        groupListeners.get(1).onResponse(groupData);
+        when(clock.millis()).thenReturn(ADBatchEntityPieceCache.EXPIRATION.toMillis() + 1);
+        getPiece(a, 300, 1);
+        assertEquals(0, cache.getCachedPieces());
+        verify(memoryTracker, times(1)).releaseMemory(expiredBytes, false, MemoryTracker.Origin.HISTORICAL_ENTITY_PIECE);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ADBatchTaskPipelineTests extends OpenSearchTestCase {
+
+    private static class RecordingFetcher implements ADBatchTaskPipeline.PieceFetcher {
+        private final List<Long> starts = new ArrayList<>();
+        private final List<ActionListener<Map<Long, Optional<double[]>>>> listeners = new ArrayList<>();
+
+        @Override
+        public void fetch(long startTime, long endTime, ActionListener<Map<Long, Optional<double[]>>> listener) {
+            starts.add(startTime);
+            listeners.add(listener);
+        }
+
+        void respond(int i, long key) {
+            listeners.get(i).onResponse(Collections.singletonMap(key, Optional.of(new double[] { key })));
+        }
+    }
+
+    public void testTakePrefetchedPiece() {
+        ADBatchTaskPipeline pipeline = new ADBatchTaskPipeline(2);
+        RecordingFetcher fetcher = new RecordingFetcher();
+        pipeline.prefetch(10, 20, fetcher);
+        pipeline.prefetch(20, 30, fetcher);
+        // already in flight
+        pipeline.prefetch(10, 20, fetcher);
+        assertEquals(List.of(10L, 20L), fetcher.starts);
+        assertEquals(2, pipeline.getPrefetchedPieces());
+
+        // completed before taken
+        fetcher.respond(0, 10);
+        AtomicReference<Map<Long, Optional<double[]>>> first = new AtomicReference<>();
+        pipeline.take(10, 20, fetcher, ActionListener.wrap(first::set, e -> fail()));
+        assertTrue(first.get().containsKey(10L));
+
+        // taken before completed
+        AtomicReference<Map<Long, Optional<double[]>>> second = new AtomicReference<>();
+        pipeline.take(20, 30, fetcher, ActionListener.wrap(second::set, e -> fail()));
+        assertNull(second.get());
+        fetcher.respond(1, 20);
+        assertTrue(second.get().containsKey(20L));
+
+        assertEquals(2, fetcher.starts.size());
+        assertEquals(0, pipeline.getPrefetchedPieces());
+    }
+
+    public void testStalePiecesAreDropped() {
+        ADBatchTaskPipeline pipeline = new ADBatchTaskPipeline(2);
+        RecordingFetcher fetcher = new RecordingFetcher();
+        pipeline.prefetch(10, 20, fetcher);
+        pipeline.prefetch(20, 30, fetcher);
+
+        // piece size changed: a piece with a different end is fetched again and earlier pieces are dropped
+        pipeline.take(20, 40, fetcher, ActionListener.wrap(r -> {}, e -> fail()));
+        assertEquals(List.of(10L, 20L, 20L), fetcher.starts);
+        assertEquals(0, pipeline.getPrefetchedPieces());
+    }
+
+    public void testPrefetchFailure() {
+        ADBatchTaskPipeline pipeline = new ADBatchTaskPipeline(1);
+        RecordingFetcher fetcher = new RecordingFetcher();
+        pipeline.prefetch(10, 20, fetcher);
+        fetcher.listeners.get(0).onFailure(new IllegalArgumentException("bad query"));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        pipeline.take(10, 20, fetcher, ActionListener.wrap(r -> fail(), failure::set));
+        assertEquals("bad query", failure.get().getMessage());
+    }
+
+    public void testBoundedOutstandingBulks() {
+        ADBatchTaskPipeline pipeline = new ADBatchTaskPipeline(2);
+        AtomicInteger nextPieces = new AtomicInteger();
+        ActionListener<BulkResponse> first = pipeline.startBulk();
+        pipeline.whenBulkSlotAvailable(nextPieces::incrementAndGet, e -> fail());
+        assertEquals(1, nextPieces.get());
+
+        ActionListener<BulkResponse> second = pipeline.startBulk();
+        pipeline.whenBulkSlotAvailable(nextPieces::incrementAndGet, e -> fail());
+        // two bulks are outstanding
+        assertEquals(1, nextPieces.get());
+        first.onResponse(null);
+        assertEquals(2, nextPieces.get());
+
+        AtomicInteger done = new AtomicInteger();
+        pipeline.whenAllBulksDone(done::incrementAndGet, e -> fail());
+        assertEquals(0, done.get());
+        second.onResponse(null);
+        assertEquals(1, done.get());
+        assertEquals(0, pipeline.getOutstandingBulks());
+    }
+
+    public void testBulkFailureStopsPipeline() {
+        ADBatchTaskPipeline pipeline = new ADBatchTaskPipeline(2);
+        ActionListener<BulkResponse> bulk = pipeline.startBulk();
+        bulk.onFailure(new IllegalStateException("index closed"));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        pipeline.whenBulkSlotAvailable(() -> fail(), failure::set);
+        assertEquals("index closed", failure.get().getMessage());
+
+        failure.set(null);
+        pipeline.whenAllBulksDone(() -> fail(), failure::set);
+        assertEquals("index closed", failure.get().getMessage());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.ad.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ADTopEntitySliceSearchTests extends OpenSearchTestCase {
+
+    private List<long[]> slices(int count) {
+        List<long[]> slices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            slices.add(new long[] { i * 10L, (i + 1) * 10L });
+        }
+        return slices;
+    }
+
+    public void testMergeInSliceOrder() {
+        List<ActionListener<List<String>>> inFlight = new ArrayList<>();
+        List<Long> searched = new ArrayList<>();
+        List<String> merged = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        new ADTopEntitySliceSearch(slices(5), 2, (start, end, listener) -> {
+            searched.add(start);
+            inFlight.add(listener);
+        }, () -> {}, merged::addAll, ActionListener.wrap(r -> done.set(true), e -> fail())).start();
+
+        // bounded by concurrency
+        assertEquals(List.of(0L, 10L), searched);
+
+        // the second slice returns first and waits for the first one
+        inFlight.get(1).onResponse(List.of("b"));
+        assertTrue(merged.isEmpty());
+        assertEquals(List.of(0L, 10L, 20L), searched);
+
+        inFlight.get(0).onResponse(List.of("a"));
+        assertEquals(List.of("a", "b"), merged);
+        assertEquals(List.of(0L, 10L, 20L, 30L), searched);
+
+        inFlight.get(3).onResponse(List.of("d"));
+        inFlight.get(2).onResponse(Collections.emptyList());
+        assertEquals(List.of(0L, 10L, 20L, 30L, 40L), searched);
+        assertFalse(done.get());
+
+        inFlight.get(4).onResponse(List.of("e"));
+        assertEquals(List.of("a", "b", "d", "e"), merged);
+        assertTrue(done.get());
+    }
+
+    public void testStopOnFailure() {
+        List<ActionListener<List<String>>> inFlight = new ArrayList<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        new ADTopEntitySliceSearch(
+            slices(4),
+            2,
+            (start, end, listener) -> inFlight.add(listener),
+            () -> {},
+            entities -> {},
+            ActionListener.wrap(r -> fail(), failure::set)
+        ).start();
+
+        inFlight.get(0).onFailure(new IllegalStateException("search failed"));
+        assertEquals("search failed", failure.get().getMessage());
+        // no more slices after a failure
+        inFlight.get(1).onResponse(List.of("a"));
+        assertEquals(2, inFlight.size());
+    }
+
+    public void testCancelled() {
+        List<Long> searched = new ArrayList<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        new ADTopEntitySliceSearch(slices(3), 3, (start, end, listener) -> {
+            searched.add(start);
+            listener.onResponse(List.of("a"));
+        }, () -> {
+            if (searched.size() == 1) {
+                throw new IllegalStateException("cancelled");
+            }
+        }, entities -> {}, ActionListener.wrap(r -> fail(), failure::set)).start();
+
+        assertEquals("cancelled", failure.get().getMessage());
+        assertEquals(1, searched.size());
+    }
+}
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.junit.Before;
@@ -49,10 +50,12 @@ import org.opensearch.timeseries.ml.ModelManager;
 import org.opensearch.timeseries.ml.ModelState;
 import org.opensearch.timeseries.model.Entity;
 import org.opensearch.timeseries.stats.StatNames;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
 import org.opensearch.timeseries.transport.StatsNodeRequest;
 import org.opensearch.timeseries.transport.StatsNodeResponse;
 import org.opensearch.timeseries.transport.StatsNodesResponse;
 import org.opensearch.timeseries.transport.StatsRequest;
+import org.opensearch.timeseries.transport.StatsResponse;
 
 import com.amazon.randomcutforest.parkservices.ThresholdedRandomCutForest;
 import com.google.gson.JsonArray;
@@ -270,4 +273,35 @@ public class ADStatsTests extends OpenSearchTestCase {
         String readJson = readRequest.toXContent(builder.startObject(), ToXContent.EMPTY_PARAMS).endObject().toString();
         assertEquals("Serialization fails", readJson, json);
     }
+
+    @Test
+    public void testLatencyStatsResponse() throws IOException, JsonPathNotFoundException {
+        String statName = StatNames.AD_CHECKPOINT_READ_LATENCY.getName();
+        LatencySupplier latency = new LatencySupplier();
+        latency.record(TimeUnit.MILLISECONDS.toNanos(4));
+        latency.record(TimeUnit.MILLISECONDS.toNanos(20));
+        Map<String, Object> nodeStats = new HashMap<>();
+        nodeStats.put(statName, latency.get());
+
+        // the histogram survives the transport so that the coordinating node can merge it
+        BytesStreamOutput output = new BytesStreamOutput();
+        new StatsNodeResponse(discoveryNode1, nodeStats).writeTo(output);
+        StatsNodeResponse readResponse = StatsNodeResponse.readStats(output.bytes().streamInput());
+        assertTrue(LatencySupplier.isLatency(readResponse.getStatsMap().get(statName)));
+
+        StatsResponse statsResponse = new StatsResponse();
+        statsResponse.setClusterStats(clusterStats);
+        statsResponse
+            .setStatsNodesResponse(
+                new StatsNodesResponse(new ClusterName(clusterName), Collections.singletonList(readResponse), Collections.emptyList())
+            );
+        XContentBuilder builder = jsonBuilder();
+        String json = statsResponse.toXContent(builder).toString();
+
+        // cluster level latency merged from the node histograms
+        assertEquals(2, JsonDeserializer.getLongValue(json, statName, LatencySupplier.COUNT));
+        assertEquals(20.0, JsonDeserializer.getDoubleValue(json, statName, LatencySupplier.MAX), 0.0);
+        assertEquals(2, JsonDeserializer.getLongValue(json, "nodes", node1, statName, LatencySupplier.COUNT));
+        assertFalse(json.contains(LatencySupplier.BUCKETS));
+    }
 }
@@ -33,12 +33,16 @@ import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.AfterClass;
@@ -69,15 +73,19 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AbstractTimeSeriesTest;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.NodeStateManager;
 import org.opensearch.timeseries.TestHelpers;
+import org.opensearch.timeseries.TimeSeriesAnalyticsPlugin;
 import org.opensearch.timeseries.breaker.CircuitBreakerService;
 import org.opensearch.timeseries.common.exception.EndRunException;
 import org.opensearch.timeseries.common.exception.LimitExceededException;
@@ -577,4 +585,157 @@ public class EntityResultTransportActionTests extends AbstractTimeSeriesTest {
         verify(coldEntityQueue)
             .putAll(argThat(requests -> { return requests.size() == 1 && requests.get(0).getPriority() == RequestPriority.LOW; }));
     }
+
+    public void testManyEntitiesProcessedInChunks() {
+        ThreadPool multiThreadPool = new TestThreadPool(
+            "testManyEntitiesProcessedInChunks",
+            new FixedExecutorBuilder(
+                Settings.EMPTY,
+                TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME,
+                4,
+                1000,
+                "opensearch.ad." + TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME
+            )
+        );
+        try {
+            int numEntities = 100;
+            Map<Entity, double[]> manyEntities = new HashMap<>();
+            for (int i = 0; i < numEntities; i++) {
+                Entity entity = Entity.createSingleAttributeEntity(detector.getCategoryFields().get(0), "10.0.0." + i);
+                manyEntities.put(entity, new double[] { i });
+            }
+            // every entity misses the cache and is cold
+            when(entityCache.selectUpdateCandidate(any(), anyString(), any())).thenAnswer(invocation -> {
+                Collection<Entity> cacheMisses = invocation.getArgument(0);
+                return Pair.of(new ArrayList<Entity>(), new ArrayList<>(cacheMisses));
+            });
+
+            TestEntityADResultTransportAction chunkedResult = new TestEntityADResultTransportAction(
+                actionFilters,
+                transportService,
+                adCircuitBreakerService,
+                provider,
+                stateManager,
+                indexUtil,
+                checkpointReadQueue,
+                coldEntityQueue,
+                multiThreadPool,
+                inferencer
+            );
+
+            PlainActionFuture<AcknowledgedResponse> future = PlainActionFuture.newFuture();
+            chunkedResult
+                .doExecuteForTest(null, new EntityResultRequest(detectorId, manyEntities, start, end, AnalysisType.AD, null), future);
+            future.actionGet(timeoutMs);
+
+            verify(coldEntityQueue).putAll(argThat(requests -> requests.size() == numEntities));
+            verify(entityCache, times(1)).selectUpdateCandidate(any(), anyString(), any());
+        } finally {
+            assertTrue(ThreadPool.terminate(multiThreadPool, 60, TimeUnit.SECONDS));
+        }
+    }
+
+    public void testRejectedChunksStillComplete() {
+        ThreadPool rejectingPool = mock(ThreadPool.class);
+        ExecutorService executor = mock(ExecutorService.class);
+        when(rejectingPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME)).thenReturn(executor);
+        when(rejectingPool.info(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME))
+            .thenReturn(new ThreadPool.Info(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME, ThreadPool.ThreadPoolType.FIXED, 4));
+        AtomicInteger executions = new AtomicInteger();
+        doAnswer(invocation -> {
+            // the config lookup runs, every extra chunk is rejected
+            if (executions.getAndIncrement() > 0) {
+                throw new OpenSearchRejectedExecutionException("rejected");
+            }
+            Runnable runnable = invocation.getArgument(0);
+            runnable.run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        int numEntities = 100;
+        Map<Entity, double[]> manyEntities = new HashMap<>();
+        for (int i = 0; i < numEntities; i++) {
+            Entity entity = Entity.createSingleAttributeEntity(detector.getCategoryFields().get(0), "10.0.0." + i);
+            manyEntities.put(entity, new double[] { i });
+        }
+        when(entityCache.selectUpdateCandidate(any(), anyString(), any())).thenAnswer(invocation -> {
+            Collection<Entity> cacheMisses = invocation.getArgument(0);
+            return Pair.of(new ArrayList<Entity>(), new ArrayList<>(cacheMisses));
+        });
+
+        TestEntityADResultTransportAction rejectedResult = new TestEntityADResultTransportAction(
+            actionFilters,
+            transportService,
+            adCircuitBreakerService,
+            provider,
+            stateManager,
+            indexUtil,
+            checkpointReadQueue,
+            coldEntityQueue,
+            rejectingPool,
+            inferencer
+        );
+
+        PlainActionFuture<AcknowledgedResponse> future = PlainActionFuture.newFuture();
+        rejectedResult.doExecuteForTest(null, new EntityResultRequest(detectorId, manyEntities, start, end, AnalysisType.AD, null), future);
+        future.actionGet(timeoutMs);
+
+        assertTrue(executions.get() > 1);
+        verify(coldEntityQueue).putAll(argThat(requests -> requests.size() == numEntities));
+    }
+
+    public void testEntityFailingAfterCompletingCountsOnce() {
+        ThreadPool multiThreadPool = new TestThreadPool(
+            "testEntityFailingAfterCompletingCountsOnce",
+            new FixedExecutorBuilder(
+                Settings.EMPTY,
+                TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME,
+                4,
+                1000,
+                "opensearch.ad." + TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME
+            )
+        );
+        try {
+            int numEntities = 100;
+            Map<Entity, double[]> manyEntities = new HashMap<>();
+            for (int i = 0; i < numEntities; i++) {
+                Entity entity = Entity.createSingleAttributeEntity(detector.getCategoryFields().get(0), "10.0.0." + i);
+                manyEntities.put(entity, new double[] { i });
+            }
+            // every entity hits the cache and its inference throws after completing its listener
+            @SuppressWarnings("unchecked")
+            ModelState<ThresholdedRandomCutForest> state = mock(ModelState.class);
+            when(entityCache.get(anyString(), any())).thenReturn(state);
+            when(entityCache.selectUpdateCandidate(any(), anyString(), any())).thenReturn(Pair.of(new ArrayList<>(), new ArrayList<>()));
+            ADRealTimeInferencer throwingInferencer = mock(ADRealTimeInferencer.class);
+            doAnswer(invocation -> {
+                ActionListener<Boolean> listener = invocation.getArgument(4);
+                listener.onResponse(true);
+                throw new IllegalStateException("fails after completing");
+            }).when(throwingInferencer).process(any(), any(), any(), any(), any());
+
+            TestEntityADResultTransportAction chunkedResult = new TestEntityADResultTransportAction(
+                actionFilters,
+                transportService,
+                adCircuitBreakerService,
+                provider,
+                stateManager,
+                indexUtil,
+                checkpointReadQueue,
+                coldEntityQueue,
+                multiThreadPool,
+                throwingInferencer
+            );
+
+            PlainActionFuture<AcknowledgedResponse> future = PlainActionFuture.newFuture();
+            chunkedResult
+                .doExecuteForTest(null, new EntityResultRequest(detectorId, manyEntities, start, end, AnalysisType.AD, null), future);
+            future.actionGet(timeoutMs);
+
+            // an entity counted twice would merge the cache misses before every chunk is done
+            verify(entityCache, times(1)).selectUpdateCandidate(any(), anyString(), any());
+        } finally {
+            assertTrue(ThreadPool.terminate(multiThreadPool, 60, TimeUnit.SECONDS));
+        }
+    }
 }
@@ -0,0 +1,1104 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.ad.transport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.lucene.tests.util.TimeUnits;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkAction;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetAction;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponse.Clusters;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.ad.caching.ADCacheProvider;
+import org.opensearch.ad.caching.ADPriorityCache;
+import org.opensearch.ad.constant.ADCommonName;
+import org.opensearch.ad.indices.ADIndexManagement;
+import org.opensearch.ad.ml.ADCheckpointDao;
+import org.opensearch.ad.ml.ADColdStart;
+import org.opensearch.ad.ml.ADModelManager;
+import org.opensearch.ad.ml.ADRealTimeInferencer;
+import org.opensearch.ad.ml.HybridThresholdingModel;
+import org.opensearch.ad.model.AnomalyDetector;
+import org.opensearch.ad.ratelimit.ADCheckpointMaintainWorker;
+import org.opensearch.ad.ratelimit.ADCheckpointReadWorker;
+import org.opensearch.ad.ratelimit.ADCheckpointWriteWorker;
+import org.opensearch.ad.ratelimit.ADColdEntityWorker;
+import org.opensearch.ad.ratelimit.ADColdStartWorker;
+import org.opensearch.ad.ratelimit.ADResultWriteWorker;
+import org.opensearch.ad.ratelimit.ADSaveResultStrategy;
+import org.opensearch.ad.settings.AnomalyDetectorSettings;
+import org.opensearch.ad.stats.ADStats;
+import org.opensearch.ad.task.ADTaskManager;
+import org.opensearch.ad.transport.handler.ADIndexMemoryPressureAwareResultHandler;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.engine.DocumentMissingException;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.monitor.jvm.JvmInfo;
+import org.opensearch.monitor.jvm.JvmService;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.metrics.InternalMin;
+import org.opensearch.secure_sm.AccessController;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.timeseries.AbstractTimeSeriesTest;
+import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.MemoryTracker;
+import org.opensearch.timeseries.NodeStateManager;
+import org.opensearch.timeseries.TestHelpers;
+import org.opensearch.timeseries.TimeSeriesAnalyticsPlugin;
+import org.opensearch.timeseries.breaker.CircuitBreakerService;
+import org.opensearch.timeseries.constant.CommonValue;
+import org.opensearch.timeseries.dataprocessor.LinearUniformImputer;
+import org.opensearch.timeseries.feature.CompositeRetriever;
+import org.opensearch.timeseries.feature.FeatureManager;
+import org.opensearch.timeseries.feature.SearchFeatureDao;
+import org.opensearch.timeseries.ml.ModelState;
+import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+import org.opensearch.timeseries.ratelimit.RateLimitedRequestWorker;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.stats.LatencyStage;
+import org.opensearch.timeseries.stats.StatNames;
+import org.opensearch.timeseries.stats.TimeSeriesStat;
+import org.opensearch.timeseries.stats.suppliers.CounterSupplier;
+import org.opensearch.timeseries.stats.suppliers.LatencySupplier;
+import org.opensearch.timeseries.transport.EntityResultRequest;
+import org.opensearch.timeseries.util.ClientUtil;
+import org.opensearch.timeseries.util.SecurityClientUtil;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import com.amazon.randomcutforest.parkservices.ThresholdedRandomCutForest;
+import com.amazon.randomcutforest.parkservices.state.ThresholdedRandomCutForestMapper;
+import com.amazon.randomcutforest.parkservices.state.ThresholdedRandomCutForestState;
+import com.amazon.randomcutforest.serialize.json.v1.V1JsonToV3StateConverter;
+import com.amazon.randomcutforest.state.RandomCutForestMapper;
+import com.carrotsearch.randomizedtesting.annotations.TimeoutSuite;
+import com.google.gson.GsonBuilder;
+
+import io.protostuff.LinkedBuffer;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * Load harness of the HC real time pipeline running in a single JVM. Entity result handling,
+ * the priority cache, the real time inferencer, cold start and the checkpoint and result workers
+ * are the production classes; the client serves synthetic composite aggregation pages, cold start
+ * history and an in-memory checkpoint index. The only simulated node owns all entities, so pages
+ * go straight to the entity result action as the page listener of the result processor does.
+ *
+ * Excluded from the test task unless -Dload-test=true. Example:
+ * ./gradlew test -Dload-test=true --tests "org.opensearch.ad.transport.HCRealTimeLoadTests"
+ *   -Dtests.load.entities=200000 -Dtests.load.heap_mb=8192 -Dtests.load.churn=0.01
+ *
+ * Knobs (system properties, prefix tests.load.):
+ * entities: entities per interval before skew; intervals: simulated intervals;
+ * churn: fraction of entities replaced by new ones every interval;
+ * skew: Zipf exponent, the entity of rank r reports with probability (r + 1)^-skew;
+ * features: features of the detector; heap_mb: heap the memory tracker and queues size against;
+ * search_latency_ms, checkpoint_latency_ms, result_latency_ms: injected latencies;
+ * interval_budget_ms: longest wait for the queues to drain after the pages of an interval.
+ */
+@TimeoutSuite(millis = 60 * TimeUnits.MINUTE)
+public class HCRealTimeLoadTests extends AbstractTimeSeriesTest {
+    private static final String PROPERTY_PREFIX = "tests.load.";
+    private static final String SERVICE_FIELD = "service";
+    private static final String HOST_FIELD = "host";
+    // history served to cold start, longer than the samples any detector asks for
+    private static final int HISTORY_INTERVALS = 1_500;
+    // period of the synthetic signal in intervals
+    private static final int SEASON_INTERVALS = 1_440;
+
+    private static class TestEntityADResultTransportAction extends EntityADResultTransportAction {
+        TestEntityADResultTransportAction(
+            ActionFilters actionFilters,
+            TransportService transportService,
+            CircuitBreakerService adCircuitBreakerService,
+            ADCacheProvider entityCache,
+            NodeStateManager stateManager,
+            ADIndexManagement indexUtil,
+            ADCheckpointReadWorker checkpointReadQueue,
+            ADColdEntityWorker coldEntityQueue,
+            ThreadPool threadPool,
+            ADRealTimeInferencer inferencer,
+            ADStats adStats
+        ) {
+            super(
+                actionFilters,
+                transportService,
+                adCircuitBreakerService,
+                entityCache,
+                stateManager,
+                indexUtil,
+                checkpointReadQueue,
+                coldEntityQueue,
+                threadPool,
+                inferencer,
+                adStats
+            );
+        }
+
+        void doExecuteForTest(Task task, EntityResultRequest request, ActionListener<AcknowledgedResponse> listener) {
+            super.doExecute(task, request, listener);
+        }
+    }
+
+    /**
+     * Priority cache that counts hits and misses of the model lookups of entity results.
+     */
+    private static class CountingPriorityCache extends ADPriorityCache {
+        private final LongAdder hits;
+        private final LongAdder misses;
+
+        CountingPriorityCache(
+            ADCheckpointDao checkpointDao,
+            MemoryTracker memoryTracker,
+            Clock clock,
+            ClusterService clusterService,
+            ThreadPool threadPool,
+            Settings settings,
+            ADCheckpointWriteWorker checkpointWriteQueue,
+            ADCheckpointMaintainWorker checkpointMaintainQueue
+        ) {
+            super(
+                checkpointDao,
+                AnomalyDetectorSettings.AD_DEDICATED_CACHE_SIZE.get(settings),
+                AnomalyDetectorSettings.AD_CHECKPOINT_TTL,
+                AnomalyDetectorSettings.MAX_INACTIVE_ENTITIES,
+                memoryTracker,
+                TimeSeriesSettings.NUM_TREES,
+                clock,
+                clusterService,
+                TimeSeriesSettings.HOURLY_MAINTENANCE,
+                threadPool,
+                TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+                settings,
+                AnomalyDetectorSettings.AD_CHECKPOINT_SAVING_FREQ,
+                checkpointWriteQueue,
+                checkpointMaintainQueue
+            );
+            this.hits = new LongAdder();
+            this.misses = new LongAdder();
+        }
+
+        @Override
+        public ModelState<ThresholdedRandomCutForest> get(String modelId, Config config) {
+            ModelState<ThresholdedRandomCutForest> state = super.get(modelId, config);
+            if (state == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Composite bucket of one entity with a min aggregation per feature.
+     */
+    private static class EntityBucket implements CompositeAggregation.Bucket {
+        private final Map<String, Object> key;
+        private final Aggregations aggregations;
+
+        EntityBucket(Map<String, Object> key, Aggregations aggregations) {
+            this.key = key;
+            this.aggregations = aggregations;
+        }
+
+        @Override
+        public Map<String, Object> getKey() {
+            return key;
+        }
+
+        @Override
+        public String getKeyAsString() {
+            return key.toString();
+        }
+
+        @Override
+        public long getDocCount() {
+            return 1;
+        }
+
+        @Override
+        public Aggregations getAggregations() {
+            return aggregations;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder;
+        }
+    }
+
+    private int numEntities;
+    private int numIntervals;
+    private double churn;
+    private double skew;
+    private int numFeatures;
+    private long heapBytes;
+    private long searchLatencyMs;
+    private long checkpointLatencyMs;
+    private long resultLatencyMs;
+    private long intervalBudgetMs;
+
+    private String detectorId;
+    private AnomalyDetector detector;
+    private long intervalMs;
+    private long historyStartMs;
+    private int pageSize;
+
+    private ClusterService clusterService;
+    private Client client;
+    private SecurityClientUtil securityClientUtil;
+    private MemoryTracker memoryTracker;
+    private CountingPriorityCache cache;
+    private ADCheckpointWriteWorker checkpointWriteWorker;
+    private ADResultWriteWorker resultWriteWorker;
+    private ADColdStartWorker coldStartWorker;
+    private ADCheckpointReadWorker checkpointReadWorker;
+    private ADColdEntityWorker coldEntityWorker;
+    private TestEntityADResultTransportAction entityResult;
+    private ADStats adStats;
+
+    // model Id to source of the checkpoint index
+    private Map<String, Map<String, Object>> checkpoints;
+    private LongAdder resultsWritten;
+    // entities reporting in the current interval and the next page to serve
+    private volatile int[] reportingEntities;
+    private volatile long currentDataEndMs;
+    private AtomicInteger nextPage;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        List<ExecutorBuilder<?>> executorBuilders = new TimeSeriesAnalyticsPlugin().getExecutorBuilders(Settings.EMPTY);
+        threadPool = new TestThreadPool(HCRealTimeLoadTests.class.getSimpleName(), executorBuilders.toArray(new ExecutorBuilder<?>[0]));
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        tearDownThreadPool();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        numEntities = Integer.parseInt(System.getProperty(PROPERTY_PREFIX + "entities", "10000"));
+        numIntervals = Integer.parseInt(System.getProperty(PROPERTY_PREFIX + "intervals", "10"));
+        churn = Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "churn", "0"));
+        skew = Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "skew", "0"));
+        numFeatures = Integer.parseInt(System.getProperty(PROPERTY_PREFIX + "features", "1"));
+        long defaultHeapMb = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+        heapBytes = Long.parseLong(System.getProperty(PROPERTY_PREFIX + "heap_mb", String.valueOf(defaultHeapMb))) * 1024 * 1024;
+        searchLatencyMs = Long.parseLong(System.getProperty(PROPERTY_PREFIX + "search_latency_ms", "0"));
+        checkpointLatencyMs = Long.parseLong(System.getProperty(PROPERTY_PREFIX + "checkpoint_latency_ms", "0"));
+        resultLatencyMs = Long.parseLong(System.getProperty(PROPERTY_PREFIX + "result_latency_ms", "0"));
+        intervalBudgetMs = Long.parseLong(System.getProperty(PROPERTY_PREFIX + "interval_budget_ms", "60000"));
+
+        detectorId = "load";
+        detector = TestHelpers.AnomalyDetectorBuilder
+            .newInstance(numFeatures)
+            .setDetectorId(detectorId)
+            .setCategoryFields(Arrays.asList(SERVICE_FIELD, HOST_FIELD))
+            .setDetectionInterval(new IntervalTimeConfiguration(1, ChronoUnit.MINUTES))
+            .setWindowDelay(new IntervalTimeConfiguration(0, ChronoUnit.MINUTES))
+            .setShingleSize(TimeSeriesSettings.DEFAULT_SHINGLE_SIZE)
+            .build();
+        intervalMs = detector.getIntervalInMilliseconds();
+
+        checkpoints = new ConcurrentHashMap<>();
+        resultsWritten = new LongAdder();
+        reportingEntities = new int[0];
+        nextPage = new AtomicInteger();
+
+        Settings settings = Settings.EMPTY;
+        Set<Setting<?>> clusterSettingSet = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        clusterSettingSet.addAll(new TimeSeriesAnalyticsPlugin().getSettings());
+        clusterService = createClusterServiceForNode(threadPool, createDiscoverynode("node1"), clusterSettingSet);
+        pageSize = AnomalyDetectorSettings.AD_PAGE_SIZE.get(settings);
+        Clock clock = Clock.systemUTC();
+        Random random = new Random(42);
+
+        CircuitBreakerService circuitBreakerService = mock(CircuitBreakerService.class, withSettings().stubOnly());
+        when(circuitBreakerService.isOpen()).thenReturn(false);
+
+        NodeStateManager stateManager = mock(NodeStateManager.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            ActionListener<Optional<AnomalyDetector>> listener = invocation.getArgument(3);
+            listener.onResponse(Optional.of(detector));
+            return null;
+        }).when(stateManager).getConfig(any(String.class), eq(AnalysisType.AD), any(boolean.class), any(ActionListener.class));
+
+        client = mock(Client.class, withSettings().stubOnly());
+        when(client.threadPool()).thenReturn(threadPool);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchResponse response = page(nextPage.getAndIncrement());
+            respond(listener, () -> response, searchLatencyMs);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ADResultBulkRequest request = invocation.getArgument(1);
+            ActionListener<ResultBulkResponse> listener = invocation.getArgument(2);
+            resultsWritten.add(request.numberOfActions());
+            respond(listener, () -> new ResultBulkResponse(), resultLatencyMs);
+            return null;
+        }).when(client).execute(eq(ADResultBulkAction.INSTANCE), any(ADResultBulkRequest.class), any(ActionListener.class));
+        securityClientUtil = new SecurityClientUtil(stateManager, settings);
+
+        ClientUtil clientUtil = mock(ClientUtil.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            MultiGetRequest request = invocation.getArgument(1);
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(2);
+            respond(listener, () -> multiGet(request), checkpointLatencyMs);
+            return null;
+        }).when(clientUtil).execute(eq(MultiGetAction.INSTANCE), any(MultiGetRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(1);
+            ActionListener<BulkResponse> listener = invocation.getArgument(2);
+            respond(listener, () -> bulk(request), checkpointLatencyMs);
+            return null;
+        }).when(clientUtil).execute(eq(BulkAction.INSTANCE), any(BulkRequest.class), any(ActionListener.class));
+
+        ADIndexManagement indexManagement = mock(ADIndexManagement.class, withSettings().stubOnly());
+        when(indexManagement.doesCheckpointIndexExist()).thenReturn(true);
+        when(indexManagement.doesDefaultResultIndexExist()).thenReturn(true);
+
+        SearchFeatureDao searchFeatureDao = mock(
+            SearchFeatureDao.class,
+            withSettings()
+                .spiedInstance(
+                    new SearchFeatureDao(
+                        client,
+                        xContentRegistry(),
+                        securityClientUtil,
+                        clusterService,
+                        TimeSeriesSettings.NUM_SAMPLES_PER_TREE,
+                        clock,
+                        1,
+                        1,
+                        60_000L
+                    )
+                )
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS)
+                .stubOnly()
+        );
+        doAnswer(invocation -> {
+            ActionListener<Optional<Long>> listener = invocation.getArgument(3);
+            respond(listener, () -> Optional.of(historyStartMs), searchLatencyMs);
+            return null;
+        }).when(searchFeatureDao).getMinDataTime(any(), any(), eq(AnalysisType.AD), any());
+        doAnswer(invocation -> {
+            List<Entry<Long, Long>> ranges = invocation.getArgument(1);
+            Optional<Entity> entity = invocation.getArgument(2);
+            ActionListener<List<Optional<double[]>>> listener = invocation.getArgument(5);
+            respond(listener, () -> history(entity.get(), ranges), searchLatencyMs);
+            return null;
+        }).when(searchFeatureDao).getColdStartSamplesForPeriods(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+        doAnswer(invocation -> {
+            List<Entry<Long, Long>> ranges = invocation.getArgument(1);
+            List<Entity> entities = invocation.getArgument(2);
+            ActionListener<Map<Entity, List<Optional<double[]>>>> listener = invocation.getArgument(5);
+            respond(listener, () -> {
+                Map<Entity, List<Optional<double[]>>> samples = new HashMap<>();
+                for (Entity entity : entities) {
+                    samples.put(entity, history(entity, ranges));
+                }
+                return samples;
+            }, searchLatencyMs);
+            return null;
+        }).when(searchFeatureDao).getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        FeatureManager featureManager = new FeatureManager(
+            searchFeatureDao,
+            new LinearUniformImputer(true),
+            TimeSeriesSettings.TRAIN_SAMPLE_TIME_RANGE_IN_HOURS,
+            TimeSeriesSettings.MIN_TRAIN_SAMPLES,
+            AnomalyDetectorSettings.MAX_SHINGLE_PROPORTION_MISSING,
+            AnomalyDetectorSettings.MAX_IMPUTATION_NEIGHBOR_DISTANCE,
+            AnomalyDetectorSettings.PREVIEW_SAMPLE_RATE,
+            AnomalyDetectorSettings.MAX_PREVIEW_SAMPLES,
+            threadPool
+        );
+
+        JvmService jvmService = mock(JvmService.class);
+        JvmInfo info = mock(JvmInfo.class);
+        JvmInfo.Mem mem = mock(JvmInfo.Mem.class);
+        when(jvmService.info()).thenReturn(info);
+        when(info.getMem()).thenReturn(mem);
+        when(mem.getHeapMax()).thenReturn(new ByteSizeValue(heapBytes));
+        memoryTracker = new MemoryTracker(
+            jvmService,
+            AnomalyDetectorSettings.AD_MODEL_MAX_SIZE_PERCENTAGE.get(settings),
+            clusterService,
+            circuitBreakerService
+        );
+
+        RandomCutForestMapper rcfMapper = new RandomCutForestMapper();
+        rcfMapper.setSaveExecutorContextEnabled(true);
+        rcfMapper.setSaveTreeStateEnabled(true);
+        rcfMapper.setPartialTreeStateEnabled(true);
+        GenericObjectPool<LinkedBuffer> serializeRCFBufferPool = AccessController.doPrivileged(() -> {
+            return new GenericObjectPool<>(new BasePooledObjectFactory<LinkedBuffer>() {
+                @Override
+                public LinkedBuffer create() throws Exception {
+                    return LinkedBuffer.allocate(TimeSeriesSettings.SERIALIZATION_BUFFER_BYTES);
+                }
+
+                @Override
+                public PooledObject<LinkedBuffer> wrap(LinkedBuffer obj) {
+                    return new DefaultPooledObject<>(obj);
+                }
+            });
+        });
+        serializeRCFBufferPool.setMaxTotal(TimeSeriesSettings.MAX_TOTAL_RCF_SERIALIZATION_BUFFERS);
+        serializeRCFBufferPool.setMaxIdle(TimeSeriesSettings.MAX_TOTAL_RCF_SERIALIZATION_BUFFERS);
+        serializeRCFBufferPool.setMinIdle(0);
+        serializeRCFBufferPool.setBlockWhenExhausted(false);
+
+        ADCheckpointDao checkpointDao = new ADCheckpointDao(
+            client,
+            clientUtil,
+            new GsonBuilder().serializeSpecialFloatingPointValues().create(),
+            rcfMapper,
+            new V1JsonToV3StateConverter(),
+            new ThresholdedRandomCutForestMapper(),
+            AccessController.doPrivileged(() -> RuntimeSchema.getSchema(ThresholdedRandomCutForestState.class)),
+            HybridThresholdingModel.class,
+            indexManagement,
+            TimeSeriesSettings.MAX_CHECKPOINT_BYTES,
+            serializeRCFBufferPool,
+            TimeSeriesSettings.SERIALIZATION_BUFFER_BYTES,
+            1 - TimeSeriesSettings.THRESHOLD_MIN_PVALUE,
+            clock
+        );
+        checkpointDao.setCompression(TimeSeriesSettings.CHECKPOINT_COMPRESSION.get(settings));
+        checkpointDao.setMaxDeltaSamples(TimeSeriesSettings.CHECKPOINT_MAX_DELTA_SAMPLES.get(settings));
+        checkpointDao.setCheckpointInterval(AnomalyDetectorSettings.AD_CHECKPOINT_SAVING_FREQ.get(settings));
+
+        checkpointWriteWorker = new ADCheckpointWriteWorker(
+            heapBytes,
+            TimeSeriesSettings.CHECKPOINT_WRITE_QUEUE_SIZE_IN_BYTES,
+            AnomalyDetectorSettings.AD_CHECKPOINT_WRITE_QUEUE_MAX_HEAP_PERCENT,
+            clusterService,
+            random,
+            circuitBreakerService,
+            threadPool,
+            settings,
+            TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
+            clock,
+            TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.LOW_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+            TimeSeriesSettings.QUEUE_MAINTENANCE,
+            checkpointDao,
+            ADCommonName.CHECKPOINT_INDEX_NAME,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            stateManager,
+            TimeSeriesSettings.HOURLY_MAINTENANCE
+        );
+
+        cache = new CountingPriorityCache(
+            checkpointDao,
+            memoryTracker,
+            clock,
+            clusterService,
+            threadPool,
+            settings,
+            checkpointWriteWorker,
+            mock(ADCheckpointMaintainWorker.class, withSettings().stubOnly())
+        );
+        ADCacheProvider cacheProvider = new ADCacheProvider();
+        cacheProvider.set(cache);
+
+        ADColdStart coldStarter = new ADColdStart(
+            clock,
+            threadPool,
+            stateManager,
+            TimeSeriesSettings.NUM_SAMPLES_PER_TREE,
+            TimeSeriesSettings.NUM_TREES,
+            TimeSeriesSettings.NUM_MIN_SAMPLES,
+            AnomalyDetectorSettings.MAX_SAMPLE_STRIDE,
+            AnomalyDetectorSettings.MAX_TRAIN_SAMPLE,
+            searchFeatureDao,
+            TimeSeriesSettings.THRESHOLD_MIN_PVALUE,
+            featureManager,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            TimeSeriesSettings.MAX_COLD_START_ROUNDS,
+            (int) (AnomalyDetectorSettings.AD_COOLDOWN_MINUTES.get(settings).getMinutes()),
+            CommonValue.NO_SCHEMA_VERSION
+        );
+
+        ADModelManager modelManager = new ADModelManager(
+            checkpointDao,
+            clock,
+            TimeSeriesSettings.NUM_TREES,
+            TimeSeriesSettings.NUM_SAMPLES_PER_TREE,
+            TimeSeriesSettings.NUM_MIN_SAMPLES,
+            TimeSeriesSettings.THRESHOLD_MIN_PVALUE,
+            AnomalyDetectorSettings.MIN_PREVIEW_SIZE,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            AnomalyDetectorSettings.AD_CHECKPOINT_SAVING_FREQ,
+            coldStarter,
+            featureManager,
+            memoryTracker,
+            settings,
+            clusterService
+        );
+
+        resultWriteWorker = new ADResultWriteWorker(
+            heapBytes,
+            TimeSeriesSettings.RESULT_WRITE_QUEUE_SIZE_IN_BYTES,
+            AnomalyDetectorSettings.AD_RESULT_WRITE_QUEUE_MAX_HEAP_PERCENT,
+            clusterService,
+            random,
+            circuitBreakerService,
+            threadPool,
+            settings,
+            TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
+            clock,
+            TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.LOW_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+            TimeSeriesSettings.QUEUE_MAINTENANCE,
+            new ADIndexMemoryPressureAwareResultHandler(client, indexManagement, clusterService),
+            xContentRegistry(),
+            stateManager,
+            TimeSeriesSettings.HOURLY_MAINTENANCE
+        );
+        ADSaveResultStrategy resultSaver = new ADSaveResultStrategy(CommonValue.NO_SCHEMA_VERSION, resultWriteWorker);
+
+        coldStartWorker = new ADColdStartWorker(
+            heapBytes,
+            TimeSeriesSettings.FEATURE_REQUEST_SIZE_IN_BYTES,
+            AnomalyDetectorSettings.AD_ENTITY_COLD_START_QUEUE_MAX_HEAP_PERCENT,
+            clusterService,
+            random,
+            circuitBreakerService,
+            threadPool,
+            settings,
+            TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
+            clock,
+            TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.LOW_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+            TimeSeriesSettings.QUEUE_MAINTENANCE,
+            coldStarter,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            stateManager,
+            cache,
+            modelManager,
+            resultSaver,
+            mock(ADTaskManager.class, withSettings().stubOnly()),
+            checkpointWriteWorker
+        );
+
+        Map<String, TimeSeriesStat<?>> statsMap = new HashMap<>();
+        statsMap.put(StatNames.AD_MODEL_CORRUTPION_COUNT.getName(), new TimeSeriesStat<>(false, new CounterSupplier()));
+        for (LatencyStage stage : LatencyStage.values()) {
+            statsMap.put(stage.getStatName(AnalysisType.AD), new TimeSeriesStat<>(false, new LatencySupplier()));
+        }
+        adStats = new ADStats(statsMap);
+        coldStarter.setStats(adStats);
+        checkpointWriteWorker.setStats(adStats);
+        resultWriteWorker.setStats(adStats);
+
+        ADRealTimeInferencer inferencer = new ADRealTimeInferencer(
+            modelManager,
+            adStats,
+            checkpointDao,
+            coldStartWorker,
+            resultSaver,
+            cacheProvider,
+            threadPool,
+            clock,
+            searchFeatureDao
+        );
+
+        checkpointReadWorker = new ADCheckpointReadWorker(
+            heapBytes,
+            TimeSeriesSettings.FEATURE_REQUEST_SIZE_IN_BYTES,
+            AnomalyDetectorSettings.AD_CHECKPOINT_READ_QUEUE_MAX_HEAP_PERCENT,
+            clusterService,
+            random,
+            circuitBreakerService,
+            threadPool,
+            settings,
+            TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
+            clock,
+            TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.LOW_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+            TimeSeriesSettings.QUEUE_MAINTENANCE,
+            modelManager,
+            checkpointDao,
+            coldStartWorker,
+            stateManager,
+            cacheProvider,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            checkpointWriteWorker,
+            inferencer
+        );
+        checkpointReadWorker.setStats(adStats);
+
+        coldEntityWorker = new ADColdEntityWorker(
+            heapBytes,
+            TimeSeriesSettings.FEATURE_REQUEST_SIZE_IN_BYTES,
+            AnomalyDetectorSettings.AD_COLD_ENTITY_QUEUE_MAX_HEAP_PERCENT,
+            clusterService,
+            random,
+            circuitBreakerService,
+            threadPool,
+            settings,
+            TimeSeriesSettings.MAX_QUEUED_TASKS_RATIO,
+            clock,
+            TimeSeriesSettings.MEDIUM_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.LOW_SEGMENT_PRUNE_RATIO,
+            TimeSeriesSettings.MAINTENANCE_FREQ_CONSTANT,
+            checkpointReadWorker,
+            TimeSeriesSettings.HOURLY_MAINTENANCE,
+            stateManager
+        );
+
+        entityResult = new TestEntityADResultTransportAction(
+            mock(ActionFilters.class),
+            mock(TransportService.class),
+            circuitBreakerService,
+            cacheProvider,
+            stateManager,
+            indexManagement,
+            checkpointReadWorker,
+            coldEntityWorker,
+            threadPool,
+            inferencer,
+            adStats
+        );
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        clusterService.close();
+        super.tearDown();
+    }
+
+    public void testRealTimeLoad() throws Exception {
+        // align to the interval like the job scheduler does and leave room for the simulated intervals
+        long firstDataStartMs = (System.currentTimeMillis() / intervalMs - numIntervals - 1) * intervalMs;
+        historyStartMs = firstDataStartMs - HISTORY_INTERVALS * intervalMs;
+
+        Map<String, Integer> peakQueueDepths = new LinkedHashMap<>();
+        long totalEntities = 0;
+        long failedRequests = 0;
+        long startNanos = System.nanoTime();
+        for (int interval = 0; interval < numIntervals; interval++) {
+            long intervalNanos = System.nanoTime();
+            long dataStartMs = firstDataStartMs + interval * intervalMs;
+            reportingEntities = reportingEntities(interval);
+            currentDataEndMs = dataStartMs + intervalMs;
+            nextPage.set(0);
+
+            List<PlainActionFuture<AcknowledgedResponse>> acks = new ArrayList<>();
+            int entities = sendPages(dataStartMs, dataStartMs + intervalMs, acks);
+            for (PlainActionFuture<AcknowledgedResponse> ack : acks) {
+                try {
+                    ack.actionGet();
+                } catch (Exception e) {
+                    failedRequests++;
+                    LOG.debug("entity result request failed", e);
+                }
+            }
+            long pagesMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intervalNanos);
+            Map<String, Integer> afterPages = queueDepths();
+            afterPages.forEach((worker, depth) -> peakQueueDepths.merge(worker, depth, Math::max));
+
+            boolean drained = waitUntil(this::isDrained, intervalBudgetMs, TimeUnit.MILLISECONDS);
+            totalEntities += entities;
+            LOG
+                .info(
+                    "interval {}: {} entities sent in {} ms, queues after pages {}, drained {} after {} ms, queues {}",
+                    interval,
+                    entities,
+                    pagesMs,
+                    afterPages,
+                    drained,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intervalNanos),
+                    queueDepths()
+                );
+        }
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        long hits = cache.hits.sum();
+        long misses = cache.misses.sum();
+        Runtime runtime = Runtime.getRuntime();
+        LOG
+            .info(
+                "{} entities, {} intervals, churn {}, skew {}, {} features, heap {} MB",
+                numEntities,
+                numIntervals,
+                churn,
+                skew,
+                numFeatures,
+                heapBytes / (1024 * 1024)
+            );
+        LOG
+            .info(
+                "throughput: {} entities/s, {} entities in {} ms, {} failed requests",
+                totalEntities * 1000 / elapsedMs,
+                totalEntities,
+                elapsedMs,
+                failedRequests
+            );
+        LOG.info("cache hit rate: {}, {} hits, {} misses", hits + misses == 0 ? 0 : (double) hits / (hits + misses), hits, misses);
+        LOG.info("peak queue depths: {}", peakQueueDepths);
+        LOG
+            .info(
+                "active entities {}, model memory {} of {} bytes, used heap {} bytes, checkpoints {}, results written {}",
+                cache.getTotalActiveEntities(),
+                memoryTracker.getTotalMemoryBytes(),
+                memoryTracker.getHeapLimit(),
+                runtime.totalMemory() - runtime.freeMemory(),
+                checkpoints.size(),
+                resultsWritten.sum()
+            );
+        for (LatencyStage stage : LatencyStage.values()) {
+            String statName = stage.getStatName(AnalysisType.AD);
+            LOG.info("{}: {}", statName, LatencySupplier.forDisplay(adStats.getStat(statName).getValue()));
+        }
+
+        assertTrue(totalEntities > 0);
+        assertTrue("no model was trained", checkpoints.size() > 0);
+        assertTrue("no result was written", resultsWritten.sum() > 0);
+    }
+
+    /**
+     * Fetch the pages of an interval with the composite retriever and hand each page to the
+     * entity result action, as the page listener of the result processor does.
+     *
+     * @return number of entities sent
+     */
+    private int sendPages(long dataStartMs, long dataEndMs, List<PlainActionFuture<AcknowledgedResponse>> acks) throws IOException {
+        CompositeRetriever retriever = new CompositeRetriever(
+            dataStartMs,
+            dataEndMs,
+            detector,
+            xContentRegistry(),
+            client,
+            securityClientUtil,
+            Long.MAX_VALUE,
+            Settings.EMPTY,
+            Integer.MAX_VALUE,
+            pageSize,
+            mock(IndexNameExpressionResolver.class),
+            clusterService,
+            AnalysisType.AD
+        );
+        CompositeRetriever.PageIterator iterator = retriever.iterator();
+        int entities = 0;
+        while (iterator.hasNext()) {
+            long pageNanos = System.nanoTime();
+            PlainActionFuture<CompositeRetriever.Page> pageFuture = PlainActionFuture.newFuture();
+            iterator.next(pageFuture);
+            CompositeRetriever.Page page = pageFuture.actionGet();
+            adStats.recordLatency(LatencyStage.RESULT_PAGE_FETCH, AnalysisType.AD, pageNanos);
+            if (page == null || page.isEmpty()) {
+                continue;
+            }
+            entities += page.getResults().size();
+            PlainActionFuture<AcknowledgedResponse> ack = PlainActionFuture.newFuture();
+            EntityResultRequest request = new EntityResultRequest(
+                detectorId,
+                page.getResults(),
+                dataStartMs,
+                dataEndMs,
+                AnalysisType.AD,
+                null
+            );
+            entityResult.doExecuteForTest(null, request, ack);
+            acks.add(ack);
+        }
+        return entities;
+    }
+
+    /**
+     * Entities reporting in an interval. Churn slides the population window so that new
+     * entities replace old ones; skew thins out entities of high rank.
+     */
+    private int[] reportingEntities(int interval) {
+        int offset = (int) Math.round(interval * churn * numEntities);
+        int[] ids = new int[numEntities];
+        int size = 0;
+        for (int id = offset; id < offset + numEntities; id++) {
+            int rank = id % numEntities;
+            if (skew > 0 && uniform(id, interval) >= Math.pow(rank + 1, -skew)) {
+                continue;
+            }
+            ids[size++] = id;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    private SearchResponse page(int pageIndex) {
+        int[] ids = reportingEntities;
+        long step = currentDataEndMs / intervalMs;
+        List<String> featureIds = detector.getEnabledFeatureIds();
+        int from = Math.min(ids.length, pageIndex * pageSize);
+        int to = Math.min(ids.length, from + pageSize);
+
+        List<CompositeAggregation.Bucket> buckets = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Map<String, Object> key = new LinkedHashMap<>();
+            key.put(SERVICE_FIELD, "service_" + (ids[i] % 100));
+            key.put(HOST_FIELD, "host_" + ids[i]);
+            int seed = key.get(HOST_FIELD).hashCode();
+            List<org.opensearch.search.aggregations.Aggregation> features = new ArrayList<>(featureIds.size());
+            for (int feature = 0; feature < featureIds.size(); feature++) {
+                features.add(new InternalMin(featureIds.get(feature), value(seed, feature, step), DocValueFormat.RAW, new HashMap<>()));
+            }
+            buckets.add(new EntityBucket(key, new Aggregations(features)));
+        }
+        Map<String, Object> afterKey = to < ids.length ? buckets.get(buckets.size() - 1).getKey() : null;
+
+        CompositeAggregation composite = mock(CompositeAggregation.class, withSettings().stubOnly());
+        when(composite.getName()).thenReturn(CompositeRetriever.AGG_NAME_COMP);
+        when(composite.afterKey()).thenReturn(afterKey);
+        when(composite.getBuckets()).thenAnswer((Answer<List<CompositeAggregation.Bucket>>) invocation -> buckets);
+        Aggregations aggs = new Aggregations(Collections.singletonList(composite));
+
+        SearchResponseSections sections = new SearchResponseSections(SearchHits.empty(), aggs, null, false, null, null, 1);
+        return new SearchResponse(sections, null, 1, 1, 0, 0, ShardSearchFailure.EMPTY_ARRAY, Clusters.EMPTY);
+    }
+
+    private List<Optional<double[]>> history(Entity entity, List<Entry<Long, Long>> ranges) {
+        int seed = entity.getAttributes().get(HOST_FIELD).hashCode();
+        int features = detector.getEnabledFeatureIds().size();
+        List<Optional<double[]>> samples = new ArrayList<>(ranges.size());
+        for (Entry<Long, Long> range : ranges) {
+            long step = range.getValue() / intervalMs;
+            double[] sample = new double[features];
+            for (int feature = 0; feature < features; feature++) {
+                sample[feature] = value(seed, feature, step);
+            }
+            samples.add(Optional.of(sample));
+        }
+        return samples;
+    }
+
+    /**
+     * Seasonal signal with an entity specific phase plus a little noise. Deterministic so
+     * that history served to cold start and real time values line up.
+     */
+    private static double value(int seed, int feature, long step) {
+        double phase = (seed & 0xFFFF) / 65536.0 * 2 * Math.PI;
+        double season = Math.sin(2 * Math.PI * (step % SEASON_INTERVALS) / SEASON_INTERVALS + phase);
+        return 100 + 10 * feature + 20 * season + uniform(31L * seed + feature, step) - 0.5;
+    }
+
+    /**
+     * @return a number in [0, 1) mixed from the inputs with the SplitMix64 finalizer
+     */
+    private static double uniform(long a, long b) {
+        long z = a * 0x9E3779B97F4A7C15L + b;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    private MultiGetResponse multiGet(MultiGetRequest request) {
+        List<MultiGetRequest.Item> items = request.getItems();
+        MultiGetItemResponse[] responses = new MultiGetItemResponse[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            MultiGetRequest.Item item = items.get(i);
+            Map<String, Object> source = checkpoints.get(item.id());
+            GetResult result = source == null
+                ? new GetResult(
+                    item.index(),
+                    item.id(),
+                    SequenceNumbers.UNASSIGNED_SEQ_NO,
+                    SequenceNumbers.UNASSIGNED_PRIMARY_TERM,
+                    0,
+                    false,
+                    null,
+                    null,
+                    null
+                )
+                : new GetResult(item.index(), item.id(), 1, 1, 1, true, toBytes(source), null, null);
+            responses[i] = new MultiGetItemResponse(new GetResponse(result), null);
+        }
+        return new MultiGetResponse(responses);
+    }
+
+    private BulkResponse bulk(BulkRequest request) {
+        List<DocWriteRequest<?>> requests = request.requests();
+        BulkItemResponse[] responses = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            DocWriteRequest<?> write = requests.get(i);
+            Map<String, Object> fields;
+            boolean upsert;
+            if (write instanceof UpdateRequest) {
+                UpdateRequest update = (UpdateRequest) write;
+                fields = update.doc().sourceAsMap();
+                upsert = update.docAsUpsert();
+            } else {
+                fields = ((IndexRequest) write).sourceAsMap();
+                upsert = true;
+            }
+            // copy on write so that readers serialize a source that no longer changes
+            Map<String, Object> source = checkpoints.compute(write.id(), (id, existing) -> {
+                if (existing == null && !upsert) {
+                    return null;
+                }
+                Map<String, Object> merged = existing == null ? new HashMap<>() : new HashMap<>(existing);
+                merged.putAll(fields);
+                return merged;
+            });
+            ShardId shardId = new ShardId(write.index(), "", 0);
+            responses[i] = source == null
+                ? new BulkItemResponse(
+                    i,
+                    write.opType(),
+                    new BulkItemResponse.Failure(write.index(), write.id(), new DocumentMissingException(shardId, write.id()))
+                )
+                : new BulkItemResponse(
+                    i,
+                    write.opType(),
+                    new UpdateResponse(shardId, write.id(), 0L, 1L, 1L, DocWriteResponse.Result.UPDATED)
+                );
+        }
+        return new BulkResponse(responses, 0);
+    }
+
+    private static BytesReference toBytes(Map<String, Object> source) {
+        try {
+            return BytesReference.bytes(XContentFactory.smileBuilder().map(source));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Answer on another thread, after the injected latency if any, like a remote call does.
+     */
+    private <T> void respond(ActionListener<T> listener, Supplier<T> response, long latencyMs) {
+        Runnable answer = () -> {
+            T value;
+            try {
+                value = response.get();
+            } catch (Exception e) {
+                listener.onFailure(e);
+                return;
+            }
+            listener.onResponse(value);
+        };
+        if (latencyMs > 0) {
+            threadPool.schedule(answer, TimeValue.timeValueMillis(latencyMs), ThreadPool.Names.GENERIC);
+        } else {
+            threadPool.generic().execute(answer);
+        }
+    }
+
+    private Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        depths.put("cold_entity", coldEntityWorker.getQueueSize());
+        depths.put("checkpoint_read", checkpointReadWorker.getQueueSize());
+        depths.put("cold_start", coldStartWorker.getQueueSize());
+        depths.put("checkpoint_write", checkpointWriteWorker.getQueueSize());
+        depths.put("result_write", resultWriteWorker.getQueueSize());
+        return depths;
+    }
+
+    /**
+     * Cold entities are drained slowly by design, so they are reported but not waited for.
+     */
+    private boolean isDrained() {
+        return isDrained(checkpointReadWorker)
+            && isDrained(coldStartWorker)
+            && isDrained(checkpointWriteWorker)
+            && isDrained(resultWriteWorker);
+    }
+
+    private boolean isDrained(RateLimitedRequestWorker<?> worker) {
+        return worker.isQueueEmpty() && !worker.hasInflightRequest(detectorId);
+    }
+}
@@ -119,7 +119,8 @@ public class IndexAnomalyDetectorTransportActionTests extends OpenSearchIntegTes
             mock(ADIndexManagement.class),
             xContentRegistry(),
             adTaskManager,
-            searchFeatureDao
+            searchFeatureDao,
+            mock(NodeStateManager.class)
         );
         task = mock(Task.class);
         AnomalyDetector detector = TestHelpers.randomAnomalyDetector(ImmutableMap.of("testKey", "testValue"), Instant.now());
@@ -218,7 +219,8 @@ public class IndexAnomalyDetectorTransportActionTests extends OpenSearchIntegTes
             mock(ADIndexManagement.class),
             xContentRegistry(),
             adTaskManager,
-            searchFeatureDao
+            searchFeatureDao,
+            mock(NodeStateManager.class)
         );
         transportAction.doExecute(task, request, response);
     }
@@ -243,7 +245,8 @@ public class IndexAnomalyDetectorTransportActionTests extends OpenSearchIntegTes
             mock(ADIndexManagement.class),
             xContentRegistry(),
             adTaskManager,
-            searchFeatureDao
+            searchFeatureDao,
+            mock(NodeStateManager.class)
         );
         transportAction.doExecute(task, request, response);
     }
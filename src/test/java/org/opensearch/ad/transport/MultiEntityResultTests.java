@@ -256,6 +256,7 @@ public class MultiEntityResultTests extends AbstractTimeSeriesTest {
         );
 
         hashRing = mock(HashRing.class);
+        TestHelpers.routeByOwningNode(hashRing);
 
         Set<Setting<?>> anomalyResultSetting = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
         anomalyResultSetting.add(AD_MAX_ENTITIES_PER_QUERY);
@@ -465,7 +466,8 @@ public class MultiEntityResultTests extends AbstractTimeSeriesTest {
             checkpointReadQueue,
             coldEntityQueue,
             threadPool,
-            inferencer
+            inferencer,
+            adStats
         );
 
         // when(normalModelManager.getResult(any(), any(), any(), any(), any())).thenReturn(new ThresholdingResult(0, 1, 1));
@@ -831,7 +833,8 @@ public class MultiEntityResultTests extends AbstractTimeSeriesTest {
             checkpointReadQueue,
             coldEntityQueue,
             threadPool,
-            inferencer
+            inferencer,
+            adStats
         );
 
         CountDownLatch inProgress = new CountDownLatch(1);
@@ -1008,7 +1011,8 @@ public class MultiEntityResultTests extends AbstractTimeSeriesTest {
             checkpointReadQueue,
             coldEntityQueue,
             threadPool,
-            inferencer
+            inferencer,
+            adStats
         );
 
         CountDownLatch modelNodeInProgress = new CountDownLatch(1);
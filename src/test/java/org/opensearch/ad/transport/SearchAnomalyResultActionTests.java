@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.opensearch.ad.indices.ADIndexManagement.ALL_AD_RESULTS_INDEX_PATTERN;
@@ -90,7 +91,16 @@ public class SearchAnomalyResultActionTests extends HistoricalAnalysisIntegTestC
         clusterService = mock(ClusterService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
             Settings.EMPTY,
-            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(AnomalyDetectorSettings.AD_FILTER_BY_BACKEND_ROLES)))
+            Collections
+                .unmodifiableSet(
+                    new HashSet<>(
+                        Arrays
+                            .asList(
+                                AnomalyDetectorSettings.AD_FILTER_BY_BACKEND_ROLES,
+                                AnomalyDetectorSettings.SEARCH_RESULT_INDEX_CACHE_ENABLED
+                            )
+                    )
+                )
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
         clusterState = createClusterState();
@@ -123,7 +133,8 @@ public class SearchAnomalyResultActionTests extends HistoricalAnalysisIntegTestC
             searchHandler,
             clusterService,
             indexNameExpressionResolver,
-            client
+            client,
+            Settings.EMPTY
         );
     }
 
@@ -285,6 +296,64 @@ public class SearchAnomalyResultActionTests extends HistoricalAnalysisIntegTestC
         verify(searchHandler).search(any(), eq(ADCommonName.AD_RESOURCE_TYPE), any());
     }
 
+    @Test
+    public void testSearchAnomalyResult_CachedResolution() {
+        SearchRequest request = new SearchRequest().indices(new String[] { "opensearch-ad-plugin-result-test" });
+        when(indexNameExpressionResolver.concreteIndexNames(clusterState, IndicesOptions.lenientExpandOpen(), request.indices()))
+            .thenReturn(new String[] { "opensearch-ad-plugin-result-test" });
+        mockResolutionResponses();
+
+        action.doExecute(mock(Task.class), request, mock(PlainActionFuture.class));
+        action.doExecute(mock(Task.class), request, mock(PlainActionFuture.class));
+        // the second request runs only the user's search
+        verify(client, times(1)).search(any(), any());
+        verify(client, times(1)).multiSearch(any(), any());
+        verify(searchHandler, times(2)).search(any(), eq(ADCommonName.AD_RESOURCE_TYPE), any());
+
+        // disabling the cache resolves the indices again
+        clusterService
+            .getClusterSettings()
+            .applySettings(Settings.builder().put(AnomalyDetectorSettings.SEARCH_RESULT_INDEX_CACHE_ENABLED.getKey(), false).build());
+        action.doExecute(mock(Task.class), request, mock(PlainActionFuture.class));
+        verify(client, times(2)).search(any(), any());
+        verify(client, times(2)).multiSearch(any(), any());
+        verify(searchHandler, times(3)).search(any(), eq(ADCommonName.AD_RESOURCE_TYPE), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockResolutionResponses() {
+        searchResponse = mock(SearchResponse.class);
+        resultIndicesAgg = new StringTerms(
+            "result_index",
+            InternalOrder.key(false),
+            BucketOrder.count(false),
+            Collections.emptyMap(),
+            DocValueFormat.RAW,
+            1,
+            false,
+            0,
+            createBuckets(),
+            0,
+            new TermsAggregator.BucketCountThresholds(1, 0, 1, 0)
+        );
+        when(searchResponse.getAggregations()).thenReturn(new Aggregations(List.of(resultIndicesAgg)));
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) invocation.getArguments()[1];
+            listener.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(), any());
+
+        multiSearchResponse = mock(MultiSearchResponse.class);
+        MultiSearchResponse.Item multiSearchResponseItem = mock(MultiSearchResponse.Item.class);
+        when(multiSearchResponse.getResponses()).thenReturn(new MultiSearchResponse.Item[] { multiSearchResponseItem });
+        when(multiSearchResponseItem.getFailure()).thenReturn(null);
+        doAnswer(invocation -> {
+            ActionListener<MultiSearchResponse> listener = (ActionListener<MultiSearchResponse>) invocation.getArguments()[1];
+            listener.onResponse(multiSearchResponse);
+            return null;
+        }).when(client).multiSearch(any(), any());
+    }
+
     @Test
     public void testSearchResultAction() throws IOException {
         createADResultIndex();
@@ -13,7 +13,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.commons.authuser.User;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.timeseries.TestHelpers;
@@ -22,6 +24,7 @@ import org.opensearch.timeseries.model.FeatureData;
 
 public class ForecastResultTests extends OpenSearchTestCase {
     List<ForecastResult> result;
+    List<ForecastResult> compactResult;
 
     @Override
     @Before
@@ -50,6 +53,28 @@ public class ForecastResultTests extends OpenSearchTestCase {
         float[] forecastsLowers = new float[] { 0.5f, 1.5f, 2.5f, 3.5f };
         String taskId = "testTaskId";
 
+        compactResult = ForecastResult
+            .fromRawRCFCasterResult(
+                forecasterId,
+                intervalMillis,
+                dataQuality,
+                featureData,
+                dataStartTime,
+                dataEndTime,
+                executionStartTime,
+                executionEndTime,
+                error,
+                entity,
+                user,
+                schemaVersion,
+                modelId,
+                forecastsValues,
+                forecastsUppers,
+                forecastsLowers,
+                taskId,
+                true
+            );
+
         // Act
         result = ForecastResult
             .fromRawRCFCasterResult(
@@ -100,4 +125,40 @@ public class ForecastResultTests extends OpenSearchTestCase {
             assertTrue("Parsing forecast result doesn't work", result.get(i).hashCode() == parsedForecastResult.hashCode());
         }
     }
+
+    public void testCompactResult() {
+        assertEquals(1, compactResult.size());
+        ForecastResult compact = compactResult.get(0);
+        assertTrue(compact.isCompact());
+        assertFalse(result.get(0).isCompact());
+        // two horizon steps of two features
+        assertArrayEquals(new float[] { 1.0f, 2.0f, 3.0f, 4.0f }, compact.getForecastValues(), 0.001f);
+        assertEquals(2, compact.getForecastDataStartTimes().length);
+        assertEquals(result.get(0).getDataEndTime().toEpochMilli(), compact.getForecastDataStartTimes()[0]);
+        assertEquals(compact.getForecastDataEndTimes()[0], compact.getForecastDataStartTimes()[1]);
+
+        // the per-horizon view is the same as writing per-horizon results
+        assertEquals(result, compact.expand());
+        assertEquals(result.subList(1, 2), result.get(1).expand());
+    }
+
+    public void testParseCompactResult() throws IOException {
+        ForecastResult compact = compactResult.get(0);
+        String forecastResultString = TestHelpers
+            .xContentBuilderToString(compact.toXContent(TestHelpers.builder(), ToXContent.EMPTY_PARAMS));
+        // widths of the last horizon step for top forecast queries
+        assertTrue(forecastResultString, forecastResultString.contains("\"" + ForecastResult.FINAL_INTERVAL_WIDTHS_FIELD + "\":[1.0,1.0]"));
+        ForecastResult parsedForecastResult = ForecastResult.parse(TestHelpers.parser(forecastResultString));
+        assertEquals(compact, parsedForecastResult);
+        assertEquals(compact.hashCode(), parsedForecastResult.hashCode());
+    }
+
+    public void testSerializeCompactResult() throws IOException {
+        for (ForecastResult forecastResult : new ForecastResult[] { compactResult.get(0), result.get(1) }) {
+            BytesStreamOutput output = new BytesStreamOutput();
+            forecastResult.writeTo(output);
+            StreamInput streamInput = output.bytes().streamInput();
+            assertEquals(forecastResult, new ForecastResult(streamInput));
+        }
+    }
 }
@@ -498,6 +498,7 @@ public class AbstractTimeSeriesTest extends OpenSearchTestCase {
         ExecutorService executorService = mock(ExecutorService.class);
 
         when(mockThreadPool.executor(TimeSeriesAnalyticsPlugin.AD_THREAD_POOL_NAME)).thenReturn(executorService);
+        when(mockThreadPool.executor(TimeSeriesAnalyticsPlugin.CHECKPOINT_THREAD_POOL_NAME)).thenReturn(executorService);
         doAnswer(invocation -> {
             Runnable runnable = invocation.getArgument(0);
             runnable.run();
@@ -13,6 +13,7 @@ package org.opensearch.timeseries;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -24,9 +25,11 @@ import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
@@ -47,17 +50,25 @@ import org.opensearch.action.get.GetResponse;
 import org.opensearch.ad.constant.ADCommonName;
 import org.opensearch.ad.model.AnomalyDetector;
 import org.opensearch.ad.transport.AnomalyResultTests;
+import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.node.DiscoveryNodeRole;
+import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.Index;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.forecast.constant.ForecastCommonName;
 import org.opensearch.forecast.model.Forecaster;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.search.SearchModule;
 import org.opensearch.test.ClusterServiceUtils;
 import org.opensearch.test.OpenSearchTestCase;
@@ -65,6 +76,8 @@ import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.model.Config;
 import org.opensearch.timeseries.model.Job;
 import org.opensearch.timeseries.settings.TimeSeriesSettings;
+import org.opensearch.timeseries.transport.InvalidateConfigAction;
+import org.opensearch.timeseries.transport.InvalidateConfigRequest;
 import org.opensearch.timeseries.util.ClientUtil;
 import org.opensearch.transport.client.Client;
 
@@ -549,4 +562,168 @@ public class NodeStateManagerTests extends AbstractTimeSeriesTest {
         assertNotNull(exception.get());
         assertEquals("Test exception", exception.get().getMessage());
     }
+
+    private GetResponse configResponse(AnomalyDetector detector, long version) throws IOException {
+        return new GetResponse(
+            new GetResult(
+                ADCommonName.CONFIG_INDEX,
+                detector.getId(),
+                SequenceNumbers.UNASSIGNED_SEQ_NO,
+                0,
+                version,
+                true,
+                BytesReference.bytes(detector.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)),
+                Collections.emptyMap(),
+                Collections.emptyMap()
+            )
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testConcurrentGetConfigSendsOneGet() throws IOException {
+        AnomalyDetector detector = TestHelpers.randomAnomalyDetector(TestHelpers.randomUiMetadata(), null, true);
+        List<ActionListener<GetResponse>> pendingGets = new ArrayList<>();
+        doAnswer(invocation -> {
+            pendingGets.add(invocation.getArgument(1));
+            return null;
+        }).when(client).get(any(), any(ActionListener.class));
+
+        List<Optional<? extends Config>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // callers not caching the config share the get as well
+            stateManager.getConfig(detector.getId(), AnalysisType.AD, i != 1, ActionListener.wrap(responses::add, e -> fail()));
+        }
+        assertEquals(1, pendingGets.size());
+        assertTrue(responses.isEmpty());
+
+        pendingGets.get(0).onResponse(configResponse(detector, 1));
+        assertEquals(3, responses.size());
+        responses.forEach(config -> assertEquals(detector, config.get()));
+
+        // cached now
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(responses::add, e -> fail()));
+        assertEquals(4, responses.size());
+        verify(client, times(1)).get(any(), any(ActionListener.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testFailedGetConfigCompletesAllWaiters() {
+        List<ActionListener<GetResponse>> pendingGets = new ArrayList<>();
+        doAnswer(invocation -> {
+            pendingGets.add(invocation.getArgument(1));
+            return null;
+        }).when(client).get(any(), any(ActionListener.class));
+
+        List<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            stateManager.getConfig(adId, AnalysisType.AD, true, ActionListener.wrap(r -> fail(), failures::add));
+        }
+        pendingGets.get(0).onFailure(new IllegalStateException("get failed"));
+        assertEquals(2, failures.size());
+
+        // a failed load is not remembered
+        stateManager.getConfig(adId, AnalysisType.AD, true, ActionListener.wrap(r -> fail(), failures::add));
+        assertEquals(2, pendingGets.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testNewerVersionInvalidatesCachedConfig() throws IOException {
+        AnomalyDetector detector = TestHelpers.randomAnomalyDetector(TestHelpers.randomUiMetadata(), null, true);
+        AtomicReference<Long> version = new AtomicReference<>(2L);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(configResponse(detector, version.get()));
+            return null;
+        }).when(client).get(any(), any(ActionListener.class));
+
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        stateManager.onConfigVersion(detector.getId(), 1);
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(1)).get(any(), any(ActionListener.class));
+
+        // an uncached get observes the config has been updated
+        version.set(3L);
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, false, ActionListener.wrap(r -> {}, e -> fail()));
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(3)).get(any(), any(ActionListener.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testCachedConfigIsKeptUntilInvalidated() throws IOException {
+        AnomalyDetector detector = TestHelpers.randomAnomalyDetector(TestHelpers.randomUiMetadata(), null, true);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(configResponse(detector, 1));
+            return null;
+        }).when(client).get(any(), any(ActionListener.class));
+        when(client.threadPool()).thenReturn(threadPool);
+
+        when(clock.millis()).thenReturn(0L);
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        when(clock.millis()).thenReturn(Duration.ofDays(1).toMillis());
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(1)).get(any(), any(ActionListener.class));
+
+        // an update drops the cached config here and on the other nodes
+        stateManager.invalidateConfigOnAllNodes(detector.getId(), 2);
+        verify(client, times(1)).execute(eq(InvalidateConfigAction.INSTANCE), any(InvalidateConfigRequest.class), any());
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(2)).get(any(), any(ActionListener.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testClusterManagerChangeDropsCachedConfigs() throws IOException {
+        String detectorId = setupDetector();
+        stateManager.getConfig(detectorId, AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+
+        // invalidations may have been missed while this node had no cluster manager
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.indicesDeleted()).thenReturn(List.of());
+        DiscoveryNodes.Delta delta = mock(DiscoveryNodes.Delta.class);
+        when(delta.clusterManagerNodeChanged()).thenReturn(true);
+        when(event.nodesDelta()).thenReturn(delta);
+        stateManager.clusterChanged(event);
+        stateManager.getConfig(detectorId, AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(2)).get(any(), any(ActionListener.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testInvalidationDuringLoadIsNotOverwritten() throws IOException {
+        AnomalyDetector detector = TestHelpers.randomAnomalyDetector(TestHelpers.randomUiMetadata(), null, true);
+        List<ActionListener<GetResponse>> pendingGets = new ArrayList<>();
+        doAnswer(invocation -> {
+            pendingGets.add(invocation.getArgument(1));
+            return null;
+        }).when(client).get(any(), any(ActionListener.class));
+
+        List<Optional<? extends Config>> responses = new ArrayList<>();
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(responses::add, e -> fail()));
+        // an update is observed while the get of the older version is in flight
+        stateManager.onConfigVersion(detector.getId(), 3);
+        pendingGets.get(0).onResponse(configResponse(detector, 2));
+        assertEquals(1, responses.size());
+
+        // the older version has not been cached
+        stateManager.getConfig(detector.getId(), AnalysisType.AD, true, ActionListener.wrap(responses::add, e -> fail()));
+        assertEquals(2, pendingGets.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testConfigIndexDeletionDropsCachedConfigs() throws IOException {
+        String detectorId = setupDetector();
+        stateManager.getConfig(detectorId, AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+
+        ClusterChangedEvent otherIndexDeleted = mock(ClusterChangedEvent.class);
+        when(otherIndexDeleted.indicesDeleted()).thenReturn(List.of(new Index("other", "uuid")));
+        when(otherIndexDeleted.nodesDelta()).thenReturn(mock(DiscoveryNodes.Delta.class));
+        stateManager.clusterChanged(otherIndexDeleted);
+        stateManager.getConfig(detectorId, AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(1)).get(any(), any(ActionListener.class));
+
+        ClusterChangedEvent configIndexDeleted = mock(ClusterChangedEvent.class);
+        when(configIndexDeleted.indicesDeleted()).thenReturn(List.of(new Index(ADCommonName.CONFIG_INDEX, "uuid")));
+        stateManager.clusterChanged(configIndexDeleted);
+        stateManager.getConfig(detectorId, AnalysisType.AD, true, ActionListener.wrap(r -> {}, e -> fail()));
+        verify(client, times(2)).get(any(), any(ActionListener.class));
+    }
 }
@@ -12,6 +12,7 @@
 package org.opensearch.timeseries;
 
 import static org.apache.hc.core5.http.ContentType.APPLICATION_JSON;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.opensearch.cluster.node.DiscoveryNodeRole.BUILT_IN_ROLES;
@@ -35,6 +36,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -137,6 +139,7 @@ import org.opensearch.search.suggest.Suggest;
 import org.opensearch.test.ClusterServiceUtils;
 import org.opensearch.test.rest.OpenSearchRestTestCase;
 import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.timeseries.cluster.HashRing;
 import org.opensearch.timeseries.constant.CommonMessages;
 import org.opensearch.timeseries.constant.CommonName;
 import org.opensearch.timeseries.constant.CommonValue;
@@ -1364,6 +1367,24 @@ public class TestHelpers {
         return ClusterServiceUtils.createClusterService(threadPool, discoveryNode, clusterSettings);
     }
 
+    /**
+     * Make a mocked hash ring route entities with its stubbed per-entity owning node lookup.
+     * @param hashRing mocked hash ring
+     */
+    public static void routeByOwningNode(HashRing hashRing) {
+        when(hashRing.route(any())).thenAnswer(invocation -> {
+            Collection<Entity> entities = invocation.getArgument(0);
+            Map<DiscoveryNode, List<Entity>> routes = new HashMap<>();
+            for (Entity entity : entities) {
+                Optional<DiscoveryNode> owningNode = hashRing.getOwningNodeWithSameLocalVersionForRealtime(entity.toString());
+                if (owningNode != null && owningNode.isPresent()) {
+                    routes.computeIfAbsent(owningNode.get(), k -> new ArrayList<>()).add(entity);
+                }
+            }
+            return routes;
+        });
+    }
+
     public static ClusterState createIndexBlockedState(String indexName, Settings hackedSettings, String alias) {
         ClusterState blockedClusterState = null;
         IndexMetadata.Builder builder = IndexMetadata.builder(indexName);
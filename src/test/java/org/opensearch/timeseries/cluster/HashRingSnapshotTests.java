@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.cluster;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.Murmur3HashFunction;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class HashRingSnapshotTests extends OpenSearchTestCase {
+
+    public void testSameOwnerAsTreeMap() {
+        TreeMap<Integer, DiscoveryNode> circle = new TreeMap<>();
+        for (int n = 0; n < 3; n++) {
+            DiscoveryNode node = new DiscoveryNode("node" + n, buildNewFakeTransportAddress(), Version.CURRENT);
+            for (int i = 0; i < 100; i++) {
+                circle.put(Murmur3HashFunction.hash(node.getId() + i), node);
+            }
+        }
+        HashRingSnapshot snapshot = HashRingSnapshot.of(circle);
+        assertEquals(circle.size(), snapshot.size());
+        assertEquals(3, snapshot.getNodes().size());
+
+        for (int i = 0; i < 1000; i++) {
+            int hash = i % 10 == 0 ? circle.keySet().toArray(new Integer[0])[randomIntBetween(0, circle.size() - 1)] : randomInt();
+            Map.Entry<Integer, DiscoveryNode> entry = circle.higherEntry(hash);
+            DiscoveryNode expected = entry == null ? circle.firstEntry().getValue() : entry.getValue();
+            assertEquals(expected, snapshot.getOwningNode(hash));
+        }
+        // wrap around after the largest hash
+        assertEquals(circle.firstEntry().getValue(), snapshot.getOwningNode(circle.lastKey()));
+        assertEquals(circle.firstEntry().getValue(), snapshot.getOwningNode(Integer.MAX_VALUE));
+    }
+
+    public void testEmptyCircle() {
+        HashRingSnapshot snapshot = HashRingSnapshot.of(new TreeMap<>());
+        assertNull(snapshot.getOwningNode(randomInt()));
+        assertTrue(snapshot.getNodes().isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.indices;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.List;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ResultIndexValidationCacheTests extends OpenSearchTestCase {
+    private static final String ALIAS = "opensearch-ad-plugin-result-test";
+    private static final String USER = "alice";
+    private static final List<String> ROLES = List.of("all_access");
+
+    private Clock clock;
+    private ResultIndexValidationCache cache;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        cache = new ResultIndexValidationCache(clock);
+    }
+
+    private static IndexMetadata index(String name, String uuid, long mappingVersion, boolean writeIndex) {
+        return IndexMetadata
+            .builder(name)
+            .settings(
+                Settings
+                    .builder()
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, uuid)
+                    .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+                    .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+            )
+            .mappingVersion(mappingVersion)
+            .putAlias(AliasMetadata.builder(ALIAS).writeIndex(writeIndex))
+            .build();
+    }
+
+    private static ClusterState state(IndexMetadata... indices) {
+        Metadata.Builder metadata = Metadata.builder();
+        for (IndexMetadata index : indices) {
+            metadata.put(index, false);
+        }
+        return ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+    }
+
+    public void testResolveWriteIndexOfAlias() {
+        IndexMetadata old = index("result-1", "uuid-1", 1, false);
+        IndexMetadata current = index("result-2", "uuid-2", 1, true);
+        Metadata metadata = state(old, current).metadata();
+        assertEquals("uuid-2", ResultIndexValidationCache.resolve(metadata, ALIAS).getIndexUUID());
+        assertEquals("uuid-1", ResultIndexValidationCache.resolve(metadata, "result-1").getIndexUUID());
+        assertNull(ResultIndexValidationCache.resolve(metadata, "missing"));
+    }
+
+    public void testValidatedUntilMappingChanges() {
+        IndexMetadata index = index("result-1", "uuid-1", 1, true);
+        assertFalse(cache.isValidated(index, USER, ROLES));
+        cache.putValidated(index, USER, ROLES);
+        assertTrue(cache.isValidated(index, USER, ROLES));
+        // validation of one user does not cover another
+        assertFalse(cache.isValidated(index, "bob", ROLES));
+        assertFalse(cache.isValidated(index, USER, List.of("readall")));
+
+        IndexMetadata updated = index("result-1", "uuid-1", 2, true);
+        assertFalse(cache.isValidated(updated, USER, ROLES));
+        // same name, new index
+        assertFalse(cache.isValidated(index("result-1", "uuid-2", 1, true), USER, ROLES));
+    }
+
+    public void testExpiration() {
+        IndexMetadata index = index("result-1", "uuid-1", 1, true);
+        cache.putValidated(index, USER, ROLES);
+        when(clock.millis()).thenReturn(ResultIndexValidationCache.EXPIRATION.toMillis());
+        assertFalse(cache.isValidated(index, USER, ROLES));
+    }
+
+    public void testInvalidateOnClusterChange() {
+        IndexMetadata first = index("result-1", "uuid-1", 1, true);
+        IndexMetadata second = index("result-2", "uuid-2", 1, false);
+        cache.putValidated(first, USER, ROLES);
+        cache.putValidated(second, USER, ROLES);
+        ClusterState previous = state(first, second);
+
+        // mapping of result-1 changes, result-2 is unchanged
+        ClusterState mappingChanged = state(index("result-1", "uuid-1", 2, true), second);
+        cache.clusterChanged(new ClusterChangedEvent("test", mappingChanged, previous));
+        assertEquals(1, cache.size());
+        assertTrue(cache.isValidated(second, USER, ROLES));
+
+        // result-2 is deleted
+        ClusterState deleted = state(index("result-1", "uuid-1", 2, true));
+        cache.clusterChanged(new ClusterChangedEvent("test", deleted, mappingChanged));
+        assertEquals(0, cache.size());
+    }
+}
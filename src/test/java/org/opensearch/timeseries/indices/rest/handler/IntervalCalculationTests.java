@@ -7,6 +7,7 @@ package org.opensearch.timeseries.indices.rest.handler;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -21,7 +22,10 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
@@ -41,9 +45,10 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.Aggregation;
 import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
 import org.opensearch.search.aggregations.bucket.histogram.Histogram;
-import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
 import org.opensearch.search.aggregations.metrics.NumericMetricsAggregation;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
@@ -61,6 +66,7 @@ import org.opensearch.timeseries.model.ValidationIssueType;
 import org.opensearch.timeseries.rest.handler.AggregationPrep;
 import org.opensearch.timeseries.rest.handler.IntervalCalculation;
 import org.opensearch.timeseries.rest.handler.IntervalCalculation.IntervalRecommendationListener;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
 import org.opensearch.timeseries.util.SecurityClientUtil;
 import org.opensearch.transport.client.Client;
 
@@ -73,7 +79,6 @@ public class IntervalCalculationTests extends OpenSearchTestCase {
     private User user;
     private Map<String, Object> mockTopEntity;
     private IntervalTimeConfiguration mockIntervalConfig;
-    private LongBounds mockLongBounds;
     private Config mockConfig;
     private SearchFeatureDao searchFeatureDao;
 
@@ -94,7 +99,6 @@ public class IntervalCalculationTests extends OpenSearchTestCase {
         user = TestHelpers.randomUser();
         mockTopEntity = mock(Map.class);
         mockIntervalConfig = mock(IntervalTimeConfiguration.class);
-        mockLongBounds = mock(LongBounds.class);
         mockConfig = mock(Config.class);
         searchFeatureDao = mock(SearchFeatureDao.class);
         ExecutorService executorService = mock(ExecutorService.class);
@@ -128,7 +132,7 @@ public class IntervalCalculationTests extends OpenSearchTestCase {
         long expirationEpochMs = clock.millis() - 1000; // Expired 1 second ago
 
         IntervalRecommendationListener listener = intervalCalculation.new IntervalRecommendationListener(
-            mockIntervalListener, mockIntervalConfig, expirationEpochMs, mockLongBounds
+            mockIntervalListener, Collections.singletonList(mockIntervalConfig), expirationEpochMs
         );
 
         Histogram histogram = mock(Histogram.class);
@@ -211,7 +215,7 @@ public class IntervalCalculationTests extends OpenSearchTestCase {
             .countContinuousShinglesFromHistogramSearch(any(), any(), anyBoolean());
 
         IntervalRecommendationListener listener = intervalCalculation.new IntervalRecommendationListener(
-            mockIntervalListener, mockIntervalConfig, expirationEpochMs, mockLongBounds
+            mockIntervalListener, Collections.singletonList(mockIntervalConfig), expirationEpochMs
         );
 
         listener.onResponse(mockResponse);
@@ -223,4 +227,68 @@ public class IntervalCalculationTests extends OpenSearchTestCase {
         assertEquals(ValidationIssueType.AGGREGATION, validationException.getType());
         assertEquals(ValidationAspect.MODEL, validationException.getAspect());
     }
+
+    private Aggregations candidateAggregations(int candidateIndex, int shingles) {
+        Histogram histogram = mock(Histogram.class);
+        when(histogram.getName()).thenReturn(AggregationPrep.AGGREGATION);
+        Aggregations histogramAggs = new Aggregations(Arrays.asList(histogram));
+        when(searchFeatureDao.countContinuousShinglesFromHistogramAggregations(same(histogramAggs), any(), anyBoolean()))
+            .thenReturn(shingles);
+
+        Filter candidate = mock(Filter.class);
+        when(candidate.getName()).thenReturn(AggregationPrep.CANDIDATE_AGGREGATION + candidateIndex);
+        when(candidate.getAggregations()).thenReturn(histogramAggs);
+        return new Aggregations(Arrays.asList(candidate));
+    }
+
+    private SearchResponse candidatesResponse(int... shingles) {
+        List<Aggregation> candidates = new ArrayList<>();
+        for (int i = 0; i < shingles.length; i++) {
+            candidates.addAll(candidateAggregations(i, shingles[i]).asList());
+        }
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getAggregations()).thenReturn(new Aggregations(candidates));
+        return response;
+    }
+
+    public void testSelectInterval() {
+        List<IntervalTimeConfiguration> candidates = Arrays
+            .asList(
+                new IntervalTimeConfiguration(1, ChronoUnit.MINUTES),
+                new IntervalTimeConfiguration(5, ChronoUnit.MINUTES),
+                new IntervalTimeConfiguration(10, ChronoUnit.MINUTES)
+            );
+
+        // the smallest dense enough candidate wins, even if a larger one is denser
+        SearchResponse response = candidatesResponse(
+            TimeSeriesSettings.NUM_MIN_SAMPLES - 1,
+            TimeSeriesSettings.NUM_MIN_SAMPLES,
+            TimeSeriesSettings.NUM_MIN_SAMPLES + 10
+        );
+        assertEquals(candidates.get(1), intervalCalculation.selectInterval(candidates, response));
+
+        response = candidatesResponse(0, 1, TimeSeriesSettings.NUM_MIN_SAMPLES - 1);
+        assertNull(intervalCalculation.selectInterval(candidates, response));
+    }
+
+    public void testTimedOutSearchWithoutDenseInterval() {
+        List<IntervalTimeConfiguration> candidates = Arrays
+            .asList(new IntervalTimeConfiguration(1, ChronoUnit.MINUTES), new IntervalTimeConfiguration(5, ChronoUnit.MINUTES));
+        IntervalRecommendationListener listener = intervalCalculation.new IntervalRecommendationListener(
+            mockIntervalListener, candidates, clock.millis() + TimeSeriesSettings.TOP_VALIDATE_TIMEOUT_IN_MILLIS
+        );
+
+        SearchResponse response = candidatesResponse(0, 0);
+        when(response.isTimedOut()).thenReturn(true);
+        listener.onResponse(response);
+
+        ArgumentCaptor<ValidationException> argumentCaptor = ArgumentCaptor.forClass(ValidationException.class);
+        verify(mockIntervalListener).onFailure(argumentCaptor.capture());
+        assertEquals(CommonMessages.TIMEOUT_ON_INTERVAL_REC, argumentCaptor.getValue().getMessage());
+        assertEquals(ValidationIssueType.TIMEOUT, argumentCaptor.getValue().getType());
+
+        // a dense enough candidate is recommended even if some shards timed out
+        listener.onResponse(candidatesResponse(0, TimeSeriesSettings.NUM_MIN_SAMPLES));
+        verify(mockIntervalListener).onResponse(candidates.get(1));
+    }
 }
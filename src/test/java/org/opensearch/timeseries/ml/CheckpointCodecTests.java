@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.settings.TimeSeriesSettings;
+
+public class CheckpointCodecTests extends OpenSearchTestCase {
+
+    private byte[] compressibleBytes(int length) {
+        byte[] raw = new byte[length];
+        for (int i = 0; i < length; i++) {
+            raw[i] = (byte) (i % 7);
+        }
+        return raw;
+    }
+
+    public void testRoundTrip() throws IOException {
+        byte[] raw = compressibleBytes(100_000);
+        for (CheckpointCompression compression : CheckpointCompression.values()) {
+            byte[] encoded = CheckpointCodec.encode(raw, compression);
+            assertEquals(CheckpointCodec.FORMAT_VERSION, encoded[0]);
+            assertEquals(compression.getId(), encoded[1]);
+            assertEquals(raw.length, CheckpointCodec.getRawSize(encoded));
+            if (compression != CheckpointCompression.NONE) {
+                assertTrue(compression + " should shrink repetitive input", encoded.length < raw.length);
+            }
+            assertArrayEquals(raw, CheckpointCodec.decode(encoded, raw.length));
+        }
+    }
+
+    public void testRoundTripRandomBytes() throws IOException {
+        byte[] raw = randomByteArrayOfLength(randomIntBetween(0, 10_000));
+        for (CheckpointCompression compression : CheckpointCompression.values()) {
+            assertArrayEquals(raw, CheckpointCodec.decode(CheckpointCodec.encode(raw, compression), raw.length));
+        }
+    }
+
+    public void testRawSizeOverLimit() throws IOException {
+        byte[] encoded = CheckpointCodec.encode(compressibleBytes(1000), CheckpointCompression.LZ4);
+        expectThrows(IOException.class, () -> CheckpointCodec.decode(encoded, 999));
+    }
+
+    public void testUnknownVersion() throws IOException {
+        byte[] encoded = CheckpointCodec.encode(compressibleBytes(10), CheckpointCompression.NONE);
+        encoded[0] = 42;
+        expectThrows(IOException.class, () -> CheckpointCodec.decode(encoded, 100));
+    }
+
+    public void testUnknownCompression() throws IOException {
+        byte[] encoded = CheckpointCodec.encode(compressibleBytes(10), CheckpointCompression.NONE);
+        encoded[1] = 42;
+        expectThrows(IOException.class, () -> CheckpointCodec.decode(encoded, 100));
+    }
+
+    public void testTruncated() throws IOException {
+        expectThrows(IOException.class, () -> CheckpointCodec.decode(new byte[3], 100));
+
+        byte[] encoded = CheckpointCodec.encode(compressibleBytes(1000), CheckpointCompression.DEFLATE);
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        expectThrows(IOException.class, () -> CheckpointCodec.decode(truncated, 1000));
+    }
+
+    public void testFromSourceValue() throws IOException {
+        byte[] encoded = CheckpointCodec.encode(compressibleBytes(10), CheckpointCompression.LZ4);
+        assertArrayEquals(encoded, CheckpointCodec.fromSourceValue(encoded));
+        assertArrayEquals(encoded, CheckpointCodec.fromSourceValue(Base64.getEncoder().encodeToString(encoded)));
+        assertNull(CheckpointCodec.fromSourceValue(null));
+        assertNull(CheckpointCodec.fromSourceValue(1));
+    }
+
+    public void testCompressionFromName() {
+        assertEquals(CheckpointCompression.LZ4, CheckpointCompression.fromName("lz4"));
+        assertEquals(CheckpointCompression.DEFLATE, CheckpointCompression.fromName("DEFLATE"));
+        expectThrows(IllegalArgumentException.class, () -> CheckpointCompression.fromName("zstd"));
+    }
+
+    public void testDefaultCompressionKeepsLegacyFormat() {
+        // older nodes can only read the legacy fields during a rolling upgrade
+        assertEquals(CheckpointCompression.NONE, TimeSeriesSettings.CHECKPOINT_COMPRESSION.getDefault(Settings.EMPTY));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.ml;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.mockito.ArgumentCaptor;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.timeseries.AnalysisType;
+import org.opensearch.timeseries.feature.SearchFeatureDao;
+import org.opensearch.timeseries.model.Config;
+import org.opensearch.timeseries.model.Entity;
+import org.opensearch.timeseries.model.IntervalTimeConfiguration;
+
+public class GapBackfillCoordinatorTests extends OpenSearchTestCase {
+    private static final long INTERVAL_MS = 60_000L;
+    private static final long END_MS = 1_700_000_040_000L;
+
+    private SearchFeatureDao searchFeatureDao;
+    private ThreadPool threadPool;
+    private Config config;
+    private AtomicInteger singleFetches;
+    private GapBackfillCoordinator coordinator;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        searchFeatureDao = mock(SearchFeatureDao.class);
+        when(searchFeatureDao.getTrainSampleRanges(any(), anyLong(), anyLong(), anyInt())).thenCallRealMethod();
+
+        threadPool = mock(ThreadPool.class);
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(threadPool.executor(anyString())).thenReturn(executor);
+
+        config = mock(Config.class);
+        when(config.getId()).thenReturn("config");
+        when(config.isHighCardinality()).thenReturn(true);
+        when(config.getIntervalInMilliseconds()).thenReturn(INTERVAL_MS);
+        when(config.getInterval()).thenReturn(new IntervalTimeConfiguration(1, ChronoUnit.MINUTES));
+
+        singleFetches = new AtomicInteger();
+        coordinator = new GapBackfillCoordinator(searchFeatureDao, threadPool, "pool", AnalysisType.AD, (c, e, start, end, listener) -> {
+            singleFetches.incrementAndGet();
+            listener.onResponse(new ArrayList<>());
+        });
+    }
+
+    private Runnable captureWindow() {
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool, times(1)).schedule(flush.capture(), any(TimeValue.class), eq("pool"));
+        return flush.getValue();
+    }
+
+    public void testOneSearchForManyEntities() {
+        Entity first = Entity.createSingleAttributeEntity("host", "a");
+        Entity second = Entity.createSingleAttributeEntity("host", "b");
+        Entity absent = Entity.createSingleAttributeEntity("host", "c");
+
+        doAnswer(invocation -> {
+            List<?> ranges = invocation.getArgument(1);
+            assertEquals(5, ranges.size());
+            Map<Entity, List<Optional<double[]>>> samples = new HashMap<>();
+            List<Optional<double[]>> firstSamples = new ArrayList<>();
+            List<Optional<double[]>> secondSamples = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                firstSamples.add(Optional.of(new double[] { i }));
+                secondSamples.add(i == 4 ? Optional.empty() : Optional.of(new double[] { 10 + i }));
+            }
+            samples.put(first, firstSamples);
+            samples.put(second, secondSamples);
+            ActionListener<Map<Entity, List<Optional<double[]>>>> listener = invocation.getArgument(5);
+            listener.onResponse(samples);
+            return null;
+        })
+            .when(searchFeatureDao)
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        AtomicReference<List<Sample>> firstResult = new AtomicReference<>();
+        AtomicReference<List<Sample>> secondResult = new AtomicReference<>();
+        AtomicReference<List<Sample>> absentResult = new AtomicReference<>();
+        coordinator
+            .fetch(config, Optional.of(first), END_MS - 5 * INTERVAL_MS, END_MS, ActionListener.wrap(firstResult::set, e -> fail()));
+        // a shorter gap gets the tail of the shared ranges
+        coordinator
+            .fetch(config, Optional.of(second), END_MS - 3 * INTERVAL_MS, END_MS, ActionListener.wrap(secondResult::set, e -> fail()));
+        coordinator
+            .fetch(config, Optional.of(absent), END_MS - 2 * INTERVAL_MS, END_MS, ActionListener.wrap(absentResult::set, e -> fail()));
+
+        // nothing is fetched until the window closes
+        assertNull(firstResult.get());
+        captureWindow().run();
+
+        verify(searchFeatureDao, times(1))
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+        // only the entity without documents is fetched on its own
+        assertEquals(1, singleFetches.get());
+        assertEquals(0, coordinator.getPendingBatches());
+
+        assertEquals(5, firstResult.get().size());
+        assertEquals(END_MS - 5 * INTERVAL_MS, firstResult.get().get(0).getDataStartTime().toEpochMilli());
+        assertEquals(END_MS, firstResult.get().get(4).getDataEndTime().toEpochMilli());
+
+        // ranges 2 and 3 of the batch; the empty last range is skipped
+        assertEquals(2, secondResult.get().size());
+        assertEquals(END_MS - 3 * INTERVAL_MS, secondResult.get().get(0).getDataStartTime().toEpochMilli());
+        assertEquals(12, secondResult.get().get(0).getValueList()[0], 0.001);
+
+        assertTrue(absentResult.get().isEmpty());
+    }
+
+    public void testEntitiesWithoutDocumentsGetEmptyRanges() {
+        // a fetch of its own returns the values of empty ranges, e.g., zero counts
+        List<Long> singleStarts = new ArrayList<>();
+        coordinator = new GapBackfillCoordinator(searchFeatureDao, threadPool, "pool", AnalysisType.AD, (c, e, start, end, listener) -> {
+            singleStarts.add(start);
+            List<Sample> samples = new ArrayList<>();
+            for (long rangeStart = start; rangeStart < end; rangeStart += INTERVAL_MS) {
+                Instant rangeEnd = Instant.ofEpochMilli(rangeStart + INTERVAL_MS);
+                samples.add(new Sample(new double[] { 0 }, Instant.ofEpochMilli(rangeStart), rangeEnd));
+            }
+            listener.onResponse(samples);
+        });
+        Entity present = Entity.createSingleAttributeEntity("host", "a");
+        doAnswer(invocation -> {
+            List<?> ranges = invocation.getArgument(1);
+            List<Optional<double[]>> presentSamples = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                presentSamples.add(Optional.of(new double[] { i }));
+            }
+            ActionListener<Map<Entity, List<Optional<double[]>>>> listener = invocation.getArgument(5);
+            listener.onResponse(Map.of(present, presentSamples));
+            return null;
+        })
+            .when(searchFeatureDao)
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        AtomicReference<List<Sample>> longGap = new AtomicReference<>();
+        AtomicReference<List<Sample>> shortGap = new AtomicReference<>();
+        coordinator.fetch(config, Optional.of(present), END_MS - 5 * INTERVAL_MS, END_MS, ActionListener.wrap(r -> {}, e -> fail()));
+        coordinator
+            .fetch(
+                config,
+                Optional.of(Entity.createSingleAttributeEntity("host", "b")),
+                END_MS - 4 * INTERVAL_MS,
+                END_MS,
+                ActionListener.wrap(longGap::set, e -> fail())
+            );
+        coordinator
+            .fetch(
+                config,
+                Optional.of(Entity.createSingleAttributeEntity("host", "c")),
+                END_MS - 2 * INTERVAL_MS,
+                END_MS,
+                ActionListener.wrap(shortGap::set, e -> fail())
+            );
+        captureWindow().run();
+
+        // one fetch over all ranges of the batch serves both entities
+        assertEquals(List.of(END_MS - 5 * INTERVAL_MS), singleStarts);
+        assertEquals(4, longGap.get().size());
+        assertEquals(END_MS - 4 * INTERVAL_MS, longGap.get().get(0).getDataStartTime().toEpochMilli());
+        assertEquals(2, shortGap.get().size());
+        assertEquals(0, shortGap.get().get(0).getValueList()[0], 0.001);
+    }
+
+    public void testSingleEntityUsesSingleFetch() {
+        AtomicReference<List<Sample>> result = new AtomicReference<>();
+        Optional<Entity> entity = Optional.of(Entity.createSingleAttributeEntity("host", "a"));
+        coordinator.fetch(config, entity, END_MS - 5 * INTERVAL_MS, END_MS, ActionListener.wrap(result::set, e -> fail()));
+        captureWindow().run();
+
+        assertEquals(1, singleFetches.get());
+        assertNotNull(result.get());
+        verify(searchFeatureDao, never())
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), any(), any());
+    }
+
+    public void testSingleStreamIsNotBatched() {
+        when(config.isHighCardinality()).thenReturn(false);
+        coordinator.fetch(config, Optional.empty(), END_MS - 5 * INTERVAL_MS, END_MS, ActionListener.wrap(r -> {}, e -> fail()));
+
+        assertEquals(1, singleFetches.get());
+        verify(threadPool, never()).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+    }
+
+    public void testFailedBatchFallsBack() {
+        doAnswer(invocation -> {
+            ActionListener<Map<Entity, List<Optional<double[]>>>> listener = invocation.getArgument(5);
+            listener.onFailure(new IllegalArgumentException("bad query"));
+            return null;
+        })
+            .when(searchFeatureDao)
+            .getColdStartSamplesForPeriodsByEntities(any(), any(), any(), anyBoolean(), eq(AnalysisType.AD), any());
+
+        for (String host : new String[] { "a", "b" }) {
+            Optional<Entity> entity = Optional.of(Entity.createSingleAttributeEntity("host", host));
+            coordinator.fetch(config, entity, END_MS - 5 * INTERVAL_MS, END_MS, ActionListener.wrap(r -> {}, e -> fail()));
+        }
+        captureWindow().run();
+
+        assertEquals(2, singleFetches.get());
+    }
+}
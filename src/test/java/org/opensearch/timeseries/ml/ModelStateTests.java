@@ -16,7 +16,11 @@ import static org.hamcrest.Matchers.greaterThan;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.opensearch.test.OpenSearchTestCase;
 
@@ -44,6 +48,112 @@ public class ModelStateTests extends OpenSearchTestCase {
         assertThat(afterSetPriority, greaterThan(afterGetModel));
     }
 
+    public void testSnapshotFreshness() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        ModelState<Object> state = new ModelState<>(new Object(), "model", "config", "type", new IncrementingClock(base));
+        assertTrue(state.getSnapshot().isEmpty());
+
+        state.setLastCheckpointTime(base);
+        ModelSnapshot snapshot = new ModelSnapshot(new Object(), base.plusSeconds(1));
+        state.setSnapshot(snapshot);
+        assertSame(snapshot, state.getSnapshot().get());
+
+        // a checkpoint taken after the snapshot makes it obsolete
+        state.setLastCheckpointTime(base.plusSeconds(2));
+        assertTrue(state.getSnapshot().isEmpty());
+
+        // a snapshot never outlives the model it was taken from
+        state.setSnapshot(new ModelSnapshot(new Object(), base.plusSeconds(3)));
+        state.setModel(new Object());
+        assertTrue(state.getSnapshot().isEmpty());
+
+        state.setSnapshot(new ModelSnapshot(new Object(), base.plusSeconds(3)));
+        state.clear();
+        assertTrue(state.getSnapshot().isEmpty());
+    }
+
+    public void testDroppedSnapshotIsReleasedOnce() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        ModelState<Object> state = new ModelState<>(new Object(), "model", "config", "type", new IncrementingClock(base));
+        AtomicInteger released = new AtomicInteger();
+
+        state.setSnapshot(new ModelSnapshot(new Object(), base.plusSeconds(1), 0, released::incrementAndGet));
+        // replacing a snapshot releases the old one
+        state.setSnapshot(new ModelSnapshot(new Object(), base.plusSeconds(2), 0, released::incrementAndGet));
+        assertEquals(1, released.get());
+
+        state.setLastCheckpointTime(base.plusSeconds(3));
+        assertEquals(2, released.get());
+        state.clear();
+        assertEquals(2, released.get());
+    }
+
+    public void testDelta() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        ModelState<Object> state = new ModelState<>(new Object(), "model", "config", "type", new IncrementingClock(base));
+        Sample first = new Sample(new double[] { 1 }, base, base.plusSeconds(60));
+        Sample second = new Sample(new double[] { 2 }, base.plusSeconds(60), base.plusSeconds(120));
+
+        // nothing is tracked until a full checkpoint has been saved
+        state.appendDelta(List.of(first), 10);
+        assertTrue(state.getDelta().isEmpty());
+
+        state.restartDelta(state.getProcessedCount(), "v1");
+        state.appendDelta(List.of(first), 2);
+        state.appendDelta(List.of(second), 2);
+        assertEquals(List.of(first, second), state.getDelta().get());
+        assertEquals("v1", state.getDeltaBaseVersion());
+
+        // overflow forces a full checkpoint
+        state.appendDelta(List.of(first), 2);
+        assertTrue(state.getDelta().isEmpty());
+        state.appendDelta(List.of(second), 2);
+        assertTrue(state.getDelta().isEmpty());
+
+        state.restoreDelta(new ArrayDeque<>(List.of(first)), 2, "v2");
+        assertEquals(List.of(first), state.getDelta().get());
+        assertEquals("v2", state.getDeltaBaseVersion());
+        state.restoreDelta(new ArrayDeque<>(List.of(first, second)), 1, "v2");
+        assertTrue(state.getDelta().isEmpty());
+
+        // samples do not apply to a different model
+        long oldModelPosition = state.getProcessedCount();
+        state.restartDelta(oldModelPosition, "v3");
+        state.setModel(new Object());
+        assertTrue(state.getDelta().isEmpty());
+        assertNull(state.getDeltaBaseVersion());
+        // nor does a late checkpoint of the replaced model restart the delta
+        state.restartDelta(oldModelPosition, "v3");
+        state.appendDelta(List.of(first), 2);
+        assertTrue(state.getDelta().isEmpty());
+    }
+
+    public void testDeltaKeepsSamplesAfterSavedPosition() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        ModelState<Object> state = new ModelState<>(new Object(), "model", "config", "type", new IncrementingClock(base));
+        Sample first = new Sample(new double[] { 1 }, base, base.plusSeconds(60));
+        Sample second = new Sample(new double[] { 2 }, base.plusSeconds(60), base.plusSeconds(120));
+        Sample third = new Sample(new double[] { 3 }, base.plusSeconds(120), base.plusSeconds(180));
+        AtomicLong bytes = new AtomicLong();
+        state.setDeltaMemoryListener(bytes::addAndGet);
+
+        state.appendDelta(List.of(first), 10);
+        // a full checkpoint is serialized here and saved after two more samples
+        long position = state.getProcessedCount();
+        state.appendDelta(List.of(second, third), 10);
+        assertTrue(state.getDelta().isEmpty());
+        state.restartDelta(position, "v1");
+        assertEquals(List.of(second, third), state.getDelta().get());
+        assertEquals(second.estimateBytes() + third.estimateBytes(), bytes.get());
+
+        // an older checkpoint saved late does not move the delta back
+        state.restartDelta(position - 1, "v0");
+        assertEquals(List.of(second, third), state.getDelta().get());
+
+        state.clear();
+        assertEquals(0, bytes.get());
+    }
+
     private static class IncrementingClock extends Clock {
         private Instant current;
 
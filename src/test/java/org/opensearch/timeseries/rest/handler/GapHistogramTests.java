@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.rest.handler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.timeseries.rest.handler.IntervalCalculation.GapHistogram;
+
+public class GapHistogramTests extends OpenSearchTestCase {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    public void testMedianGapAndEmptyBuckets() {
+        // 1 minute buckets, data every 2 minutes
+        GapHistogram histogram = new GapHistogram(
+            1,
+            true,
+            new long[] { 0, MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE },
+            new long[] { 1, 0, 1, 0, 1 },
+            new double[] { 0, Double.NaN, 2 * MINUTE, Double.NaN, 4 * MINUTE }
+        );
+        assertTrue(histogram.hasEmptyBuckets());
+        assertEquals(2 * MINUTE, histogram.medianGap(), 0.001);
+    }
+
+    public void testRollUpMatchesCoarserHistogram() {
+        GapHistogram histogram = new GapHistogram(
+            1,
+            true,
+            new long[] { 0, MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE, 5 * MINUTE },
+            new long[] { 1, 0, 1, 0, 1, 2 },
+            new double[] { 10, Double.NaN, 2 * MINUTE + 10, Double.NaN, 4 * MINUTE + 10, 5 * MINUTE }
+        );
+
+        GapHistogram coarse = histogram.rollUp(2);
+        assertEquals(2, coarse.getBucketMins());
+        assertTrue(coarse.coversSlice());
+        // one data point per 2 minute bucket: no empty bucket and the gap is the earliest timestamps' distance
+        assertFalse(coarse.hasEmptyBuckets());
+        assertEquals(2 * MINUTE, coarse.medianGap(), 0.001);
+
+        GapHistogram coarser = histogram.rollUp(4);
+        assertFalse(coarser.hasEmptyBuckets());
+        assertEquals(4 * MINUTE, coarser.medianGap(), 0.001);
+    }
+
+    public void testEmptyHistogram() {
+        GapHistogram histogram = GapHistogram.of(5, false, null);
+        assertFalse(histogram.hasEmptyBuckets());
+        assertTrue(Double.isNaN(histogram.medianGap()));
+        assertTrue(Double.isNaN(histogram.rollUp(10).medianGap()));
+    }
+}
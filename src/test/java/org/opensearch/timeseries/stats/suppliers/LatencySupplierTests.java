@@ -0,0 +1,103 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.timeseries.stats.suppliers;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class LatencySupplierTests extends OpenSearchTestCase {
+
+    private static double doubleValue(Map<String, Object> latency, String key) {
+        return ((Number) latency.get(key)).doubleValue();
+    }
+
+    public void testEmpty() {
+        Map<String, Object> latency = new LatencySupplier().get();
+        assertEquals(0L, latency.get(LatencySupplier.COUNT));
+        assertEquals(0.0, doubleValue(latency, LatencySupplier.P50), 0.0);
+        assertEquals(0.0, doubleValue(latency, LatencySupplier.P99), 0.0);
+        assertEquals(0.0, doubleValue(latency, LatencySupplier.MAX), 0.0);
+        assertEquals(0, ((long[]) latency.get(LatencySupplier.BUCKETS)).length);
+    }
+
+    public void testPercentiles() {
+        LatencySupplier supplier = new LatencySupplier();
+        for (int i = 1; i <= 100; i++) {
+            supplier.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        Map<String, Object> latency = supplier.get();
+        assertEquals(100L, latency.get(LatencySupplier.COUNT));
+        // a percentile may be reported up to 1/16 above the recorded value
+        double p50 = doubleValue(latency, LatencySupplier.P50);
+        assertTrue("p50 " + p50, p50 >= 50 && p50 <= 50 * 17 / 16.0);
+        double p99 = doubleValue(latency, LatencySupplier.P99);
+        assertTrue("p99 " + p99, p99 >= 99 && p99 <= 100);
+        assertEquals(100.0, doubleValue(latency, LatencySupplier.MAX), 0.0);
+    }
+
+    public void testLargeLatencyIsClamped() {
+        LatencySupplier supplier = new LatencySupplier();
+        supplier.record(TimeUnit.DAYS.toNanos(2));
+        supplier.record(-1L);
+        Map<String, Object> latency = supplier.get();
+        assertEquals(2L, latency.get(LatencySupplier.COUNT));
+        assertEquals(TimeUnit.DAYS.toMillis(2), doubleValue(latency, LatencySupplier.MAX), 0.0);
+        assertEquals(0.0, doubleValue(latency, LatencySupplier.P50), 0.0);
+        long[] buckets = (long[]) latency.get(LatencySupplier.BUCKETS);
+        assertEquals(LatencySupplier.NUM_BUCKETS - 1, buckets[buckets.length - 2]);
+    }
+
+    public void testBucketBounds() {
+        int previous = -1;
+        for (long micros = 0; micros < 100_000; micros++) {
+            int index = LatencySupplier.bucketIndex(micros);
+            // buckets are contiguous and ordered
+            assertTrue(index == previous || index == previous + 1);
+            previous = index;
+            long upperBound = LatencySupplier.bucketUpperBound(index);
+            assertTrue(upperBound >= micros);
+            assertTrue(upperBound - micros <= micros / 16);
+            assertEquals(index, LatencySupplier.bucketIndex(upperBound));
+        }
+        assertEquals(LatencySupplier.NUM_BUCKETS - 1, LatencySupplier.bucketIndex((1L << 36) - 1));
+    }
+
+    public void testMergeEqualsRecordingOnOneNode() {
+        LatencySupplier node1 = new LatencySupplier();
+        LatencySupplier node2 = new LatencySupplier();
+        LatencySupplier all = new LatencySupplier();
+        for (int i = 0; i < 1000; i++) {
+            long nanos = TimeUnit.MICROSECONDS.toNanos(random().nextInt(5_000_000));
+            (i % 3 == 0 ? node1 : node2).record(nanos);
+            all.record(nanos);
+        }
+
+        Map<String, Object> merged = LatencySupplier
+            .merge(
+                Arrays
+                    .asList(
+                        Map.of("latency", node1.get(), "count", 1L),
+                        Map.of("latency", node2.get(), "count", 2L),
+                        Map.of("count", 3L)
+                    )
+            );
+        assertEquals(1, merged.size());
+        assertEquals(LatencySupplier.forDisplay(all.get()), merged.get("latency"));
+    }
+
+    public void testForDisplay() {
+        LatencySupplier supplier = new LatencySupplier();
+        supplier.record(TimeUnit.MILLISECONDS.toNanos(3));
+        Object display = LatencySupplier.forDisplay(supplier.get());
+        assertFalse(LatencySupplier.isLatency(display));
+        assertFalse(((Map<?, ?>) display).containsKey(LatencySupplier.BUCKETS));
+        assertEquals(1L, ((Map<?, ?>) display).get(LatencySupplier.COUNT));
+        assertEquals(5L, LatencySupplier.forDisplay(5L));
+    }
+}
@@ -29,8 +29,11 @@ import org.junit.BeforeClass;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.ad.model.AnomalyResult;
+import org.opensearch.ad.ratelimit.ADResultWriteRequest;
 import org.opensearch.ad.settings.AnomalyDetectorSettings;
 import org.opensearch.ad.transport.ADResultBulkRequest;
 import org.opensearch.ad.transport.ADResultBulkTransportAction;
@@ -44,6 +47,7 @@ import org.opensearch.index.IndexingPressure;
 import org.opensearch.timeseries.AbstractTimeSeriesTest;
 import org.opensearch.timeseries.TestHelpers;
 import org.opensearch.timeseries.constant.CommonMessages;
+import org.opensearch.timeseries.ratelimit.RequestPriority;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
@@ -212,6 +216,50 @@ public class ADResultBulkTransportActionTests extends AbstractTimeSeriesTest {
         assertThat(2, equalTo(readRequest.numberOfActions()));
     }
 
+    @SuppressWarnings("unchecked")
+    public void testSerializeOnceForFlattenedIndex() {
+        when(indexingPressure.getCurrentCombinedCoordinatingAndPrimaryBytes()).thenReturn(0L);
+        when(indexingPressure.getCurrentReplicaBytes()).thenReturn(0L);
+
+        AnomalyResult result = TestHelpers.randomHCADAnomalyDetectResult(0.8d, 0.2d);
+        ADResultWriteRequest writeRequest = new ADResultWriteRequest(
+            Long.MAX_VALUE,
+            detectorId,
+            RequestPriority.MEDIUM,
+            result,
+            "custom-result",
+            "custom-result-flattened"
+        );
+        assertTrue(writeRequest.getMemoryBytes() > 0);
+        assertTrue(writeRequest.isHighPriority());
+        // decoded on demand from the encoded source
+        assertEquals(result.getAnomalyGrade(), writeRequest.getResult().getAnomalyGrade(), 0.001);
+        assertEquals(result.getConfigId(), writeRequest.getResult().getConfigId());
+
+        ADResultBulkRequest originalRequest = new ADResultBulkRequest();
+        originalRequest.add(writeRequest);
+
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(1);
+            assertEquals(2, request.requests().size());
+            IndexRequest primary = (IndexRequest) request.requests().get(0);
+            IndexRequest flattened = (IndexRequest) request.requests().get(1);
+            assertEquals("custom-result", primary.index());
+            assertEquals("custom-result-flattened", flattened.index());
+            // both index requests share the bytes encoded when the result was queued
+            assertSame(writeRequest.getSource(), primary.source());
+            assertSame(primary.source(), flattened.source());
+            ActionListener<BulkResponse> listener = invocation.getArgument(2);
+            listener.onResponse(null);
+            return null;
+        }).when(client).execute(any(), any(), any());
+
+        PlainActionFuture<ResultBulkResponse> future = PlainActionFuture.newFuture();
+        resultBulk.doExecute(null, originalRequest, future);
+
+        future.actionGet();
+    }
+
     public void testValidateRequest() {
         ActionRequestValidationException e = new ADResultBulkRequest().validate();
         assertThat(e.validationErrors(), hasItem(CommonMessages.NO_REQUESTS_ADDED_ERR));
@@ -47,6 +47,7 @@ import org.opensearch.threadpool.Scheduler.ScheduledCancellable;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.timeseries.AnalysisType;
 import org.opensearch.timeseries.NodeStateManager;
+import org.opensearch.timeseries.TestHelpers;
 import org.opensearch.timeseries.cluster.HashRing;
 import org.opensearch.timeseries.common.exception.InternalFailure;
 import org.opensearch.timeseries.dataprocessor.ImputationMethod;
@@ -136,6 +137,7 @@ public class ResultProcessorTests extends OpenSearchTestCase {
         super.setUp();
         threadPool = mock(ThreadPool.class);
         hashRing = mock(HashRing.class);
+        TestHelpers.routeByOwningNode(hashRing);
         nodeStateManager = mock(NodeStateManager.class);
         transportService = mock(TransportService.class);
         ForecastStats stats = mock(ForecastStats.class);